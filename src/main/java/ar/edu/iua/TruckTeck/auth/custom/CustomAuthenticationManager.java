@@ -16,7 +16,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
-import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 
 import ar.edu.iua.TruckTeck.auth.model.business.IUserBusiness;
 import ar.edu.iua.TruckTeck.auth.model.User;
@@ -74,12 +73,11 @@ public class CustomAuthenticationManager implements AuthenticationManager {
 	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
 		String username = authentication.getName();
 		String password = authentication.getCredentials().toString();
-		User user = null;
+		User user;
 
 		try {
-			user = userBusiness.load(username);
-		} catch (NotFoundException e) {
-			throw new BadCredentialsException(e.getMessage());
+			user = userBusiness.find(username)
+					.orElseThrow(() -> new BadCredentialsException("No se encuentra el usuari@ email o nombre =" + username));
 		} catch (BusinessException e) {
 			log.error(e.getMessage(), e);
 			throw new AuthenticationServiceException(e.getMessage());
@@ -1,6 +1,7 @@
 package ar.edu.iua.TruckTeck.auth.model.business;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import ar.edu.iua.TruckTeck.auth.model.User;
@@ -34,6 +35,15 @@ public interface IUserBusiness {
      */
 	public User load(String usernameOrEmail) throws NotFoundException, BusinessException;
 
+	/**
+     * Busca un usuario por nombre de usuario o correo electrónico, sin lanzar excepciones si no existe.
+     *
+     * @param usernameOrEmail Nombre de usuario o correo electrónico a buscar.
+     * @return Optional con el {@link User} si existe.
+     * @throws BusinessException Si ocurre un error de negocio durante la operación.
+     */
+	public Optional<User> find(String usernameOrEmail) throws BusinessException;
+
 	/**
      * Cambia la contraseña de un usuario.
      *
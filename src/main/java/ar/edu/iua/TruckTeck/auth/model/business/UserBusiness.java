@@ -51,13 +51,7 @@ public class UserBusiness implements IUserBusiness {
      */
 	@Override
 	public User load(String usernameOrEmail) throws NotFoundException, BusinessException {
-		Optional<User> ou;
-		try {
-			ou = userDAO.findOneByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
-		} catch (Exception e) {
-			log.error(e.getMessage(), e);
-			throw BusinessException.builder().ex(e).build();
-		}
+		Optional<User> ou = find(usernameOrEmail);
 		if (ou.isEmpty()) {
 			throw NotFoundException.builder().message("No se encuentra el usuari@ email o nombre =" + usernameOrEmail)
 					.build();
@@ -65,6 +59,23 @@ public class UserBusiness implements IUserBusiness {
 		return ou.get();
 	}
 
+	/**
+     * Busca un usuario por nombre de usuario o correo electrónico.
+     *
+     * @param usernameOrEmail Nombre de usuario o correo electrónico.
+     * @return Optional con el {@link User} si existe.
+     * @throws BusinessException Si ocurre un error inesperado durante la consulta.
+     */
+	@Override
+	public Optional<User> find(String usernameOrEmail) throws BusinessException {
+		try {
+			return userDAO.findOneByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
+		} catch (Exception e) {
+			log.error(e.getMessage(), e);
+			throw BusinessException.builder().ex(e).build();
+		}
+	}
+
 	/**
      * Cambia la contraseña de un usuario luego de validar la contraseña anterior.
      *
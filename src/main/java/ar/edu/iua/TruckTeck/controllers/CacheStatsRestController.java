@@ -0,0 +1,48 @@
+package ar.edu.iua.TruckTeck.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ar.edu.iua.TruckTeck.util.CacheStats;
+import ar.edu.iua.TruckTeck.util.CacheStatsRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controlador REST que expone las métricas de uso (aciertos, fallos, tasa de aciertos y
+ * desalojos) de las cachés en memoria de la aplicación.
+ */
+@RestController
+@RequestMapping(Constants.URL_CACHE)
+@Tag(description = "API Métricas de cachés en memoria", name = "Cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheStatsRestController {
+
+    @Autowired
+    private CacheStatsRegistry cacheStatsRegistry;
+
+    /**
+     * Lista las métricas de todas las cachés registradas.
+     *
+     * @return {@code 200 OK} con la lista de métricas.
+     */
+    @Operation(operationId = "list-cache-stats", summary = "Lista las métricas de las cachés en memoria.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Métricas de cada caché", content = {@Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CacheStats.class)))})
+    })
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> stats() {
+        return new ResponseEntity<>(cacheStatsRegistry.list(), HttpStatus.OK);
+    }
+}
@@ -77,6 +77,12 @@ public class Constants {
 
     public static final String URL_ALARM = URL_BASE + "/alarm";
 
+    /**
+     * URL del endpoint de métricas de las cachés en memoria.
+     * Construida a partir de {@link #URL_BASE} y la ruta específica "/cache".
+     */
+    public static final String URL_CACHE = URL_BASE + "/cache";
+
     public static final long FREQUENCY = 10; // segundos
 
 
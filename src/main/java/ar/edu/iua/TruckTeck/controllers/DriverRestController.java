@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Driver;
 import ar.edu.iua.TruckTeck.model.business.IDriverBusiness;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
@@ -82,6 +84,39 @@ public class DriverRestController {
         }
     }
 
+    /**
+     * Endpoint para obtener los choferes paginados por cursor, ordenados por identificador.
+     * <p>
+     * Para la página siguiente se reenvía {@code nextCursor} con el mismo filtro.
+     * </p>
+     *
+     * @param prefix Prefijo del apellido para filtrar, opcional.
+     * @param cursor Cursor devuelto en la página anterior, opcional.
+     * @param size Cantidad de choferes por página.
+     * @return ResponseEntity con la página de choferes (HTTP 200 OK), un mensaje de error si el
+     *         cursor no es válido (HTTP 400) o si ocurre un error interno (HTTP 500).
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(operationId = "page-drivers", summary = "Lista los choferes paginados por cursor.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Devuelve la página de choferes.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    public ResponseEntity<?> listPage(@RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return new ResponseEntity<>(driverBusiness.listPage(prefix, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch(BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Endpoint para agregar un nuevo chofer.
      * <p>
@@ -1,18 +1,27 @@
 package ar.edu.iua.TruckTeck.controllers;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ar.edu.iua.TruckTeck.model.business.IOrderDetailBusiness;
+import ar.edu.iua.TruckTeck.model.business.OrderDetailExporter;
+import ar.edu.iua.TruckTeck.model.business.OrderDetailWriteBuffer;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.ExportFormat;
 import ar.edu.iua.TruckTeck.util.IStandardResponseBusiness;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -28,27 +37,101 @@ public class OrderDetailRestController {
     private IStandardResponseBusiness response;
 
     @Autowired
-    private OrderDetailRepository orderDetailRepository;
+    private IOrderDetailBusiness orderDetailBusiness;
+
+    @Autowired
+    private OrderDetailExporter orderDetailExporter;
+
+    @Autowired
+    private OrderDetailWriteBuffer detailWriteBuffer;
 
     @GetMapping(value = "/detail/{id}")
     public ResponseEntity<?> list(@PathVariable long id) {
         try {
-            List<Object[]> results = orderDetailRepository.findDetailsByOrderId(id);
-            List<Map<String, Object>> details = new ArrayList<>();
-            
-            for (Object[] row : results) {
-                Map<String, Object> detail = new HashMap<>();
-                detail.put("id", row[0]);
-                detail.put("timestamp", row[1]);
-                detail.put("accumulatedMass", row[2]);
-                detail.put("density", row[3]);
-                detail.put("temperature", row[4]);
-                detail.put("caudal", row[5]);
-                details.add(detail);
-            }
-            
-            return new ResponseEntity<>(details, HttpStatus.OK);
-        } catch(Exception e) {
+            return new ResponseEntity<>(orderDetailBusiness.points(id), HttpStatus.OK);
+        } catch(BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Curva de carga de una orden en formato columnar, reducida para graficar.
+     * <p>
+     * Lee hasta {@code pageSize} detalles de la ventana {@code [from, to]} posteriores al cursor y
+     * los reduce a {@code maxPoints} puntos con LTTB ({@code method=lttb}) o agrupamiento
+     * mín/máx ({@code method=minmax}). Si quedan detalles en la ventana, la respuesta incluye
+     * {@code nextCursor} para pedir la página siguiente.
+     * </p>
+     */
+    @GetMapping(value = "/detail/{id}/series")
+    public ResponseEntity<?> series(@PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "500") int maxPoints,
+            @RequestParam(defaultValue = "lttb") String method,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10000") int pageSize) {
+        try {
+            return new ResponseEntity<>(orderDetailBusiness.series(id, from, to, maxPoints, method, cursor, pageSize), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Exporta los detalles crudos de una orden ({@code orderId}) o de todas las órdenes dentro de
+     * una ventana de tiempo ({@code from} y {@code to}) en CSV o NDJSON.
+     * <p>
+     * La respuesta se escribe a medida que se leen las filas de la base de datos, por lo que el
+     * uso de memoria no depende del tamaño de la exportación.
+     * </p>
+     */
+    @GetMapping(value = "/detail/export")
+    public ResponseEntity<?> export(@RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        if (orderId == null && (from == null || to == null)) {
+            IllegalArgumentException e = new IllegalArgumentException("Debe indicar orderId o una ventana de tiempo (from y to)");
+            return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+        boolean csv = format == ExportFormat.CSV;
+        String filename = "order-details" + (orderId != null ? "-" + orderId : "") + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody body = out -> orderDetailExporter.export(orderId, from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Estado del archivo de descarte de los detalles de carga que la base de datos rechazó.
+     */
+    @GetMapping(value = "/detail/dead-letter")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deadLetter() {
+        try {
+            return new ResponseEntity<>(detailWriteBuffer.deadLetterStats(), HttpStatus.OK);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Reintenta persistir los detalles del archivo de descarte; los que se vuelven a rechazar
+     * quedan en el archivo.
+     */
+    @PostMapping(value = "/detail/dead-letter/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> replayDeadLetter() {
+        try {
+            return new ResponseEntity<>(detailWriteBuffer.replayDeadLetters(), HttpStatus.OK);
+        } catch (BusinessException e) {
             return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
              HttpStatus.INTERNAL_SERVER_ERROR);
         }
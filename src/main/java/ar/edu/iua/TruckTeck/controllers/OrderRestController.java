@@ -1,6 +1,9 @@
 package ar.edu.iua.TruckTeck.controllers;
 
+import java.time.LocalDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,14 +16,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import ar.edu.iua.TruckTeck.model.Conciliation;
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderFilter;
+import ar.edu.iua.TruckTeck.model.OrderSummary;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
 import ar.edu.iua.TruckTeck.model.business.IOrderBusiness;
+import ar.edu.iua.TruckTeck.model.business.IOrderDetailArchiveBusiness;
+import ar.edu.iua.TruckTeck.model.business.IOrderLoadingStatsBusiness;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
 import ar.edu.iua.TruckTeck.util.IStandardResponseBusiness;
 import ar.edu.iua.TruckTeck.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -56,6 +68,18 @@ public class OrderRestController {
     @Autowired
     private IOrderBusiness orderBusiness;
 
+    /**
+     * Componente de negocio encargado de los agregados de carga de las órdenes.
+     */
+    @Autowired
+    private IOrderLoadingStatsBusiness loadingStatsBusiness;
+
+    /**
+     * Componente de negocio del archivado de detalles de carga.
+     */
+    @Autowired
+    private IOrderDetailArchiveBusiness archiveBusiness;
+
     /**
      * Endpoint para obtener la lista de todas las órdenes.
      * <p>
@@ -118,6 +142,84 @@ public class OrderRestController {
         }
     }
 
+    /**
+     * Obtiene el resumen de todas las órdenes para la pantalla de listado.
+     * <p>
+     * A diferencia de {@link #list()}, no incluye las entidades relacionadas completas sino sus
+     * nombres, y se resuelve con una única consulta.
+     * </p>
+     *
+     * @return ResponseEntity con la lista de resúmenes (HTTP 200 OK), o un mensaje de error (HTTP 500).
+     */
+    @Operation(operationId = "list-order-summaries", summary = "Lista el resumen de todas las órdenes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Devuelve la lista de resúmenes de órdenes.", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = OrderSummary.class)))),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    @GetMapping(value = "/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listSummaries() {
+        try {
+            return new ResponseEntity<>(orderBusiness.listSummaries(), HttpStatus.OK);
+        } catch(BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Listado de órdenes paginado por clave (keyset), con filtros y proyección.
+     * <p>
+     * Cada página se resuelve recorriendo el índice de la columna de ordenamiento a partir del
+     * cursor, sin {@code OFFSET} ni conteo total, por lo que el tiempo de respuesta no depende de
+     * la cantidad de órdenes. Para la página siguiente se reenvía {@code nextCursor} con los
+     * mismos filtros y ordenamiento.
+     * </p>
+     *
+     * @return ResponseEntity con la página (HTTP 200 OK), un mensaje de error si los parámetros no
+     *         son válidos (HTTP 400) o si ocurre un error interno (HTTP 500).
+     */
+    @Operation(operationId = "page-orders", summary = "Lista las órdenes paginadas por cursor, con filtros y proyección.")
+    @Parameter(in = ParameterIn.QUERY, name = "state", description = "Estado de la orden.")
+    @Parameter(in = ParameterIn.QUERY, name = "from", description = "Fecha prevista de carga desde (inclusive, ISO-8601).")
+    @Parameter(in = ParameterIn.QUERY, name = "to", description = "Fecha prevista de carga hasta (exclusive, ISO-8601).")
+    @Parameter(in = ParameterIn.QUERY, name = "client", description = "Razón social del cliente.")
+    @Parameter(in = ParameterIn.QUERY, name = "truck", description = "Dominio del camión.")
+    @Parameter(in = ParameterIn.QUERY, name = "product", description = "Nombre del producto.")
+    @Parameter(in = ParameterIn.QUERY, name = "sort", description = "Columna de ordenamiento: id, number o scheduledDate.")
+    @Parameter(in = ParameterIn.QUERY, name = "direction", description = "Sentido del ordenamiento: asc o desc.")
+    @Parameter(in = ParameterIn.QUERY, name = "cursor", description = "Cursor devuelto en la página anterior.")
+    @Parameter(in = ParameterIn.QUERY, name = "size", description = "Cantidad de órdenes por página.")
+    @Parameter(in = ParameterIn.QUERY, name = "fields", description = "Campos a devolver, separados por coma.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Devuelve la página de órdenes.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listPage(@RequestParam(required = false) OrderState state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String client,
+            @RequestParam(required = false) String truck,
+            @RequestParam(required = false) String product,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String fields) {
+        try {
+            OrderFilter filter = new OrderFilter(state, from, to, client, truck, product);
+            return new ResponseEntity<>(orderBusiness.listPage(filter, sort, direction, cursor, size, fields), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+             HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Obtiene una orden por su identificador único.
      *
@@ -173,6 +275,33 @@ public class OrderRestController {
     }
 
 
+    /**
+     * Obtiene el historial de auditoría de una orden.
+     *
+     * @param number Número de la orden.
+     * @return Un {@link ResponseEntity} con las entradas de auditoría ordenadas por momento del cambio (HTTP 200 OK),
+     *         o un mensaje de error si la orden no existe (HTTP 404).
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    @Operation(operationId = "order-history", summary = "Historial de cambios de estado, alarmas y acciones de una orden.")
+    @Parameter(in = ParameterIn.PATH, name = "number", schema = @Schema(type = "string"), required = true, description = "Número de la orden")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Devuelve el historial de la orden.", content = {@Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = OrderStatusLog.class)))}),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No se encuentra la orden para el número informado", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))})
+    })
+    @GetMapping(value = "/number/{number}/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> history(@PathVariable String number) {
+        try {
+            return new ResponseEntity<>(orderBusiness.history(number), HttpStatus.OK);
+        } catch(BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch(NotFoundException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.NOT_FOUND, e, e.getMessage()), HttpStatus.NOT_FOUND);
+        }
+    }
+
+
     /**
      * Actualiza una orden existente con los datos proporcionados.
      *
@@ -297,7 +426,101 @@ public class OrderRestController {
             return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
 
+    /**
+     * Recalcula los agregados de carga (temperatura, densidad y caudal) de una orden a partir
+     * de sus detalles persistidos.
+     *
+     * @param number Número de la orden.
+     * @return {@code 200 OK} con los agregados recalculados, {@code 404} si la orden no existe o
+     *         no tiene detalles, o {@code 500} ante un error interno.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(operationId = "rebuild-loading-stats", summary = "Recalcula los agregados de carga de una orden desde sus detalles")
+    @Parameter(in = ParameterIn.PATH, name = "number", schema = @Schema(type = "string"), required = true, description = "Número de la orden")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Agregados recalculados", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = OrderLoadingStats.class))}),
+        @ApiResponse(responseCode = "404", description = "Orden no encontrada o sin detalles", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PostMapping(value = "/number/{number}/loading-stats/rebuild")
+    public ResponseEntity<?> rebuildLoadingStats(@PathVariable String number) {
+        try {
+            Order order = orderBusiness.load(number);
+            return new ResponseEntity<>(loadingStatsBusiness.rebuild(order.getId()), HttpStatus.OK);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.NOT_FOUND, e, e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
+    /**
+     * Recalcula los agregados de carga de todas las órdenes con detalles que aún no los tienen
+     * (por ejemplo, órdenes cargadas antes de que se mantuvieran los agregados).
+     *
+     * @return {@code 200 OK} con la cantidad de órdenes recalculadas, o {@code 500} ante un error interno.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(operationId = "rebuild-missing-loading-stats", summary = "Recalcula los agregados de carga faltantes de todas las órdenes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cantidad de órdenes recalculadas"),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PostMapping(value = "/loading-stats/rebuild")
+    public ResponseEntity<?> rebuildMissingLoadingStats() {
+        try {
+            return new ResponseEntity<>(loadingStatsBusiness.rebuildMissing(), HttpStatus.OK);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
+    /**
+     * Archiva los detalles de carga de una orden finalizada en un bloque comprimido.
+     *
+     * @param number Número de la orden.
+     * @return {@code 200 OK} indicando si se archivaron detalles, {@code 404} si la orden no existe,
+     *         o {@code 500} si la orden no está finalizada o ante un error interno.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(operationId = "archive-order-details", summary = "Archiva los detalles de carga de una orden finalizada")
+    @Parameter(in = ParameterIn.PATH, name = "number", schema = @Schema(type = "string"), required = true, description = "Número de la orden")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "true si se archivaron detalles, false si ya estaba archivada o no tiene detalles"),
+        @ApiResponse(responseCode = "404", description = "Orden no encontrada", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Orden no finalizada o error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PostMapping(value = "/number/{number}/details/archive")
+    public ResponseEntity<?> archiveDetails(@PathVariable String number) {
+        try {
+            Order order = orderBusiness.load(number);
+            return new ResponseEntity<>(archiveBusiness.archive(order.getId()), HttpStatus.OK);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.NOT_FOUND, e, e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Archiva los detalles de las órdenes finalizadas pendientes, sin esperar al proceso en
+     * segundo plano.
+     *
+     * @return {@code 200 OK} con la cantidad de órdenes archivadas, o {@code 500} ante un error interno.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(operationId = "archive-pending-order-details", summary = "Archiva los detalles de las órdenes finalizadas pendientes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cantidad de órdenes archivadas"),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PostMapping(value = "/details/archive")
+    public ResponseEntity<?> archivePendingDetails() {
+        try {
+            return new ResponseEntity<>(archiveBusiness.archivePending(), HttpStatus.OK);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
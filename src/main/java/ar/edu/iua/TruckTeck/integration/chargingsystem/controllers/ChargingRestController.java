@@ -1,5 +1,7 @@
 package ar.edu.iua.TruckTeck.integration.chargingsystem.controllers;
 
+import java.io.InputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -28,6 +30,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingBatchResult;
 import ar.edu.iua.TruckTeck.integration.chargingsystem.model.business.IOrderBusinessCharging;
 
 @RestController
@@ -95,7 +98,7 @@ public class ChargingRestController {
     @Operation(operationId = "add-external-charging", summary = "Crea una orden desde el sistema de carga (B2B)")
     @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Payload recibido desde el sistema B2B (texto/JSON)", required = true, content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Orden creada correctamente. Se retorna header 'location' con referencia al recurso."),
+        @ApiResponse(responseCode = "201", description = "Orden creada correctamente. Se retorna header 'location' con la URI de la orden."),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
         @ApiResponse(responseCode = "302", description = "Recurso relacionado no encontrado (Found)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
         @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
@@ -105,13 +108,7 @@ public class ChargingRestController {
 		try {
 			Order response = orderBusiness.addExternalCharging(httpEntity.getBody());
 			HttpHeaders responseHeaders = new HttpHeaders();
-			responseHeaders.set("location", Constants.URL_ORDERS_CHARGING 
-                                + "/id:" + response.getId() 
-                                + "/AccumulatedMass:" + response.getAccumulatedMass()
-                                + "/Density:" + response.getDensity() 
-                                + "/Temperature:" + response.getTemperature() 
-                                + "/Caudal:" + response.getCaudal()
-                                + "/EndLoading:" + response.getEndLoading());
+			responseHeaders.set("location", Constants.URL_ORDERS + "/" + response.getId());
 			return new ResponseEntity<>(responseHeaders, HttpStatus.CREATED);
 		} catch (BusinessException e) {
 			return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
@@ -130,6 +127,44 @@ public class ChargingRestController {
         }
     }
 
+    /**
+     * Recibe un lote de muestras desde el sistema externo de carga (integración B2B).
+     * <p>
+     * El cuerpo puede ser un arreglo JSON o un flujo de objetos JSON separados por saltos de línea
+     * (NDJSON), con muestras de una o varias órdenes. Está pensado para que el cargador reenvíe
+     * en una sola petición las muestras acumuladas durante un corte de red.
+     * El estado de cada muestra se informa en el resumen devuelto, con los mismos códigos que
+     * el endpoint de muestras individuales.
+     *
+     * @param body Flujo con el cuerpo de la petición.
+     * @return Un {@link ResponseEntity} con:
+     *         <ul>
+     *             <li>HTTP 200 (OK) con el resumen del lote, aun cuando alguna muestra haya sido rechazada.</li>
+     *             <li>HTTP 500 (Internal Server Error) si no se pudo leer el cuerpo de la petición.</li>
+     *         </ul>
+     */
+    @Operation(operationId = "add-external-charging-batch", summary = "Recibe un lote de muestras del sistema de carga (B2B)")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Arreglo JSON o NDJSON con las muestras de carga", required = true, content = {
+        @Content(mediaType = "application/json", schema = @Schema(type = "string")),
+        @Content(mediaType = "application/x-ndjson", schema = @Schema(type = "string"))
+    })
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumen con el estado de cada muestra", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChargingBatchResult.class))),
+        @ApiResponse(responseCode = "400", description = "El lote supera la cantidad máxima de muestras", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @PostMapping(value = "/b2b/batch")
+    public ResponseEntity<?> addExternalBatch(InputStream body) {
+        try {
+            return new ResponseEntity<>(orderBusiness.addExternalChargingBatch(body), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (BusinessException e) {
+            return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Marca una orden como "cargada" (loaded) desde el sistema externo de carga (B2B).
      * <p>
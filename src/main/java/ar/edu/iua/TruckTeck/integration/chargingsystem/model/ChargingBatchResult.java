@@ -0,0 +1,52 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumen del procesamiento de un lote de muestras del sistema de carga.
+ * <p>
+ * Incluye los totales del lote y el estado de cada muestra en el orden en que fue recibida.
+ * </p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ChargingBatchResult {
+
+    /**
+     * Cantidad de muestras leídas del lote.
+     */
+    private int received;
+
+    /**
+     * Cantidad de muestras aplicadas correctamente.
+     */
+    private int accepted;
+
+    /**
+     * Cantidad de muestras rechazadas.
+     */
+    private int rejected;
+
+    /**
+     * Estado de cada muestra, ordenado por su posición en el lote.
+     */
+    private List<ChargingSampleResult> results;
+
+    /**
+     * Construye el resumen a partir de los estados de cada muestra.
+     *
+     * @param results Estados de las muestras del lote.
+     * @return El resumen con los totales calculados.
+     */
+    public static ChargingBatchResult of(List<ChargingSampleResult> results) {
+        int accepted = (int) results.stream().filter(ChargingSampleResult::isAccepted).count();
+        return new ChargingBatchResult(results.size(), accepted, results.size() - accepted, results);
+    }
+}
@@ -0,0 +1,63 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Muestra de carga informada por el sistema de carga (cargador) para una orden.
+ * <p>
+ * Es un objeto inmutable que sólo transporta los valores de la muestra; no es una entidad
+ * ni se persiste directamente. Los valores numéricos que no vienen en el payload (o que no
+ * son números válidos) toman el valor {@link #MISSING}.
+ * </p>
+ * <p>
+ * El momento de la muestra es opcional: los cargadores que reenvían muestras acumuladas
+ * (por ejemplo, luego de un corte de red) lo informan para que la curva de carga conserve los
+ * tiempos reales; si no viene, se usa el momento de recepción.
+ * </p>
+ *
+ * @see ChargingSampleJsonDeserializer
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public final class ChargingSample {
+
+    /**
+     * Valor asignado a los campos numéricos ausentes o inválidos.
+     */
+    public static final double MISSING = -1;
+
+    /**
+     * Número de la orden a la que pertenece la muestra.
+     */
+    private final String number;
+
+    /**
+     * Masa acumulada cargada hasta el momento.
+     */
+    private final double accumulatedMass;
+
+    /**
+     * Densidad del producto.
+     */
+    private final double density;
+
+    /**
+     * Temperatura del producto.
+     */
+    private final double temperature;
+
+    /**
+     * Caudal de carga.
+     */
+    private final double caudal;
+
+    /**
+     * Momento en que el cargador tomó la muestra, o {@code null} si no fue informado.
+     */
+    private final LocalDateTime timestamp;
+}
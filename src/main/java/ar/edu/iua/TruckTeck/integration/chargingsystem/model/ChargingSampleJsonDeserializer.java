@@ -0,0 +1,180 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Deserializador de las muestras enviadas por el sistema de carga a {@link ChargingSample}.
+ * <p>
+ * Lee el objeto JSON token a token, sin construir un árbol {@code JsonNode} intermedio, y
+ * resuelve los nombres alternativos de cada campo (por ejemplo "masa_acumulada" o "temperatura")
+ * con una tabla de alias precalculada.
+ * </p>
+ * <p>
+ * Los valores numéricos se aceptan tanto como números JSON (enteros o decimales) como cadenas
+ * ({@code "15.0"}), tal como los envían las muestras de {@code CSV_Postman/Charge.csv}.
+ * Si un mismo campo llega con más de un alias, prevalece el alias listado primero, igual que en
+ * {@link ar.edu.iua.TruckTeck.util.JsonUtiles#getString}.
+ * </p>
+ * <p>
+ * El momento de la muestra ("timestamp" o "fecha") se acepta como fecha y hora ISO-8601, con o
+ * sin zona horaria ({@code "2025-10-20T14:03:05.250"}, {@code "2025-10-20T17:03:05Z"}), o como
+ * milisegundos desde la época. Las fechas con zona se convierten a la hora local del servidor.
+ * Si falta o no es válido queda en {@code null}.
+ * </p>
+ */
+public class ChargingSampleJsonDeserializer extends StdDeserializer<ChargingSample> {
+
+    private static final int NUMBER = 0;
+    private static final int ACCUMULATED_MASS = 1;
+    private static final int DENSITY = 2;
+    private static final int TEMPERATURE = 3;
+    private static final int CAUDAL = 4;
+    private static final int TIMESTAMP = 5;
+    private static final int FIELDS = 6;
+
+    /**
+     * Alias aceptados por campo, en orden de prioridad.
+     */
+    private static final String[][] ALIASES = {
+        { "number", "numero" },
+        { "accumulatedMass", "accumulated_mass", "masa", "masa_acumulada" },
+        { "density", "densidad" },
+        { "temperature", "temperatura" },
+        { "caudal", "caudales" },
+        { "timestamp", "fecha", "fecha_hora", "fechaHora" }
+    };
+
+    /**
+     * Tabla de alias: nombre del atributo JSON -> {campo, prioridad}.
+     */
+    private static final Map<String, int[]> FIELD_BY_ALIAS = new HashMap<>();
+
+    static {
+        for (int field = 0; field < ALIASES.length; field++) {
+            for (int priority = 0; priority < ALIASES[field].length; priority++) {
+                FIELD_BY_ALIAS.put(ALIASES[field][priority], new int[] { field, priority });
+            }
+        }
+    }
+
+    public ChargingSampleJsonDeserializer() {
+        super(ChargingSample.class);
+    }
+
+    /**
+     * Deserializa una muestra de carga leyendo directamente los tokens del parser.
+     *
+     * @param jp   Parser JSON posicionado al inicio (o dentro) del objeto de la muestra.
+     * @param ctxt Contexto de deserialización de Jackson.
+     * @return La muestra leída.
+     * @throws IOException Si ocurre un error al leer el flujo JSON.
+     * @throws JacksonException Si el contenido no es un objeto JSON.
+     */
+    @Override
+    public ChargingSample deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JacksonException {
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (ChargingSample) ctxt.handleUnexpectedToken(ChargingSample.class, jp);
+        }
+
+        String number = null;
+        LocalDateTime timestamp = null;
+        double[] values = { ChargingSample.MISSING, ChargingSample.MISSING, ChargingSample.MISSING,
+                ChargingSample.MISSING, ChargingSample.MISSING };
+        int[] priorities = new int[FIELDS];
+        Arrays.fill(priorities, Integer.MAX_VALUE);
+
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            int[] alias = FIELD_BY_ALIAS.get(jp.currentName());
+            JsonToken value = jp.nextToken();
+            if (alias == null || alias[1] > priorities[alias[0]]) {
+                jp.skipChildren();
+                continue;
+            }
+            int field = alias[0];
+            if (field == NUMBER) {
+                if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    number = jp.getText();
+                    priorities[field] = alias[1];
+                }
+            } else if (field == TIMESTAMP) {
+                LocalDateTime parsed = readTimestamp(jp, value);
+                if (parsed != null) {
+                    timestamp = parsed;
+                    priorities[field] = alias[1];
+                }
+            } else {
+                double parsed = readDouble(jp, value);
+                if (!Double.isNaN(parsed)) {
+                    values[field] = parsed;
+                    priorities[field] = alias[1];
+                }
+            }
+            jp.skipChildren();
+        }
+
+        return new ChargingSample(number, values[ACCUMULATED_MASS], values[DENSITY],
+                values[TEMPERATURE], values[CAUDAL], timestamp);
+    }
+
+    /**
+     * Lee el valor actual como fecha y hora, aceptando cadenas ISO-8601 o milisegundos desde la época.
+     *
+     * @return la fecha y hora local, o {@code null} si no es válida.
+     */
+    private static LocalDateTime readTimestamp(JsonParser jp, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(jp.getLongValue()), ZoneId.systemDefault());
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        String text = jp.getText().trim();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            // Puede traer zona horaria
+        }
+        try {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lee el valor actual como número, aceptando números JSON o cadenas numéricas.
+     *
+     * @return el valor leído, o {@code NaN} si no es un número válido.
+     */
+    private static double readDouble(JsonParser jp, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_FLOAT || value == JsonToken.VALUE_NUMBER_INT) {
+            return jp.getDoubleValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(jp.getText().trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,64 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Estado del procesamiento de una muestra dentro de un lote del sistema de carga.
+ * <p>
+ * El código replica el que devolvería el endpoint de muestras individuales para la misma muestra
+ * (201 aceptada, 400 datos inválidos, 302 orden no encontrada, 500 error de negocio).
+ * </p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChargingSampleResult {
+
+    /**
+     * Posición de la muestra dentro del lote (comenzando en 0).
+     */
+    private int index;
+
+    /**
+     * Número de la orden informado en la muestra, si pudo leerse.
+     */
+    private String number;
+
+    /**
+     * Código HTTP equivalente al resultado de la muestra.
+     */
+    private int code;
+
+    /**
+     * Mensaje de error, o {@code null} si la muestra fue aceptada.
+     */
+    private String message;
+
+    public static ChargingSampleResult accepted(int index, String number) {
+        return new ChargingSampleResult(index, number, HttpStatus.CREATED.value(), null);
+    }
+
+    public static ChargingSampleResult rejected(int index, String number, HttpStatus status, String message) {
+        return new ChargingSampleResult(index, number, status.value(), message);
+    }
+
+    /**
+     * Indica si la muestra fue aplicada correctamente.
+     *
+     * @return {@code true} si la muestra fue aceptada.
+     */
+    @JsonIgnore
+    public boolean isAccepted() {
+        return code == HttpStatus.CREATED.value();
+    }
+}
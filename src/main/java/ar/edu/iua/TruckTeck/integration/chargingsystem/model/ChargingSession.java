@@ -0,0 +1,90 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.SampleRetention;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import lombok.Getter;
+
+/**
+ * Sesión de carga en memoria asociada a una orden en estado TARA_REGISTERED.
+ * <p>
+ * Mantiene la cabecera viva de la orden (últimos valores de masa acumulada, densidad,
+ * temperatura y caudal) junto con la estrategia de retención que decide qué muestras se
+ * persisten como {@link ar.edu.iua.TruckTeck.model.OrderDetail}, de modo que la validación de
+ * cada muestra y la retención se resuelvan sin consultar la base de datos.
+ * </p>
+ *
+ * @see ar.edu.iua.TruckTeck.integration.chargingsystem.model.business.ChargingSessionRegistry
+ */
+@Getter
+public class ChargingSession {
+
+    /**
+     * Cabecera de la orden (entidad desacoplada del contexto de persistencia).
+     */
+    private final Order order;
+
+    /**
+     * Estrategia de retención de las muestras de la orden.
+     */
+    private final SampleRetention retention;
+
+    /**
+     * Agregados de temperatura, densidad y caudal de todas las muestras aceptadas.
+     */
+    private final OrderLoadingStats stats;
+
+    /**
+     * Indica si {@link #stats} incluye todas las muestras de la carga. Es {@code false} cuando la
+     * sesión se reconstruye con la carga ya iniciada y sin un punto de control de los agregados.
+     */
+    private final boolean statsComplete;
+
+    /**
+     * Momento ({@link System#nanoTime()}) del último punto de control de {@link #stats}, o
+     * {@code null} si todavía no se guardó ninguno.
+     */
+    private Long lastCheckpoint;
+
+    /**
+     * Crea la sesión de carga de una orden.
+     *
+     * @param order Orden en estado TARA_REGISTERED.
+     * @param retention Estrategia de retención de las muestras.
+     * @param checkpoint Último punto de control de los agregados de la carga en curso (luego de un
+     *                   reinicio), o {@code null} si no hay.
+     */
+    public ChargingSession(Order order, SampleRetention retention, OrderLoadingStats checkpoint) {
+        this.order = order;
+        this.retention = retention;
+        this.stats = checkpoint != null ? checkpoint : new OrderLoadingStats(order.getId());
+        this.statsComplete = order.getAccumulatedMass() == null || checkpoint != null;
+    }
+
+    /**
+     * Indica si corresponde guardar un punto de control de los agregados: en la primera muestra
+     * y luego cada {@code intervalSeconds} segundos.
+     *
+     * @param intervalSeconds Intervalo mínimo entre puntos de control.
+     * @return {@code true} si corresponde guardarlo.
+     */
+    public boolean isCheckpointDue(long intervalSeconds) {
+        return lastCheckpoint == null || System.nanoTime() - lastCheckpoint >= intervalSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Registra que se guardó un punto de control de los agregados.
+     */
+    public void markCheckpoint() {
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Número de la orden asociada a la sesión.
+     *
+     * @return número de la orden.
+     */
+    public String getNumber() {
+        return order.getNumber();
+    }
+}
@@ -0,0 +1,119 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.business;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSession;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.SampleRetention;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.events.OrderStateEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registro en memoria de las sesiones de carga abiertas, indexadas por número de orden.
+ * <p>
+ * Una sesión se abre cuando la orden pasa a TARA_REGISTERED (pesaje inicial) y se cierra
+ * cuando el sistema de carga informa el fin de la carga ({@code changeStateLoaded}).
+ * Si la aplicación se reinicia con cargas en curso, la sesión se reconstruye desde la base
+ * de datos al recibir la primera muestra.
+ * </p>
+ *
+ * <p>
+ * Cualquier modificación de la orden por fuera del flujo de carga (por ejemplo una
+ * actualización desde la API) debe invalidar la sesión con {@link #evict(String)} para que
+ * se vuelva a leer desde la base de datos.
+ * </p>
+ *
+ * <p>
+ * La apertura y el cierre por cambio de estado se resuelven escuchando los
+ * {@link OrderStateEvent}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ChargingSessionRegistry implements ApplicationListener<OrderStateEvent> {
+
+    private final Map<String, ChargingSession> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SampleRetentionFactory retentionFactory;
+
+    /**
+     * Abre (o reemplaza) la sesión de carga de una orden.
+     *
+     * @param order Orden en estado TARA_REGISTERED.
+     * @param lastDetailTimestamp Timestamp del último detalle persistido, o {@code null} si no hay.
+     * @return La sesión creada.
+     */
+    public ChargingSession open(Order order, LocalDateTime lastDetailTimestamp) {
+        return open(order, lastDetailTimestamp, null);
+    }
+
+    /**
+     * Abre (o reemplaza) la sesión de carga de una orden con la carga ya iniciada, retomando el
+     * último punto de control de sus agregados.
+     *
+     * @param order Orden en estado TARA_REGISTERED.
+     * @param lastDetailTimestamp Timestamp del último detalle persistido, o {@code null} si no hay.
+     * @param checkpoint Agregados guardados durante la carga, o {@code null} si no hay.
+     * @return La sesión creada.
+     */
+    public ChargingSession open(Order order, LocalDateTime lastDetailTimestamp, OrderLoadingStats checkpoint) {
+        return open(order, retentionFactory.create(order, lastDetailTimestamp), checkpoint);
+    }
+
+    private ChargingSession open(Order order, SampleRetention retention, OrderLoadingStats checkpoint) {
+        ChargingSession session = new ChargingSession(order, retention, checkpoint);
+        sessions.put(order.getNumber(), session);
+        log.debug("Sesión de carga abierta para la orden {}", order.getNumber());
+        return session;
+    }
+
+    /**
+     * Obtiene la sesión de carga abierta para una orden.
+     *
+     * @param number Número de la orden.
+     * @return La sesión, o {@code null} si no existe una sesión abierta.
+     */
+    public ChargingSession get(String number) {
+        if (number == null) {
+            return null;
+        }
+        return sessions.get(number);
+    }
+
+    /**
+     * Cierra la sesión de carga de una orden, si existe.
+     *
+     * @param number Número de la orden.
+     * @return La sesión eliminada, o {@code null} si no había una sesión abierta.
+     */
+    public ChargingSession evict(String number) {
+        if (number == null) {
+            return null;
+        }
+        ChargingSession session = sessions.remove(number);
+        if (session != null) {
+            log.debug("Sesión de carga cerrada para la orden {}", number);
+        }
+        return session;
+    }
+
+    @Override
+    public void onApplicationEvent(OrderStateEvent event) {
+        if (event.getToState() == OrderState.TARA_REGISTERED) {
+            // Aún no hay detalles persistidos. El producto de la orden (desacoplada) puede no estar
+            // inicializado: se usa el modo de retención resuelto antes de la transición
+            open(event.getOrder(), retentionFactory.create(event.getRetentionMode(), null), null);
+        } else if (event.getFromState() == OrderState.TARA_REGISTERED) {
+            evict(event.getOrder().getNumber());
+        }
+    }
+}
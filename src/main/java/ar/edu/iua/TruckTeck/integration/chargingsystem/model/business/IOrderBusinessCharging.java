@@ -1,5 +1,8 @@
 package ar.edu.iua.TruckTeck.integration.chargingsystem.model.business;
 
+import java.io.InputStream;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingBatchResult;
 import ar.edu.iua.TruckTeck.model.Order;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.EmptyFieldException;
@@ -17,6 +20,16 @@ public interface IOrderBusinessCharging {
      */
     public Order addExternalCharging(String json) throws BusinessException, EmptyFieldException, NotFoundException;
 
+    /**
+     * Procesa un lote de muestras de carga (arreglo JSON o NDJSON), posiblemente de varias órdenes.
+     *
+     * @param body Flujo con el cuerpo de la petición.
+     * @return Resumen con el estado de cada muestra del lote.
+     * @throws BusinessException Si no se puede leer el cuerpo de la petición.
+     * @throws IllegalArgumentException Si el lote supera la cantidad máxima de muestras.
+     */
+    public ChargingBatchResult addExternalChargingBatch(InputStream body) throws BusinessException;
+
     /**
     * Obtiene el valor preestablecido (preset) asociado a un número y código de activación determinados.
     *
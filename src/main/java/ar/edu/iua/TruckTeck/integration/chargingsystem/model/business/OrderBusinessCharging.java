@@ -1,21 +1,41 @@
 package ar.edu.iua.TruckTeck.integration.chargingsystem.model.business;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import ar.edu.iua.TruckTeck.integration.chargingsystem.model.OrderChargingJsonDeserializar;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingBatchResult;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSampleResult;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSample;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSampleJsonDeserializer;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSession;
 import ar.edu.iua.TruckTeck.model.Order;
 import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
 import ar.edu.iua.TruckTeck.model.business.IOrderBusiness;
+import ar.edu.iua.TruckTeck.model.business.IOrderLoadingStatsBusiness;
+import ar.edu.iua.TruckTeck.model.business.IOrderStateBusiness;
 import ar.edu.iua.TruckTeck.model.business.OrderBusiness;
+import ar.edu.iua.TruckTeck.model.business.OrderDetailWriteBuffer;
+import ar.edu.iua.TruckTeck.model.business.OrderLockTable;
 import ar.edu.iua.TruckTeck.model.business.TemperatureAlertConfigBusiness;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.EmptyFieldException;
@@ -24,16 +44,35 @@ import ar.edu.iua.TruckTeck.model.enums.OrderState;
 import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
 import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
 import ar.edu.iua.TruckTeck.util.JsonUtiles;
+import ar.edu.iua.TruckTeck.websocket.OrderTelemetry;
+import ar.edu.iua.TruckTeck.websocket.TelemetryPublisher;
 import lombok.extern.slf4j.Slf4j;
-import ar.edu.iua.TruckTeck.controllers.Constants;
 
 @Service
 @Slf4j
 public class OrderBusinessCharging extends OrderBusiness implements IOrderBusinessCharging{
 
+    /**
+     * Lector de las muestras del sistema de carga (inmutable y compartido entre peticiones).
+     */
+    private static final ObjectReader SAMPLE_READER = JsonUtiles.getReader(ChargingSample.class,
+            new ChargingSampleJsonDeserializer(), null);
+
     @Autowired
     private TemperatureAlertConfigBusiness temperatureAlertConfigBusiness;
 
+    /**
+     * Cantidad máxima de muestras por lote ({@link #addExternalChargingBatch(InputStream)}).
+     */
+    @Value("${charging.batch.max-samples:20000}")
+    private int maxBatchSamples;
+
+    /**
+     * Intervalo (segundos) entre los puntos de control de los agregados de la carga.
+     */
+    @Value("${charging.stats.checkpoint-seconds:30}")
+    private long statsCheckpointSeconds;
+
     /**
      * Repositorio para acceder a los datos de órdenes.
      * <p>
@@ -62,19 +101,57 @@ public class OrderBusinessCharging extends OrderBusiness implements IOrderBusine
     private IOrderBusiness orderBusiness;
 
     /**
-    * Utilidad proporcionada por Spring para enviar mensajes a clientes conectados 
-    * mediante WebSocket usando el protocolo STOMP.
-    *
-    * <p>Esta plantilla permite publicar mensajes hacia destinos específicos 
-    * (topics, queues o usuarios individuales) a través del broker de mensajería. 
-    * Es inyectada automáticamente por el contenedor de Spring mediante la anotación
-    * {@code @Autowired}.</p>
-    */
+     * Publicador de la telemetría de carga por WebSocket (STOMP).
+     * <p>
+     * Agrupa las muestras por orden y publica como máximo una cantidad fija de mensajes
+     * por segundo en cada tópico.
+     * </p>
+     */
+    @Autowired
+    private TelemetryPublisher telemetryPublisher;
+
+    /**
+     * Registro en memoria de las sesiones de carga abiertas.
+     */
+    @Autowired
+    private ChargingSessionRegistry chargingSessions;
+
+    /**
+     * Buffer de escritura diferida de los detalles de carga.
+     */
+    @Autowired
+    private OrderDetailWriteBuffer detailWriteBuffer;
+
+    /**
+     * Agregados de carga (temperatura, densidad y caudal) de las órdenes.
+     */
+    @Autowired
+    private IOrderLoadingStatsBusiness loadingStatsBusiness;
+
+    /**
+     * Transiciones de estado de las órdenes (cierre de la carga).
+     */
+    @Autowired
+    private IOrderStateBusiness orderStateBusiness;
+
+    /**
+     * Índice en memoria (número, código de activación) → preset.
+     */
+    @Autowired
+    private PresetCache presetCache;
+
+    /**
+     * Locks por número de orden (un único escritor por orden).
+     */
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private OrderLockTable orderLocks;
 
     /**
      * Obtiene el valor preestablecido (preset) asociado a un número de orden y código de activación.
+     * <p>
+     * Se consulta primero el índice en memoria {@link PresetCache}; sólo ante un fallo se lee
+     * la orden de la base de datos.
+     * </p>
      *
      * @param activationCode Código de activación asociado a la orden.
      * @param number Número identificador de la orden.
@@ -83,6 +160,12 @@ public class OrderBusinessCharging extends OrderBusiness implements IOrderBusine
      * @throws NotFoundException Si no se encuentra una orden que coincida con el número y el código de activación proporcionados.
      */
     public Double getPreset(String activationCode, String number) throws BusinessException, NotFoundException{
+        // El handshake del cargador se responde desde memoria mientras la orden está en carga
+        Double preset = presetCache.get(number, activationCode);
+        if (preset != null) {
+            return preset;
+        }
+
         Optional<Order> r;
 
         try {
@@ -94,7 +177,11 @@ public class OrderBusinessCharging extends OrderBusiness implements IOrderBusine
         if(r.isEmpty()) {
             throw NotFoundException.builder().message("La orden o el codigo incorrecto, orden: " + number + "/codigo:" + activationCode).build();
         }
-        return r.get().getPreset();
+        Order order = r.get();
+        if (order.getState() == OrderState.TARA_REGISTERED || order.getState() == OrderState.LOADING) {
+            presetCache.put(order);
+        }
+        return order.getPreset();
     }
 
     /**
@@ -103,103 +190,335 @@ public class OrderBusinessCharging extends OrderBusiness implements IOrderBusine
      * Este método valida los campos recibidos, verifica el estado actual de la orden
      * y registra los detalles de carga correspondientes.
      * </p>
+     * <p>
+     * La cabecera de la orden y el timestamp del último detalle se mantienen en una
+     * {@link ChargingSession} en memoria, por lo que la validación y el control de frecuencia
+     * no requieren consultas; por cada muestra sólo se escribe la cabecera (y el detalle cuando
+     * corresponde).
+     * </p>
      *
      * @param json Cadena en formato JSON que contiene los datos de la orden a registrar.
-     * @return La entidad {@link Order} actualizada y persistida en la base de datos.
+     * @return La cabecera {@link Order} de la sesión de carga, con los últimos valores persistidos.
      * @throws BusinessException Si ocurre un error inesperado en la capa de negocio o si los datos son inconsistentes.
      * @throws EmptyFieldException Si el número de la orden viene vacío o nulo.
      * @throws NotFoundException Si no se encuentra la orden correspondiente al número recibido.
      */
     public Order addExternalCharging(String json) throws BusinessException, EmptyFieldException, NotFoundException{
 
-        ObjectMapper mapper = JsonUtiles.getObjectMapper(Order.class,
-				new OrderChargingJsonDeserializar(Order.class),null);
-		Order charge = null;
-        Order order = null;
+		ChargingSample charge = null;
 
 		try {
-			charge = mapper.readValue(json, Order.class);
+			charge = SAMPLE_READER.readValue(json);
+		} catch (JsonProcessingException e) {
+			log.error(e.getMessage(), e);
+			throw BusinessException.builder().ex(e).build();
+		}
+		return applyCharge(charge);
+    }
 
-            // Se obtiene el número de la orden del objeto JSON recibido
-			String order_number = charge.getNumber();
+    /**
+     * Procesa un lote de muestras de carga recibidas como arreglo JSON o como JSON delimitado
+     * por saltos de línea (NDJSON), posiblemente de varias órdenes.
+     * <p>
+     * Las muestras se leen de forma incremental con la API de streaming de Jackson, se agrupan
+     * por número de orden (respetando el orden de llegada dentro de cada orden) y luego se
+     * aplican una a una con la misma lógica que {@link #addExternalCharging(String)}.
+     * Un error en una muestra no detiene el resto del lote: cada muestra tiene su propio estado
+     * en el resumen devuelto. Si el cuerpo deja de ser un JSON válido, la lectura se corta en
+     * ese punto y las muestras leídas hasta entonces se procesan igualmente.
+     * </p>
+     * <p>
+     * Cada muestra puede informar su propio momento ({@code timestamp}); así, al reenviar muestras
+     * acumuladas, la curva de carga y el inicio y fin de la carga conservan los tiempos reales.
+     * </p>
+     *
+     * @param body Flujo con el cuerpo de la petición.
+     * @return Resumen con el estado de cada muestra, en el orden en que fueron recibidas.
+     * @throws BusinessException Si no se puede leer el cuerpo de la petición.
+     * @throws IllegalArgumentException Si el lote supera {@code charging.batch.max-samples} muestras;
+     *         en ese caso no se aplica ninguna muestra.
+     */
+    public ChargingBatchResult addExternalChargingBatch(InputStream body) throws BusinessException {
+        List<ChargingSampleResult> results = new ArrayList<>();
+        Map<String, List<IndexedCharge>> byOrder = new LinkedHashMap<>();
+        int index = 0;
+
+        try (JsonParser parser = SAMPLE_READER.createParser(body)) {
+            JsonToken token;
+            while ((token = nextToken(parser, results, index)) != null) {
+                // Los corchetes del arreglo se ignoran: en NDJSON las muestras vienen en la raíz
+                if (token == JsonToken.START_ARRAY || token == JsonToken.END_ARRAY) {
+                    continue;
+                }
+                if (index >= maxBatchSamples) {
+                    throw new IllegalArgumentException("El lote supera el máximo de " + maxBatchSamples + " muestras");
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    results.add(ChargingSampleResult.rejected(index++, null, HttpStatus.BAD_REQUEST,
+                            "Se esperaba un objeto JSON y se recibió: " + token));
+                    continue;
+                }
+                ChargingSample charge;
+                try {
+                    charge = SAMPLE_READER.readValue(parser);
+                } catch (JsonParseException e) {
+                    // El cuerpo dejó de ser JSON válido: no es posible continuar la lectura
+                    results.add(ChargingSampleResult.rejected(index++, null, HttpStatus.BAD_REQUEST, e.getOriginalMessage()));
+                    break;
+                } catch (JsonProcessingException e) {
+                    results.add(ChargingSampleResult.rejected(index++, null, HttpStatus.BAD_REQUEST, e.getOriginalMessage()));
+                    continue;
+                }
+                String number = charge.getNumber() == null ? "" : charge.getNumber();
+                byOrder.computeIfAbsent(number, k -> new ArrayList<>()).add(new IndexedCharge(index++, charge));
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
 
-            // Si el número de la orden viene vacío o es nulo => se lanza la excepcion creada hacia el endpoint b2b
-            if (order_number == null || order_number.isBlank()) {
-               throw EmptyFieldException.builder()
-                   .message("El número de la orden es obligatorio")
-                   .build();
+        for (Map.Entry<String, List<IndexedCharge>> entry : byOrder.entrySet()) {
+            // Se toma el lock una vez por orden para aplicar todas sus muestras seguidas
+            Lock lock = orderLocks.lockFor(entry.getKey());
+            lock.lock();
+            try {
+                for (IndexedCharge indexed : entry.getValue()) {
+                    results.add(applyBatchCharge(indexed));
+                }
+            } finally {
+                lock.unlock();
             }
+        }
+        results.sort(Comparator.comparingInt(ChargingSampleResult::getIndex));
+        return ChargingBatchResult.of(results);
+    }
 
-            order = orderBusiness.load(order_number);
+    /**
+     * Avanza al siguiente token del lote; si el cuerpo no es JSON válido registra el error
+     * para la muestra actual y finaliza la lectura.
+     */
+    private JsonToken nextToken(JsonParser parser, List<ChargingSampleResult> results, int index) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonParseException e) {
+            results.add(ChargingSampleResult.rejected(index, null, HttpStatus.BAD_REQUEST, e.getOriginalMessage()));
+            return null;
+        }
+    }
 
-            if(order.getState() != OrderState.TARA_REGISTERED){
-                throw BusinessException.builder().message("El estado es incorrecto:" + order.getState())
-                   .build();
-            }
+    /**
+     * Aplica una muestra del lote traduciendo las excepciones de negocio al estado de la muestra,
+     * con los mismos códigos HTTP que el endpoint de muestras individuales.
+     */
+    private ChargingSampleResult applyBatchCharge(IndexedCharge indexed) {
+        String number = indexed.charge().getNumber();
+        try {
+            applyCharge(indexed.charge());
+            return ChargingSampleResult.accepted(indexed.index(), number);
+        } catch (EmptyFieldException e) {
+            return ChargingSampleResult.rejected(indexed.index(), number, HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NotFoundException e) {
+            return ChargingSampleResult.rejected(indexed.index(), number, HttpStatus.FOUND, e.getMessage());
+        } catch (BusinessException e) {
+            return ChargingSampleResult.rejected(indexed.index(), number, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
 
-            if(charge.getCaudal()<=0){
-                throw BusinessException.builder().message("El caudal debe ser mayor a 0:" + charge.getCaudal())
-                   .build();
-            }
+    /**
+     * Muestra de un lote junto con su posición dentro del cuerpo recibido.
+     */
+    private record IndexedCharge(int index, ChargingSample charge) {
+    }
 
-            if (order.getAccumulatedMass() != null && charge.getAccumulatedMass() < order.getAccumulatedMass()) {
-                throw BusinessException.builder()
-                .message("La masa acumulada contiene información errónea: " + charge.getAccumulatedMass())
-                .build();
-            }
+    /**
+     * Aplica una muestra de carga ya deserializada sobre la sesión de carga de su orden.
+     * <p>
+     * Valida los valores recibidos, actualiza la cabecera viva de la orden, encola el detalle
+     * cuando corresponde según la estrategia de retención del producto, verifica la alerta de temperatura,
+     * notifica a los suscriptores y persiste la cabecera.
+     * </p>
+     * <p>
+     * Las muestras de una misma orden se procesan de a una, con el lock de la orden tomado
+     * ({@link OrderLockTable}); muestras de órdenes distintas se procesan en paralelo.
+     * La escritura de la cabecera se valida contra la versión de la orden: si fue modificada
+     * por fuera de la sesión, se descarta la sesión y la muestra se rechaza.
+     * </p>
+     *
+     * @param charge Muestra de carga recibida.
+     * @return La cabecera {@link Order} de la sesión de carga, con los últimos valores persistidos.
+     * @throws BusinessException Si ocurre un error inesperado en la capa de negocio o si los datos son inconsistentes.
+     * @throws EmptyFieldException Si el número de la orden viene vacío o nulo.
+     * @throws NotFoundException Si no se encuentra la orden correspondiente al número recibido.
+     */
+    private Order applyCharge(ChargingSample charge) throws BusinessException, EmptyFieldException, NotFoundException {
+        // Se obtiene el número de la orden del objeto JSON recibido
+        String order_number = charge.getNumber();
+
+        // Si el número de la orden viene vacío o es nulo => se lanza la excepcion creada hacia el endpoint b2b
+        if (order_number == null || order_number.isBlank()) {
+           throw EmptyFieldException.builder()
+               .message("El número de la orden es obligatorio")
+               .build();
+        }
+
+        // Un único escritor por orden: las muestras de una misma orden se aplican en orden de llegada
+        Lock lock = orderLocks.lockFor(order_number);
+        lock.lock();
+        try {
+            return applyCharge(order_number, charge);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            OrderDetail detail = new OrderDetail();
-            detail.setDensity(charge.getDensity());
-            detail.setAccumulatedMass(charge.getAccumulatedMass());
-            detail.setTemperature(charge.getTemperature());
-            detail.setCaudal(charge.getCaudal());
-            detail.setTimestamp(LocalDateTime.now());
-            detail.setOrder(order);
+    /**
+     * Aplica una muestra sobre la sesión de carga de su orden; debe invocarse con el lock
+     * de la orden tomado.
+     */
+    private Order applyCharge(String order_number, ChargingSample charge) throws BusinessException, NotFoundException {
+        // La cabecera viva de la orden se obtiene de la sesión de carga en memoria
+        ChargingSession session = loadSession(order_number);
+        Order order = session.getOrder();
+
+        if(charge.getCaudal()<=0){
+            throw BusinessException.builder().message("El caudal debe ser mayor a 0:" + charge.getCaudal())
+               .build();
+        }
 
+        if (order.getAccumulatedMass() != null && charge.getAccumulatedMass() < order.getAccumulatedMass()) {
+            throw BusinessException.builder()
+            .message("La masa acumulada contiene información errónea: " + charge.getAccumulatedMass())
+            .build();
+        }
 
-            if (order.getDensity() == null &&
-            order.getAccumulatedMass() == null &&
-            order.getTemperature() == null &&
-            order.getCaudal() == null){
+        // Se usa el momento informado por el cargador (muestras reenviadas en lote); si no viene,
+        // el de recepción. Las muestras de una orden deben llegar en orden cronológico
+        LocalDateTime now = charge.getTimestamp() != null ? charge.getTimestamp() : LocalDateTime.now();
+        if (charge.getTimestamp() != null && order.getEndLoading() != null && now.isBefore(order.getEndLoading())) {
+            throw BusinessException.builder()
+            .message("La muestra (" + now + ") es anterior a la última registrada para la orden: " + order.getEndLoading())
+            .build();
+        }
 
-                order.setStartLoading(LocalDateTime.now());
+        OrderDetail detail = new OrderDetail();
+        detail.setDensity(charge.getDensity());
+        detail.setAccumulatedMass(charge.getAccumulatedMass());
+        detail.setTemperature(charge.getTemperature());
+        detail.setCaudal(charge.getCaudal());
+        detail.setTimestamp(now);
+        detail.setOrder(order);
 
 
-            }
+        if (order.getDensity() == null &&
+        order.getAccumulatedMass() == null &&
+        order.getTemperature() == null &&
+        order.getCaudal() == null){
 
-            order.setEndLoading(LocalDateTime.now());
-            order.setAccumulatedMass(charge.getAccumulatedMass());
-            order.setDensity(charge.getDensity());
-            order.setTemperature(charge.getTemperature());
-            order.setCaudal(charge.getCaudal());
-
-            // Ya pasaron 10 segundos desde endLoading
-            LocalDateTime lastTimestamp = orderDetailDAO.findLastTimestampByOrderId(order.getId());
-            if (lastTimestamp == null ||
-                Duration.between(lastTimestamp, detail.getTimestamp()).getSeconds() >= Constants.FREQUENCY) {
-                orderDetailDAO.save(detail);
-            }
-            // Verifica si la temperatura supera el límite y manda mail si corresponde
-            try {
-                log.info("Paso previo al enviar el email");
-                boolean alertSent = temperatureAlertConfigBusiness.checkAndSendAlert(detail);
-                if (alertSent){
-                    order.setTemperatureAlarmSent(true);
-                }
-            } catch (Exception e) {
-                log.error("No se pudo verificar alerta de temperatura: " + e.getMessage(), e);
+            order.setStartLoading(now);
+
+
+        }
+
+        order.setEndLoading(now);
+        order.setAccumulatedMass(charge.getAccumulatedMass());
+        order.setDensity(charge.getDensity());
+        order.setTemperature(charge.getTemperature());
+        order.setCaudal(charge.getCaudal());
+
+        // Verifica si la temperatura supera el límite y manda mail si corresponde
+        try {
+            log.info("Paso previo al enviar el email");
+            boolean alertSent = temperatureAlertConfigBusiness.checkAndSendAlert(detail);
+            if (alertSent){
+                order.setTemperatureAlarmSent(true);
             }
-            // Notificar a los suscriptores sobre el nuevo detalle de la orden
-            messagingTemplate.convertAndSend("/topic/detail/"+detail.getOrder().getNumber(), detail);
+        } catch (Exception e) {
+            log.error("No se pudo verificar alerta de temperatura: " + e.getMessage(), e);
+        }
 
-		} catch (JsonProcessingException e) {
-			log.error(e.getMessage(), e);
-			throw BusinessException.builder().ex(e).build();
-		} 
+        // Aqui se guardan en la base de datos los últimos valores de carga de la cabecera,
+        // sólo si la orden no fue modificada por fuera de la sesión (versión)
+        int updated;
+        try {
+            updated = orderDAO.updateChargingHeader(order.getId(), order.getAccumulatedMass(), order.getDensity(),
+                    order.getTemperature(), order.getCaudal(), order.getStartLoading(), order.getEndLoading(),
+                    order.getTemperatureAlarmSent(), order.getVersion());
+        } catch (Exception e) {
+            // Ante un error se descarta la sesión para que se reconstruya desde la base de datos
+            chargingSessions.evict(order.getNumber());
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (updated == 0) {
+            chargingSessions.evict(order.getNumber());
+            throw BusinessException.builder()
+                .message("La orden " + order.getNumber() + " fue modificada por otro proceso, reintente la muestra")
+                .build();
+        }
+        order.setVersion(order.getVersion() + 1);
+        session.getStats().add(detail);
+        checkpointLoadingStats(session);
 
-        // Aqui se guarda en la base de datos el producto deserializado
-		return  orderDAO.save(order);
+        // La estrategia de retención del producto decide qué muestras se persisten
+        for (OrderDetail stored : session.getRetention().offer(detail)) {
+            detailWriteBuffer.enqueue(stored);
+        }
+        // Notificar a los suscriptores sobre el nuevo detalle de la orden (se publica la última muestra)
+        telemetryPublisher.publish(new OrderTelemetry(order.getNumber(), now, detail.getAccumulatedMass(),
+                detail.getDensity(), detail.getTemperature(), detail.getCaudal()));
 
+		return order;
+    }
+
+    /**
+     * Obtiene la sesión de carga abierta de una orden.
+     * <p>
+     * Si no existe una sesión en memoria (por ejemplo, luego de reiniciar la aplicación con
+     * cargas en curso), se lee la orden desde la base de datos, se valida su estado y se
+     * abre una nueva sesión con el timestamp del último detalle persistido.
+     * </p>
+     *
+     * @param number Número de la orden.
+     * @return La sesión de carga abierta.
+     * @throws BusinessException Si la orden no se encuentra en estado TARA_REGISTERED.
+     * @throws NotFoundException Si no se encuentra la orden.
+     */
+    private ChargingSession loadSession(String number) throws BusinessException, NotFoundException {
+        ChargingSession session = chargingSessions.get(number);
+        if (session != null) {
+            return session;
+        }
+
+        // Sólo la cabecera y el producto: la sesión no usa cliente, camión ni chofer
+        Optional<Order> r;
+        try {
+            r = orderDAO.findChargingHeaderByNumber(number);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra la Orden con número: " + number).build();
+        }
+        Order order = r.get();
+
+        if(order.getState() != OrderState.TARA_REGISTERED){
+            throw BusinessException.builder().message("El estado es incorrecto:" + order.getState())
+               .build();
+        }
+
+        LocalDateTime lastTimestamp;
+        try {
+            lastTimestamp = orderDetailDAO.findLastTimestampByOrderId(order.getId());
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        // Los agregados se retoman del último punto de control: los detalles persistidos son sólo
+        // las muestras retenidas y no alcanzan para recalcularlos
+        Optional<OrderLoadingStats> checkpoint = loadingStatsBusiness.findCheckpoint(order.getId());
+        return chargingSessions.open(order, lastTimestamp, checkpoint.orElse(null));
     }
 
     /**
@@ -211,25 +530,75 @@ public class OrderBusinessCharging extends OrderBusiness implements IOrderBusine
      * @throws NotFoundException Si no se encuentra una orden con el número de referencia especificado.
      */
     public Order changeStateLoaded(String number) throws BusinessException, NotFoundException{
-
-        Order order = new Order();
+        // Se toma el lock de la orden para no cerrar la carga mientras se aplica una muestra
+        Lock lock = orderLocks.lockFor(number);
+        lock.lock();
         try {
-            order = orderBusiness.load(number);
-        } catch(Exception e) {
-            log.error(e.getMessage(), e);
-            throw BusinessException.builder().ex(e).build();
+            Order order = new Order();
+            try {
+                order = orderBusiness.load(number);
+            } catch(Exception e) {
+                log.error(e.getMessage(), e);
+                throw BusinessException.builder().ex(e).build();
+            }
+            if(order == null) {
+                throw NotFoundException.builder().message("No se encuentra la Orden con número: " + number).build();
+            }
+            if(order.getState() != OrderState.TARA_REGISTERED){
+                throw BusinessException.builder().message("Esta orden se encuentra en un estado no permitido: " + order.getState()).build();
+            }
+            // La última muestra retenida y los detalles pendientes deben quedar persistidos antes de cerrar la carga
+            ChargingSession session = chargingSessions.get(number);
+            OrderDetail last = session == null ? null : session.getRetention().finish();
+            if (last != null) {
+                detailWriteBuffer.enqueue(last);
+            }
+            detailWriteBuffer.flush(order.getId());
+            saveLoadingStats(order, session);
+
+            // El cambio de estado cierra la sesión de carga (OrderStateEvent)
+            return orderStateBusiness.closeLoading(order, "SISTEMA_CARGA", "Carga finalizada");
+        } finally {
+            lock.unlock();
         }
-        if(order == null) {
-            throw NotFoundException.builder().message("No se encuentra la Orden con número: " + number).build();
+    }
+
+
+    /**
+     * Guarda periódicamente los agregados de la sesión, para retomarlos si la aplicación se
+     * reinicia durante la carga. Un error no interrumpe la carga: se reintenta en la muestra siguiente.
+     */
+    private void checkpointLoadingStats(ChargingSession session) {
+        if (!session.isStatsComplete() || !session.isCheckpointDue(statsCheckpointSeconds)) {
+            return;
         }
-        if(order.getState() != OrderState.TARA_REGISTERED){
-            throw BusinessException.builder().message("Esta orden se encuentra en un estado no permitido: " + order.getState()).build();
+        try {
+            loadingStatsBusiness.save(session.getStats());
+            session.markCheckpoint();
+        } catch (BusinessException e) {
+            log.warn("No se pudo guardar el punto de control de los agregados de la orden {}", session.getNumber(), e);
         }
-        order.setState(OrderState.LOADING);
-        order.setCloseOrder(LocalDateTime.now());
-        return orderDAO.save(order);
     }
 
+    /**
+     * Guarda los agregados de la carga. Sólo si la sesión no vio todas las muestras ni hay un
+     * punto de control (carga iniciada antes de mantener los agregados) se recalculan a partir de
+     * los detalles persistidos. Un error no impide cerrar la carga: la conciliación vuelve a
+     * calcularlos si faltan.
+     */
+    private void saveLoadingStats(Order order, ChargingSession session) {
+        try {
+            if (session != null && session.isStatsComplete() && session.getStats().getTemperature().getCount() > 0) {
+                loadingStatsBusiness.save(session.getStats());
+            } else {
+                loadingStatsBusiness.rebuild(order.getId());
+            }
+        } catch (NotFoundException e) {
+            log.warn("La orden {} no tiene muestras de carga: {}", order.getNumber(), e.getMessage());
+        } catch (BusinessException e) {
+            log.error("No se pudieron guardar los agregados de carga de la orden {}", order.getNumber(), e);
+        }
+    }
 }
 
 //  private Double accumulatedMass;  // Última masa acumulada recibida
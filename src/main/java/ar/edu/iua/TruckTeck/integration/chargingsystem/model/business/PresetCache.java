@@ -0,0 +1,100 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.business;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.events.OrderStateEvent;
+import ar.edu.iua.TruckTeck.util.CacheStats;
+import ar.edu.iua.TruckTeck.util.CacheStatsRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Índice en memoria (número de orden, código de activación) → preset, usado por el handshake
+ * del cargador ({@code /charging/number/{number}/code/{code}}).
+ * <p>
+ * Se carga cuando el TMS registra la tara y emite el código de activación, y se desaloja cuando
+ * la orden deja los estados TARA_REGISTERED/LOADING (pesaje final), se modifica o se elimina.
+ * Ante un fallo (por ejemplo luego de reiniciar la aplicación) se consulta la base de datos y
+ * se vuelve a cargar el índice.
+ * </p>
+ * <p>
+ * La carga y el desalojo por cambio de estado se resuelven escuchando los
+ * {@link OrderStateEvent}.
+ * </p>
+ */
+@Component
+public class PresetCache implements ApplicationListener<OrderStateEvent> {
+
+    /**
+     * Código de activación y preset de una orden.
+     */
+    private record Entry(String activationCode, Double preset) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CacheStatsRegistry statsRegistry;
+
+    private CacheStats stats;
+
+    @PostConstruct
+    void init() {
+        stats = statsRegistry.register("charging.preset");
+    }
+
+    /**
+     * Registra el preset de una orden con código de activación emitido.
+     *
+     * @param order Orden en estado TARA_REGISTERED o LOADING.
+     */
+    public void put(Order order) {
+        if (order.getNumber() != null && order.getActivationCode() != null) {
+            entries.put(order.getNumber(), new Entry(order.getActivationCode(), order.getPreset()));
+        }
+    }
+
+    /**
+     * Busca el preset de una orden validando el código de activación.
+     *
+     * @param number Número de la orden.
+     * @param activationCode Código de activación informado por el cargador.
+     * @return El preset, o {@code null} si la orden no está en el índice o el código no coincide.
+     */
+    public Double get(String number, String activationCode) {
+        Entry entry = number == null ? null : entries.get(number);
+        if (entry != null && Objects.equals(entry.activationCode(), activationCode)) {
+            stats.hit();
+            return entry.preset();
+        }
+        stats.miss();
+        return null;
+    }
+
+    /**
+     * Quita una orden del índice, si estaba.
+     *
+     * @param number Número de la orden.
+     */
+    public void evict(String number) {
+        if (number != null && entries.remove(number) != null) {
+            stats.eviction();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(OrderStateEvent event) {
+        if (event.getToState() == OrderState.TARA_REGISTERED) {
+            put(event.getOrder());
+        } else if (event.getToState() == OrderState.FINALIZED) {
+            evict(event.getOrder().getNumber());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.business;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.controllers.Constants;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.DeadbandRetention;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.FixedIntervalRetention;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.RetentionDeltas;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.SampleRetention;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.SwingingDoorRetention;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode;
+
+/**
+ * Crea la estrategia de retención de muestras de cada sesión de carga, según el modo
+ * configurado para el producto de la orden o, si no tiene, el modo por defecto.
+ *
+ * @see SampleRetentionMode
+ */
+@Component
+public class SampleRetentionFactory {
+
+    @Value("${charging.retention.default-mode:FIXED_INTERVAL}")
+    private SampleRetentionMode defaultMode;
+
+    @Value("${charging.retention.delta.temperature:0.5}")
+    private double temperatureDelta;
+
+    @Value("${charging.retention.delta.density:0.005}")
+    private double densityDelta;
+
+    @Value("${charging.retention.delta.caudal:0.5}")
+    private double caudalDelta;
+
+    @Value("${charging.retention.heartbeat-seconds:60}")
+    private long heartbeatSeconds;
+
+    /**
+     * Crea la estrategia de retención para una orden.
+     *
+     * @param order Orden de la sesión de carga (con su producto).
+     * @param lastDetailTimestamp Timestamp del último detalle persistido, o {@code null} si no hay.
+     * @return Una nueva instancia de la estrategia.
+     */
+    public SampleRetention create(Order order, LocalDateTime lastDetailTimestamp) {
+        return create(order.getProduct() == null ? null : order.getProduct().getRetentionMode(), lastDetailTimestamp);
+    }
+
+    /**
+     * Crea la estrategia de retención para un modo ya resuelto, sin acceder al producto.
+     *
+     * @param productMode Modo del producto de la orden, o {@code null} para usar el modo por defecto.
+     * @param lastDetailTimestamp Timestamp del último detalle persistido, o {@code null} si no hay.
+     * @return Una nueva instancia de la estrategia.
+     */
+    public SampleRetention create(SampleRetentionMode productMode, LocalDateTime lastDetailTimestamp) {
+        SampleRetentionMode mode = productMode != null ? productMode : defaultMode;
+        RetentionDeltas deltas = new RetentionDeltas(temperatureDelta, densityDelta, caudalDelta);
+        switch (mode) {
+            case DEADBAND:
+                return new DeadbandRetention(deltas, heartbeatSeconds);
+            case SWINGING_DOOR:
+                return new SwingingDoorRetention(deltas, heartbeatSeconds);
+            default:
+                return new FixedIntervalRetention(Constants.FREQUENCY, lastDetailTimestamp);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import java.time.Duration;
+import java.util.List;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+
+/**
+ * Retención por banda muerta (deadband): se persiste una muestra cuando la temperatura, la
+ * densidad o el caudal se alejan más de su tolerancia del último valor persistido, o cuando
+ * pasa el latido ({@code heartbeatSeconds}) sin persistir ninguna muestra.
+ */
+public class DeadbandRetention implements SampleRetention {
+
+    private final RetentionDeltas deltas;
+
+    private final long heartbeatSeconds;
+
+    private OrderDetail lastStored;
+
+    private OrderDetail lastReceived;
+
+    public DeadbandRetention(RetentionDeltas deltas, long heartbeatSeconds) {
+        this.deltas = deltas;
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    @Override
+    public List<OrderDetail> offer(OrderDetail sample) {
+        lastReceived = sample;
+        if (lastStored == null
+                || deltas.exceeds(lastStored, sample)
+                || Duration.between(lastStored.getTimestamp(), sample.getTimestamp()).getSeconds() >= heartbeatSeconds) {
+            lastStored = sample;
+            return List.of(sample);
+        }
+        return List.of();
+    }
+
+    @Override
+    public OrderDetail finish() {
+        // Se guarda la última muestra para conservar los valores finales de la carga
+        return lastReceived != lastStored ? lastReceived : null;
+    }
+}
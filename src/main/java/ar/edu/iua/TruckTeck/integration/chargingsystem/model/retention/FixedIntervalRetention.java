@@ -0,0 +1,41 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+
+/**
+ * Retención por intervalo fijo: se persiste una muestra cada {@code intervalSeconds} segundos.
+ */
+public class FixedIntervalRetention implements SampleRetention {
+
+    private final long intervalSeconds;
+
+    private LocalDateTime lastStored;
+
+    /**
+     * @param intervalSeconds Intervalo mínimo entre muestras persistidas.
+     * @param lastStored Timestamp del último detalle persistido, o {@code null} si no hay.
+     */
+    public FixedIntervalRetention(long intervalSeconds, LocalDateTime lastStored) {
+        this.intervalSeconds = intervalSeconds;
+        this.lastStored = lastStored;
+    }
+
+    @Override
+    public List<OrderDetail> offer(OrderDetail sample) {
+        if (lastStored == null
+                || Duration.between(lastStored, sample.getTimestamp()).getSeconds() >= intervalSeconds) {
+            lastStored = sample.getTimestamp();
+            return List.of(sample);
+        }
+        return List.of();
+    }
+
+    @Override
+    public OrderDetail finish() {
+        return null;
+    }
+}
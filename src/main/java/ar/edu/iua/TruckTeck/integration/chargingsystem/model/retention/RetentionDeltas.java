@@ -0,0 +1,32 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Tolerancias (δ) de las variables de carga usadas por las estrategias de retención.
+ */
+@Getter
+@AllArgsConstructor
+public final class RetentionDeltas {
+
+    private final double temperature;
+
+    private final double density;
+
+    private final double caudal;
+
+    /**
+     * Indica si alguna variable de la muestra se alejó más de su tolerancia de la referencia.
+     *
+     * @param reference Muestra de referencia.
+     * @param sample Muestra a comparar.
+     * @return {@code true} si alguna diferencia supera su tolerancia.
+     */
+    public boolean exceeds(OrderDetail reference, OrderDetail sample) {
+        return Math.abs(sample.getTemperature() - reference.getTemperature()) > temperature
+                || Math.abs(sample.getDensity() - reference.getDensity()) > density
+                || Math.abs(sample.getCaudal() - reference.getCaudal()) > caudal;
+    }
+}
@@ -0,0 +1,34 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import java.util.List;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+
+/**
+ * Estrategia de retención de las muestras de carga de una orden.
+ * <p>
+ * Cada sesión de carga tiene su propia instancia (con estado), que decide qué muestras se
+ * persisten como {@link OrderDetail}. Las instancias no son seguras para uso concurrente: se
+ * invocan con el lock de la orden tomado.
+ * </p>
+ *
+ * @see ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode
+ */
+public interface SampleRetention {
+
+    /**
+     * Procesa una muestra aceptada.
+     *
+     * @param sample Muestra recibida.
+     * @return Las muestras a persistir ahora (puede ser una muestra anterior retenida), o una lista vacía.
+     */
+    List<OrderDetail> offer(OrderDetail sample);
+
+    /**
+     * Finaliza la retención al cerrar la carga.
+     *
+     * @return La última muestra retenida que aún no se persistió y es necesaria para
+     *         reconstruir la serie, o {@code null} si no hay.
+     */
+    OrderDetail finish();
+}
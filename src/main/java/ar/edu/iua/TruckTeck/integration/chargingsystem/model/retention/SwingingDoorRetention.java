@@ -0,0 +1,157 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+
+/**
+ * Retención por compresión swinging door trending (SDT), aplicada en simultáneo a la
+ * temperatura, la densidad y el caudal.
+ * <p>
+ * A partir de la última muestra persistida (pivote) se mantiene, para cada variable, el rango
+ * de pendientes ("puerta") de las rectas que pasan a menos de δ de todas las muestras intermedias
+ * recibidas desde el pivote. La última muestra recibida queda retenida como extremo candidato del
+ * tramo: mientras la pendiente del pivote a la muestra retenida esté dentro de la puerta de cada
+ * variable, las intermedias se descartan. Cuando una muestra nueva ya no cumple esa condición, se
+ * persiste la retenida anterior (que sí la cumplía) y pasa a ser el nuevo pivote. También se
+ * persiste una muestra al cumplirse el latido.
+ * </p>
+ * <p>
+ * Así, toda muestra descartada está a lo sumo δ de la recta entre las dos muestras persistidas que
+ * la rodean. Una muestra con el mismo timestamp que el pivote sólo se descarta si está a lo sumo δ
+ * del pivote.
+ * </p>
+ */
+public class SwingingDoorRetention implements SampleRetention {
+
+    private static final int VARIABLES = 3;
+
+    private final double[] deviation;
+
+    private final long heartbeatSeconds;
+
+    private OrderDetail pivot;
+
+    /**
+     * Última muestra recibida, aún no persistida: extremo candidato del tramo desde el pivote.
+     */
+    private OrderDetail held;
+
+    /**
+     * Indica si la puerta ya fue acotada por alguna muestra intermedia.
+     */
+    private boolean constrained;
+
+    private final double[] minSlope = new double[VARIABLES];
+
+    private final double[] maxSlope = new double[VARIABLES];
+
+    public SwingingDoorRetention(RetentionDeltas deltas, long heartbeatSeconds) {
+        this.deviation = new double[] { deltas.getTemperature(), deltas.getDensity(), deltas.getCaudal() };
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    @Override
+    public List<OrderDetail> offer(OrderDetail sample) {
+        if (pivot == null) {
+            newPivot(sample);
+            return List.of(sample);
+        }
+
+        if (Duration.between(pivot.getTimestamp(), sample.getTimestamp()).getSeconds() >= heartbeatSeconds) {
+            List<OrderDetail> stored = new ArrayList<>(2);
+            if (held != null) {
+                stored.add(held);
+            }
+            stored.add(sample);
+            newPivot(sample);
+            return stored;
+        }
+
+        if (held == null) {
+            held = sample;
+            return List.of();
+        }
+
+        // La muestra retenida pasa a ser intermedia y la nueva, el extremo candidato
+        narrowDoor(held);
+        if (fits(sample)) {
+            held = sample;
+            return List.of();
+        }
+        // La recta hasta la nueva muestra no pasa cerca de todas las intermedias: se persiste
+        // la retenida (cuya recta sí pasaba) y se reinicia desde ella
+        OrderDetail archived = held;
+        newPivot(archived);
+        held = sample;
+        return List.of(archived);
+    }
+
+    @Override
+    public OrderDetail finish() {
+        // La última muestra es necesaria para interpolar el último tramo
+        return held;
+    }
+
+    private void newPivot(OrderDetail sample) {
+        pivot = sample;
+        held = null;
+        constrained = false;
+        for (int i = 0; i < VARIABLES; i++) {
+            minSlope[i] = Double.NEGATIVE_INFINITY;
+            maxSlope[i] = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Acota la puerta con una muestra intermedia: la recta desde el pivote debe pasar a menos de
+     * δ de ella. Si tiene el mismo timestamp que el pivote, la puerta se cierra salvo que esté a
+     * menos de δ del pivote.
+     */
+    private void narrowDoor(OrderDetail sample) {
+        constrained = true;
+        double dt = seconds(pivot, sample);
+        double[] base = values(pivot);
+        double[] current = values(sample);
+        for (int i = 0; i < VARIABLES; i++) {
+            if (dt <= 0) {
+                if (Math.abs(current[i] - base[i]) > deviation[i]) {
+                    minSlope[i] = Double.POSITIVE_INFINITY;
+                    maxSlope[i] = Double.NEGATIVE_INFINITY;
+                }
+            } else {
+                minSlope[i] = Math.max(minSlope[i], (current[i] - base[i] - deviation[i]) / dt);
+                maxSlope[i] = Math.min(maxSlope[i], (current[i] - base[i] + deviation[i]) / dt);
+            }
+        }
+    }
+
+    /**
+     * Indica si la pendiente del pivote a la muestra está dentro de la puerta de cada variable.
+     */
+    private boolean fits(OrderDetail sample) {
+        double dt = seconds(pivot, sample);
+        if (dt <= 0) {
+            return !constrained;
+        }
+        double[] base = values(pivot);
+        double[] current = values(sample);
+        for (int i = 0; i < VARIABLES; i++) {
+            double slope = (current[i] - base[i]) / dt;
+            if (slope < minSlope[i] || slope > maxSlope[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double seconds(OrderDetail from, OrderDetail to) {
+        return Duration.between(from.getTimestamp(), to.getTimestamp()).toNanos() / 1e9;
+    }
+
+    private static double[] values(OrderDetail sample) {
+        return new double[] { sample.getTemperature(), sample.getDensity(), sample.getCaudal() };
+    }
+}
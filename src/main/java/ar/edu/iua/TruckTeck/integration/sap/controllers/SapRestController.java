@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import ar.edu.iua.TruckTeck.controllers.Constants;
+import ar.edu.iua.TruckTeck.integration.sap.model.SapImportReport;
+import ar.edu.iua.TruckTeck.integration.sap.model.business.IOrderBulkBusinessSap;
 import ar.edu.iua.TruckTeck.integration.sap.model.business.IOrderBusinessSap;
 import ar.edu.iua.TruckTeck.model.Order;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
@@ -36,6 +39,12 @@ public class SapRestController {
 	@Autowired
 	private IOrderBusinessSap orderBusinessSap;
 
+    /**
+     * Componente de negocio encargado de la importación masiva de ordenes
+     */
+	@Autowired
+	private IOrderBulkBusinessSap orderBulkBusinessSap;
+
     /**
      * Componente encargado de construir respuestas estándar de error.
      */
@@ -91,4 +100,41 @@ public class SapRestController {
         }
 	}
 
+    /**
+     * Importa un lote de órdenes desde SAP (por ejemplo, la planificación del día siguiente).
+     * <p>
+     * Responde a solicitudes HTTP POST en la ruta <code>/api/v1/orders/sap/b2b/bulk</code>. El
+     * cuerpo es un arreglo JSON de órdenes ({@code application/json}) o una orden por línea
+     * ({@code application/x-ndjson}), con el mismo formato que {@link #addExternal(HttpEntity)}.
+     * </p>
+     *
+     * @param httpEntity Entidad HTTP con el lote de órdenes.
+     * @return {@link ResponseEntity} con:
+     *         - {@link HttpStatus#OK} y el reporte con el resultado de cada orden,
+     *         - {@link HttpStatus#BAD_REQUEST} si el cuerpo no es válido o supera el máximo de órdenes,
+     *         - {@link HttpStatus#INTERNAL_SERVER_ERROR} si ocurre un problema de negocio.
+     */
+	@Operation(operationId = "import-orders-sap", summary = "Importa un lote de órdenes desde SAP (B2B)")
+	@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Arreglo JSON de órdenes o NDJSON (una orden por línea)", required = true, content = {
+		@Content(mediaType = "application/json", schema = @Schema(type = "string")),
+		@Content(mediaType = "application/x-ndjson", schema = @Schema(type = "string"))
+	})
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Reporte con el resultado de cada orden.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SapImportReport.class))),
+		@ApiResponse(responseCode = "400", description = "Datos de entrada inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class))),
+		@ApiResponse(responseCode = "500", description = "Error interno", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+	})
+	@PostMapping(value = "/b2b/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<?> importExternal(HttpEntity<String> httpEntity) {
+		MediaType contentType = httpEntity.getHeaders().getContentType();
+		boolean ndjson = contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON);
+		try {
+			return new ResponseEntity<>(orderBulkBusinessSap.importOrders(httpEntity.getBody(), ndjson), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(response.build(HttpStatus.BAD_REQUEST, e, e.getMessage()), HttpStatus.BAD_REQUEST);
+		} catch (BusinessException e) {
+			return new ResponseEntity<>(response.build(HttpStatus.INTERNAL_SERVER_ERROR, e, e.getMessage()),
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
 }
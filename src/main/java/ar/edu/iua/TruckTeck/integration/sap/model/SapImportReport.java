@@ -0,0 +1,33 @@
+package ar.edu.iua.TruckTeck.integration.sap.model;
+
+import java.util.List;
+
+/**
+ * Reporte de una importación masiva de órdenes desde SAP.
+ *
+ * @param total Cantidad de órdenes recibidas.
+ * @param created Órdenes creadas.
+ * @param duplicated Órdenes descartadas por estar repetidas.
+ * @param invalid Órdenes rechazadas por datos inválidos.
+ * @param failed Órdenes que no se pudieron guardar.
+ * @param results Resultado de cada orden, en el orden recibido.
+ */
+public record SapImportReport(int total, int created, int duplicated, int invalid, int failed,
+        List<SapImportResult> results) {
+
+    /**
+     * Arma el reporte contando los resultados por estado.
+     *
+     * @param results Resultado de cada orden.
+     * @return El reporte.
+     */
+    public static SapImportReport of(List<SapImportResult> results) {
+        int[] count = new int[SapImportResult.Status.values().length];
+        for (SapImportResult r : results) {
+            count[r.status().ordinal()]++;
+        }
+        return new SapImportReport(results.size(), count[SapImportResult.Status.CREATED.ordinal()],
+                count[SapImportResult.Status.DUPLICATE.ordinal()], count[SapImportResult.Status.INVALID.ordinal()],
+                count[SapImportResult.Status.FAILED.ordinal()], results);
+    }
+}
@@ -0,0 +1,31 @@
+package ar.edu.iua.TruckTeck.integration.sap.model;
+
+/**
+ * Resultado de la importación de una orden dentro de una importación masiva desde SAP.
+ *
+ * @param index Posición de la orden en el lote recibido (desde 0).
+ * @param number Número de la orden, si se pudo leer.
+ * @param externalCode Código externo de la orden, si se pudo leer.
+ * @param status Resultado de la importación.
+ * @param id Identificador asignado a la orden, si fue creada.
+ * @param message Motivo del rechazo o del error, si lo hubo.
+ */
+public record SapImportResult(int index, String number, String externalCode, Status status, Long id, String message) {
+
+    /**
+     * Resultado de la importación de una orden.
+     * <ul>
+     *   <li><b>CREATED:</b> La orden fue creada.</li>
+     *   <li><b>DUPLICATE:</b> Ya existe una orden con el mismo número o código externo (en la base de
+     *       datos o antes en el mismo lote).</li>
+     *   <li><b>INVALID:</b> El JSON no es válido o falta algún campo obligatorio.</li>
+     *   <li><b>FAILED:</b> Error al guardar la orden.</li>
+     * </ul>
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
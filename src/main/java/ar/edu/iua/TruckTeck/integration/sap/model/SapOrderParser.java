@@ -0,0 +1,108 @@
+package ar.edu.iua.TruckTeck.integration.sap.model;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.business.exceptions.EmptyFieldException;
+import ar.edu.iua.TruckTeck.util.JsonUtiles;
+
+/**
+ * Lectura y validación de las órdenes recibidas desde SAP.
+ * <p>
+ * El lector es inmutable y seguro para uso concurrente, por lo que se comparte entre peticiones
+ * y entre los hilos de la importación masiva.
+ * </p>
+ *
+ * @see OrderSapJsonDeserializer
+ */
+public final class SapOrderParser {
+
+    /**
+     * Lector de órdenes SAP (inmutable y compartido entre peticiones).
+     */
+    private static final ObjectReader ORDER_READER = JsonUtiles.getReader(Order.class,
+            new OrderSapJsonDeserializer(Order.class), null);
+
+    private SapOrderParser() {
+    }
+
+    /**
+     * Lee una orden desde su representación JSON.
+     *
+     * @param json Orden en formato JSON.
+     * @return La orden leída.
+     * @throws IOException Si el JSON no es válido.
+     */
+    public static Order parse(String json) throws IOException {
+        return ORDER_READER.readValue(json);
+    }
+
+    /**
+     * Lee una orden desde un nodo JSON ya parseado.
+     *
+     * @param node Nodo con la orden.
+     * @return La orden leída.
+     * @throws IOException Si el nodo no representa una orden válida.
+     */
+    public static Order parse(JsonNode node) throws IOException {
+        return ORDER_READER.readValue(node);
+    }
+
+    /**
+     * Valida que la orden tenga los campos obligatorios: número, conductor, cliente, camión,
+     * producto y preset.
+     *
+     * @param order Orden leída.
+     * @throws EmptyFieldException Si falta algún campo obligatorio.
+     */
+    public static void validate(Order order) throws EmptyFieldException {
+        // Si el número de la orden viene vacío o es nulo => se lanza la excepcion creada hacia el endpoint b2b
+        if (order.getNumber() == null || order.getNumber().isBlank()) {
+            throw EmptyFieldException.builder()
+                .message("El número de la orden es obligatorio")
+                .build();
+        }
+
+        Driver driver = order.getDriver();
+        if (driver == null || driver.getDocumentNumber() == null || driver.getDocumentNumber().isBlank()) {
+            throw EmptyFieldException.builder()
+                .message("El conductor de la orden es obligatorio")
+                .build();
+        }
+
+        Client client = order.getClient();
+        if (client == null || client.getCompanyName() == null || client.getCompanyName().isBlank()) {
+            throw EmptyFieldException.builder()
+                .message("El cliente de la orden es obligatorio")
+                .build();
+        }
+
+        Truck truck = order.getTruck();
+        if (truck == null || truck.getDomain() == null || truck.getDomain().isBlank()) {
+            throw EmptyFieldException.builder()
+                .message("El camión de la orden es obligatorio")
+                .build();
+        }
+
+        Product product = order.getProduct();
+        if (product == null || product.getName() == null || product.getName().isBlank()) {
+            throw EmptyFieldException.builder()
+                .message("El producto de la orden es obligatorio")
+                .build();
+        }
+
+        Double preset = order.getPreset();
+        if (preset == null || preset <= 0.0) {
+            throw EmptyFieldException.builder()
+                .message("El preset de la orden es obligatorio y debe ser mayor a 0")
+                .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ar.edu.iua.TruckTeck.integration.sap.model.business;
+
+import ar.edu.iua.TruckTeck.integration.sap.model.SapImportReport;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+
+/**
+ * Importación masiva de órdenes desde SAP (por ejemplo, la planificación del día siguiente).
+ */
+public interface IOrderBulkBusinessSap {
+
+    /**
+     * Importa un lote de órdenes SAP.
+     * <p>
+     * Las órdenes repetidas, inválidas o que no se pudieron guardar no interrumpen la
+     * importación: se informan en el reporte junto con las creadas.
+     * </p>
+     *
+     * @param body Arreglo JSON de órdenes, o una orden JSON por línea (NDJSON).
+     * @param ndjson {@code true} si el cuerpo es NDJSON.
+     * @return Reporte con el resultado de cada orden.
+     * @throws IllegalArgumentException Si el cuerpo no es un arreglo JSON válido o supera el máximo de órdenes.
+     * @throws BusinessException Si ocurre un error al resolver los datos maestros.
+     */
+    public SapImportReport importOrders(String body, boolean ndjson) throws BusinessException;
+}
@@ -0,0 +1,337 @@
+package ar.edu.iua.TruckTeck.integration.sap.model.business;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.iua.TruckTeck.integration.sap.model.SapImportReport;
+import ar.edu.iua.TruckTeck.integration.sap.model.SapImportResult;
+import ar.edu.iua.TruckTeck.integration.sap.model.SapImportResult.Status;
+import ar.edu.iua.TruckTeck.integration.sap.model.SapOrderParser;
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.business.IClientBusiness;
+import ar.edu.iua.TruckTeck.model.business.IDriverBusiness;
+import ar.edu.iua.TruckTeck.model.business.IProductBusiness;
+import ar.edu.iua.TruckTeck.model.business.ITruckBusiness;
+import ar.edu.iua.TruckTeck.model.business.OrderAuditTrail;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.business.exceptions.EmptyFieldException;
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación de {@link IOrderBulkBusinessSap}.
+ * <p>
+ * La importación se resuelve por conjuntos en lugar de orden por orden:
+ * </p>
+ * <ol>
+ *   <li>Las órdenes se leen y validan en paralelo.</li>
+ *   <li>Las repetidas se detectan dentro del lote y contra la base de datos con una consulta por
+ *       números y otra por códigos externos.</li>
+ *   <li>Choferes, clientes, camiones y productos se resuelven con una consulta {@code IN (...)} por
+ *       catálogo; los que no existen se crean.</li>
+ *   <li>Las órdenes se insertan en lotes JDBC de {@code sap.import.batch-size} filas, que el
+ *       driver reescribe como un único INSERT multi-fila ({@code rewriteBatchedStatements=true}).
+ *       Como en {@link ar.edu.iua.TruckTeck.model.business.OrderDetailWriteBuffer}, se usa JDBC
+ *       porque con {@code GenerationType.IDENTITY} Hibernate no puede agrupar los INSERT. El
+ *       registro de auditoría del alta se inserta en la misma transacción que cada lote.</li>
+ * </ol>
+ * <p>
+ * Si un lote falla (por ejemplo, porque otra petición registró el mismo número), sus órdenes se
+ * insertan de a una para informar el error de cada una sin perder las demás.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderBulkBusinessSap implements IOrderBulkBusinessSap {
+
+    private static final String INSERT_SQL = "INSERT INTO orders "
+            + "(number, external_code, driver_id, client_id, product_id, truck_id, scheduled_date, preset, "
+            + "initial_reception, state, temperature_alarm_sent, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private OrderRepository orderDAO;
+
+    @Autowired
+    private IClientBusiness clientBusiness;
+
+    @Autowired
+    private IDriverBusiness driverBusiness;
+
+    @Autowired
+    private IProductBusiness productBusiness;
+
+    @Autowired
+    private ITruckBusiness truckBusiness;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderAuditTrail auditTrail;
+
+    @Value("${sap.import.max-orders:20000}")
+    private int maxOrders;
+
+    @Value("${sap.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Estado de una orden durante la importación.
+     */
+    private static final class Item {
+        private final int index;
+        private Order order;
+        private Status status;
+        private Long id;
+        private String message;
+
+        Item(int index) {
+            this.index = index;
+        }
+
+        void reject(Status status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        SapImportResult toResult() {
+            return new SapImportResult(index, order == null ? null : order.getNumber(),
+                    order == null ? null : order.getExternalCode(), status, id, message);
+        }
+    }
+
+    @Override
+    public SapImportReport importOrders(String body, boolean ndjson) throws BusinessException {
+        List<Item> items = ndjson ? parseLines(body) : parseArray(body);
+        log.info("Importación SAP: {} órdenes recibidas", items.size());
+
+        List<Item> accepted = rejectDuplicates(items);
+        if (!accepted.isEmpty()) {
+            resolveMasterData(accepted);
+            LocalDateTime now = LocalDateTime.now();
+            String actor = OrderAuditTrail.currentActor();
+            for (int from = 0; from < accepted.size(); from += batchSize) {
+                insert(accepted.subList(from, Math.min(from + batchSize, accepted.size())), now, actor);
+            }
+        }
+
+        SapImportReport report = SapImportReport.of(items.stream().map(Item::toResult).toList());
+        log.info("Importación SAP: {} creadas, {} repetidas, {} inválidas, {} con error",
+                report.created(), report.duplicated(), report.invalid(), report.failed());
+        return report;
+    }
+
+    private List<Item> parseArray(String body) {
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("El cuerpo no es un JSON válido: " + e.getOriginalMessage(), e);
+        }
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Se esperaba un arreglo JSON de órdenes");
+        }
+        checkSize(root.size());
+        return parallelParse(root.size(), i -> SapOrderParser.parse(root.get(i)));
+    }
+
+    private List<Item> parseLines(String body) {
+        List<String> lines = body == null ? List.of() : body.lines().filter(l -> !l.isBlank()).toList();
+        checkSize(lines.size());
+        return parallelParse(lines.size(), i -> SapOrderParser.parse(lines.get(i)));
+    }
+
+    private void checkSize(int size) {
+        if (size > maxOrders) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + maxOrders + " órdenes");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+        Order parse(int index) throws IOException;
+    }
+
+    /**
+     * Lee y valida las órdenes en paralelo, conservando el orden recibido.
+     */
+    private List<Item> parallelParse(int size, Parser parser) {
+        return IntStream.range(0, size).parallel().mapToObj(i -> {
+            Item item = new Item(i);
+            try {
+                item.order = parser.parse(i);
+                SapOrderParser.validate(item.order);
+            } catch (IOException e) {
+                item.reject(Status.INVALID, "JSON inválido: " + e.getMessage());
+            } catch (EmptyFieldException e) {
+                item.reject(Status.INVALID, e.getMessage());
+            }
+            return item;
+        }).toList();
+    }
+
+    /**
+     * Marca las órdenes repetidas dentro del lote o ya registradas.
+     *
+     * @return Órdenes a crear.
+     */
+    private List<Item> rejectDuplicates(List<Item> items) {
+        Set<String> numbers = new HashSet<>();
+        Set<String> externalCodes = new HashSet<>();
+        List<Item> candidates = new ArrayList<>();
+        for (Item item : items) {
+            if (item.status != null) {
+                continue;
+            }
+            String code = item.order.getExternalCode();
+            if (!numbers.add(item.order.getNumber()) || (code != null && !externalCodes.add(code))) {
+                item.reject(Status.DUPLICATE, "Orden repetida en el lote");
+            } else {
+                candidates.add(item);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<String> existingNumbers = new HashSet<>(orderDAO.findExistingNumbers(numbers));
+        Set<String> existingCodes = externalCodes.isEmpty() ? Set.of()
+                : new HashSet<>(orderDAO.findExistingExternalCodes(externalCodes));
+        List<Item> accepted = new ArrayList<>(candidates.size());
+        for (Item item : candidates) {
+            if (existingNumbers.contains(item.order.getNumber())) {
+                item.reject(Status.DUPLICATE, "Se encontró la orden con el numero: " + item.order.getNumber());
+            } else if (existingCodes.contains(item.order.getExternalCode())) {
+                item.reject(Status.DUPLICATE, "Se encontró la orden con el código externo: " + item.order.getExternalCode());
+            } else {
+                accepted.add(item);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Resuelve (o crea) los datos maestros de las órdenes con una consulta por catálogo.
+     */
+    private void resolveMasterData(List<Item> items) throws BusinessException {
+        Map<String, Client> clients = clientBusiness.resolveAll(collect(items, Order::getClient));
+        Map<String, Driver> drivers = driverBusiness.resolveAll(collect(items, Order::getDriver));
+        Map<String, Product> products = productBusiness.resolveAll(collect(items, Order::getProduct));
+        Map<String, Truck> trucks = truckBusiness.resolveAll(collect(items, Order::getTruck));
+        for (Item item : items) {
+            Order order = item.order;
+            order.setClient(clients.get(order.getClient().getCompanyName()));
+            order.setDriver(drivers.get(order.getDriver().getDocumentNumber()));
+            order.setProduct(products.get(order.getProduct().getName()));
+            order.setTruck(trucks.get(order.getTruck().getDomain()));
+        }
+    }
+
+    private static <T> List<T> collect(List<Item> items, Function<Order, T> relation) {
+        List<T> r = new ArrayList<>(items.size());
+        for (Item item : items) {
+            r.add(relation.apply(item.order));
+        }
+        return r;
+    }
+
+    /**
+     * Inserta un lote de órdenes y sus registros de auditoría; si falla, las inserta de a una.
+     */
+    private void insert(List<Item> batch, LocalDateTime receivedAt, String actor) {
+        try {
+            long[] ids = transactionTemplate.execute(status -> insertBatch(batch, receivedAt, actor));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).status = Status.CREATED;
+                batch.get(i).id = ids[i];
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falló el lote de {} órdenes SAP, se insertan de a una: {}", batch.size(), e.getMessage());
+            for (Item item : batch) {
+                try {
+                    item.id = transactionTemplate.execute(status -> insertBatch(List.of(item), receivedAt, actor))[0];
+                    item.status = Status.CREATED;
+                } catch (DataAccessException f) {
+                    log.error("No se pudo guardar la orden SAP {}: {}", item.order.getNumber(), f.getMessage());
+                    item.reject(Status.FAILED, "Error al guardar la orden: " + f.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserta las órdenes en un lote JDBC, luego sus registros de auditoría, y devuelve los
+     * identificadores generados, en orden. Debe ejecutarse dentro de una transacción.
+     */
+    private long[] insertBatch(List<Item> batch, LocalDateTime receivedAt, String actor) {
+        long[] ids = jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Item item : batch) {
+                    Order order = item.order;
+                    ps.setString(1, order.getNumber());
+                    ps.setString(2, order.getExternalCode());
+                    ps.setLong(3, order.getDriver().getId());
+                    ps.setLong(4, order.getClient().getId());
+                    ps.setLong(5, order.getProduct().getId());
+                    ps.setLong(6, order.getTruck().getId());
+                    ps.setTimestamp(7, order.getScheduledDate() == null ? null : Timestamp.valueOf(order.getScheduledDate()));
+                    ps.setDouble(8, order.getPreset());
+                    ps.setTimestamp(9, Timestamp.valueOf(receivedAt));
+                    ps.setString(10, OrderState.PENDING.name());
+                    ps.setBoolean(11, false);
+                    ps.setLong(12, 0L);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                long[] generated = new long[batch.size()];
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < generated.length && keys.next(); i++) {
+                        generated[i] = keys.getLong(1);
+                    }
+                }
+                return generated;
+            }
+        });
+        List<OrderAuditTrail.Entry> entries = new ArrayList<>(batch.size());
+        for (long id : ids) {
+            entries.add(new OrderAuditTrail.Entry(id, OrderLogKind.TRANSITION, null, OrderState.PENDING, receivedAt,
+                    actor, "Orden importada desde SAP"));
+        }
+        auditTrail.insert(entries);
+        return ids;
+    }
+}
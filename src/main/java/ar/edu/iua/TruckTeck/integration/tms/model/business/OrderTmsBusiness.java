@@ -1,8 +1,6 @@
 package ar.edu.iua.TruckTeck.integration.tms.model.business;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.Random;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,13 +8,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import ar.edu.iua.TruckTeck.model.Order;
-import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.business.ActivationCodeAllocator;
+import ar.edu.iua.TruckTeck.model.business.IOrderStateBusiness;
+import ar.edu.iua.TruckTeck.model.business.OrderNumberIndex;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.enums.OrderState;
-import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
-import ar.edu.iua.TruckTeck.model.persistence.OrderStatusLogRepository;
 
 /**
  * Implementación de la lógica de negocio para la integración con TMS (Terminal Management System).
@@ -55,16 +53,22 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
     private static final Logger log = LoggerFactory.getLogger(OrderTmsBusiness.class);
 
     /**
-     * Repositorio para acceso a datos de órdenes.
+     * Transiciones de estado de las órdenes, con su registro de auditoría.
      */
     @Autowired
-    private OrderRepository orderRepository;
+    private IOrderStateBusiness orderStateBusiness;
 
     /**
-     * Repositorio para registro de auditoría de cambios de estado.
+     * Índice número → id de las órdenes.
      */
     @Autowired
-    private OrderStatusLogRepository orderStatusLogRepository;
+    private OrderNumberIndex numberIndex;
+
+    /**
+     * Códigos de activación en uso por las órdenes en curso.
+     */
+    @Autowired
+    private ActivationCodeAllocator activationCodes;
 
     /**
      * Registra la tara inicial de una orden basada en el número de orden y el peso inicial del camión vacío.
@@ -72,10 +76,11 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
      * Flujo:
      * 1. Busca la orden por número de orden
      * 2. Valida que la orden esté en estado PENDING
-     * 3. Genera código de activación de 5 dígitos
+     * 3. Asigna un código de activación de 5 dígitos libre entre las órdenes en curso
      * 4. Registra el peso inicial y fecha/hora
      * 5. Cambia estado a TARA_REGISTERED
      * 6. Registra el cambio de estado en el log
+     * 7. Abre la sesión de carga en memoria y registra el preset para el sistema de carga
      * 
      * @param number número de orden (ej: "ORD-001")
      * @param initialWeight peso del camión vacío (tara) en kg
@@ -93,7 +98,7 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
         try {
             // 1. Buscar una orden pendiente para este camión por dominio
             // Optional<Order> orderOpt = orderRepository.findByTrucknumberAndState(number, OrderState.PENDING);
-            Optional<Order> orderOpt = orderRepository.findByNumber(number);
+            Optional<Order> orderOpt = numberIndex.find(number);
             if (orderOpt.isEmpty()) {
                 throw new NotFoundException(
                     "No se encontró una orden pendiente de pesaje inicial con el numero: " + number
@@ -109,24 +114,22 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
                 );
             }
 
-            // 4. Generar código de activación único de 5 dígitos
-            String activationCode = generateActivationCode();
-
-            // 5. Registrar datos del pesaje inicial
-            order.setInitialWeight(initialWeight);
-            order.setActivationCode(activationCode);
-            order.setInitialWeighing(LocalDateTime.now());
-
-            // 6. Cambiar estado a TARA_REGISTERED
-            OrderState previousState = order.getState();
-            order.setState(OrderState.TARA_REGISTERED);
-
-            // 7. Guardar la orden
-            Order savedOrder = orderRepository.save(order);
-
-            // 8. Registrar el cambio de estado en el log
-            logStateChange(savedOrder, previousState, OrderState.TARA_REGISTERED, 
-                "TMS", "Pesaje inicial registrado. Peso: " + initialWeight + " kg");
+            // 4. Asignar un código de activación de 5 dígitos que no use otra orden en curso
+            String activationCode = activationCodes.allocate();
+
+            // 5. Registrar el pesaje inicial y cambiar el estado a TARA_REGISTERED, junto con
+            //    el log de auditoría. Al confirmarse se abre la sesión de carga en memoria y se
+            //    registra el preset para el handshake del cargador (OrderStateEvent).
+            //    Si la transición no se aplica (por ejemplo otro pesaje concurrente de la misma
+            //    orden), el código vuelve a quedar libre
+            Order savedOrder;
+            try {
+                savedOrder = orderStateBusiness.registerTara(order, initialWeight, activationCode,
+                    "TMS", "Pesaje inicial registrado. Peso: " + initialWeight + " kg");
+            } catch (BusinessException e) {
+                activationCodes.release(activationCode);
+                throw e;
+            }
 
             log.info("TMS: Pesaje inicial registrado exitosamente. Orden: {}, Código: {}", 
                 savedOrder.getNumber(), activationCode);
@@ -172,7 +175,7 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
             // Optional<Order> orderOpt = orderRepository.findByActivationCode(activationCode);
 
             // 1. Buscar la orden por número de orden
-            Optional<Order> orderOpt = orderRepository.findByNumber(number);
+            Optional<Order> orderOpt = numberIndex.find(number);
             if (orderOpt.isEmpty()) {
                 throw new NotFoundException(
                     "No se encontró una orden con el numero de orden: " + number
@@ -200,25 +203,15 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
                 );
             }
 
-            // 4. Registrar el peso final
-            order.setFinalWeight(finalWeight);
-            order.setEndWeighing(LocalDateTime.now());
-
-            // 5. Cambiar estado a FINALIZED
-            OrderState previousState = order.getState();
-            order.setState(OrderState.FINALIZED);
-
-            // 6. Guardar la orden
-            Order savedOrder = orderRepository.save(order);
-
-            // 7. Registrar el cambio de estado en el log
-            logStateChange(savedOrder, previousState, OrderState.FINALIZED, 
+            // 4. Registrar el peso final y cambiar el estado a FINALIZED, junto con el log de
+            //    auditoría. Al confirmarse se quita el preset del índice en memoria (OrderStateEvent)
+            Order savedOrder = orderStateBusiness.registerFinalWeighing(order, finalWeight,
                 "TMS", "Pesaje final registrado. Peso: " + finalWeight + " kg");
 
             log.info("TMS: Pesaje final registrado exitosamente. Orden: {}, Peso final: {} kg", 
                 savedOrder.getNumber(), finalWeight);
 
-            // 8. Retornar la orden con los datos de conciliación
+            // 5. Retornar la orden con los datos de conciliación
             // La conciliación se calcula en tiempo real cuando se solicita
             return savedOrder;
 
@@ -230,76 +223,4 @@ public class OrderTmsBusiness implements IOrderTmsBusiness {
             throw new BusinessException("Error al registrar el pesaje final: " + e.getMessage());
         }
     }
-
-    /**
-     * Genera un código de activación aleatorio de 5 dígitos.
-     * <p>
-     * El código se genera usando números aleatorios entre 00000 y 99999.
-     * Se formatea con ceros a la izquierda para garantizar siempre 5 dígitos.
-     * </p>
-     * 
-     * <p><b>Ejemplos:</b></p>
-     * <ul>
-     *   <li>12345</li>
-     *   <li>00789</li>
-     *   <li>99999</li>
-     * </ul>
-     * 
-     * @return String con exactamente 5 dígitos numéricos
-     */
-    private String generateActivationCode() {
-        Random random = new Random();
-        int code = random.nextInt(100000); // Genera número entre 0 y 99999
-        return String.format("%05d", code); // Formatea con ceros a la izquierda si es necesario
-    }
-
-    /**
-     * Registra un cambio de estado en el log de auditoría (OrderStatusLog).
-     * <p>
-     * Crea un registro de auditoría cada vez que una orden cambia de estado,
-     * permitiendo trazabilidad completa del proceso de carga.
-     * </p>
-     * 
-     * <p><b>Información registrada:</b></p>
-     * <ul>
-     *   <li>Número de orden</li>
-     *   <li>Estado anterior y nuevo estado</li>
-     *   <li>Timestamp del cambio</li>
-     *   <li>Actor/usuario que realizó el cambio</li>
-     *   <li>Observaciones adicionales</li>
-     * </ul>
-     * 
-     * <p>
-     * Si ocurre un error al guardar el log, se registra en los logs de aplicación
-     * pero NO se lanza excepción para no interrumpir el flujo principal del negocio.
-     * </p>
-     * 
-     * @param order Orden que cambió de estado
-     * @param previousState Estado anterior de la orden
-     * @param newState Nuevo estado de la orden
-     * @param user Usuario o sistema que realizó el cambio (ej: "TMS", "Operador Juan")
-     * @param observation Observaciones adicionales sobre el cambio (ej: "Pesaje inicial registrado. Peso: 8500.5 kg")
-     */
-    private void logStateChange(Order order, OrderState previousState, OrderState newState, 
-                                 String user, String observation) {
-        try {
-            OrderStatusLog statusLog = new OrderStatusLog();
-            statusLog.setOrderNumber(order.getId());
-            statusLog.setFromState(previousState);
-            statusLog.setToState(newState);
-            statusLog.setTimestamp(LocalDateTime.now());
-            statusLog.setActor(user);
-            statusLog.setNote(observation);
-
-            orderStatusLogRepository.save(statusLog);
-
-            log.debug("Estado de orden {} registrado en auditoría: {} -> {}", 
-                order.getNumber(), previousState, newState);
-
-        } catch (Exception e) {
-            log.error("Error al registrar cambio de estado en el log de auditoría", e);
-            // No lanzamos excepción para no interrumpir el flujo principal del negocio
-        }
-    }
 }
-
@@ -0,0 +1,75 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+/**
+ * Modelo de lectura de la conciliación de una orden: los campos de la cabecera que usan la
+ * conciliación y su PDF, junto con los agregados de la carga ({@link OrderLoadingStats}).
+ * <p>
+ * Se obtiene con una única consulta ({@code OrderRepository.findConciliationByNumber}). Los
+ * agregados son {@code null} si la orden todavía no tiene {@link OrderLoadingStats}.
+ * </p>
+ */
+public record ConciliationView(
+        long orderId,
+        String number,
+        OrderState state,
+        Double initialWeight,
+        Double finalWeight,
+        Double accumulatedMass,
+        Double preset,
+        LocalDateTime startLoading,
+        LocalDateTime endLoading,
+        String clientName,
+        String productName,
+        String truckDomain,
+        String driverName,
+        String driverSurname,
+        Long temperatureCount,
+        Double temperatureSum,
+        Long densityCount,
+        Double densitySum,
+        Long caudalCount,
+        Double caudalSum) {
+
+    /**
+     * Indica si la consulta encontró los agregados de la carga.
+     *
+     * @return {@code true} si los promedios están disponibles.
+     */
+    public boolean hasStats() {
+        return temperatureCount != null && temperatureCount > 0;
+    }
+
+    /**
+     * Copia de la vista con los agregados indicados (por ejemplo, recién recalculados).
+     *
+     * @param stats Agregados de la carga.
+     * @return Nueva vista.
+     */
+    public ConciliationView withStats(OrderLoadingStats stats) {
+        return new ConciliationView(orderId, number, state, initialWeight, finalWeight, accumulatedMass, preset,
+                startLoading, endLoading, clientName, productName, truckDomain, driverName, driverSurname,
+                stats.getTemperature().getCount(), stats.getTemperature().getSum(),
+                stats.getDensity().getCount(), stats.getDensity().getSum(),
+                stats.getCaudal().getCount(), stats.getCaudal().getSum());
+    }
+
+    public Double averageTemperature() {
+        return average(temperatureSum, temperatureCount);
+    }
+
+    public Double averageDensity() {
+        return average(densitySum, densityCount);
+    }
+
+    public Double averageCaudal() {
+        return average(caudalSum, caudalCount);
+    }
+
+    private static Double average(Double sum, Long count) {
+        return sum == null || count == null || count == 0 ? null : sum / count;
+    }
+}
@@ -0,0 +1,17 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por clave (keyset).
+ * <p>
+ * No incluye el total de elementos: contarlos obligaría a recorrer toda la tabla en cada
+ * página. El cliente pide la página siguiente reenviando {@code nextCursor}, que es
+ * {@code null} en la última página.
+ * </p>
+ *
+ * @param items Elementos de la página.
+ * @param nextCursor Cursor de la página siguiente, o {@code null} si no hay más elementos.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -1,5 +1,7 @@
 package ar.edu.iua.TruckTeck.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -34,6 +36,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Entity
 @Table(name = "drivers")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Driver {
 
     @Id
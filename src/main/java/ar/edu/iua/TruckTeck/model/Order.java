@@ -2,17 +2,25 @@ package ar.edu.iua.TruckTeck.model;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import ar.edu.iua.TruckTeck.model.enums.OrderState;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -60,14 +68,33 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = @UniqueConstraint(name = "uk_orders_number", columnNames = "number"), indexes = {
+    @Index(name = "idx_orders_state", columnList = "state, id"),
+    @Index(name = "idx_orders_scheduled_date", columnList = "scheduled_date, id")
+})
+@NamedEntityGraph(name = Order.GRAPH_FULL, attributeNodes = {
+    @NamedAttributeNode("driver"), @NamedAttributeNode("client"), @NamedAttributeNode("product"), @NamedAttributeNode("truck")
+})
+@NamedEntityGraph(name = Order.GRAPH_CHARGING, attributeNodes = @NamedAttributeNode("product"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Order {
 
+    /**
+     * Grafo con todas las relaciones (pantallas de detalle de la orden).
+     */
+    public static final String GRAPH_FULL = "Order.full";
+
+    /**
+     * Grafo de la sesión de carga: la cabecera y el producto (estrategia de retención).
+     */
+    public static final String GRAPH_CHARGING = "Order.charging";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id; // Clave primaria
 
-    private String number; // Número de orden
+    @Column(nullable = false)
+    private String number; // Número de orden (clave natural, única e indexada; ver db/orders_number_unique.sql)
 
     // ===== Integracion con sistemas externos mediante la logica del cliente =====
     @Column(unique = true, nullable = true)
@@ -75,19 +102,21 @@ public class Order {
     private String activationCode;      // Código de 5 dígitos (se genera al registrar tara)
 
     // ======== Relaciones con otras Entidades ========
-    @ManyToOne
+    // Se cargan de forma diferida; cada caso de uso indica qué necesita con un grafo de entidad
+    // (GRAPH_FULL, GRAPH_CHARGING) o una proyección (OrderSummary, ConciliationView)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driver_id", nullable = false)
     private Driver driver;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "truck_id", nullable = false)
     private Truck truck;
 
@@ -121,4 +150,9 @@ public class Order {
 
     // ======= Alarma =======
     private Boolean temperatureAlarmSent = false; // Indica si se envió alarma de temperatura
+
+    // ======= Control de concurrencia =======
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version; // Versión para bloqueo optimista
 }
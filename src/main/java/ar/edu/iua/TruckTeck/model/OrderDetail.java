@@ -1,10 +1,14 @@
 package ar.edu.iua.TruckTeck.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -32,6 +36,12 @@ import java.time.LocalDateTime;
  * 
  * <p><b>Nota:</b> El campo {@code timestamp} es crucial para ordenar los registros cronológicamente
  * y calcular tasas de cambio o promedios ponderados por tiempo.</p>
+ *
+ * <p>
+ * Las consultas por orden (último detalle, curva de carga, agregados) se resuelven con el índice
+ * compuesto {@code (order_id, timestamp, id)}; las exportaciones y el resumen por minuto
+ * ({@link OrderDetailMinute}) recorren rangos de tiempo con el índice sobre {@code timestamp}.
+ * </p>
  * 
  * @see Order
  */
@@ -40,7 +50,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(name = "order_details")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "order_details", indexes = {
+    @Index(name = "idx_order_details_order_ts", columnList = "order_id, timestamp, id"),
+    @Index(name = "idx_order_details_ts", columnList = "timestamp")
+})
 public class OrderDetail {
 
     /**
@@ -54,10 +68,11 @@ public class OrderDetail {
      * Orden a la que pertenece este registro de carga.
      * <p>
      * La relación {@code @ManyToOne} permite recuperar todos los detalles
-     * de una orden específica para análisis temporal.
+     * de una orden específica para análisis temporal. Se carga de forma diferida: las
+     * consultas de detalles usan proyecciones sin la orden.
      * </p>
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
@@ -0,0 +1,49 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Curva de carga archivada de una orden finalizada.
+ * <p>
+ * Una vez que la orden pasa a FINALIZED sus {@link OrderDetail} no cambian más; el archivado
+ * los codifica en un único bloque columnar comprimido
+ * ({@link ar.edu.iua.TruckTeck.util.OrderDetailCodec}) guardado en esta tabla, con la misma clave
+ * que la orden, y elimina las filas de {@code order_details}.
+ * </p>
+ */
+@Entity
+@Table(name = "order_detail_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderDetailArchive {
+
+    @Id
+    private Long orderId; // Misma clave que la orden
+
+    @Column(nullable = false)
+    private String orderNumber;
+
+    private int sampleCount;
+
+    private LocalDateTime firstTimestamp;
+
+    private LocalDateTime lastTimestamp;
+
+    private int codecVersion;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,11 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un {@link OrderDetail} para exportación: los valores de la muestra y el número
+ * de la orden, sin cargar la entidad {@link Order}.
+ */
+public record OrderDetailExportRow(String orderNumber, long id, LocalDateTime timestamp, Double accumulatedMass,
+        Double density, Double temperature, Double caudal) {
+}
@@ -0,0 +1,126 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumen por minuto de los detalles de carga de una orden.
+ * <p>
+ * El proceso de retención reemplaza los {@link OrderDetail} más antiguos que
+ * {@code charging.detail.rollup.min-age-days} días por un registro por orden y minuto, con la
+ * cantidad de muestras, la masa acumulada al final del minuto y el promedio, mínimo y máximo de
+ * temperatura, densidad y caudal.
+ * </p>
+ */
+@Entity
+@Table(name = "order_detail_minutes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_order_detail_minutes_order_minute", columnNames = {"order_id", "minute"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderDetailMinute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private LocalDateTime minute; // Inicio del minuto
+
+    private int samples;
+
+    private Double accumulatedMass; // Masa acumulada al final del minuto
+
+    private Double temperatureAvg;
+    private Double temperatureMin;
+    private Double temperatureMax;
+
+    private Double densityAvg;
+    private Double densityMin;
+    private Double densityMax;
+
+    private Double caudalAvg;
+    private Double caudalMin;
+    private Double caudalMax;
+
+    public OrderDetailMinute(Long orderId, LocalDateTime minute) {
+        this.orderId = orderId;
+        this.minute = minute;
+    }
+
+    /**
+     * Agrega una muestra al resumen. Las muestras deben llegar en orden cronológico.
+     *
+     * @param sample Muestra del minuto.
+     */
+    public void add(OrderDetailSample sample) {
+        samples++;
+        accumulatedMass = sample.accumulatedMass();
+        temperatureAvg = average(temperatureAvg, sample.temperature());
+        temperatureMin = min(temperatureMin, sample.temperature());
+        temperatureMax = max(temperatureMax, sample.temperature());
+        densityAvg = average(densityAvg, sample.density());
+        densityMin = min(densityMin, sample.density());
+        densityMax = max(densityMax, sample.density());
+        caudalAvg = average(caudalAvg, sample.caudal());
+        caudalMin = min(caudalMin, sample.caudal());
+        caudalMax = max(caudalMax, sample.caudal());
+    }
+
+    /**
+     * Combina otro resumen del mismo minuto (por ejemplo, muestras que llegaron tarde).
+     *
+     * @param other Resumen a combinar; se considera posterior a este.
+     */
+    public void merge(OrderDetailMinute other) {
+        int total = samples + other.samples;
+        if (other.accumulatedMass != null) {
+            accumulatedMass = accumulatedMass == null ? other.accumulatedMass : Math.max(accumulatedMass, other.accumulatedMass);
+        }
+        temperatureAvg = weighted(temperatureAvg, other.temperatureAvg, other.samples, total);
+        temperatureMin = min(temperatureMin, other.temperatureMin);
+        temperatureMax = max(temperatureMax, other.temperatureMax);
+        densityAvg = weighted(densityAvg, other.densityAvg, other.samples, total);
+        densityMin = min(densityMin, other.densityMin);
+        densityMax = max(densityMax, other.densityMax);
+        caudalAvg = weighted(caudalAvg, other.caudalAvg, other.samples, total);
+        caudalMin = min(caudalMin, other.caudalMin);
+        caudalMax = max(caudalMax, other.caudalMax);
+        samples = total;
+    }
+
+    private Double average(Double current, Double value) {
+        if (value == null) {
+            return current;
+        }
+        return current == null ? value : current + (value - current) / samples;
+    }
+
+    private Double weighted(Double current, Double value, int otherSamples, int total) {
+        if (value == null) {
+            return current;
+        }
+        return current == null ? value : current + (value - current) * otherSamples / total;
+    }
+
+    private static Double min(Double a, Double b) {
+        return a == null ? b : b == null ? a : Math.min(a, b);
+    }
+
+    private static Double max(Double a, Double b) {
+        return a == null ? b : b == null ? a : Math.max(a, b);
+    }
+}
@@ -0,0 +1,14 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un {@link OrderDetail} con sólo los valores de la muestra, sin la orden asociada.
+ * <p>
+ * Se construye directamente en la consulta JPQL ({@code SELECT new ...}), sin cargar la entidad
+ * ni su relación con la orden.
+ * </p>
+ */
+public record OrderDetailPoint(long id, LocalDateTime timestamp, Double accumulatedMass, Double density,
+        Double temperature, Double caudal) {
+}
@@ -0,0 +1,11 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un {@link OrderDetail} con el identificador de la orden, usada para recorrer
+ * detalles de varias órdenes sin cargar las entidades.
+ */
+public record OrderDetailSample(long orderId, LocalDateTime timestamp, Double accumulatedMass, Double density,
+        Double temperature, Double caudal) {
+}
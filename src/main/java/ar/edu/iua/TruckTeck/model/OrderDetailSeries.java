@@ -0,0 +1,40 @@
+package ar.edu.iua.TruckTeck.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Serie de la curva de carga de una orden en formato columnar: el elemento {@code i} de cada
+ * arreglo corresponde al mismo punto.
+ * <p>
+ * Los timestamps se expresan en milisegundos desde epoch (zona horaria del servidor).
+ * </p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OrderDetailSeries {
+
+    private long[] timestamps;
+
+    private double[] accumulatedMass;
+
+    private double[] density;
+
+    private double[] temperature;
+
+    private double[] caudal;
+
+    /**
+     * Cantidad de detalles leídos para construir la serie (antes de reducir los puntos).
+     */
+    private int rows;
+
+    /**
+     * Cursor para obtener la página siguiente, o {@code null} si no hay más detalles en la ventana.
+     */
+    private String nextCursor;
+}
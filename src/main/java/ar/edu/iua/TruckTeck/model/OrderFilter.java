@@ -0,0 +1,24 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+/**
+ * Filtros del listado paginado de órdenes. Los valores {@code null} no filtran.
+ *
+ * @param state Estado de la orden.
+ * @param from Fecha prevista de carga desde (inclusive).
+ * @param to Fecha prevista de carga hasta (exclusive).
+ * @param client Razón social del cliente.
+ * @param truck Dominio del camión.
+ * @param product Nombre del producto.
+ */
+public record OrderFilter(
+        OrderState state,
+        LocalDateTime from,
+        LocalDateTime to,
+        String client,
+        String truck,
+        String product) {
+}
@@ -0,0 +1,90 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.AttributeOverrides;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Agregados de la carga de una orden (temperatura, densidad y caudal), guardados en una
+ * tabla lateral con la misma clave que la orden.
+ * <p>
+ * Se calculan en memoria sobre todas las muestras aceptadas por el sistema de carga (no sólo
+ * las persistidas como {@link OrderDetail}), se guardan como punto de control durante la carga
+ * ({@code charging.stats.checkpoint-seconds}) y al cerrarla, de modo que la conciliación y su PDF
+ * los leen con una única consulta por clave primaria. Si la aplicación se reinicia durante la
+ * carga, la sesión retoma el último punto de control; sólo se pierden las muestras aceptadas
+ * después de él.
+ * </p>
+ * <p>
+ * Las órdenes sin agregados (cargadas antes de mantenerlos) los recalculan a partir de los
+ * detalles persistidos y {@link #rebuiltFromDetails} queda en {@code true}.
+ * </p>
+ */
+@Entity
+@Table(name = "order_loading_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderLoadingStats {
+
+    @Id
+    private Long orderId; // Misma clave que la orden
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "temperature_count")),
+        @AttributeOverride(name = "sum", column = @Column(name = "temperature_sum")),
+        @AttributeOverride(name = "min", column = @Column(name = "temperature_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "temperature_max")),
+        @AttributeOverride(name = "m2", column = @Column(name = "temperature_m2"))
+    })
+    private RunningStats temperature = new RunningStats();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "density_count")),
+        @AttributeOverride(name = "sum", column = @Column(name = "density_sum")),
+        @AttributeOverride(name = "min", column = @Column(name = "density_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "density_max")),
+        @AttributeOverride(name = "m2", column = @Column(name = "density_m2"))
+    })
+    private RunningStats density = new RunningStats();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "caudal_count")),
+        @AttributeOverride(name = "sum", column = @Column(name = "caudal_sum")),
+        @AttributeOverride(name = "min", column = @Column(name = "caudal_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "caudal_max")),
+        @AttributeOverride(name = "m2", column = @Column(name = "caudal_m2"))
+    })
+    private RunningStats caudal = new RunningStats();
+
+    private Boolean rebuiltFromDetails = false; // true si se calcularon desde order_details
+
+    private LocalDateTime updatedAt;
+
+    public OrderLoadingStats(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Agrega una muestra de carga.
+     *
+     * @param sample Muestra aceptada.
+     */
+    public void add(OrderDetail sample) {
+        temperature.add(sample.getTemperature());
+        density.add(sample.getDensity());
+        caudal.add(sample.getCaudal());
+    }
+}
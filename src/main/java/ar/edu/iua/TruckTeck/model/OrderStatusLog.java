@@ -1,5 +1,6 @@
 package ar.edu.iua.TruckTeck.model;
 
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
 import ar.edu.iua.TruckTeck.model.enums.OrderState;
 import jakarta.persistence.*;
 import lombok.*;
@@ -24,7 +25,7 @@ import java.time.LocalDateTime;
  * @see OrderState
  */
 @Entity
-@Table(name = "order_status_log")
+@Table(name = "order_status_log", indexes = @Index(name = "idx_order_status_log_order", columnList = "order_number, timestamp"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -50,14 +51,15 @@ public class OrderStatusLog {
     /**
      * Estado anterior de la orden antes del cambio.
      * <p>
-     * Puede ser {@code null} cuando la orden se crea por primera vez (no existe estado previo).
+     * Puede ser {@code null} cuando la orden se crea por primera vez (no existe estado previo) y
+     * en las anotaciones ({@link OrderLogKind#NOTE}), que no cambian el estado.
      * </p>
      */
     @Enumerated(EnumType.STRING)
     private OrderState fromState;
     
     /**
-     * Estado nuevo al que transicionó la orden.
+     * Estado nuevo al que transicionó la orden, o el estado de la orden al registrar una anotación.
      * <p>
      * Este campo nunca es {@code null} ya que todo cambio tiene un estado destino.
      * </p>
@@ -103,4 +105,15 @@ public class OrderStatusLog {
      */
     @Column(nullable = false)
     private LocalDateTime timestamp;
+
+    /**
+     * Tipo de registro: cambio de estado o anotación.
+     * <p>
+     * Permite distinguir las transiciones de las anotaciones sin comparar los estados. Los
+     * registros anteriores a esta columna se completan con {@code db/order_status_log_kind.sql}.
+     * </p>
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private OrderLogKind kind = OrderLogKind.TRANSITION;
 }
\ No newline at end of file
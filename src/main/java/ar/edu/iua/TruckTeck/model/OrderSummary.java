@@ -0,0 +1,23 @@
+package ar.edu.iua.TruckTeck.model;
+
+import java.time.LocalDateTime;
+
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+/**
+ * Resumen de una orden para el listado: la cabecera y los nombres de cliente, producto, camión
+ * y chofer, obtenidos con una única consulta sin cargar las entidades relacionadas.
+ */
+public record OrderSummary(
+        long id,
+        String number,
+        OrderState state,
+        LocalDateTime scheduledDate,
+        Double preset,
+        Double accumulatedMass,
+        String clientName,
+        String productName,
+        String truckDomain,
+        String driverName,
+        String driverSurname) {
+}
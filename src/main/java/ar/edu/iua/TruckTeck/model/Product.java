@@ -1,10 +1,16 @@
 package ar.edu.iua.TruckTeck.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -33,7 +39,8 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_name", columnList = "name"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Product {
 
     @Id
@@ -46,4 +53,7 @@ public class Product {
 
     @Column(unique = true, nullable = true)
     private String externalCode; // Codigo de SAP para este producto
+
+    @Enumerated(EnumType.STRING)
+    private SampleRetentionMode retentionMode; // Retención de muestras de carga (null = modo por defecto)
 }
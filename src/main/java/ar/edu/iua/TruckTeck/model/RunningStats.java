@@ -0,0 +1,66 @@
+package ar.edu.iua.TruckTeck.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Estadísticas acumuladas de una variable de carga: cantidad, suma, mínimo, máximo y
+ * suma de cuadrados de las desviaciones (M2), actualizadas en O(1) por muestra con el
+ * algoritmo de Welford.
+ * <p>
+ * El promedio y la varianza se derivan de estos valores sin volver a leer las muestras.
+ * </p>
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningStats {
+
+    private long count;
+
+    private double sum;
+
+    private Double min;
+
+    private Double max;
+
+    private double m2; // Suma de los cuadrados de las desviaciones respecto del promedio
+
+    /**
+     * Agrega un valor a las estadísticas.
+     *
+     * @param value Valor de la muestra.
+     */
+    public void add(double value) {
+        double previousMean = count == 0 ? 0 : sum / count;
+        count++;
+        sum += value;
+        double mean = sum / count;
+        m2 += (value - previousMean) * (value - mean);
+        min = min == null ? value : Math.min(min, value);
+        max = max == null ? value : Math.max(max, value);
+    }
+
+    /**
+     * Promedio de los valores agregados.
+     *
+     * @return el promedio, o {@code null} si no hay valores.
+     */
+    public Double getAverage() {
+        return count == 0 ? null : sum / count;
+    }
+
+    /**
+     * Varianza poblacional de los valores agregados.
+     *
+     * @return la varianza, o {@code null} si no hay valores.
+     */
+    public Double getVariance() {
+        return count == 0 ? null : m2 / count;
+    }
+}
@@ -0,0 +1,234 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.events.OrderStateEvent;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asignador de los códigos de activación de 5 dígitos que emite el TMS en el pesaje inicial.
+ * <p>
+ * Garantiza que dos órdenes en curso (TARA_REGISTERED o LOADING) no compartan código. Los
+ * códigos en uso se guardan en un {@link BitSet} de {@value #CODES} bits y los libres en una
+ * lista mezclada al azar, con la posición de cada código en la lista; asignar, reservar y
+ * liberar un código son operaciones O(1).
+ * </p>
+ * <ul>
+ *   <li><b>Asignación:</b> Se toma el último código de la lista de libres.</li>
+ *   <li><b>Liberación:</b> Se agrega al final de la lista y se intercambia con una posición al
+ *       azar, de modo que la lista sigue mezclada.</li>
+ *   <li><b>Reserva:</b> Se quita de la lista un código puntual (arranque o modificación de la
+ *       orden desde la API) intercambiándolo con el último.</li>
+ * </ul>
+ * <p>
+ * El código se libera cuando la orden pasa a FINALIZED ({@link OrderStateEvent}) o cuando se
+ * elimina o modifica desde la API. Al iniciar la aplicación el estado se reconstruye con los
+ * códigos de las órdenes en curso guardadas en la base de datos.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ActivationCodeAllocator implements ApplicationListener<OrderStateEvent> {
+
+    /**
+     * Cantidad de códigos posibles (00000 a 99999).
+     */
+    public static final int CODES = 100_000;
+
+    /**
+     * Estados en los que la orden retiene su código de activación.
+     */
+    private static final List<OrderState> IN_USE_STATES = List.of(OrderState.TARA_REGISTERED, OrderState.LOADING);
+
+    @Autowired
+    private OrderRepository orderDAO;
+
+    private final BitSet inUse = new BitSet(CODES);
+
+    private final int[] free = new int[CODES];
+
+    /**
+     * Posición de cada código en {@link #free}, o -1 si está en uso.
+     */
+    private final int[] position = new int[CODES];
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private int freeCount;
+
+    public ActivationCodeAllocator() {
+        reset(List.of());
+    }
+
+    @PostConstruct
+    void init() {
+        reset(orderDAO.findActivationCodesByStateIn(IN_USE_STATES));
+        log.info("Códigos de activación en uso: {} de {}", inUse(), CODES);
+    }
+
+    /**
+     * Reinicia el asignador con los códigos indicados como en uso y el resto mezclados al azar.
+     *
+     * @param codes Códigos en uso; se ignoran los repetidos y los que no tienen 5 dígitos.
+     */
+    synchronized void reset(Collection<String> codes) {
+        inUse.clear();
+        for (String code : codes) {
+            int value = parse(code);
+            if (value < 0) {
+                log.warn("Código de activación inválido en una orden en curso: {}", code);
+            } else if (inUse.get(value)) {
+                log.warn("Código de activación {} repetido en órdenes en curso", code);
+            } else {
+                inUse.set(value);
+            }
+        }
+        freeCount = 0;
+        for (int value = 0; value < CODES; value++) {
+            if (inUse.get(value)) {
+                position[value] = -1;
+            } else {
+                addFree(value);
+            }
+        }
+    }
+
+    /**
+     * Asigna un código de activación libre.
+     *
+     * @return Código de 5 dígitos, con ceros a la izquierda.
+     * @throws BusinessException Si todos los códigos están en uso.
+     */
+    public synchronized String allocate() throws BusinessException {
+        if (freeCount == 0) {
+            throw BusinessException.builder()
+                    .message("No hay códigos de activación disponibles (" + CODES + " órdenes en curso)")
+                    .build();
+        }
+        int value = free[--freeCount];
+        position[value] = -1;
+        inUse.set(value);
+        return format(value);
+    }
+
+    /**
+     * Marca un código como en uso, si no lo estaba.
+     *
+     * @param code Código de activación.
+     * @return {@code true} si el código estaba libre.
+     */
+    public synchronized boolean reserve(String code) {
+        int value = parse(code);
+        if (value < 0 || inUse.get(value)) {
+            return false;
+        }
+        int index = position[value];
+        int last = free[--freeCount];
+        free[index] = last;
+        position[last] = index;
+        position[value] = -1;
+        inUse.set(value);
+        return true;
+    }
+
+    /**
+     * Libera un código, si estaba en uso.
+     *
+     * @param code Código de activación.
+     * @return {@code true} si el código estaba en uso.
+     */
+    public synchronized boolean release(String code) {
+        int value = parse(code);
+        if (value < 0 || !inUse.get(value)) {
+            return false;
+        }
+        inUse.clear(value);
+        addFree(value);
+        return true;
+    }
+
+    /**
+     * Indica si un código está asignado a una orden en curso.
+     *
+     * @param code Código de activación.
+     * @return {@code true} si está en uso.
+     */
+    public synchronized boolean isInUse(String code) {
+        int value = parse(code);
+        return value >= 0 && inUse.get(value);
+    }
+
+    /**
+     * Cantidad de códigos en uso.
+     *
+     * @return Códigos asignados a órdenes en curso.
+     */
+    public synchronized int inUse() {
+        return CODES - freeCount;
+    }
+
+    /**
+     * Indica si la orden retiene su código de activación según su estado.
+     *
+     * @param order Orden.
+     * @return {@code true} si está en TARA_REGISTERED o LOADING y tiene código.
+     */
+    public static boolean holdsCode(Order order) {
+        return order.getActivationCode() != null && IN_USE_STATES.contains(order.getState());
+    }
+
+    @Override
+    public void onApplicationEvent(OrderStateEvent event) {
+        if (event.getToState() == OrderState.FINALIZED) {
+            release(event.getOrder().getActivationCode());
+        }
+    }
+
+    /**
+     * Agrega un código a la lista de libres en una posición al azar (paso de Fisher-Yates).
+     */
+    private void addFree(int value) {
+        int j = random.nextInt(freeCount + 1);
+        if (j < freeCount) {
+            free[freeCount] = free[j];
+            position[free[j]] = freeCount;
+        }
+        free[j] = value;
+        position[value] = j;
+        freeCount++;
+    }
+
+    private static String format(int value) {
+        return String.format("%05d", value);
+    }
+
+    /**
+     * Valor numérico de un código de exactamente 5 dígitos, o -1 si no es válido.
+     */
+    private static int parse(String code) {
+        if (code == null || code.length() != 5) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
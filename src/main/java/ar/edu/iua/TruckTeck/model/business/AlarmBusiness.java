@@ -1,5 +1,6 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -67,11 +68,26 @@ public class AlarmBusiness implements IAlarmBusiness {
      */
     @Override
     public Alarm saveAlarm(OrderDetail detail, Double thresholdTemperature) throws BusinessException {
+        return saveAlarm(detail.getOrder().getNumber(), detail.getTimestamp(), detail.getTemperature(), thresholdTemperature);
+    }
+
+    /**
+     * Guarda una nueva alarma de temperatura a partir de los valores de la lectura.
+     *
+     * @param orderNumber Número de la orden.
+     * @param eventDateTime Momento de la lectura.
+     * @param currentTemperature Temperatura leída.
+     * @param thresholdTemperature Umbral de temperatura que fue superado.
+     * @return La alarma creada y guardada en la base de datos.
+     * @throws BusinessException Si ocurre un error al guardar la alarma.
+     */
+    @Override
+    public Alarm saveAlarm(String orderNumber, LocalDateTime eventDateTime, Double currentTemperature, Double thresholdTemperature) throws BusinessException {
         try {
             Alarm alarm = new Alarm(
-                detail.getOrder().getNumber(),
-                detail.getTimestamp(),
-                detail.getTemperature(),
+                orderNumber,
+                eventDateTime,
+                currentTemperature,
                 thresholdTemperature,
                 true
             );
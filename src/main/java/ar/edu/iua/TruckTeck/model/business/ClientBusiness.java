@@ -1,16 +1,32 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Client;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.ClientRepository;
+import ar.edu.iua.TruckTeck.util.CatalogCache;
+import ar.edu.iua.TruckTeck.util.CatalogCacheFactory;
+import ar.edu.iua.TruckTeck.util.Cursors;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -43,6 +59,43 @@ public class ClientBusiness implements IClientBusiness {
     @Autowired
     private ClientRepository clientDAO;
 
+    @Autowired
+    private CatalogCacheFactory cacheFactory;
+
+    /**
+     * Alta en bloque de clientes ({@link #resolveAll(Collection)}). {@code INSERT IGNORE} omite las
+     * filas que violan una clave única, por ejemplo si otro proceso creó el mismo cliente en paralelo.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO clients (company_name, contact_name, external_code) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Filas por lote JDBC en las altas en bloque.
+     */
+    @Value("${sap.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Caché de clientes por clave natural y código externo.
+     */
+    private CatalogCache<Client> cache;
+
+    /**
+     * Tamaño máximo de página de los listados paginados por clave.
+     */
+    @Value("${listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @PostConstruct
+    void init() {
+        cache = cacheFactory.create("catalog.clients", Client::getId, Client::getCompanyName, Client::getExternalCode);
+    }
+
 
     /**
      * Obtiene la lista completa de clientes.
@@ -60,6 +113,21 @@ public class ClientBusiness implements IClientBusiness {
         }
     }
 
+    @Override
+    public CursorPage<Client> listPage(String prefix, String cursor, int size) throws BusinessException {
+        Long afterId = Cursors.decodeId(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<Client> rows;
+        try {
+            // Se pide una fila de más para saber si existe una página siguiente
+            rows = clientDAO.findPage(afterId == null ? 0 : afterId, Cursors.prefixPattern(prefix), Limit.of(limit + 1));
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        return Cursors.page(rows, limit, Client::getId);
+    }
+
     /**
      * Obtiene un cliente por su identificador único.
      *
@@ -84,6 +152,20 @@ public class ClientBusiness implements IClientBusiness {
         return r.get();
     }
 
+    @Override
+    public boolean exists(long id) throws BusinessException {
+        // Los identificadores se generan a partir de 1: el id 0 es una entidad nueva
+        if(id <= 0) {
+            return false;
+        }
+        try {
+            return clientDAO.existsById(id);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
     /**
      * Obtiene un cliente por su nombre.
      *
@@ -94,18 +176,76 @@ public class ClientBusiness implements IClientBusiness {
      */
     @Override
     public Client load(String client) throws BusinessException, NotFoundException {
-        Optional<Client> r;
+        Optional<Client> r = find(client);
+        if(r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra el cliente de nombre: " + client).build();
+        }
+        return r.get();
+    }
 
+    @Override
+    public Optional<Client> find(String client) throws BusinessException {
         try {
-            r = clientDAO.findByCompanyName(client);
+            return cache.get(client, clientDAO::findByCompanyName);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
         }
-        if(r.isEmpty()) {
-            throw NotFoundException.builder().message("No se encuentra el cliente de nombre: " + client).build();
+    }
+
+    @Override
+    public Optional<Client> findByExternalCode(String externalCode) throws BusinessException {
+        try {
+            return cache.getByExternalCode(externalCode, clientDAO::findByExternalCode);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
         }
-        return r.get();
+    }
+
+    @Override
+    public Map<String, Client> resolveAll(Collection<Client> candidates) throws BusinessException {
+        Map<String, Client> r = new HashMap<>();
+        Map<String, Client> missing = new LinkedHashMap<>();
+        try {
+            Set<String> keys = new HashSet<>();
+            for (Client c : candidates) {
+                keys.add(c.getCompanyName());
+            }
+            for (Client existing : clientDAO.findByCompanyNameIn(keys)) {
+                r.put(existing.getCompanyName(), existing);
+            }
+            for (Client c : candidates) {
+                if (!r.containsKey(c.getCompanyName()) && !missing.containsKey(c.getCompanyName())) {
+                    c.setId(0);
+                    missing.put(c.getCompanyName(), c);
+                }
+            }
+            if (!missing.isEmpty()) {
+                List<Client> rows = new ArrayList<>(missing.values());
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, c) -> {
+                    ps.setString(1, c.getCompanyName());
+                    ps.setString(2, c.getContactName());
+                    ps.setString(3, c.getExternalCode());
+                }));
+                // Se releen con la misma consulta: incluye los creados por otro proceso (fila omitida)
+                for (Client saved : clientDAO.findByCompanyNameIn(missing.keySet())) {
+                    r.put(saved.getCompanyName(), saved);
+                    cache.invalidate(saved);
+                }
+            }
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        for (String key : missing.keySet()) {
+            if (!r.containsKey(key)) {
+                throw BusinessException.builder()
+                    .message("No se pudo registrar el cliente " + key + ": el código externo ya está asignado a otro cliente")
+                    .build();
+            }
+        }
+        return r;
     }
 
     /**
@@ -121,19 +261,17 @@ public class ClientBusiness implements IClientBusiness {
      */
     @Override
     public Client add(Client client) throws BusinessException, FoundException {
-        try {
-            load(client.getId());
+        if(exists(client.getId())) {
             throw FoundException.builder().message("Se encontró el cliente con id: " + client.getId()).build();
-        } catch(NotFoundException e) {
         }
-        try {
-            load(client.getCompanyName());
+        if(find(client.getCompanyName()).isPresent()) {
             throw FoundException.builder().message("Se encontró el cliente con documento: " + client.getCompanyName()).build();
-        } catch(NotFoundException e) {
         }
 
         try {
-            return clientDAO.save(client);
+            Client saved = clientDAO.save(client);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -168,7 +306,9 @@ public class ClientBusiness implements IClientBusiness {
         }
 
         try {
-            return clientDAO.save(client);
+            Client saved = clientDAO.save(client);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -184,9 +324,10 @@ public class ClientBusiness implements IClientBusiness {
      */
     @Override
     public void delete(Long id) throws BusinessException, NotFoundException {
-        load(id);
+        Client current = load(id);
         try {
             clientDAO.deleteById(id);
+            cache.invalidate(current);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
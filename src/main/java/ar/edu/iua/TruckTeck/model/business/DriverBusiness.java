@@ -1,16 +1,32 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Driver;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.DriverRepository;
+import ar.edu.iua.TruckTeck.util.CatalogCache;
+import ar.edu.iua.TruckTeck.util.CatalogCacheFactory;
+import ar.edu.iua.TruckTeck.util.Cursors;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -43,6 +59,43 @@ public class DriverBusiness implements IDriverBusiness {
     @Autowired
     private DriverRepository driverDAO;
 
+    @Autowired
+    private CatalogCacheFactory cacheFactory;
+
+    /**
+     * Alta en bloque de choferes ({@link #resolveAll(Collection)}). {@code INSERT IGNORE} omite las
+     * filas que violan una clave única, por ejemplo si otro proceso creó el mismo chofer en paralelo.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO drivers (name, surname, document_number, external_code) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Filas por lote JDBC en las altas en bloque.
+     */
+    @Value("${sap.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Caché de choferes por clave natural y código externo.
+     */
+    private CatalogCache<Driver> cache;
+
+    /**
+     * Tamaño máximo de página de los listados paginados por clave.
+     */
+    @Value("${listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @PostConstruct
+    void init() {
+        cache = cacheFactory.create("catalog.drivers", Driver::getId, Driver::getDocumentNumber, Driver::getExternalCode);
+    }
+
 
     /**
      * Obtiene la lista completa de choferes.
@@ -60,6 +113,21 @@ public class DriverBusiness implements IDriverBusiness {
         }
     }
 
+    @Override
+    public CursorPage<Driver> listPage(String prefix, String cursor, int size) throws BusinessException {
+        Long afterId = Cursors.decodeId(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<Driver> rows;
+        try {
+            // Se pide una fila de más para saber si existe una página siguiente
+            rows = driverDAO.findPage(afterId == null ? 0 : afterId, Cursors.prefixPattern(prefix), Limit.of(limit + 1));
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        return Cursors.page(rows, limit, Driver::getId);
+    }
+
     /**
      * Obtiene un chofer por su identificador único.
      *
@@ -84,6 +152,20 @@ public class DriverBusiness implements IDriverBusiness {
         return r.get();
     }
 
+    @Override
+    public boolean exists(long id) throws BusinessException {
+        // Los identificadores se generan a partir de 1: el id 0 es una entidad nueva
+        if(id <= 0) {
+            return false;
+        }
+        try {
+            return driverDAO.existsById(id);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
     /**
      * Obtiene un chofer por su nombre.
      *
@@ -94,18 +176,77 @@ public class DriverBusiness implements IDriverBusiness {
      */
     @Override
     public Driver load(String driver) throws BusinessException, NotFoundException {
-        Optional<Driver> r;
+        Optional<Driver> r = find(driver);
+        if(r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra el chofer de nombre: " + driver).build();
+        }
+        return r.get();
+    }
 
+    @Override
+    public Optional<Driver> find(String driver) throws BusinessException {
         try {
-            r = driverDAO.findByDocumentNumber(driver);
+            return cache.get(driver, driverDAO::findByDocumentNumber);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
         }
-        if(r.isEmpty()) {
-            throw NotFoundException.builder().message("No se encuentra el chofer de nombre: " + driver).build();
+    }
+
+    @Override
+    public Optional<Driver> findByExternalCode(String externalCode) throws BusinessException {
+        try {
+            return cache.getByExternalCode(externalCode, driverDAO::findByExternalCode);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
         }
-        return r.get();
+    }
+
+    @Override
+    public Map<String, Driver> resolveAll(Collection<Driver> candidates) throws BusinessException {
+        Map<String, Driver> r = new HashMap<>();
+        Map<String, Driver> missing = new LinkedHashMap<>();
+        try {
+            Set<String> keys = new HashSet<>();
+            for (Driver c : candidates) {
+                keys.add(c.getDocumentNumber());
+            }
+            for (Driver existing : driverDAO.findByDocumentNumberIn(keys)) {
+                r.put(existing.getDocumentNumber(), existing);
+            }
+            for (Driver c : candidates) {
+                if (!r.containsKey(c.getDocumentNumber()) && !missing.containsKey(c.getDocumentNumber())) {
+                    c.setId(0);
+                    missing.put(c.getDocumentNumber(), c);
+                }
+            }
+            if (!missing.isEmpty()) {
+                List<Driver> rows = new ArrayList<>(missing.values());
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, c) -> {
+                    ps.setString(1, c.getName());
+                    ps.setString(2, c.getSurname());
+                    ps.setString(3, c.getDocumentNumber());
+                    ps.setString(4, c.getExternalCode());
+                }));
+                // Se releen con la misma consulta: incluye los creados por otro proceso (fila omitida)
+                for (Driver saved : driverDAO.findByDocumentNumberIn(missing.keySet())) {
+                    r.put(saved.getDocumentNumber(), saved);
+                    cache.invalidate(saved);
+                }
+            }
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        for (String key : missing.keySet()) {
+            if (!r.containsKey(key)) {
+                throw BusinessException.builder()
+                    .message("No se pudo registrar el chofer " + key + ": el código externo ya está asignado a otro chofer")
+                    .build();
+            }
+        }
+        return r;
     }
 
     /**
@@ -121,19 +262,17 @@ public class DriverBusiness implements IDriverBusiness {
      */
     @Override
     public Driver add(Driver driver) throws BusinessException, FoundException {
-        try {
-            load(driver.getId());
+        if(exists(driver.getId())) {
             throw FoundException.builder().message("Se encontró el chofer con id: " + driver.getId()).build();
-        } catch(NotFoundException e) {
         }
-        try {
-            load(driver.getDocumentNumber());
+        if(find(driver.getDocumentNumber()).isPresent()) {
             throw FoundException.builder().message("Se encontró el chofer con documento: " + driver.getDocumentNumber()).build();
-        } catch(NotFoundException e) {
         }
 
         try {
-            return driverDAO.save(driver);
+            Driver saved = driverDAO.save(driver);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -168,7 +307,9 @@ public class DriverBusiness implements IDriverBusiness {
         }
 
         try {
-            return driverDAO.save(driver);
+            Driver saved = driverDAO.save(driver);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -184,9 +325,10 @@ public class DriverBusiness implements IDriverBusiness {
      */
     @Override
     public void delete(Long id) throws BusinessException, NotFoundException {
-        load(id);
+        Driver current = load(id);
         try {
             driverDAO.deleteById(id);
+            cache.invalidate(current);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -1,5 +1,6 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import ar.edu.iua.TruckTeck.model.Alarm;
@@ -48,6 +49,22 @@ public interface IAlarmBusiness {
      */
     Alarm saveAlarm(OrderDetail detail, Double thresholdTemperature) throws BusinessException;
 
+    /**
+     * Guarda una nueva alarma de temperatura a partir de los valores de la lectura.
+     * <p>
+     * Variante usada por el despacho asíncrono de alertas, que no mantiene referencias
+     * a entidades.
+     * </p>
+     *
+     * @param orderNumber Número de la orden.
+     * @param eventDateTime Momento de la lectura.
+     * @param currentTemperature Temperatura leída.
+     * @param thresholdTemperature Umbral de temperatura que fue superado.
+     * @return La alarma creada y guardada en la base de datos.
+     * @throws BusinessException Si ocurre un error al guardar la alarma.
+     */
+    Alarm saveAlarm(String orderNumber, LocalDateTime eventDateTime, Double currentTemperature, Double thresholdTemperature) throws BusinessException;
+
     /**
      * Obtiene todas las alarmas registradas, ordenadas por fecha descendente.
      * 
@@ -1,8 +1,12 @@
 package ar.edu.iua.TruckTeck.model.business;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Client;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
@@ -25,6 +29,18 @@ public interface IClientBusiness {
      */
     public List<Client> list() throws BusinessException;
 
+    /**
+     * Obtiene una página de clientes ordenada por identificador (paginación por clave).
+     *
+     * @param prefix Prefijo del razón social, o {@code null} para no filtrar.
+     * @param cursor Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size Cantidad de elementos por página (acotada por {@code listing.max-page-size}).
+     * @return Página de clientes y cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public CursorPage<Client> listPage(String prefix, String cursor, int size) throws BusinessException;
+
      /**
      * Carga un cliente específico a partir de su identificador único.
      *
@@ -35,6 +51,15 @@ public interface IClientBusiness {
      */
     public Client load(Long id) throws BusinessException, NotFoundException;
 
+    /**
+     * Indica si existe un cliente con el identificador dado, sin cargarlo ni lanzar excepciones.
+     *
+     * @param id Identificador.
+     * @return {@code true} si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public boolean exists(long id) throws BusinessException;
+
     /**
      * Carga un cliente específico a partir de su nombre o descripción.
      *
@@ -45,6 +70,38 @@ public interface IClientBusiness {
      */
     public Client load(String client) throws BusinessException, NotFoundException;
 
+    /**
+     * Busca un cliente por la razón social, sin lanzar excepciones si no existe.
+     * <p>
+     * Se resuelve desde la caché de datos maestros; también se recuerdan las búsquedas sin
+     * resultado.
+     * </p>
+     *
+     * @param client Clave del cliente.
+     * @return Optional con el cliente si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Client> find(String client) throws BusinessException;
+
+    /**
+     * Busca un cliente por su código externo (SAP), desde la caché de datos maestros.
+     *
+     * @param externalCode Código externo.
+     * @return Optional con el cliente si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Client> findByExternalCode(String externalCode) throws BusinessException;
+
+    /**
+     * Resuelve en bloque clientes por la razón social, con una única consulta; los que no existen se
+     * crean. Se usa en la importación masiva de órdenes.
+     *
+     * @param candidates Clientes recibidos (puede haber claves repetidas).
+     * @return Clientes existentes o creados, indexados por la razón social.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Map<String, Client> resolveAll(Collection<Client> candidates) throws BusinessException;
+
     /**
      * Agrega un nuevo cliente al sistema.
      *
@@ -1,8 +1,12 @@
 package ar.edu.iua.TruckTeck.model.business;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Driver;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
@@ -24,6 +28,18 @@ public interface IDriverBusiness {
      * @throws BusinessException Si ocurre un error general en la lógica de negocio.
      */
     public List<Driver> list() throws BusinessException;
+
+    /**
+     * Obtiene una página de choferes ordenada por identificador (paginación por clave).
+     *
+     * @param prefix Prefijo del apellido, o {@code null} para no filtrar.
+     * @param cursor Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size Cantidad de elementos por página (acotada por {@code listing.max-page-size}).
+     * @return Página de choferes y cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public CursorPage<Driver> listPage(String prefix, String cursor, int size) throws BusinessException;
     
     /**
      * Carga un chofer específico a partir de su identificador único.
@@ -35,6 +51,15 @@ public interface IDriverBusiness {
      */
     public Driver load(Long id) throws BusinessException, NotFoundException;
 
+    /**
+     * Indica si existe un chofer con el identificador dado, sin cargarlo ni lanzar excepciones.
+     *
+     * @param id Identificador.
+     * @return {@code true} si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public boolean exists(long id) throws BusinessException;
+
     /**
      * Carga un chofer específico a partir de su nombre o descripción.
      *
@@ -45,6 +70,38 @@ public interface IDriverBusiness {
      */
     public Driver load(String driver) throws BusinessException, NotFoundException;
 
+    /**
+     * Busca un chofer por el número de documento, sin lanzar excepciones si no existe.
+     * <p>
+     * Se resuelve desde la caché de datos maestros; también se recuerdan las búsquedas sin
+     * resultado.
+     * </p>
+     *
+     * @param driver Clave del chofer.
+     * @return Optional con el chofer si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Driver> find(String driver) throws BusinessException;
+
+    /**
+     * Busca un chofer por su código externo (SAP), desde la caché de datos maestros.
+     *
+     * @param externalCode Código externo.
+     * @return Optional con el chofer si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Driver> findByExternalCode(String externalCode) throws BusinessException;
+
+    /**
+     * Resuelve en bloque choferes por el número de documento, con una única consulta; los que no existen se
+     * crean. Se usa en la importación masiva de órdenes.
+     *
+     * @param candidates Choferes recibidos (puede haber claves repetidas).
+     * @return Choferes existentes o creados, indexados por el número de documento.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Map<String, Driver> resolveAll(Collection<Driver> candidates) throws BusinessException;
+
     /**
      * Agrega un nuevo chofer al sistema.
      *
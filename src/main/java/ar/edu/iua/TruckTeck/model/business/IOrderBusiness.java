@@ -1,9 +1,15 @@
 package ar.edu.iua.TruckTeck.model.business;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import ar.edu.iua.TruckTeck.model.Conciliation;
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderFilter;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.OrderSummary;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
@@ -17,6 +23,35 @@ public interface IOrderBusiness {
      */
     public List<Order> list() throws BusinessException;
 
+    /**
+     * Obtiene el resumen de todas las órdenes para el listado (cabecera y nombres de las
+     * entidades relacionadas), con una única consulta.
+     *
+     * @return Lista de resúmenes de órdenes.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public List<OrderSummary> listSummaries() throws BusinessException;
+
+    /**
+     * Obtiene una página del listado de órdenes, paginado por clave (keyset).
+     * <p>
+     * Cada elemento es un mapa con los campos pedidos en {@code fields}; si no se indican, se
+     * devuelven los campos del resumen ({@link OrderSummary}).
+     * </p>
+     *
+     * @param filter Filtros del listado.
+     * @param sort Columna de ordenamiento: {@code id}, {@code number} o {@code scheduledDate}.
+     * @param direction Sentido del ordenamiento: {@code asc} o {@code desc}.
+     * @param cursor Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size Cantidad de elementos por página (acotada por {@code listing.max-page-size}).
+     * @param fields Campos separados por coma, o {@code null} para los campos por defecto.
+     * @return Página de órdenes y cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el ordenamiento, el cursor o algún campo no son válidos.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public CursorPage<Map<String, Object>> listPage(OrderFilter filter, String sort, String direction,
+            String cursor, int size, String fields) throws BusinessException;
+
 
     /**
     * Carga una orden específica a partir de su identificador único.
@@ -38,6 +73,35 @@ public interface IOrderBusiness {
     */
     public Order load(String number) throws BusinessException, NotFoundException;
 
+    /**
+     * Busca una orden por número, sin lanzar excepciones si no existe.
+     *
+     * @param number Número de la orden.
+     * @return Optional con la orden si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Order> find(String number) throws BusinessException;
+
+    /**
+     * Indica si existe una orden con el número dado, sin cargarla.
+     *
+     * @param number Número de la orden.
+     * @return {@code true} si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public boolean exists(String number) throws BusinessException;
+
+    /**
+     * Obtiene el historial de auditoría de una orden (cambios de estado, alarmas y acciones de
+     * los usuarios), ordenado por momento del cambio. Incluye las entradas aún no persistidas.
+     *
+     * @param number Número de la orden.
+     * @return Historial de la orden.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     * @throws NotFoundException Si no se encuentra una orden con el número dado.
+     */
+    public List<OrderStatusLog> history(String number) throws BusinessException, NotFoundException;
+
 
     /**
      * Agrega una nueva orden al sistema.
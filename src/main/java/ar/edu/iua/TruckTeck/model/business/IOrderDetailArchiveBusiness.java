@@ -0,0 +1,60 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.util.List;
+import java.util.Optional;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+
+public interface IOrderDetailArchiveBusiness {
+
+    /**
+     * Archiva los detalles de una orden finalizada: los codifica en un bloque comprimido y
+     * elimina las filas de {@code order_details}, en una única transacción.
+     *
+     * @param orderId Identificador de la orden.
+     * @return {@code true} si se archivaron detalles; {@code false} si la orden ya estaba
+     *         archivada o no tiene detalles.
+     * @throws BusinessException Si la orden no está finalizada o falla el archivado.
+     * @throws NotFoundException Si la orden no existe.
+     */
+    public boolean archive(long orderId) throws BusinessException, NotFoundException;
+
+    /**
+     * Archiva las órdenes finalizadas hace más de {@code charging.archive.min-age-hours} horas
+     * que todavía tienen detalles, hasta {@code charging.archive.batch-size} órdenes.
+     *
+     * @return Cantidad de órdenes archivadas.
+     * @throws BusinessException Si ocurre un error al buscar las órdenes pendientes.
+     */
+    public int archivePending() throws BusinessException;
+
+    /**
+     * Obtiene los detalles archivados de una orden.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Detalles ordenados por (timestamp, id).
+     * @throws BusinessException Si ocurre un error al leer o decodificar el bloque.
+     * @throws NotFoundException Si la orden no está archivada.
+     */
+    public List<OrderDetailPoint> load(long orderId) throws BusinessException, NotFoundException;
+
+    /**
+     * Obtiene los detalles archivados de una orden, sin lanzar excepciones si no está archivada.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Optional con los detalles ordenados por (timestamp, id), vacío si la orden no está archivada.
+     * @throws BusinessException Si ocurre un error al leer o decodificar el bloque.
+     */
+    public Optional<List<OrderDetailPoint>> find(long orderId) throws BusinessException;
+
+    /**
+     * Indica si la curva de carga de una orden está archivada.
+     *
+     * @param orderId Identificador de la orden.
+     * @return {@code true} si la orden está archivada.
+     * @throws BusinessException Si ocurre un error al consultar.
+     */
+    public boolean isArchived(long orderId) throws BusinessException;
+}
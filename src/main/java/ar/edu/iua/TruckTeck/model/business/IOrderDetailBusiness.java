@@ -1,11 +1,42 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.OrderDetailSeries;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 
 public interface IOrderDetailBusiness {
 
     public List<OrderDetail> listId(Long orderID) throws BusinessException;
+
+    /**
+     * Obtiene todos los detalles de una orden, desde {@code order_details} o desde el archivo si
+     * la orden fue archivada.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Detalles ordenados por (timestamp, id).
+     * @throws BusinessException Si ocurre un error al consultar los detalles.
+     */
+    public List<OrderDetailPoint> points(long orderId) throws BusinessException;
+
+    /**
+     * Obtiene una página de la curva de carga de una orden en formato columnar, reducida a
+     * como máximo {@code maxPoints} puntos.
+     *
+     * @param orderId   Identificador de la orden.
+     * @param from      Inicio de la ventana de tiempo (opcional).
+     * @param to        Fin de la ventana de tiempo (opcional).
+     * @param maxPoints Cantidad máxima de puntos de la serie.
+     * @param method    Método de reducción: {@code lttb} o {@code minmax}.
+     * @param cursor    Cursor devuelto por la página anterior (opcional).
+     * @param pageSize  Cantidad máxima de detalles a leer por página.
+     * @return La serie columnar, con el cursor de la página siguiente si quedan detalles.
+     * @throws BusinessException Si ocurre un error al consultar los detalles.
+     * @throws IllegalArgumentException Si el cursor o el método no son válidos.
+     */
+    public OrderDetailSeries series(Long orderId, LocalDateTime from, LocalDateTime to, int maxPoints,
+            String method, String cursor, int pageSize) throws BusinessException;
 }
@@ -0,0 +1,17 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+
+public interface IOrderDetailRollupBusiness {
+
+    /**
+     * Resume por minuto ({@link ar.edu.iua.TruckTeck.model.OrderDetailMinute}) los detalles de
+     * carga más antiguos que {@code charging.detail.rollup.min-age-days} días y los elimina de
+     * {@code order_details}, procesando hasta {@code charging.detail.rollup.max-slices-per-run}
+     * intervalos de una hora.
+     *
+     * @return Cantidad de detalles resumidos.
+     * @throws BusinessException Si falla el resumen de algún intervalo.
+     */
+    public long rollup() throws BusinessException;
+}
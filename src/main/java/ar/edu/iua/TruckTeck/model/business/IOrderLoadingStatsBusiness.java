@@ -0,0 +1,72 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.util.Optional;
+
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+
+public interface IOrderLoadingStatsBusiness {
+
+    /**
+     * Obtiene los agregados de carga de una orden. Si no fueron calculados, se recalculan
+     * a partir de los detalles persistidos.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Los agregados de la carga.
+     * @throws BusinessException Si ocurre un error al acceder a los datos.
+     * @throws NotFoundException Si la orden no tiene agregados ni detalles de carga.
+     */
+    public OrderLoadingStats load(long orderId) throws BusinessException, NotFoundException;
+
+    /**
+     * Igual que {@link #load(long)}, pero sin lanzar excepciones si la orden no tiene agregados
+     * ni detalles de carga.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Optional con los agregados de la carga.
+     * @throws BusinessException Si ocurre un error al acceder a los datos.
+     */
+    public Optional<OrderLoadingStats> find(long orderId) throws BusinessException;
+
+    /**
+     * Obtiene los agregados guardados como punto de control durante la carga de una orden, sin
+     * recalcularlos a partir de los detalles.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Optional con los agregados, vacío si no hay o si fueron recalculados desde los detalles.
+     * @throws BusinessException Si ocurre un error al acceder a los datos.
+     */
+    public Optional<OrderLoadingStats> findCheckpoint(long orderId) throws BusinessException;
+
+    /**
+     * Guarda los agregados de carga calculados durante la sesión de carga.
+     *
+     * @param stats Agregados a guardar.
+     * @return Los agregados guardados.
+     * @throws BusinessException Si ocurre un error al guardar.
+     */
+    public OrderLoadingStats save(OrderLoadingStats stats) throws BusinessException;
+
+    /**
+     * Recalcula los agregados de carga de una orden a partir de sus detalles persistidos.
+     * <p>
+     * Los detalles son sólo las muestras retenidas, por lo que el resultado puede diferir de los
+     * agregados calculados durante la carga sobre todas las muestras.
+     * </p>
+     *
+     * @param orderId Identificador de la orden.
+     * @return Los agregados recalculados y guardados.
+     * @throws BusinessException Si ocurre un error al acceder a los datos.
+     * @throws NotFoundException Si la orden no tiene detalles de carga.
+     */
+    public OrderLoadingStats rebuild(long orderId) throws BusinessException, NotFoundException;
+
+    /**
+     * Recalcula los agregados de todas las órdenes con detalles de carga que aún no los tienen.
+     *
+     * @return Cantidad de órdenes recalculadas.
+     * @throws BusinessException Si ocurre un error al acceder a los datos.
+     */
+    public int rebuildMissing() throws BusinessException;
+}
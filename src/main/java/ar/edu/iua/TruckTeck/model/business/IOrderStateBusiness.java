@@ -0,0 +1,61 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+
+/**
+ * Transiciones de estado de las órdenes (PENDING → TARA_REGISTERED → LOADING → FINALIZED).
+ * <p>
+ * Cada transición se aplica con un único {@code UPDATE} condicional sobre el estado esperado,
+ * junto con el registro de auditoría ({@link ar.edu.iua.TruckTeck.model.OrderStatusLog}) en la
+ * misma transacción. Una vez confirmada, se publica un
+ * {@link ar.edu.iua.TruckTeck.model.events.OrderStateEvent}.
+ * </p>
+ * <p>
+ * La orden recibida no debe haber sido modificada: al finalizar se le aplican los valores de la
+ * transición (estado, fechas, versión) y se devuelve desacoplada del contexto de persistencia.
+ * </p>
+ */
+public interface IOrderStateBusiness {
+
+    /**
+     * Registra el pesaje inicial y pasa la orden de PENDING a TARA_REGISTERED.
+     *
+     * @param order Orden en estado PENDING.
+     * @param initialWeight Peso inicial (tara).
+     * @param activationCode Código de activación emitido.
+     * @param actor Usuario o sistema que realiza el cambio.
+     * @param note Observaciones del cambio.
+     * @return La orden actualizada.
+     * @throws BusinessException Si la orden no está en estado PENDING (o cambió de estado
+     *                           concurrentemente) o si ocurre un error al persistir.
+     */
+    public Order registerTara(Order order, Double initialWeight, String activationCode, String actor, String note)
+            throws BusinessException;
+
+    /**
+     * Cierra la carga y pasa la orden de TARA_REGISTERED a LOADING.
+     *
+     * @param order Orden en estado TARA_REGISTERED.
+     * @param actor Usuario o sistema que realiza el cambio.
+     * @param note Observaciones del cambio.
+     * @return La orden actualizada.
+     * @throws BusinessException Si la orden no está en estado TARA_REGISTERED (o cambió de estado
+     *                           concurrentemente) o si ocurre un error al persistir.
+     */
+    public Order closeLoading(Order order, String actor, String note) throws BusinessException;
+
+    /**
+     * Registra el pesaje final y pasa la orden de LOADING a FINALIZED.
+     *
+     * @param order Orden en estado LOADING.
+     * @param finalWeight Peso final.
+     * @param actor Usuario o sistema que realiza el cambio.
+     * @param note Observaciones del cambio.
+     * @return La orden actualizada.
+     * @throws BusinessException Si la orden no está en estado LOADING (o cambió de estado
+     *                           concurrentemente) o si ocurre un error al persistir.
+     */
+    public Order registerFinalWeighing(Order order, Double finalWeight, String actor, String note)
+            throws BusinessException;
+}
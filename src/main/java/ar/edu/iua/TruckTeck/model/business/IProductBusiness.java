@@ -1,7 +1,11 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Product;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
@@ -24,6 +28,18 @@ public interface IProductBusiness {
      */
     public List<Product> list() throws BusinessException;
 
+    /**
+     * Obtiene una página de productos ordenada por identificador (paginación por clave).
+     *
+     * @param prefix Prefijo del nombre, o {@code null} para no filtrar.
+     * @param cursor Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size Cantidad de elementos por página (acotada por {@code listing.max-page-size}).
+     * @return Página de productos y cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public CursorPage<Product> listPage(String prefix, String cursor, int size) throws BusinessException;
+
      /**
      * Carga un producto específico a partir de su identificador único.
      *
@@ -34,6 +50,15 @@ public interface IProductBusiness {
      */
     public Product load(Long id) throws BusinessException, NotFoundException;
 
+    /**
+     * Indica si existe un producto con el identificador dado, sin cargarlo ni lanzar excepciones.
+     *
+     * @param id Identificador.
+     * @return {@code true} si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public boolean exists(long id) throws BusinessException;
+
     /**
      * Carga un producto específico a partir de su nombre o descripción.
      *
@@ -44,6 +69,38 @@ public interface IProductBusiness {
      */
     public Product load(String product) throws BusinessException, NotFoundException;
 
+    /**
+     * Busca un producto por el nombre (o la descripción), sin lanzar excepciones si no existe.
+     * <p>
+     * Se resuelve desde la caché de datos maestros; también se recuerdan las búsquedas sin
+     * resultado.
+     * </p>
+     *
+     * @param product Clave del producto.
+     * @return Optional con el producto si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Product> find(String product) throws BusinessException;
+
+    /**
+     * Busca un producto por su código externo (SAP), desde la caché de datos maestros.
+     *
+     * @param externalCode Código externo.
+     * @return Optional con el producto si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Product> findByExternalCode(String externalCode) throws BusinessException;
+
+    /**
+     * Resuelve en bloque productos por el nombre, con una única consulta; los que no existen se
+     * crean. Se usa en la importación masiva de órdenes.
+     *
+     * @param candidates Productos recibidos (puede haber claves repetidas).
+     * @return Productos existentes o creados, indexados por el nombre.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Map<String, Product> resolveAll(Collection<Product> candidates) throws BusinessException;
+
     /**
      * Agrega un nuevo producto al sistema.
      *
@@ -1,7 +1,11 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Truck;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
@@ -24,6 +28,18 @@ public interface ITruckBusiness {
      */
     public List<Truck> list() throws BusinessException;
 
+    /**
+     * Obtiene una página de camiones ordenada por identificador (paginación por clave).
+     *
+     * @param prefix Prefijo del dominio, o {@code null} para no filtrar.
+     * @param cursor Cursor devuelto en la página anterior, o {@code null} para la primera página.
+     * @param size Cantidad de elementos por página (acotada por {@code listing.max-page-size}).
+     * @return Página de camiones y cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     * @throws BusinessException Si ocurre un error general en la lógica de negocio.
+     */
+    public CursorPage<Truck> listPage(String prefix, String cursor, int size) throws BusinessException;
+
      /**
      * Carga un camion específico a partir de su identificador único.
      *
@@ -34,6 +50,15 @@ public interface ITruckBusiness {
      */
     public Truck load(Long id) throws BusinessException, NotFoundException;
 
+    /**
+     * Indica si existe un camión con el identificador dado, sin cargarlo ni lanzar excepciones.
+     *
+     * @param id Identificador.
+     * @return {@code true} si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public boolean exists(long id) throws BusinessException;
+
     /**
      * Carga un camion específico a partir de su nombre o descripción.
      *
@@ -44,6 +69,38 @@ public interface ITruckBusiness {
      */
     public Truck load(String truck) throws BusinessException, NotFoundException;
 
+    /**
+     * Busca un camión por el dominio, sin lanzar excepciones si no existe.
+     * <p>
+     * Se resuelve desde la caché de datos maestros; también se recuerdan las búsquedas sin
+     * resultado.
+     * </p>
+     *
+     * @param truck Clave del camión.
+     * @return Optional con el camión si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Truck> find(String truck) throws BusinessException;
+
+    /**
+     * Busca un camión por su código externo (SAP), desde la caché de datos maestros.
+     *
+     * @param externalCode Código externo.
+     * @return Optional con el camión si existe.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Optional<Truck> findByExternalCode(String externalCode) throws BusinessException;
+
+    /**
+     * Resuelve en bloque camiones por el dominio, con una única consulta; los que no existen se
+     * crean. Se usa en la importación masiva de órdenes.
+     *
+     * @param candidates Camiones recibidos (puede haber claves repetidas).
+     * @return Camiones existentes o creados, indexados por el dominio.
+     * @throws BusinessException Si ocurre un error en el acceso a datos.
+     */
+    public Map<String, Truck> resolveAll(Collection<Truck> candidates) throws BusinessException;
+
     /**
      * Agrega un nuevo camion al sistema.
      *
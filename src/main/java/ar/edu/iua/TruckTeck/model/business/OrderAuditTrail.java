@@ -0,0 +1,450 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registro asíncrono de la auditoría de las órdenes ({@link OrderStatusLog}).
+ * <p>
+ * Las anotaciones de alto volumen que no son transiciones de estado (alarmas de temperatura,
+ * aceptación de alarmas, modificaciones y bajas de órdenes) se encolan en un buffer circular
+ * acotado ({@code audit.buffer.capacity}). Un hilo en segundo plano lo vuelca a la base de datos
+ * en lotes JDBC de {@code audit.batch-size} entradas cada {@code audit.flush-interval-ms}
+ * milisegundos, o antes si se junta un lote completo.
+ * </p>
+ * <p>
+ * Las transiciones de estado y las altas no pasan por el buffer: su registro se inserta en la
+ * misma transacción que el cambio ({@link OrderStateBusiness}, el alta de órdenes y
+ * {@link #insert(List)} en la importación desde SAP), de modo que no puede perderse un cambio
+ * de estado confirmado.
+ * </p>
+ *
+ * <p><b>Durabilidad:</b></p>
+ * <ul>
+ *   <li>Si el buffer está lleno (base de datos lenta), la entrada pasa a una cola de desborde que
+ *       el hilo en segundo plano agrega al archivo local de respaldo ({@code audit.spill-file}):
+ *       no se descarta ni se bloquea al productor con escrituras en disco.</li>
+ *   <li>Si un lote falla (base de datos caída), el lote y el resto del buffer se agregan al archivo.</li>
+ *   <li>El archivo es de sólo agregado (una entrada JSON por línea, sincronizada en disco) y se
+ *       reprocesa en cuanto la base de datos vuelve a aceptar escrituras, incluso luego de un reinicio.</li>
+ * </ul>
+ * <p>
+ * Si la aplicación se detiene entre la confirmación de un lote reprocesado y la actualización
+ * del archivo, ese lote puede quedar registrado dos veces; la auditoría prioriza no perder entradas.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderAuditTrail {
+
+    /**
+     * Actor usado cuando el cambio no se origina en una petición autenticada.
+     */
+    public static final String SYSTEM_ACTOR = "SISTEMA";
+
+    private static final String INSERT_SQL = "INSERT INTO order_status_log "
+            + "(order_number, from_state, to_state, timestamp, actor, note, kind) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    /**
+     * Entrada de auditoría pendiente de persistir.
+     *
+     * @param orderId Identificador de la orden.
+     * @param kind Tipo de registro.
+     * @param fromState Estado anterior ({@code null} en el alta y en las anotaciones).
+     * @param toState Estado resultante.
+     * @param timestamp Momento del cambio.
+     * @param actor Usuario o sistema que realizó el cambio.
+     * @param note Observaciones.
+     */
+    public record Entry(long orderId, OrderLogKind kind, OrderState fromState, OrderState toState,
+            LocalDateTime timestamp, String actor, String note) {
+
+        public Entry {
+            // Archivos de respaldo anteriores al tipo: las anotaciones repetían el estado
+            if (kind == null) {
+                kind = fromState == toState ? OrderLogKind.NOTE : OrderLogKind.TRANSITION;
+                fromState = kind == OrderLogKind.NOTE ? null : fromState;
+            }
+        }
+
+        OrderStatusLog toStatusLog() {
+            return new OrderStatusLog(null, orderId, fromState, toState, actor, note, timestamp, kind);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${audit.buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${audit.spill-file:data/audit/order-status-log.jsonl}")
+    private String spillPath;
+
+    private ArrayBlockingQueue<Entry> queue;
+
+    private ScheduledExecutorService scheduler;
+
+    private Path spillFile;
+
+    /**
+     * Archivo en reproceso: el archivo de respaldo se renombra antes de reprocesarlo, de modo que
+     * las entradas nuevas se sigan agregando a un archivo distinto.
+     */
+    private Path replayFile;
+
+    /**
+     * Entradas que no entraron en el buffer, pendientes de agregarse al archivo de respaldo.
+     */
+    private final ConcurrentLinkedQueue<Entry> overflow = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final Object drainLock = new Object();
+
+    private final Object spillLock = new Object();
+
+    @PostConstruct
+    void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(capacity);
+        spillFile = Path.of(spillPath).toAbsolutePath();
+        replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        Files.createDirectories(spillFile.getParent());
+        if (Files.exists(spillFile) || Files.exists(replayFile)) {
+            log.warn("Hay entradas de auditoría pendientes en {}, se reprocesan en segundo plano", spillFile);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-audit-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        // La primera ejecución es inmediata para reprocesar el archivo de respaldo de una ejecución anterior
+        scheduler.scheduleWithFixedDelay(this::drain, 0, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Auditoría de órdenes asíncrona (lote={}, capacidad={}, intervalo={} ms, respaldo={})",
+                batchSize, capacity, flushIntervalMs, spillFile);
+    }
+
+    /**
+     * Detiene el proceso en segundo plano y vuelca las entradas pendientes (a la base de datos
+     * o, si no está disponible, al archivo de respaldo).
+     */
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    /**
+     * Registra una anotación ({@link OrderLogKind#NOTE}): un hecho de la orden que no cambia su
+     * estado. Las transiciones no pasan por aquí; se registran en la transacción del cambio.
+     * <p>
+     * Nunca bloquea ni lanza excepciones: la entrada se
+     * persiste en segundo plano, y si el buffer está lleno queda en la cola de desborde para que
+     * el hilo en segundo plano la agregue al archivo de respaldo.
+     * </p>
+     *
+     * @param orderId Identificador de la orden.
+     * @param state Estado de la orden al registrar la anotación.
+     * @param actor Usuario o sistema que la registra.
+     * @param note Anotación.
+     */
+    public void note(long orderId, OrderState state, String actor, String note) {
+        Entry entry = new Entry(orderId, OrderLogKind.NOTE, null, state, LocalDateTime.now(), actor, note);
+        boolean full = !queue.offer(entry);
+        if (full) {
+            // Buffer lleno: el hilo en segundo plano la agrega al archivo de respaldo
+            overflow.add(entry);
+        }
+        if ((full || queue.size() >= batchSize) && !scheduler.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Entradas de una orden que todavía no se persistieron, ordenadas por momento del cambio:
+     * las del buffer, las de la cola de desborde y las guardadas en el archivo de respaldo
+     * (incluido el que se está reprocesando). Mientras se reprocesa un lote, sus entradas pueden
+     * aparecer también en la base de datos hasta que se actualiza el archivo.
+     *
+     * @param orderId Identificador de la orden.
+     * @return Entradas pendientes (puede estar vacía).
+     */
+    public List<OrderStatusLog> pending(long orderId) {
+        return Stream.of(queue.stream(), overflow.stream(), spilled().stream())
+                .flatMap(s -> s)
+                .filter(e -> e.orderId() == orderId)
+                .sorted(Comparator.comparing(Entry::timestamp))
+                .map(Entry::toStatusLog)
+                .toList();
+    }
+
+    /**
+     * Inserta las entradas sin pasar por el buffer, en la transacción en curso: si la transacción
+     * se descarta, las entradas también.
+     *
+     * @param entries Entradas a insertar.
+     */
+    public void insert(List<Entry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Entry entry = entries.get(i);
+                ps.setLong(1, entry.orderId());
+                if (entry.fromState() == null) {
+                    ps.setNull(2, Types.VARCHAR);
+                } else {
+                    ps.setString(2, entry.fromState().name());
+                }
+                ps.setString(3, entry.toState().name());
+                ps.setTimestamp(4, Timestamp.valueOf(entry.timestamp()));
+                ps.setString(5, entry.actor());
+                ps.setString(6, entry.note());
+                ps.setString(7, entry.kind().name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Usuario autenticado de la petición en curso, o {@link #SYSTEM_ACTOR} si no hay uno.
+     *
+     * @return nombre del actor para la auditoría.
+     */
+    public static String currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || auth.getName() == null) {
+            return SYSTEM_ACTOR;
+        }
+        return auth.getName();
+    }
+
+    /**
+     * Entradas guardadas en el archivo de respaldo y en el que se está reprocesando.
+     */
+    private List<Entry> spilled() {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (spillLock) {
+            for (Path file : List.of(replayFile, spillFile)) {
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                try {
+                    entries.addAll(read(file));
+                } catch (IOException e) {
+                    log.error("No se pudo leer el archivo de auditoría {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void drain() {
+        synchronized (drainLock) {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    // Base de datos no disponible: el resto del buffer y el desborde también van al archivo
+                    queue.drainTo(batch);
+                    pollOverflow(batch);
+                    spill(batch);
+                    return;
+                }
+                batch.clear();
+            }
+            pollOverflow(batch);
+            if (!batch.isEmpty()) {
+                spill(batch);
+            }
+            replay();
+        }
+    }
+
+    private void pollOverflow(List<Entry> entries) {
+        for (Entry entry; (entry = overflow.poll()) != null;) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Reprocesa el archivo de respaldo. Si un lote falla, las entradas no reprocesadas quedan
+     * en el archivo para el próximo ciclo.
+     */
+    private void replay() {
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayFile) && Files.exists(spillFile)) {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.error("No se pudo preparar el reproceso de {}: {}", spillFile, e.getMessage());
+                return;
+            }
+        }
+        if (!Files.exists(replayFile)) {
+            return;
+        }
+
+        List<Entry> entries;
+        try {
+            entries = read(replayFile);
+        } catch (IOException e) {
+            log.error("No se pudo leer el archivo de auditoría {}: {}", replayFile, e.getMessage());
+            return;
+        }
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Entry> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            if (!write(batch)) {
+                rewrite(entries.subList(from, entries.size()));
+                return;
+            }
+        }
+        synchronized (spillLock) {
+            try {
+                Files.delete(replayFile);
+                log.info("Se reprocesaron {} entradas de auditoría desde {}", entries.size(), replayFile);
+            } catch (IOException e) {
+                log.error("No se pudo eliminar el archivo de auditoría reprocesado {}: {}", replayFile, e.getMessage());
+            }
+        }
+    }
+
+    private static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(MAPPER.readValue(line, Entry.class));
+                } catch (IOException e) {
+                    // Típicamente la última línea, si la aplicación se detuvo mientras se escribía
+                    log.error("Se descarta la línea {} del archivo de auditoría {}: {}", lineNumber, file, line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void rewrite(List<Entry> remaining) {
+        Path tmp = replayFile.resolveSibling(replayFile.getFileName() + ".tmp");
+        try {
+            Files.deleteIfExists(tmp);
+            append(tmp, remaining);
+            synchronized (spillLock) {
+                Files.move(tmp, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.error("No se pudo actualizar el archivo de auditoría {}: {}", replayFile, e.getMessage());
+        }
+    }
+
+    private void spill(List<Entry> entries) {
+        synchronized (spillLock) {
+            try {
+                append(spillFile, entries);
+                log.warn("Se guardaron {} entradas de auditoría en el archivo de respaldo {}", entries.size(), spillFile);
+            } catch (IOException e) {
+                log.error("No se pudieron guardar {} entradas de auditoría en {}: {}", entries.size(), spillFile, e.getMessage());
+                entries.forEach(entry -> log.error("Entrada de auditoría perdida: {}", entry));
+            }
+        }
+    }
+
+    private static void append(Path file, List<Entry> entries) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries) {
+            sb.append(MAPPER.writeValueAsString(entry)).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private boolean write(List<Entry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            return true;
+        } catch (Exception e) {
+            log.error("Error al persistir un lote de {} entradas de auditoría: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+}
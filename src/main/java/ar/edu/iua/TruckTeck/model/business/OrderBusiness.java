@@ -1,23 +1,46 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.business.ChargingSessionRegistry;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.business.PresetCache;
 import ar.edu.iua.TruckTeck.model.Client;
 import ar.edu.iua.TruckTeck.model.Conciliation;
+import ar.edu.iua.TruckTeck.model.CursorPage;
+import ar.edu.iua.TruckTeck.model.ConciliationView;
 import ar.edu.iua.TruckTeck.model.Driver;
 import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderFilter;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.OrderSummary;
 import ar.edu.iua.TruckTeck.model.Product;
 import ar.edu.iua.TruckTeck.model.Truck;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
+import ar.edu.iua.TruckTeck.model.enums.OrderSortKey;
 import ar.edu.iua.TruckTeck.model.enums.OrderState;
 // import ar.edu.iua.TruckTeck.model.persistence.ClientRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderPageRepository;
 import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderStatusLogRepository;
+import ar.edu.iua.TruckTeck.util.Cursors;
 import ar.edu.iua.TruckTeck.util.PdfGenerationService;
+import jakarta.persistence.Tuple;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -76,14 +99,68 @@ public class OrderBusiness implements IOrderBusiness {
     @Autowired
     private IProductBusiness productBusiness;
 
+    /**
+     * Agregados de carga de las órdenes, usados por la conciliación.
+     */
     @Autowired
-    private OrderDetailBusiness orderDetailBusiness;
+    private IOrderLoadingStatsBusiness loadingStatsBusiness;
+
+    /**
+     * Tamaño máximo de página de los listados paginados por clave.
+     */
+    @Value("${listing.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Campos del listado paginado cuando no se indica una proyección.
+     */
+    private static final List<String> DEFAULT_PAGE_FIELDS = List.of("id", "number", "state", "scheduledDate",
+            "preset", "accumulatedMass", "clientName", "productName", "truckDomain", "driverName", "driverSurname");
 
 
     /* Generador de PDF */
     @Autowired
     private PdfGenerationService pdfService;
 
+    /**
+     * Sesiones de carga en memoria; se invalidan cuando la orden se modifica por fuera del sistema de carga.
+     */
+    @Autowired
+    private ChargingSessionRegistry chargingSessions;
+
+    /**
+     * Índice de presets del sistema de carga; se invalida al modificar o eliminar una orden.
+     */
+    @Autowired
+    private PresetCache presetCache;
+
+    /**
+     * Índice número → id de las órdenes; se invalida al modificar o eliminar una orden.
+     */
+    @Autowired
+    private OrderNumberIndex numberIndex;
+
+    /**
+     * Auditoría asíncrona de las modificaciones y bajas de órdenes.
+     */
+    @Autowired
+    private OrderAuditTrail auditTrail;
+
+    /**
+     * Transacción del alta: la orden y su registro de auditoría se guardan juntos.
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Códigos de activación en uso; se actualizan al modificar o eliminar una orden en curso.
+     */
+    @Autowired
+    private ActivationCodeAllocator activationCodes;
+
+    @Autowired
+    private OrderStatusLogRepository statusLogDAO;
+
     // @Autowired
     // private EmailService emailService;
 
@@ -103,6 +180,97 @@ public class OrderBusiness implements IOrderBusiness {
         }
     }
 
+    @Override
+    public List<OrderSummary> listSummaries() throws BusinessException {
+        try {
+            return orderDAO.findAllSummaries();
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).message(e.getMessage()).build();
+        }
+    }
+
+    @Override
+    public CursorPage<Map<String, Object>> listPage(OrderFilter filter, String sort, String direction,
+            String cursor, int size, String fields) throws BusinessException {
+        OrderSortKey sortKey = parseSort(sort);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        if (!descending && direction != null && !"asc".equalsIgnoreCase(direction)) {
+            throw new IllegalArgumentException("Sentido de ordenamiento desconocido: " + direction);
+        }
+        List<String> projection = parseFields(fields);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = Cursors.decode(cursor, 2);
+            try {
+                afterValue = sortKey.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+        }
+
+        List<Tuple> rows;
+        try {
+            // Se pide una fila de más para saber si existe una página siguiente
+            rows = orderDAO.findPage(filter, sortKey, descending, afterValue, afterId, projection, limit + 1);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Tuple last = rows.get(limit - 1);
+            nextCursor = Cursors.encode(last.get(sortKey.getAttribute()), last.get("id"));
+        }
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : projection) {
+                item.put(field, row.get(field));
+            }
+            items.add(item);
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static OrderSortKey parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return OrderSortKey.ID;
+        }
+        for (OrderSortKey key : OrderSortKey.values()) {
+            if (key.getAttribute().equalsIgnoreCase(sort)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Columna de ordenamiento no admitida: " + sort);
+    }
+
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT_PAGE_FIELDS;
+        }
+        List<String> projection = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || projection.contains(name)) {
+                continue;
+            }
+            if (!OrderPageRepository.PAGE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Campo desconocido: " + name);
+            }
+            projection.add(name);
+        }
+        return projection;
+    }
+
     /**
      * Obtiene una orden por su identificador único.
      *
@@ -137,18 +305,53 @@ public class OrderBusiness implements IOrderBusiness {
      */ 
     @Override
     public Order load(String number) throws BusinessException, NotFoundException {
-        Optional<Order> r;
+        Optional<Order> r = find(number);
+        if(r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra la Orden con número: " + number).build();
+        }
+        return r.get();
+    }
 
+    @Override
+    public Optional<Order> find(String number) throws BusinessException {
         try {
-            r = orderDAO.findByNumber(number);
+            return numberIndex.find(number);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
         }
-        if(r.isEmpty()) {
-            throw NotFoundException.builder().message("No se encuentra la Orden con número: " + number).build();
+    }
+
+    @Override
+    public boolean exists(String number) throws BusinessException {
+        if(number == null) {
+            return false;
         }
-        return r.get();
+        try {
+            return orderDAO.existsByNumber(number);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    @Override
+    public List<OrderStatusLog> history(String number) throws BusinessException, NotFoundException {
+        long orderId = load(number).getId();
+        List<OrderStatusLog> r;
+        try {
+            r = new ArrayList<>(statusLogDAO.findByOrderNumberOrderByTimestampAsc(orderId));
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        // Entradas que el escritor de auditoría todavía no persistió (buffer, desborde y archivo de respaldo)
+        List<OrderStatusLog> pending = auditTrail.pending(orderId);
+        if (!pending.isEmpty()) {
+            r.addAll(pending);
+            r.sort(Comparator.comparing(OrderStatusLog::getTimestamp));
+        }
+        return r;
     }
 
     /**
@@ -164,17 +367,20 @@ public class OrderBusiness implements IOrderBusiness {
      */
     @Override
     public Order add(Order order) throws BusinessException, FoundException {
-        try {
-            // load(order.getId());
-            load(order.getNumber());
+        if(exists(order.getNumber())) {
             throw FoundException.builder().message("Se encontró la orden con el numero: " + order.getNumber()).build();
-        } catch(NotFoundException e) {
         }
 
         validateOrderEntities(order);
 
+        String actor = OrderAuditTrail.currentActor();
         try {
-            return orderDAO.save(order);
+            return transactionTemplate.execute(status -> {
+                Order saved = orderDAO.save(order);
+                statusLogDAO.save(new OrderStatusLog(null, saved.getId(), null, saved.getState(), actor,
+                        "Orden creada", LocalDateTime.now(), OrderLogKind.TRANSITION));
+                return saved;
+            });
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -186,60 +392,26 @@ public class OrderBusiness implements IOrderBusiness {
      * existan en el sistema. Si alguna entidad no existe, la crea.
      * <p>
      * Este método es utilizado antes de agregar o actualizar una orden para garantizar
-     * la integridad referencial de las entidades relacionadas.
+     * la integridad referencial de las entidades relacionadas. Las búsquedas se resuelven desde
+     * la caché de datos maestros y no usan excepciones para indicar que la entidad no existe;
+     * la entidad creada se asigna directamente, sin volver a leerla.
      * </p>
      * @param order
      * @throws BusinessException
      * @throws FoundException
       */
     public void validateOrderEntities(Order order) throws BusinessException, FoundException {
-        try {
-            Client client = clientBusiness.load(order.getClient().getCompanyName());
-            if (client != null)
-                order.setClient(client); 
-        } catch(NotFoundException e) {
-            clientBusiness.add(order.getClient());
-            try {
-            order.setClient(clientBusiness.load(order.getClient().getCompanyName()));
-            } catch (NotFoundException f) {
-            }
-        }
+        Optional<Client> client = clientBusiness.find(order.getClient().getCompanyName());
+        order.setClient(client.isPresent() ? client.get() : clientBusiness.add(order.getClient()));
 
-        try {
-            Truck truck = truckBusiness.load(order.getTruck().getDomain());
-            if (truck != null)
-            order.setTruck(truck);
-        } catch(NotFoundException e) {
-            truckBusiness.add(order.getTruck());
-            try {
-            order.setTruck(truckBusiness.load(order.getTruck().getDomain()));
-            } catch (NotFoundException f) {
-            }
-        }
+        Optional<Truck> truck = truckBusiness.find(order.getTruck().getDomain());
+        order.setTruck(truck.isPresent() ? truck.get() : truckBusiness.add(order.getTruck()));
 
-        try {
-            Product product = productBusiness.load(order.getProduct().getName());
-            if (product != null)
-            order.setProduct(product);
-        } catch(NotFoundException e) {
-            productBusiness.add(order.getProduct());
-            try {
-            order.setProduct(productBusiness.load(order.getProduct().getName()));
-            } catch (NotFoundException f) {
-            }
-        }
+        Optional<Product> product = productBusiness.find(order.getProduct().getName());
+        order.setProduct(product.isPresent() ? product.get() : productBusiness.add(order.getProduct()));
 
-        try {
-            Driver driver = driverBusiness.load(order.getDriver().getDocumentNumber());
-            if (driver != null)
-            order.setDriver(driver);
-        } catch(NotFoundException e) {
-            driverBusiness.add(order.getDriver());
-            try {
-            order.setDriver(driverBusiness.load(order.getDriver().getDocumentNumber()));
-            } catch (NotFoundException f) {
-            }
-        }
+        Optional<Driver> driver = driverBusiness.find(order.getDriver().getDocumentNumber());
+        order.setDriver(driver.isPresent() ? driver.get() : driverBusiness.add(order.getDriver()));
     }
 
     /**
@@ -256,12 +428,35 @@ public class OrderBusiness implements IOrderBusiness {
      */
     @Override
     public Order update(Order order) throws FoundException, BusinessException, NotFoundException {
-        load(order.getId());
+        Order current = load(order.getId());
+
+        // Si el cliente no informa la versión se toma la actual; si la informa y quedó
+        // desactualizada, el guardado falla por bloqueo optimista
+        if (order.getVersion() == null) {
+            order.setVersion(current.getVersion());
+        }
 
         validateOrderEntities(order);
 
+        // La orden actual puede estar administrada y recibir los valores nuevos al guardar
+        OrderState previousState = current.getState();
+        String previousCode = ActivationCodeAllocator.holdsCode(current) ? current.getActivationCode() : null;
+
         try {
-            return orderDAO.save(order);
+            Order saved = orderDAO.save(order);
+            if (previousCode != null) {
+                activationCodes.release(previousCode);
+            }
+            if (ActivationCodeAllocator.holdsCode(saved) && !activationCodes.reserve(saved.getActivationCode())) {
+                log.warn("El código de activación {} de la orden {} ya está en uso por otra orden en curso",
+                        saved.getActivationCode(), saved.getNumber());
+            }
+            chargingSessions.evict(current.getNumber());
+            presetCache.evict(current.getNumber());
+            numberIndex.evict(current.getNumber());
+            auditTrail.note(saved.getId(), saved.getState(), OrderAuditTrail.currentActor(),
+                    previousState == saved.getState() ? "Orden modificada" : "Orden modificada (estado anterior: " + previousState + ")");
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().message("Error al Actualizar Orden").ex(e).build();
@@ -282,9 +477,17 @@ public class OrderBusiness implements IOrderBusiness {
      */
     @Override
     public void delete(Long id) throws BusinessException, NotFoundException {
-        load(id);
+        Order current = load(id);
         try {
             orderDAO.deleteById(id);
+            if (ActivationCodeAllocator.holdsCode(current)) {
+                activationCodes.release(current.getActivationCode());
+            }
+            chargingSessions.evict(current.getNumber());
+            presetCache.evict(current.getNumber());
+            numberIndex.evict(current.getNumber());
+            auditTrail.note(id, current.getState(), OrderAuditTrail.currentActor(),
+                    "Orden " + current.getNumber() + " eliminada");
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -295,7 +498,8 @@ public class OrderBusiness implements IOrderBusiness {
      * Obtiene la conciliación de una orden finalizada.
      * <p>
      * Calcula y retorna todos los datos de conciliación incluyendo pesos,
-     * diferencias y promedios de parámetros de carga.
+     * diferencias y promedios de parámetros de carga. Los promedios se leen de los
+     * agregados mantenidos durante la carga ({@link OrderLoadingStats}).
      * </p>
      *
      * @param number Número de la orden para la cual se solicita la conciliación.
@@ -305,57 +509,22 @@ public class OrderBusiness implements IOrderBusiness {
      */
     @Override
     public Conciliation findConciliation(String number) throws BusinessException, NotFoundException {
-        Order orderFound = load(number);
-
-        if (orderFound.getState() != OrderState.FINALIZED) {
-            throw BusinessException.builder()
-                .message("La orden " + orderFound.getNumber() + " no está finalizada. Estado actual: " + orderFound.getState())
-                .build();
-        }
-
-        Double initialWeight    = orderFound.getInitialWeight();
-        Double finalWeight      = orderFound.getFinalWeight();
-        Double productLoaded    = orderFound.getAccumulatedMass();
-        Double netWeight        = finalWeight - initialWeight;
-        Double difference       = netWeight - productLoaded;
-        Double avgTemperature   = orderDetailBusiness.calculateAverageTemperature(orderFound.getId());
-        Double avgDensity       = orderDetailBusiness.calculateAverageDensity(orderFound.getId());
-        Double avgCaudal        = orderDetailBusiness.calculateAverageCaudal(orderFound.getId());
-
-        /* Crear el Objeto Conciliacion */
-        return new Conciliation(
-            initialWeight,
-            finalWeight,
-            productLoaded,
-            netWeight,
-            difference,
-            avgTemperature,
-            avgDensity,
-            avgCaudal
-        );
+        return toConciliation(loadConciliationView(number));
     }
 
     @Override
     public byte[] generateConciliationPdf(String number) throws BusinessException, NotFoundException {
         try {
-            // Obtener orden y conciliación
-            Order order = load(number);
-
-            if (order.getState() != OrderState.FINALIZED) {
-                throw BusinessException.builder()
-                    .message("La orden " + order.getNumber() + " no está finalizada. Estado actual: " + order.getState())
-                    .build();
-            }
-
-            Conciliation conciliation = findConciliation(number);
+            // Una única consulta para la orden y la conciliación
+            ConciliationView view = loadConciliationView(number);
 
             // Generar PDF
-            byte[] pdfBytes = pdfService.generateConciliationPdf(order, conciliation);
+            byte[] pdfBytes = pdfService.generateConciliationPdf(view, toConciliation(view));
 
             log.info("PDF de conciliación generado exitosamente para orden: {}", number);
             return pdfBytes;
 
-        } catch (NotFoundException e) {
+        } catch (NotFoundException | BusinessException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error al generar PDF de conciliación para orden: {}", number, e);
@@ -365,4 +534,52 @@ public class OrderBusiness implements IOrderBusiness {
                 .build();
         }
     }
+
+    /**
+     * Obtiene la vista de conciliación de una orden finalizada con una única consulta.
+     * Si la orden no tiene agregados de carga guardados, se recalculan desde los detalles.
+     */
+    private ConciliationView loadConciliationView(String number) throws BusinessException, NotFoundException {
+        Optional<ConciliationView> r;
+        try {
+            r = orderDAO.findConciliationByNumber(number);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra la orden número " + number).build();
+        }
+        ConciliationView view = r.get();
+
+        if (view.state() != OrderState.FINALIZED) {
+            throw BusinessException.builder()
+                .message("La orden " + view.number() + " no está finalizada. Estado actual: " + view.state())
+                .build();
+        }
+        if (!view.hasStats()) {
+            view = view.withStats(loadingStatsBusiness.load(view.orderId()));
+        }
+        return view;
+    }
+
+    private static Conciliation toConciliation(ConciliationView view) {
+        Double initialWeight    = view.initialWeight();
+        Double finalWeight      = view.finalWeight();
+        Double productLoaded    = view.accumulatedMass();
+        Double netWeight        = finalWeight - initialWeight;
+        Double difference       = netWeight - productLoaded;
+
+        /* Crear el Objeto Conciliacion */
+        return new Conciliation(
+            initialWeight,
+            finalWeight,
+            productLoaded,
+            netWeight,
+            difference,
+            view.averageTemperature(),
+            view.averageDensity(),
+            view.averageCaudal()
+        );
+    }
 }
@@ -0,0 +1,218 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderDetailArchive;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailArchiveRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.util.OrderDetailCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archivado de la curva de carga de las órdenes finalizadas ({@link OrderDetailArchive}).
+ * <p>
+ * Si {@code charging.archive.enabled} está activo, un proceso en segundo plano archiva cada
+ * {@code charging.archive.interval-minutes} minutos las órdenes finalizadas hace más de
+ * {@code charging.archive.min-age-hours} horas. Antes de eliminar los detalles se asegura que
+ * los agregados de la carga estén guardados, de modo que la conciliación y su PDF no dependen
+ * de los detalles.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderDetailArchiveBusiness implements IOrderDetailArchiveBusiness {
+
+    @Autowired
+    private OrderDetailArchiveRepository archiveDAO;
+
+    @Autowired
+    private OrderDetailRepository detailDAO;
+
+    @Autowired
+    private OrderRepository orderDAO;
+
+    @Autowired
+    private IOrderLoadingStatsBusiness loadingStatsBusiness;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${charging.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${charging.archive.min-age-hours:24}")
+    private long minAgeHours;
+
+    @Value("${charging.archive.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Value("${charging.archive.batch-size:50}")
+    private int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-detail-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::archivePendingQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        log.info("Archivado de detalles activo (antigüedad={} h, intervalo={} min, lote={})",
+                minAgeHours, intervalMinutes, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean archive(long orderId) throws BusinessException, NotFoundException {
+        Optional<Order> r;
+        try {
+            if (archiveDAO.existsById(orderId)) {
+                return false;
+            }
+            r = orderDAO.findById(orderId);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra la orden id=" + orderId).build();
+        }
+        Order order = r.get();
+        if (order.getState() != OrderState.FINALIZED) {
+            throw BusinessException.builder().message("Sólo se archivan órdenes finalizadas (orden " + order.getNumber() + ")").build();
+        }
+
+        // Los agregados deben quedar guardados antes de eliminar los detalles
+        if (loadingStatsBusiness.find(orderId).isEmpty()) {
+            return false;
+        }
+
+        try {
+            Integer archived = transactionTemplate.execute(status -> {
+                List<OrderDetailPoint> points = detailDAO.findDetailsByOrderId(orderId);
+                if (points.isEmpty()) {
+                    return 0;
+                }
+                byte[] data = OrderDetailCodec.encode(points);
+                if (!OrderDetailCodec.decode(data).equals(points)) {
+                    throw new IllegalStateException("La verificación del bloque archivado falló para la orden " + orderId);
+                }
+
+                OrderDetailArchive archive = new OrderDetailArchive();
+                archive.setOrderId(orderId);
+                archive.setOrderNumber(order.getNumber());
+                archive.setSampleCount(points.size());
+                archive.setFirstTimestamp(points.get(0).timestamp());
+                archive.setLastTimestamp(points.get(points.size() - 1).timestamp());
+                archive.setCodecVersion(OrderDetailCodec.VERSION);
+                archive.setData(data);
+                archive.setArchivedAt(LocalDateTime.now());
+                archiveDAO.save(archive);
+
+                int deleted = detailDAO.deleteByOrderIdBulk(orderId);
+                if (deleted != points.size()) {
+                    throw new IllegalStateException("Se modificaron los detalles de la orden " + orderId + " durante el archivado");
+                }
+                log.info("Orden {} archivada: {} detalles en {} bytes", order.getNumber(), points.size(), data.length);
+                return points.size();
+            });
+            return archived != null && archived > 0;
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    @Override
+    public int archivePending() throws BusinessException {
+        List<Long> orderIds;
+        try {
+            orderIds = archiveDAO.findOrderIdsToArchive(OrderState.FINALIZED,
+                    LocalDateTime.now().minusHours(minAgeHours), PageRequest.of(0, batchSize));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        int archived = 0;
+        for (Long orderId : orderIds) {
+            try {
+                if (archive(orderId)) {
+                    archived++;
+                }
+            } catch (BusinessException | NotFoundException e) {
+                log.warn("No se pudo archivar la orden id={}: {}", orderId, e.getMessage());
+            }
+        }
+        if (archived > 0) {
+            log.info("Se archivaron los detalles de {} órdenes", archived);
+        }
+        return archived;
+    }
+
+    @Override
+    public List<OrderDetailPoint> load(long orderId) throws BusinessException, NotFoundException {
+        Optional<List<OrderDetailPoint>> r = find(orderId);
+        if (r.isEmpty()) {
+            throw NotFoundException.builder().message("La orden id=" + orderId + " no está archivada").build();
+        }
+        return r.get();
+    }
+
+    @Override
+    public Optional<List<OrderDetailPoint>> find(long orderId) throws BusinessException {
+        try {
+            return archiveDAO.findById(orderId).map(archive -> OrderDetailCodec.decode(archive.getData()));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    @Override
+    public boolean isArchived(long orderId) throws BusinessException {
+        try {
+            return archiveDAO.existsById(orderId);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    private void archivePendingQuietly() {
+        try {
+            archivePending();
+        } catch (BusinessException e) {
+            // Ya registrado; se reintenta en el próximo ciclo
+        }
+    }
+}
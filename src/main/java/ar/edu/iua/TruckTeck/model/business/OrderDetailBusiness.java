@@ -1,14 +1,24 @@
 package ar.edu.iua.TruckTeck.model.business;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.OrderDetailSeries;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
-import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+import ar.edu.iua.TruckTeck.util.Cursors;
+import ar.edu.iua.TruckTeck.util.Downsampling;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -18,62 +28,140 @@ public class OrderDetailBusiness implements IOrderDetailBusiness {
     @Autowired
     private OrderDetailRepository detailDAO;
 
-    public Double calculateAverageTemperature(Long orderId) throws BusinessException, NotFoundException {
-        Double avgTemp;
+    @Autowired
+    private IOrderDetailArchiveBusiness archiveBusiness;
 
-        try {
-            avgTemp = detailDAO.findAverageTemperatureByOrderId(orderId);
+    @Value("${charging.series.max-points-limit:5000}")
+    private int maxPointsLimit;
 
-        } catch (Exception e) {
+    @Value("${charging.series.max-page-size:50000}")
+    private int maxPageSize;
+
+    public List<OrderDetail> listId(Long orderID) throws BusinessException {
+        try {
+            return detailDAO.findByOrderId(orderID);
+        } catch(Exception e) {
             log.error(e.getMessage(), e);
-            throw BusinessException.builder().message("Error al obtener la temperatura promedio.").build();
+            throw BusinessException.builder().ex(e).message(e.getMessage()).build();
         }
-        if (avgTemp == null) {
-            throw NotFoundException.builder().message("No se encontraron detalles de orden para el ID proporcionado: " + orderId).build();
+    }
+
+    @Override
+    public OrderDetailSeries series(Long orderId, LocalDateTime from, LocalDateTime to, int maxPoints,
+            String method, String cursor, int pageSize) throws BusinessException {
+        int points = Math.max(4, Math.min(maxPoints, maxPointsLimit));
+        int limit = Math.max(1, Math.min(pageSize, maxPageSize));
+        boolean minMax = "minmax".equalsIgnoreCase(method);
+        if (!minMax && method != null && !"lttb".equalsIgnoreCase(method)) {
+            throw new IllegalArgumentException("Método de reducción desconocido: " + method);
         }
 
-        return avgTemp;
-    }
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = Cursors.decode(cursor, 2);
+            try {
+                afterTimestamp = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+        }
 
-    public Double calculateAverageDensity(Long orderId) throws BusinessException, NotFoundException {
-        Double avgDensity;
+        // Se pide un detalle de más para saber si existe una página siguiente
+        List<OrderDetailPoint> page;
+        if (archiveBusiness.isArchived(orderId)) {
+            page = archivedPage(orderId, from, to, afterTimestamp, afterId, limit + 1);
+        } else {
+            try {
+                page = detailDAO.findSeriesPage(orderId, from, to, afterTimestamp, afterId, PageRequest.of(0, limit + 1));
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                throw BusinessException.builder().ex(e).build();
+            }
+        }
 
-        try {
-            avgDensity = detailDAO.findAverageDensityByOrderId(orderId);
+        String nextCursor = null;
+        if (page.size() > limit) {
+            page = page.subList(0, limit);
+            OrderDetailPoint last = page.get(limit - 1);
+            nextCursor = Cursors.encode(last.timestamp(), last.id());
+        }
 
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
-            throw BusinessException.builder().message("Error al obtener la temperatura promedio.").build();
+        int n = page.size();
+        ZoneId zone = ZoneId.systemDefault();
+        long[] timestamps = new long[n];
+        double[] mass = new double[n];
+        double[] density = new double[n];
+        double[] temperature = new double[n];
+        double[] caudal = new double[n];
+        for (int i = 0; i < n; i++) {
+            OrderDetailPoint p = page.get(i);
+            timestamps[i] = p.timestamp().atZone(zone).toInstant().toEpochMilli();
+            mass[i] = p.accumulatedMass();
+            density[i] = p.density();
+            temperature[i] = p.temperature();
+            caudal[i] = p.caudal();
         }
-        if (avgDensity == null) {
-            throw NotFoundException.builder().message("No se encontraron detalles de orden para el ID proporcionado: " + orderId).build();
+
+        if (n <= points) {
+            return new OrderDetailSeries(timestamps, mass, density, temperature, caudal, n, nextCursor);
         }
 
-        return avgDensity;
+        // La temperatura guía la selección: es la variable con picos relevantes para el control de la carga
+        int[] keep = minMax ? Downsampling.minMax(temperature, points) : Downsampling.lttb(timestamps, temperature, points);
+        return new OrderDetailSeries(pick(timestamps, keep), pick(mass, keep), pick(density, keep),
+                pick(temperature, keep), pick(caudal, keep), n, nextCursor);
     }
 
-    public Double calculateAverageCaudal(Long orderId) throws BusinessException, NotFoundException {
-        Double avgFlow;
-
+    @Override
+    public List<OrderDetailPoint> points(long orderId) throws BusinessException {
+        Optional<List<OrderDetailPoint>> archived = archiveBusiness.find(orderId);
+        if (archived.isPresent()) {
+            return archived.get();
+        }
         try {
-            avgFlow = detailDAO.findAverageCaudalByOrderId(orderId);
-
+            return detailDAO.findDetailsByOrderId(orderId);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
-            throw BusinessException.builder().message("Error al obtener la temperatura promedio.").build();
+            throw BusinessException.builder().ex(e).build();
         }
-        if (avgFlow == null) {
-            throw NotFoundException.builder().message("No se encontraron detalles de orden para el ID proporcionado: " + orderId).build();
+    }
+
+    /**
+     * Aplica la ventana y el cursor sobre los detalles archivados de una orden.
+     */
+    private List<OrderDetailPoint> archivedPage(long orderId, LocalDateTime from, LocalDateTime to,
+            LocalDateTime afterTimestamp, Long afterId, int limit) throws BusinessException {
+        List<OrderDetailPoint> all = points(orderId);
+        List<OrderDetailPoint> page = new ArrayList<>(Math.min(limit, all.size()));
+        for (OrderDetailPoint p : all) {
+            if ((from != null && p.timestamp().isBefore(from))
+                    || (afterTimestamp != null && (p.timestamp().isBefore(afterTimestamp)
+                        || (p.timestamp().equals(afterTimestamp) && p.id() <= afterId)))) {
+                continue;
+            }
+            if ((to != null && p.timestamp().isAfter(to)) || page.size() == limit) {
+                break;
+            }
+            page.add(p);
         }
-        return avgFlow;
+        return page;
     }
 
-    public List<OrderDetail> listId(Long orderID) throws BusinessException {
-        try {
-            return detailDAO.findByOrderId(orderID);
-        } catch(Exception e) {
-            log.error(e.getMessage(), e);
-            throw BusinessException.builder().ex(e).message(e.getMessage()).build();
+    private static long[] pick(long[] values, int[] indexes) {
+        long[] r = new long[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            r[i] = values[indexes[i]];
+        }
+        return r;
+    }
+
+    private static double[] pick(double[] values, int[] indexes) {
+        double[] r = new double[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            r[i] = values[indexes[i]];
         }
+        return r;
     }
 }
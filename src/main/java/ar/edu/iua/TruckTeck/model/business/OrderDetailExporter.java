@@ -0,0 +1,192 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailArchive;
+import ar.edu.iua.TruckTeck.model.OrderDetailExportRow;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.enums.ExportFormat;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailArchiveRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+import ar.edu.iua.TruckTeck.util.OrderDetailCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportación de los detalles de carga en CSV o NDJSON.
+ * <p>
+ * Los detalles se leen con un {@link Stream} del repositorio y se escriben en la salida a medida
+ * que llegan, sin armar la lista completa ni cargar las órdenes asociadas, de modo que el uso de
+ * memoria no depende de la cantidad de filas exportadas.
+ * </p>
+ * <p>
+ * Los detalles de las órdenes archivadas ({@link OrderDetailArchive}) se exportan primero,
+ * decodificando un bloque por vez y en orden de inicio de la carga, seguidos de los detalles
+ * de {@code order_details} ordenados por timestamp.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderDetailExporter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String CSV_HEADER = "orderNumber,id,timestamp,accumulatedMass,density,temperature,caudal\n";
+
+    @Autowired
+    private OrderDetailRepository detailDAO;
+
+    @Autowired
+    private OrderDetailArchiveRepository archiveDAO;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escribe en {@code out} los detalles de una orden, o de todas las órdenes dentro de la
+     * ventana {@code [from, to]}, ordenados por timestamp.
+     *
+     * @param orderId Identificador de la orden (opcional).
+     * @param from    Inicio de la ventana de tiempo (opcional).
+     * @param to      Fin de la ventana de tiempo (opcional).
+     * @param format  Formato de salida.
+     * @param out     Flujo de salida; no se cierra.
+     * @return Cantidad de detalles exportados.
+     * @throws IOException Si falla la escritura (por ejemplo, el cliente cortó la descarga).
+     */
+    @Transactional(readOnly = true)
+    public long export(Long orderId, LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rows = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long count = 0;
+
+        // Órdenes archivadas: se decodifica un bloque por vez
+        List<Long> archived = orderId != null
+                ? (archiveDAO.existsById(orderId) ? List.of(orderId) : List.of())
+                : archiveDAO.findOrderIdsInWindow(from, to);
+        for (Long archivedId : archived) {
+            OrderDetailArchive archive = archiveDAO.findById(archivedId).orElse(null);
+            if (archive == null) {
+                continue;
+            }
+            entityManager.detach(archive);
+            for (OrderDetailPoint p : OrderDetailCodec.decode(archive.getData())) {
+                if ((from == null || !p.timestamp().isBefore(from)) && (to == null || !p.timestamp().isAfter(to))) {
+                    rows.write(new OrderDetailExportRow(archive.getOrderNumber(), p.id(), p.timestamp(),
+                            p.accumulatedMass(), p.density(), p.temperature(), p.caudal()));
+                    count++;
+                }
+            }
+        }
+
+        try (Stream<OrderDetailExportRow> stream = detailDAO.streamForExport(orderId, from, to)) {
+            Iterator<OrderDetailExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                rows.write(it.next());
+                count++;
+            }
+        }
+        rows.close();
+        writer.flush();
+        log.info("Exportados {} detalles (orden={}, desde={}, hasta={}, formato={})", count, orderId, from, to, format);
+        return count;
+    }
+
+    private interface RowWriter {
+        void write(OrderDetailExportRow row) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(OrderDetailExportRow row) throws IOException {
+            writer.write(csvField(row.orderNumber()));
+            writer.write(',');
+            writer.write(Long.toString(row.id()));
+            writer.write(',');
+            writer.write(String.valueOf(row.timestamp()));
+            writer.write(',');
+            writer.write(String.valueOf(row.accumulatedMass()));
+            writer.write(',');
+            writer.write(String.valueOf(row.density()));
+            writer.write(',');
+            writer.write(String.valueOf(row.temperature()));
+            writer.write(',');
+            writer.write(String.valueOf(row.caudal()));
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() {
+            // El flujo subyacente lo cierra quien lo abrió
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator gen;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            gen = JSON_FACTORY.createGenerator(writer);
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto termina con su propio salto de línea: sin el espacio separador por defecto
+            gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(OrderDetailExportRow row) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("orderNumber", row.orderNumber());
+            gen.writeNumberField("id", row.id());
+            gen.writeStringField("timestamp", String.valueOf(row.timestamp()));
+            gen.writeNumberField("accumulatedMass", row.accumulatedMass());
+            gen.writeNumberField("density", row.density());
+            gen.writeNumberField("temperature", row.temperature());
+            gen.writeNumberField("caudal", row.caudal());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            gen.close();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,108 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code order_details} (MySQL).
+ * <p>
+ * Sólo actúa si {@code charging.detail.partitioning.enabled} está activo y la tabla ya fue
+ * particionada con {@code db/order_details_partitioning.sql}. Las particiones se llaman
+ * {@code pYYYYMM} y contienen los detalles con {@code timestamp} menor al primer día del mes
+ * siguiente; {@code pmax} recibe el resto.
+ * </p>
+ * <ul>
+ *   <li>{@link #ensureFuturePartitions()} crea por adelantado las particiones de los próximos
+ *       {@code charging.detail.partitioning.months-ahead} meses, dividiendo {@code pmax}.</li>
+ *   <li>{@link #dropEmptyPartitionsBefore(LocalDateTime)} elimina las particiones anteriores al
+ *       límite de retención que quedaron vacías luego del resumen por minuto.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OrderDetailPartitionMaintainer {
+
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${charging.detail.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${charging.detail.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * Crea las particiones mensuales que falten hasta {@code months-ahead} meses en adelante.
+     *
+     * @return Cantidad de particiones creadas.
+     */
+    public int ensureFuturePartitions() {
+        if (!enabled) {
+            return 0;
+        }
+        List<String> existing = partitionNames();
+        if (!existing.contains("pmax")) {
+            log.warn("order_details no está particionada (falta la partición pmax); ver db/order_details_partitioning.sql");
+            return 0;
+        }
+        int created = 0;
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            String name = month.format(NAME);
+            if (existing.contains(name)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE order_details REORGANIZE PARTITION pmax INTO ("
+                    + "PARTITION " + name + " VALUES LESS THAN ('" + month.plusMonths(1) + "'), "
+                    + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+            log.info("Partición {} creada en order_details", name);
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Elimina las particiones mensuales que terminan antes de {@code before} y no tienen filas.
+     *
+     * @param before Límite de retención.
+     * @return Cantidad de particiones eliminadas.
+     */
+    public int dropEmptyPartitionsBefore(LocalDateTime before) {
+        if (!enabled) {
+            return 0;
+        }
+        int dropped = 0;
+        for (String name : partitionNames()) {
+            if (!name.matches("p\\d{6}")) {
+                continue;
+            }
+            LocalDate end = LocalDate.parse(name.substring(1) + "01", DateTimeFormatter.BASIC_ISO_DATE).plusMonths(1);
+            if (!end.atStartOfDay().isAfter(before)) {
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_details PARTITION (" + name + ")", Long.class);
+                if (rows != null && rows == 0) {
+                    jdbcTemplate.execute("ALTER TABLE order_details DROP PARTITION " + name);
+                    log.info("Partición vacía {} eliminada de order_details", name);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_details' AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+    }
+}
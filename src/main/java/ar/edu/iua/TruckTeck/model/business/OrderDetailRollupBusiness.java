@@ -0,0 +1,169 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailMinute;
+import ar.edu.iua.TruckTeck.model.OrderDetailSample;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailMinuteRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retención de los detalles de carga: resume por minuto los detalles antiguos.
+ * <p>
+ * Si {@code charging.detail.rollup.enabled} está activo, cada
+ * {@code charging.detail.rollup.interval-minutes} minutos se crean las particiones futuras de
+ * {@code order_details} (si la tabla está particionada), se resumen los detalles más antiguos que
+ * el límite de retención y se eliminan las particiones que quedaron vacías.
+ * </p>
+ * <p>
+ * Cada intervalo de una hora se procesa en su propia transacción: se recorren sus detalles con
+ * un {@link Stream}, se guardan los resúmenes (combinándolos con los existentes del mismo minuto)
+ * y se eliminan los detalles resumidos. Antes de resumir se calculan los agregados de carga de
+ * las órdenes que no los tengan, ya que después no podrían recalcularse desde los detalles.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderDetailRollupBusiness implements IOrderDetailRollupBusiness {
+
+    @Autowired
+    private OrderDetailRepository detailDAO;
+
+    @Autowired
+    private OrderDetailMinuteRepository minuteDAO;
+
+    @Autowired
+    private IOrderLoadingStatsBusiness loadingStatsBusiness;
+
+    @Autowired
+    private OrderDetailPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${charging.detail.rollup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${charging.detail.rollup.min-age-days:90}")
+    private long minAgeDays;
+
+    @Value("${charging.detail.rollup.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Value("${charging.detail.rollup.max-slices-per-run:24}")
+    private int maxSlicesPerRun;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "order-detail-rollup");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 1, intervalMinutes, TimeUnit.MINUTES);
+        log.info("Retención de detalles activa (antigüedad={} días, intervalo={} min)", minAgeDays, intervalMinutes);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public long rollup() throws BusinessException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime oldest;
+        try {
+            oldest = detailDAO.findOldestTimestampBefore(cutoff);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (oldest == null) {
+            return 0;
+        }
+
+        loadingStatsBusiness.rebuildMissing();
+
+        long total = 0;
+        LocalDateTime start = oldest.truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < maxSlicesPerRun && start.plusHours(i).isBefore(cutoff); i++) {
+            LocalDateTime from = start.plusHours(i);
+            LocalDateTime to = from.plusHours(1);
+            try {
+                Long rolled = transactionTemplate.execute(status -> rollupSlice(from, to));
+                total += rolled == null ? 0 : rolled;
+            } catch (Exception e) {
+                log.error("Error al resumir los detalles entre {} y {}: {}", from, to, e.getMessage(), e);
+                throw BusinessException.builder().ex(e).build();
+            }
+        }
+        if (total > 0) {
+            log.info("Se resumieron {} detalles de carga anteriores a {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private long rollupSlice(LocalDateTime from, LocalDateTime to) {
+        Map<String, OrderDetailMinute> minutes = new LinkedHashMap<>();
+        long rows = 0;
+        try (Stream<OrderDetailSample> samples = detailDAO.streamInterval(from, to)) {
+            for (OrderDetailSample sample : (Iterable<OrderDetailSample>) samples::iterator) {
+                LocalDateTime minute = sample.timestamp().truncatedTo(ChronoUnit.MINUTES);
+                minutes.computeIfAbsent(sample.orderId() + "|" + minute,
+                        k -> new OrderDetailMinute(sample.orderId(), minute)).add(sample);
+                rows++;
+            }
+        }
+        if (rows == 0) {
+            return 0;
+        }
+        for (OrderDetailMinute summary : minutes.values()) {
+            OrderDetailMinute stored = minuteDAO.findByOrderIdAndMinute(summary.getOrderId(), summary.getMinute())
+                    .map(existing -> {
+                        existing.merge(summary);
+                        return existing;
+                    })
+                    .orElse(summary);
+            minuteDAO.save(stored);
+        }
+        int deleted = detailDAO.deleteInterval(from, to);
+        if (deleted != rows) {
+            throw new IllegalStateException("Se modificaron los detalles entre " + from + " y " + to + " durante el resumen");
+        }
+        return rows;
+    }
+
+    private void runQuietly() {
+        try {
+            partitionMaintainer.ensureFuturePartitions();
+            rollup();
+            partitionMaintainer.dropEmptyPartitionsBefore(LocalDateTime.now().minusDays(minAgeDays));
+        } catch (Exception e) {
+            log.error("Error en la retención de detalles de carga: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.DetailWriteMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffer de escritura diferida (write-behind) para los detalles de carga.
+ * <p>
+ * Los detalles aceptados por el sistema de carga se encolan en una cola acotada y se
+ * insertan en lotes JDBC multi-fila cuando se alcanza {@code charging.detail.batch-size}
+ * o cada {@code charging.detail.flush-interval-ms} milisegundos, lo que ocurra primero.
+ * </p>
+ *
+ * <p>
+ * La inserción se hace con {@link JdbcTemplate#batchUpdate} en lugar de Hibernate: con
+ * {@code GenerationType.IDENTITY} Hibernate no puede agrupar los INSERT, mientras que a
+ * nivel JDBC el id lo asigna MySQL y el driver reescribe el lote como un único INSERT
+ * multi-fila ({@code rewriteBatchedStatements=true}).
+ * </p>
+ *
+ * <p><b>Garantías:</b></p>
+ * <ul>
+ *   <li>Si la cola está llena, el hilo que encola vuelca el buffer antes de continuar (contrapresión);
+ *       si aun así no hay lugar (base de datos caída) la muestra se rechaza.</li>
+ *   <li>Al cerrar la carga de una orden se vuelcan sólo sus detalles ({@link #flush(long)}); el buffer
+ *       completo se vuelca periódicamente y al detener la aplicación.</li>
+ *   <li>Si un lote falla, sus detalles se reintentan de a uno. Los que violan una restricción (por
+ *       ejemplo, la orden se eliminó durante la carga) van al archivo de descarte
+ *       ({@code charging.detail.dead-letter-file}, un detalle JSON por línea) y no bloquean al resto.
+ *       Cada descarte se registra con nivel WARN y se cuenta en {@link #deadLetterStats()}; los
+ *       detalles descartados se pueden reintentar con {@link #replayDeadLetters()}.</li>
+ *   <li>Si la base de datos no está disponible, los detalles no persistidos se conservan en memoria
+ *       (fuera de la cola acotada) y se reintentan primero en el próximo volcado. Un detalle aceptado
+ *       nunca se descarta: lo que quede pendiente al detener la aplicación va al archivo de descarte.</li>
+ *   <li>Con {@link DetailWriteMode#SYNC} cada detalle se inserta inmediatamente.</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class OrderDetailWriteBuffer {
+
+    private static final String INSERT_SQL = "INSERT INTO order_details "
+            + "(order_id, timestamp, accumulated_mass, density, temperature, caudal) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    /**
+     * Detalle que no pudo persistirse, tal como se guarda en el archivo de descarte.
+     *
+     * @param orderId Identificador de la orden.
+     * @param timestamp Momento de la muestra.
+     * @param error Causa del descarte.
+     */
+    record DeadLetter(long orderId, LocalDateTime timestamp, Double accumulatedMass, Double density,
+            Double temperature, Double caudal, String error) {
+
+        static DeadLetter of(OrderDetail detail, String error) {
+            return new DeadLetter(detail.getOrder().getId(), detail.getTimestamp(), detail.getAccumulatedMass(),
+                    detail.getDensity(), detail.getTemperature(), detail.getCaudal(), error);
+        }
+
+        OrderDetail toDetail() {
+            Order order = new Order();
+            order.setId(orderId);
+            OrderDetail detail = new OrderDetail();
+            detail.setOrder(order);
+            detail.setTimestamp(timestamp);
+            detail.setAccumulatedMass(accumulatedMass);
+            detail.setDensity(density);
+            detail.setTemperature(temperature);
+            detail.setCaudal(caudal);
+            return detail;
+        }
+    }
+
+    /**
+     * Estado del archivo de descarte.
+     *
+     * @param file Ruta absoluta del archivo de descarte.
+     * @param deadLettered Detalles enviados al archivo desde el inicio de la aplicación.
+     * @param replayed Detalles del archivo persistidos por {@link #replayDeadLetters()} desde el
+     *                 inicio de la aplicación.
+     * @param pending Detalles que quedan en el archivo.
+     */
+    public record DeadLetterStats(String file, long deadLettered, long replayed, long pending) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${charging.detail.write-mode:SYNC}")
+    private DetailWriteMode writeMode;
+
+    @Value("${charging.detail.buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${charging.detail.batch-size:500}")
+    private int batchSize;
+
+    @Value("${charging.detail.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${charging.detail.dead-letter-file:data/charging/order-details-dead-letter.jsonl}")
+    private String deadLetterPath;
+
+    private LinkedBlockingDeque<OrderDetail> queue;
+
+    /**
+     * Detalles de un volcado fallido por falta de base de datos; se reintentan antes que la cola.
+     * Sólo se modifica con {@link #flushLock} tomado.
+     */
+    private final ConcurrentLinkedDeque<OrderDetail> retry = new ConcurrentLinkedDeque<>();
+
+    private Path deadLetterFile;
+
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final Object flushLock = new Object();
+
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private final AtomicLong replayed = new AtomicLong();
+
+    @PostConstruct
+    void start() throws IOException {
+        queue = new LinkedBlockingDeque<>(capacity);
+        deadLetterFile = Path.of(deadLetterPath).toAbsolutePath();
+        Files.createDirectories(deadLetterFile.getParent());
+        if (writeMode == DetailWriteMode.WRITE_BEHIND) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "order-detail-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Escritura de detalles de carga en modo {} (lote={}, capacidad={}, intervalo={} ms)",
+                writeMode, batchSize, capacity, flushIntervalMs);
+    }
+
+    /**
+     * Detiene el proceso en segundo plano y vuelca los detalles pendientes.
+     */
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+        synchronized (flushLock) {
+            List<OrderDetail> remaining = new ArrayList<>(retry);
+            queue.drainTo(remaining);
+            retry.clear();
+            if (!remaining.isEmpty()) {
+                log.error("{} detalles de carga no pudieron persistirse al detener la aplicación; se guardan en {}",
+                        remaining.size(), deadLetterFile);
+                deadLetter(remaining, "Base de datos no disponible al detener la aplicación");
+            }
+        }
+    }
+
+    /**
+     * Registra un detalle de carga para su persistencia.
+     *
+     * @param detail Detalle a persistir. Debe tener la orden asignada.
+     * @throws BusinessException Si el modo es SYNC y falla la inserción.
+     */
+    public void enqueue(OrderDetail detail) throws BusinessException {
+        if (writeMode == DetailWriteMode.SYNC) {
+            try {
+                writeBatch(List.of(detail));
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                throw BusinessException.builder().ex(e).build();
+            }
+            return;
+        }
+
+        if (!queue.offerLast(detail)) {
+            // Cola llena: el productor vuelca el buffer antes de continuar
+            flushQuietly();
+            if (!queue.offerLast(detail)) {
+                throw BusinessException.builder()
+                    .message("El buffer de detalles de carga está lleno, reintente más tarde")
+                    .build();
+            }
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Vuelca a la base de datos todos los detalles pendientes.
+     *
+     * @throws BusinessException Si la base de datos no está disponible; los detalles no persistidos
+     *         quedan pendientes para el próximo volcado.
+     */
+    public void flush() throws BusinessException {
+        synchronized (flushLock) {
+            List<OrderDetail> batch = new ArrayList<>(batchSize);
+            while (true) {
+                while (batch.size() < batchSize && !retry.isEmpty()) {
+                    batch.add(retry.pollFirst());
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                persist(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Vuelca a la base de datos los detalles pendientes de una orden, sin esperar a los del resto.
+     *
+     * @param orderId Identificador de la orden.
+     * @throws BusinessException Si la base de datos no está disponible; los detalles no persistidos
+     *         quedan pendientes para el próximo volcado.
+     */
+    public void flush(long orderId) throws BusinessException {
+        synchronized (flushLock) {
+            List<OrderDetail> details = new ArrayList<>();
+            retry.removeIf(detail -> take(detail, orderId, details));
+            queue.removeIf(detail -> take(detail, orderId, details));
+            persist(details);
+        }
+    }
+
+    /**
+     * Cantidad de detalles pendientes de persistir.
+     *
+     * @return tamaño actual del buffer.
+     */
+    public int pending() {
+        return queue.size() + retry.size();
+    }
+
+    /**
+     * Estado del archivo de descarte: detalles descartados y reintentados desde el inicio de la
+     * aplicación y detalles que quedan en el archivo.
+     *
+     * @return estado del archivo de descarte.
+     * @throws BusinessException Si no se puede leer el archivo.
+     */
+    public DeadLetterStats deadLetterStats() throws BusinessException {
+        long lines;
+        try (Stream<String> stream = Files.lines(deadLetterFile, StandardCharsets.UTF_8)) {
+            lines = stream.filter(line -> !line.isBlank()).count();
+        } catch (NoSuchFileException e) {
+            lines = 0;
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).message("No se pudo leer el archivo de descarte " + deadLetterFile).build();
+        }
+        return new DeadLetterStats(deadLetterFile.toString(), deadLettered.get(), replayed.get(), lines);
+    }
+
+    /**
+     * Reintenta persistir los detalles del archivo de descarte, de a uno. Los que la base de datos
+     * vuelve a rechazar por una restricción quedan en el archivo; ante cualquier otro error se
+     * detiene el reintento y el detalle y los siguientes también quedan en el archivo.
+     *
+     * @return estado del archivo de descarte luego del reintento.
+     * @throws BusinessException Si no se puede leer o reescribir el archivo, o si la base de datos no
+     *         está disponible.
+     */
+    public DeadLetterStats replayDeadLetters() throws BusinessException {
+        Exception failure = null;
+        int persisted = 0;
+        synchronized (flushLock) {
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(deadLetterFile, StandardCharsets.UTF_8);
+            } catch (NoSuchFileException e) {
+                lines = List.of();
+            } catch (IOException e) {
+                log.error(e.getMessage(), e);
+                throw BusinessException.builder().ex(e).message("No se pudo leer el archivo de descarte " + deadLetterFile).build();
+            }
+            List<String> kept = new ArrayList<>();
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (failure != null) {
+                    kept.add(line);
+                    continue;
+                }
+                try {
+                    writeBatch(List.of(MAPPER.readValue(line, DeadLetter.class).toDetail()));
+                    persisted++;
+                } catch (DataIntegrityViolationException e) {
+                    kept.add(line);
+                } catch (IOException e) {
+                    log.warn("Línea inválida en el archivo de descarte {}: {}", deadLetterFile, e.getMessage());
+                    kept.add(line);
+                } catch (Exception e) {
+                    failure = e;
+                    kept.add(line);
+                }
+            }
+            if (persisted > 0) {
+                rewriteDeadLetterFile(kept);
+                replayed.addAndGet(persisted);
+            }
+        }
+        log.info("Reintento del archivo de descarte {}: {} detalles persistidos", deadLetterFile, persisted);
+        if (failure != null) {
+            log.error("Error al reintentar el archivo de descarte {}: {}", deadLetterFile, failure.getMessage(), failure);
+            throw BusinessException.builder().ex(failure).message("Error al persistir los detalles del archivo de descarte").build();
+        }
+        return deadLetterStats();
+    }
+
+    private void rewriteDeadLetterFile(List<String> lines) throws BusinessException {
+        Path tmp = deadLetterFile.resolveSibling(deadLetterFile.getFileName() + ".tmp");
+        try {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, deadLetterFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("No se pudo reescribir el archivo de descarte {}: {}", deadLetterFile, e.getMessage(), e);
+            throw BusinessException.builder().ex(e).message("No se pudo reescribir el archivo de descarte " + deadLetterFile).build();
+        }
+    }
+
+    private static boolean take(OrderDetail detail, long orderId, List<OrderDetail> target) {
+        if (detail.getOrder().getId() != orderId) {
+            return false;
+        }
+        target.add(detail);
+        return true;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (BusinessException e) {
+            // Ya registrado; se reintenta en el próximo ciclo
+        }
+    }
+
+    /**
+     * Persiste los detalles en lotes. Si un lote falla se reintenta de a un detalle: los que violan
+     * una restricción van al archivo de descarte y, ante cualquier otro error, el detalle y los
+     * siguientes quedan pendientes al frente para el próximo volcado.
+     */
+    private void persist(List<OrderDetail> details) throws BusinessException {
+        for (int from = 0; from < details.size(); from += batchSize) {
+            List<OrderDetail> batch = details.subList(from, Math.min(from + batchSize, details.size()));
+            try {
+                writeBatch(batch);
+                continue;
+            } catch (Exception e) {
+                log.warn("Error al persistir un lote de {} detalles de carga, se reintentan de a uno: {}",
+                        batch.size(), e.getMessage());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                OrderDetail detail = batch.get(i);
+                try {
+                    writeBatch(List.of(detail));
+                } catch (DataIntegrityViolationException e) {
+                    deadLetter(List.of(detail), e.getMostSpecificCause().getMessage());
+                } catch (Exception e) {
+                    retryFirst(details.subList(from + i, details.size()));
+                    log.error("Error al persistir los detalles de carga; quedan {} pendientes: {}", pending(), e.getMessage(), e);
+                    throw BusinessException.builder().ex(e).message("Error al persistir los detalles de carga").build();
+                }
+            }
+        }
+    }
+
+    private void retryFirst(List<OrderDetail> details) {
+        for (int i = details.size() - 1; i >= 0; i--) {
+            retry.addFirst(details.get(i));
+        }
+    }
+
+    /**
+     * Agrega los detalles al archivo de descarte. Si el archivo no se puede escribir, los detalles
+     * quedan pendientes en memoria.
+     */
+    private void deadLetter(List<OrderDetail> details, String error) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (OrderDetail detail : details) {
+                sb.append(MAPPER.writeValueAsString(DeadLetter.of(detail, error))).append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(deadLetterFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            long total = deadLettered.addAndGet(details.size());
+            log.warn("{} detalles de carga de las órdenes {} enviados al archivo de descarte {} ({} desde el inicio): {}",
+                    details.size(), details.stream().map(detail -> detail.getOrder().getId()).distinct().toList(),
+                    deadLetterFile, total, error);
+        } catch (IOException e) {
+            log.error("No se pudieron guardar {} detalles de carga en {}: {}", details.size(), deadLetterFile, e.getMessage());
+            retry.addAll(details);
+        }
+    }
+
+    private void writeBatch(List<OrderDetail> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    OrderDetail detail = batch.get(i);
+                    ps.setLong(1, detail.getOrder().getId());
+                    ps.setTimestamp(2, Timestamp.valueOf(detail.getTimestamp()));
+                    ps.setDouble(3, detail.getAccumulatedMass());
+                    ps.setDouble(4, detail.getDensity());
+                    ps.setDouble(5, detail.getTemperature());
+                    ps.setDouble(6, detail.getCaudal());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+    }
+}
@@ -0,0 +1,176 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailArchive;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.RunningStats;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailArchiveRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderLoadingStatsRepository;
+import ar.edu.iua.TruckTeck.util.OrderDetailCodec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lógica de negocio de los agregados de carga de las órdenes ({@link OrderLoadingStats}).
+ */
+@Service
+@Slf4j
+public class OrderLoadingStatsBusiness implements IOrderLoadingStatsBusiness {
+
+    @Autowired
+    private OrderLoadingStatsRepository statsDAO;
+
+    @Autowired
+    private OrderDetailArchiveRepository archiveDAO;
+
+    @Override
+    public OrderLoadingStats load(long orderId) throws BusinessException, NotFoundException {
+        Optional<OrderLoadingStats> r = find(orderId);
+        if (r.isEmpty()) {
+            throw notFound(orderId);
+        }
+        return r.get();
+    }
+
+    @Override
+    public Optional<OrderLoadingStats> find(long orderId) throws BusinessException {
+        Optional<OrderLoadingStats> r;
+        try {
+            r = statsDAO.findById(orderId);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (r.isPresent()) {
+            return r;
+        }
+        // Órdenes cargadas antes de mantener los agregados: se calculan una única vez
+        return compute(orderId);
+    }
+
+    @Override
+    public Optional<OrderLoadingStats> findCheckpoint(long orderId) throws BusinessException {
+        try {
+            return statsDAO.findById(orderId).filter(s -> !Boolean.TRUE.equals(s.getRebuiltFromDetails()));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    @Override
+    public OrderLoadingStats save(OrderLoadingStats stats) throws BusinessException {
+        try {
+            stats.setUpdatedAt(LocalDateTime.now());
+            return statsDAO.save(stats);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
+    @Override
+    public OrderLoadingStats rebuild(long orderId) throws BusinessException, NotFoundException {
+        Optional<OrderLoadingStats> r = compute(orderId);
+        if (r.isEmpty()) {
+            throw notFound(orderId);
+        }
+        return r.get();
+    }
+
+    /**
+     * Recalcula y guarda los agregados a partir de los detalles de la orden (o de su archivo).
+     *
+     * @return Los agregados guardados, o vacío si la orden no tiene detalles de carga.
+     */
+    private Optional<OrderLoadingStats> compute(long orderId) throws BusinessException {
+        Object[] row;
+        try {
+            List<Object[]> rows = statsDAO.aggregateDetailsByOrderId(orderId);
+            row = rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        long count = row == null ? 0 : ((Number) row[0]).longValue();
+        if (count == 0) {
+            return computeFromArchive(orderId);
+        }
+
+        OrderLoadingStats stats = new OrderLoadingStats(orderId);
+        stats.setTemperature(toRunningStats(count, row, 1));
+        stats.setDensity(toRunningStats(count, row, 5));
+        stats.setCaudal(toRunningStats(count, row, 9));
+        stats.setRebuiltFromDetails(true);
+        return Optional.of(save(stats));
+    }
+
+    @Override
+    public int rebuildMissing() throws BusinessException {
+        List<Long> orderIds;
+        try {
+            orderIds = statsDAO.findOrderIdsWithoutStats();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        int rebuilt = 0;
+        for (Long orderId : orderIds) {
+            if (compute(orderId).isPresent()) {
+                rebuilt++;
+            } else {
+                log.warn("No se encontraron detalles de orden para el ID proporcionado: {}", orderId);
+            }
+        }
+        log.info("Agregados de carga recalculados para {} órdenes", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Recalcula los agregados a partir de los detalles archivados de la orden, si existen.
+     */
+    private Optional<OrderLoadingStats> computeFromArchive(long orderId) throws BusinessException {
+        Optional<OrderDetailArchive> archive;
+        try {
+            archive = archiveDAO.findById(orderId);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (archive.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderLoadingStats stats = new OrderLoadingStats(orderId);
+        for (OrderDetailPoint p : OrderDetailCodec.decode(archive.get().getData())) {
+            stats.getTemperature().add(p.temperature());
+            stats.getDensity().add(p.density());
+            stats.getCaudal().add(p.caudal());
+        }
+        stats.setRebuiltFromDetails(true);
+        return Optional.of(save(stats));
+    }
+
+    private static NotFoundException notFound(long orderId) {
+        return NotFoundException.builder().message("No se encontraron detalles de orden para el ID proporcionado: " + orderId).build();
+    }
+
+    /**
+     * Construye las estadísticas de una variable a partir de la fila agregada
+     * (suma, mínimo, máximo y varianza poblacional a partir de {@code offset}).
+     */
+    private static RunningStats toRunningStats(long count, Object[] row, int offset) {
+        double sum = ((Number) row[offset]).doubleValue();
+        double min = ((Number) row[offset + 1]).doubleValue();
+        double max = ((Number) row[offset + 2]).doubleValue();
+        double variance = row[offset + 3] == null ? 0 : ((Number) row[offset + 3]).doubleValue();
+        return new RunningStats(count, sum, min, max, variance * count);
+    }
+}
@@ -0,0 +1,60 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Tabla de locks particionada (striped) por número de orden.
+ * <p>
+ * Garantiza un único escritor por orden: las operaciones sobre una misma orden se serializan
+ * y, al ser locks justos (fair), se aplican en el orden en que llegaron. Las operaciones sobre
+ * órdenes distintas sólo compiten si caen en la misma partición, por lo que con suficientes
+ * particiones ({@code orders.lock.stripes}) se procesan en paralelo.
+ * </p>
+ *
+ * <p>
+ * Los locks son reentrantes: un mismo hilo puede tomar el lock de una orden que ya posee
+ * (por ejemplo, al procesar un lote de muestras de la misma orden).
+ * </p>
+ */
+@Component
+public class OrderLockTable {
+
+    /**
+     * Cantidad de particiones (se redondea a la potencia de 2 superior).
+     */
+    @Value("${orders.lock.stripes:256}")
+    private int stripes;
+
+    private ReentrantLock[] locks;
+
+    private int mask;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock(true);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Obtiene el lock correspondiente a una orden.
+     *
+     * @param number Número de la orden.
+     * @return El lock de la partición de la orden.
+     */
+    public Lock lockFor(String number) {
+        int h = number == null ? 0 : number.hashCode();
+        // Se mezclan los bits altos para repartir mejor números de orden correlativos
+        h ^= (h >>> 16);
+        return locks[h & mask];
+    }
+}
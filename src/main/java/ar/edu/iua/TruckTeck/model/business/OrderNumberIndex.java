@@ -0,0 +1,119 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.util.CacheStats;
+import ar.edu.iua.TruckTeck.util.CacheStatsRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Índice en memoria número de orden → id, delante de {@link OrderRepository}.
+ * <p>
+ * Las órdenes se resuelven por número en casi todos los flujos (TMS, sistema de carga,
+ * conciliación); con el índice, las resoluciones repetidas se convierten en búsquedas por clave
+ * primaria. El índice es acotado ({@code orders.number-cache.max-entries} entradas) y descarta
+ * las menos usadas recientemente.
+ * </p>
+ * <p>
+ * Si la orden del id indexado ya no existe o cambió de número, la entrada se descarta y se
+ * consulta por número. Las modificaciones y bajas de órdenes invalidan la entrada con
+ * {@link #evict(String)}.
+ * </p>
+ */
+@Component
+public class OrderNumberIndex {
+
+    @Autowired
+    private OrderRepository orderDAO;
+
+    @Autowired
+    private CacheStatsRegistry statsRegistry;
+
+    @Value("${orders.number-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private Map<String, Long> ids;
+
+    private CacheStats stats;
+
+    @PostConstruct
+    void init() {
+        stats = statsRegistry.register("orders.number");
+        ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > maxEntries) {
+                    stats.eviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca una orden por número. La orden se carga con el grafo completo
+     * ({@link Order#GRAPH_FULL}), tanto si el número está en el índice como si no.
+     *
+     * @param number Número de la orden.
+     * @return Optional con la orden si existe.
+     */
+    public Optional<Order> find(String number) {
+        if (number == null) {
+            return Optional.empty();
+        }
+        Long id;
+        synchronized (ids) {
+            id = ids.get(number);
+        }
+        if (id != null) {
+            Optional<Order> r = orderDAO.findById(id);
+            if (r.isPresent() && number.equals(r.get().getNumber())) {
+                stats.hit();
+                return r;
+            }
+            evict(number);
+        }
+        stats.miss();
+        Optional<Order> r = orderDAO.findByNumber(number);
+        r.ifPresent(this::put);
+        return r;
+    }
+
+    /**
+     * Registra el id de una orden.
+     *
+     * @param order Orden persistida.
+     */
+    public void put(Order order) {
+        if (order.getNumber() != null && order.getId() != 0) {
+            synchronized (ids) {
+                ids.put(order.getNumber(), order.getId());
+            }
+        }
+    }
+
+    /**
+     * Quita un número del índice, si estaba.
+     *
+     * @param number Número de la orden.
+     */
+    public void evict(String number) {
+        if (number == null) {
+            return;
+        }
+        synchronized (ids) {
+            if (ids.remove(number) != null) {
+                stats.eviction();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode;
+import ar.edu.iua.TruckTeck.model.events.OrderStateEvent;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderStatusLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Motor de transiciones de estado de las órdenes.
+ * <p>
+ * La validación del estado se resuelve en la base de datos: cada transición es un
+ * {@code UPDATE ... WHERE state = :expected}, de modo que dos pedidos concurrentes sobre la misma
+ * orden (por ejemplo, dos pesajes iniciales) no puedan aplicar ambos el cambio. La validación en
+ * memoria previa sólo sirve para responder con el estado actual sin ir a la base de datos.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderStateBusiness implements IOrderStateBusiness {
+
+    @Autowired
+    private OrderRepository orderDAO;
+
+    @Autowired
+    private OrderStatusLogRepository statusLogDAO;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Order registerTara(Order order, Double initialWeight, String activationCode, String actor, String note)
+            throws BusinessException {
+        LocalDateTime now = LocalDateTime.now();
+        // La sesión de carga se abre con la orden ya desacoplada: el modo se resuelve antes
+        SampleRetentionMode retentionMode = retentionMode(order);
+        return transition(order, OrderState.TARA_REGISTERED, now, actor, note, retentionMode,
+                () -> orderDAO.updateStateTaraRegistered(order.getId(), OrderState.PENDING, OrderState.TARA_REGISTERED,
+                        initialWeight, activationCode, now),
+                () -> {
+                    order.setInitialWeight(initialWeight);
+                    order.setActivationCode(activationCode);
+                    order.setInitialWeighing(now);
+                });
+    }
+
+    @Override
+    public Order closeLoading(Order order, String actor, String note) throws BusinessException {
+        LocalDateTime now = LocalDateTime.now();
+        return transition(order, OrderState.LOADING, now, actor, note, null,
+                () -> orderDAO.updateStateLoading(order.getId(), OrderState.TARA_REGISTERED, OrderState.LOADING, now),
+                () -> order.setCloseOrder(now));
+    }
+
+    @Override
+    public Order registerFinalWeighing(Order order, Double finalWeight, String actor, String note)
+            throws BusinessException {
+        LocalDateTime now = LocalDateTime.now();
+        return transition(order, OrderState.FINALIZED, now, actor, note, null,
+                () -> orderDAO.updateStateFinalized(order.getId(), OrderState.LOADING, OrderState.FINALIZED,
+                        finalWeight, now),
+                () -> {
+                    order.setFinalWeight(finalWeight);
+                    order.setEndWeighing(now);
+                });
+    }
+
+    /**
+     * Aplica una transición: actualización condicional y registro de auditoría en una única
+     * transacción; luego refleja los cambios en la orden recibida y publica el evento.
+     *
+     * @param retentionMode Modo de retención del producto para el evento ({@code null} si no aplica).
+     * @param update Actualización condicional; devuelve la cantidad de filas actualizadas.
+     * @param apply Refleja en la orden los valores guardados por {@code update}.
+     */
+    private Order transition(Order order, OrderState to, LocalDateTime now, String actor, String note,
+            SampleRetentionMode retentionMode, IntSupplier update, Runnable apply) throws BusinessException {
+        OrderState from = order.getState();
+        if (from == null || !from.canTransitionTo(to)) {
+            throw BusinessException.builder()
+                    .message("La orden " + order.getNumber() + " no está en estado " + to.previous() + ". Estado actual: " + from)
+                    .build();
+        }
+
+        // El UPDATE deja desactualizada a la entidad: se desacopla para que no se vuelva a guardar al hacer flush
+        if (entityManager.contains(order)) {
+            entityManager.detach(order);
+        }
+
+        Boolean applied;
+        try {
+            applied = transactionTemplate.execute(status -> {
+                if (update.getAsInt() == 0) {
+                    return false;
+                }
+                statusLogDAO.save(statusLog(order, from, to, now, actor, note));
+                return true;
+            });
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        if (!Boolean.TRUE.equals(applied)) {
+            throw BusinessException.builder()
+                    .message("La orden " + order.getNumber() + " cambió de estado antes de registrar la transición a " + to)
+                    .build();
+        }
+
+        apply.run();
+        order.setState(to);
+        if (order.getVersion() != null) {
+            order.setVersion(order.getVersion() + 1);
+        }
+        log.debug("Estado de orden {} registrado en auditoría: {} -> {}", order.getNumber(), from, to);
+
+        eventPublisher.publishEvent(new OrderStateEvent(order, from, to, now, retentionMode));
+        return order;
+    }
+
+    /**
+     * Modo de retención del producto de la orden. Si la orden llega desacoplada con el producto
+     * sin inicializar, se lee la cabecera de carga ({@link Order#GRAPH_CHARGING}).
+     *
+     * @return El modo del producto, o {@code null} si no define uno.
+     */
+    private SampleRetentionMode retentionMode(Order order) throws BusinessException {
+        Product product = order.getProduct();
+        if (product != null && !Hibernate.isInitialized(product) && !entityManager.contains(order)) {
+            try {
+                product = orderDAO.findChargingHeaderByNumber(order.getNumber()).map(Order::getProduct).orElse(null);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                throw BusinessException.builder().ex(e).build();
+            }
+        }
+        return product == null ? null : product.getRetentionMode();
+    }
+
+    private static OrderStatusLog statusLog(Order order, OrderState from, OrderState to, LocalDateTime now,
+            String actor, String note) {
+        OrderStatusLog statusLog = new OrderStatusLog();
+        statusLog.setOrderNumber(order.getId());
+        statusLog.setFromState(from);
+        statusLog.setToState(to);
+        statusLog.setTimestamp(now);
+        statusLog.setActor(actor);
+        statusLog.setNote(note);
+        return statusLog;
+    }
+}
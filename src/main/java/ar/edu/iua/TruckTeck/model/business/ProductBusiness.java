@@ -1,17 +1,33 @@
 package ar.edu.iua.TruckTeck.model.business;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Product;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.ProductRepository;
+import ar.edu.iua.TruckTeck.util.CatalogCache;
+import ar.edu.iua.TruckTeck.util.CatalogCacheFactory;
+import ar.edu.iua.TruckTeck.util.Cursors;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -45,6 +61,43 @@ public class ProductBusiness implements IProductBusiness {
     @Autowired
     private ProductRepository productDAO;
 
+    @Autowired
+    private CatalogCacheFactory cacheFactory;
+
+    /**
+     * Alta en bloque de productos ({@link #resolveAll(Collection)}). {@code INSERT IGNORE} omite las
+     * filas que violan una clave única, por ejemplo si otro proceso creó el mismo producto en paralelo.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO products (name, description, external_code, retention_mode) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Filas por lote JDBC en las altas en bloque.
+     */
+    @Value("${sap.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Caché de productos por clave natural y código externo.
+     */
+    private CatalogCache<Product> cache;
+
+    /**
+     * Tamaño máximo de página de los listados paginados por clave.
+     */
+    @Value("${listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @PostConstruct
+    void init() {
+        cache = cacheFactory.create("catalog.products", Product::getId, Product::getName, Product::getExternalCode);
+    }
+
 
     /**
      * Obtiene la lista completa de productos.
@@ -62,6 +115,21 @@ public class ProductBusiness implements IProductBusiness {
         }
     }
 
+    @Override
+    public CursorPage<Product> listPage(String prefix, String cursor, int size) throws BusinessException {
+        Long afterId = Cursors.decodeId(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<Product> rows;
+        try {
+            // Se pide una fila de más para saber si existe una página siguiente
+            rows = productDAO.findPage(afterId == null ? 0 : afterId, Cursors.prefixPattern(prefix), Limit.of(limit + 1));
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        return Cursors.page(rows, limit, Product::getId);
+    }
+
     /**
      * Obtiene un producto por su identificador único.
      *
@@ -86,6 +154,20 @@ public class ProductBusiness implements IProductBusiness {
         return r.get();
     }
 
+    @Override
+    public boolean exists(long id) throws BusinessException {
+        // Los identificadores se generan a partir de 1: el id 0 es una entidad nueva
+        if(id <= 0) {
+            return false;
+        }
+        try {
+            return productDAO.existsById(id);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
     /**
      * Obtiene un producto por su nombre.
      *
@@ -96,18 +178,77 @@ public class ProductBusiness implements IProductBusiness {
      */
     @Override
     public Product load(String product) throws BusinessException, NotFoundException {
-        Optional<Product> r;
+        Optional<Product> r = find(product);
+        if(r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra el producto de nombre: " + product).build();
+        }
+        return r.get();
+    }
 
+    @Override
+    public Optional<Product> find(String product) throws BusinessException {
         try {
-            r = productDAO.findByProduct(product);
+            return cache.get(product, productDAO::findByProduct);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
         }
-        if(r.isEmpty()) {
-            throw NotFoundException.builder().message("No se encuentra el producto de nombre: " + product).build();
+    }
+
+    @Override
+    public Optional<Product> findByExternalCode(String externalCode) throws BusinessException {
+        try {
+            return cache.getByExternalCode(externalCode, productDAO::findByExternalCode);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
         }
-        return r.get();
+    }
+
+    @Override
+    public Map<String, Product> resolveAll(Collection<Product> candidates) throws BusinessException {
+        Map<String, Product> r = new HashMap<>();
+        Map<String, Product> missing = new LinkedHashMap<>();
+        try {
+            Set<String> keys = new HashSet<>();
+            for (Product c : candidates) {
+                keys.add(c.getName());
+            }
+            for (Product existing : productDAO.findByNameIn(keys)) {
+                r.put(existing.getName(), existing);
+            }
+            for (Product c : candidates) {
+                if (!r.containsKey(c.getName()) && !missing.containsKey(c.getName())) {
+                    c.setId(0);
+                    missing.put(c.getName(), c);
+                }
+            }
+            if (!missing.isEmpty()) {
+                List<Product> rows = new ArrayList<>(missing.values());
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, c) -> {
+                    ps.setString(1, c.getName());
+                    ps.setString(2, c.getDescription());
+                    ps.setString(3, c.getExternalCode());
+                    ps.setString(4, c.getRetentionMode() == null ? null : c.getRetentionMode().name());
+                }));
+                // Se releen con la misma consulta: incluye los creados por otro proceso (fila omitida)
+                for (Product saved : productDAO.findByNameIn(missing.keySet())) {
+                    r.put(saved.getName(), saved);
+                    cache.invalidate(saved);
+                }
+            }
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        for (String key : missing.keySet()) {
+            if (!r.containsKey(key)) {
+                throw BusinessException.builder()
+                    .message("No se pudo registrar el producto " + key + ": el código externo ya está asignado a otro producto")
+                    .build();
+            }
+        }
+        return r;
     }
 
     /**
@@ -123,19 +264,17 @@ public class ProductBusiness implements IProductBusiness {
      */
     @Override
     public Product add(Product product) throws BusinessException, FoundException {
-        try {
-            load(product.getId());
+        if(exists(product.getId())) {
             throw FoundException.builder().message("Se encontró el producto con id: " + product.getId()).build();
-        } catch(NotFoundException e) {
         }
-        try {
-            load(product.getName());
+        if(find(product.getName()).isPresent()) {
             throw FoundException.builder().message("Se encontró el producto con nombre: " + product.getName()).build();
-        } catch(NotFoundException e) {
         }
 
         try {
-            return productDAO.save(product);
+            Product saved = productDAO.save(product);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -170,7 +309,9 @@ public class ProductBusiness implements IProductBusiness {
         }
 
         try {
-            return productDAO.save(product);
+            Product saved = productDAO.save(product);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -186,9 +327,10 @@ public class ProductBusiness implements IProductBusiness {
      */
     @Override
     public void delete(Long id) throws BusinessException, NotFoundException {
-        load(id);
+        Product current = load(id);
         try {
             productDAO.deleteById(id);
+            cache.invalidate(current);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -15,7 +15,6 @@ import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.TemperatureAlertConfigRepository;
-import ar.edu.iua.TruckTeck.util.EmailService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,9 +40,6 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
     @Autowired
     private TemperatureAlertConfigRepository repository;
 
-    @Autowired
-    private EmailService emailService;
-
     @Autowired
     private IOrderBusiness orderBusiness;
 
@@ -53,13 +49,38 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TemperatureAlertDispatcher alertDispatcher;
+
+    @Autowired
+    private OrderAuditTrail auditTrail;
+
+    /**
+     * Copia en memoria de la configuración, para no consultar la base de datos por cada
+     * muestra de carga. Se invalida al actualizar o crear la configuración.
+     */
+    private volatile TemperatureAlertConfig cachedConfig;
+
     /**
     * Obtiene la configuración única del sistema (siempre id = 1).
+    * <p>
+    * La configuración se lee de la base de datos sólo la primera vez; luego se devuelve
+    * la copia en memoria.
+    * </p>
     *
     * @return la configuración almacenada
     * @throws NotFoundException si no existe la configuración inicial
     */
     public TemperatureAlertConfig getConfig() throws NotFoundException {
+        TemperatureAlertConfig config = cachedConfig;
+        if (config == null) {
+            config = loadConfig();
+            cachedConfig = config;
+        }
+        return config;
+    }
+
+    private TemperatureAlertConfig loadConfig() throws NotFoundException {
         return repository.findById(1L)
         .orElseThrow(() -> new NotFoundException("No se encontró la configuración de temperatura (id=1)"));
     }
@@ -73,12 +94,18 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
     * @throws NotFoundException si no se encuentra la configuración base
     */
     public TemperatureAlertConfig updateConfig(Double threshold, List<String> emails) throws NotFoundException {
-        TemperatureAlertConfig config = getConfig();
+        // Se parte de la configuración de la base de datos para no modificar la copia en memoria
+        TemperatureAlertConfig config = loadConfig();
 
         if (threshold != null) config.setThreshold(threshold);
         if (emails != null) config.setEmails(emails);
 
-        return repository.save(config);
+        try {
+            config = repository.save(config);
+        } finally {
+            cachedConfig = null;
+        }
+        return config;
     }
 
     /**
@@ -97,7 +124,12 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
         if (threshold != null) config.setThreshold(threshold);
         if (emails != null) config.setEmails(emails);
 
-        return repository.save(config);
+        try {
+            config = repository.save(config);
+        } finally {
+            cachedConfig = null;
+        }
+        return config;
     }
 
 
@@ -131,16 +163,21 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
         // Guardar cambios
         orderBusiness.update(order);
         alarmBusiness.update(alarmBD);
+        auditTrail.note(order.getId(), order.getState(), OrderAuditTrail.currentActor(),
+                "Alarma de temperatura aceptada" + (alarm.getObservations() == null ? "" : ": " + alarm.getObservations()));
     }
 
     /**
-     * Verifica la temperatura actual y envía un correo de alerta si supera el
-     * umbral configurado y si no se envió previamente un aviso.
+     * Verifica la temperatura actual y, si supera el umbral configurado y no se envió
+     * previamente un aviso, encola la alerta para su registro y envío asíncrono
+     * ({@link TemperatureAlertDispatcher}).
      * <p>
-     * Si la alerta se envía, se marca como enviada para evitar spam.
+     * La verificación se hace contra la configuración en memoria, por lo que no agrega
+     * consultas ni esperas al procesamiento de la muestra.
+     * </p>
      *
-     * @param currentTemperature temperatura actual medida
-     * @return true si se envió un email de alerta; false si no era necesario o no se pudo enviar
+     * @param detail detalle de carga con la temperatura medida
+     * @return true si se encoló la alerta (la orden debe marcarse como avisada); false si no era necesario o no se pudo encolar
      * @throws NotFoundException si la configuración no existe
      */
     public boolean checkAndSendAlert(OrderDetail detail) throws NotFoundException {
@@ -148,80 +185,25 @@ public class TemperatureAlertConfigBusiness  implements ITemperatureAlertConfigB
 
         double threshold = config.getThreshold();
 
-        log.info("Verificando temperatura: {} vs threshold: {}", detail.getTemperature(), threshold);
+        log.debug("Verificando temperatura: {} vs threshold: {}", detail.getTemperature(), threshold);
 
         // Si ya enviamos y no queremos spamear, no hacemos nada
-       if (detail.getOrder().getTemperatureAlarmSent()) {
-           log.info("Email ya fue enviado previamente, no se reenviará para evitar spam");
-           return false;
+        if (Boolean.TRUE.equals(detail.getOrder().getTemperatureAlarmSent())) {
+            log.debug("Email ya fue enviado previamente, no se reenviará para evitar spam");
+            return false;
         }
 
         // ¿Superó el umbral?
-       if (detail.getTemperature() > threshold) {
-           log.info("La temperatura actual (" + detail.getTemperature() + "°C) superó el límite configurado (" + threshold + "°C).");
-           
-           // Guardar la alarma en la base de datos ANTES de enviar emails
-           try {
-               alarmBusiness.saveAlarm(detail, threshold);
-               log.info("Alarma guardada en base de datos para orden {}", detail.getOrder().getNumber());
-           } catch (BusinessException e) {
-               log.error("Error al guardar alarma en BD: {}", e.getMessage(), e);
-               // Continuar con el envío de email aunque falle el guardado
-           }
-           
-           // Verificamos que existan emails configurados
-           if (config.getEmails() == null || config.getEmails().isEmpty()) {
-               log.error("No hay emails configurados para enviar alerta");
-               return false; // Retornar false en lugar de lanzar excepción
-          }
-
-          log.info("Encontrados {} emails configurados", config.getEmails().size());
-
-          // Enviar email a todos los configurados
-           for (String email : config.getEmails()) {
-               try {
-                   log.info("Enviando email a: {}", email);
-                   emailService.sendEmail(
-                        email,
-                        "⚠️ Alerta de temperatura - Orden " + detail.getOrder().getNumber(),
-                        String.format(
-                            """
-                            *ALERTA DE TEMPERATURA*
-
-                            Se ha detectado que la temperatura actual ha superado el límite configurado.
-
-                            *Detalles de la orden:*
-                            - Número de orden: %s
-                            - Fecha y hora del evento: %s
-
-                            *Lectura registrada:*
-                            - Temperatura actual: %.2f °C
-                            - Umbral configurado: %.2f °C
-
-                            --
-                            Sistema de Alarma TruckTeck
-                            """,
-                            detail.getOrder().getNumber(),
-                            detail.getTimestamp().toString(),
-                            detail.getTemperature(),
-                            threshold
-                        )
-                    );
-                   log.info("Email de alerta enviado exitosamente a {}", email);
-               } catch (Exception e) {
-                   log.error("Error al enviar email a {}: {}", email, e.getMessage(), e);
-               }
-           }
-
-            // Evitar el spam
-            log.info("Marcando alerta enviada como true para evitar spam");
-            repository.save(config);
-
-            return true; // alerta enviada
+        if (detail.getTemperature() > threshold) {
+            log.info("La temperatura actual (" + detail.getTemperature() + "°C) superó el límite configurado (" + threshold + "°C).");
+
+            List<String> emails = config.getEmails() == null ? List.of() : List.copyOf(config.getEmails());
+            return alertDispatcher.dispatch(new TemperatureAlertDispatcher.TemperatureAlert(detail.getOrder().getId(),
+                    detail.getOrder().getNumber(), detail.getOrder().getState(), detail.getTimestamp(),
+                    detail.getTemperature(), threshold, emails));
         }
 
         log.debug("Temperatura {} no superó el threshold {}", detail.getTemperature(), threshold);
         return false; // no superó el umbral
     }
 }
-
@@ -0,0 +1,195 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.util.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Despacho asíncrono de las alertas de temperatura.
+ * <p>
+ * El registro de la alarma en la base de datos y el envío de los correos se ejecutan en un
+ * pool de hilos acotado ({@code alerts.executor.pool-size} hilos y una cola de
+ * {@code alerts.executor.queue-capacity} alertas), de modo que la latencia del sistema de carga
+ * no dependa del servidor de correo. Cada operación se reintenta hasta
+ * {@code alerts.retry.max-attempts} veces con una espera creciente entre intentos.
+ * </p>
+ *
+ * <p>
+ * Las alertas se encolan con los valores ya resueltos (número de orden, lectura, umbral y
+ * destinatarios), sin referencias a entidades JPA, ya que se procesan fuera de la petición.
+ * Cada alerta se registra además en la auditoría de la orden ({@link OrderAuditTrail}).
+ * </p>
+ */
+@Service
+@Slf4j
+public class TemperatureAlertDispatcher {
+
+    @Autowired
+    private IAlarmBusiness alarmBusiness;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private OrderAuditTrail auditTrail;
+
+    @Value("${alerts.executor.pool-size:2}")
+    private int poolSize;
+
+    @Value("${alerts.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${alerts.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${alerts.retry.backoff-ms:2000}")
+    private long backoffMs;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Alerta de temperatura a despachar.
+     *
+     * @param orderId Identificador de la orden.
+     * @param orderNumber Número de la orden.
+     * @param orderState Estado de la orden al momento de la lectura.
+     * @param eventDateTime Momento de la lectura.
+     * @param temperature Temperatura leída.
+     * @param threshold Umbral configurado.
+     * @param emails Destinatarios del aviso.
+     */
+    public record TemperatureAlert(long orderId, String orderNumber, OrderState orderState, LocalDateTime eventDateTime,
+            Double temperature, Double threshold, List<String> emails) {
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "temperature-alert-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Quedaron {} alertas de temperatura sin despachar", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Encola una alerta para su registro y envío asíncrono.
+     *
+     * @param alert Alerta a despachar.
+     * @return {@code true} si la alerta fue encolada; {@code false} si la cola está llena.
+     */
+    public boolean dispatch(TemperatureAlert alert) {
+        try {
+            executor.execute(() -> process(alert));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.error("Cola de alertas llena, no se despachó la alerta de la orden {}", alert.orderNumber());
+            return false;
+        }
+    }
+
+    private void process(TemperatureAlert alert) {
+        // Guardar la alarma en la base de datos ANTES de enviar emails
+        boolean saved = retry("guardar la alarma de la orden " + alert.orderNumber(), () ->
+            alarmBusiness.saveAlarm(alert.orderNumber(), alert.eventDateTime(), alert.temperature(), alert.threshold()));
+        if (!saved) {
+            // Continuar con el envío de email aunque falle el guardado
+            log.error("No se pudo guardar la alarma de la orden {}", alert.orderNumber());
+        }
+        auditTrail.note(alert.orderId(), alert.orderState(), "SISTEMA_CARGA",
+                String.format("Alarma de temperatura: %.2f °C (umbral %.2f °C)", alert.temperature(), alert.threshold()));
+
+        if (alert.emails() == null || alert.emails().isEmpty()) {
+            log.error("No hay emails configurados para enviar alerta");
+            return;
+        }
+
+        String subject = "⚠️ Alerta de temperatura - Orden " + alert.orderNumber();
+        String body = buildBody(alert);
+        for (String email : alert.emails()) {
+            if (retry("enviar email a " + email, () -> emailService.sendEmail(email, subject, body))) {
+                log.info("Email de alerta enviado exitosamente a {}", email);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        void run() throws Exception;
+    }
+
+    /**
+     * Ejecuta una operación reintentándola ante errores.
+     *
+     * @return {@code true} si alguno de los intentos fue exitoso.
+     */
+    private boolean retry(String description, Attempt attempt) {
+        for (int i = 1; i <= maxAttempts; i++) {
+            try {
+                attempt.run();
+                return true;
+            } catch (Exception e) {
+                log.warn("Intento {}/{} fallido al {}: {}", i, maxAttempts, description, e.getMessage());
+                if (i < maxAttempts) {
+                    try {
+                        Thread.sleep(backoffMs * i);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        }
+        log.error("No se pudo {} luego de {} intentos", description, maxAttempts);
+        return false;
+    }
+
+    private String buildBody(TemperatureAlert alert) {
+        return String.format(
+            """
+            *ALERTA DE TEMPERATURA*
+
+            Se ha detectado que la temperatura actual ha superado el límite configurado.
+
+            *Detalles de la orden:*
+            - Número de orden: %s
+            - Fecha y hora del evento: %s
+
+            *Lectura registrada:*
+            - Temperatura actual: %.2f °C
+            - Umbral configurado: %.2f °C
+
+            --
+            Sistema de Alarma TruckTeck
+            """,
+            alert.orderNumber(),
+            alert.eventDateTime().toString(),
+            alert.temperature(),
+            alert.threshold()
+        );
+    }
+}
@@ -1,17 +1,34 @@
 package ar.edu.iua.TruckTeck.model.business;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ar.edu.iua.TruckTeck.model.CursorPage;
 import ar.edu.iua.TruckTeck.model.Truck;
 import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
 import ar.edu.iua.TruckTeck.model.business.exceptions.NotFoundException;
 import ar.edu.iua.TruckTeck.model.persistence.TruckRepository;
+import ar.edu.iua.TruckTeck.util.CatalogCache;
+import ar.edu.iua.TruckTeck.util.CatalogCacheFactory;
+import ar.edu.iua.TruckTeck.util.Cursors;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -45,6 +62,43 @@ public class TruckBusiness implements ITruckBusiness {
     @Autowired
     private TruckRepository truckDAO;
 
+    @Autowired
+    private CatalogCacheFactory cacheFactory;
+
+    /**
+     * Alta en bloque de camiones ({@link #resolveAll(Collection)}). {@code INSERT IGNORE} omite las
+     * filas que violan una clave única, por ejemplo si otro proceso creó el mismo camión en paralelo.
+     */
+    private static final String INSERT_SQL = "INSERT IGNORE INTO trucks (domain, description, cisterns, external_code) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Filas por lote JDBC en las altas en bloque.
+     */
+    @Value("${sap.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Caché de camiones por clave natural y código externo.
+     */
+    private CatalogCache<Truck> cache;
+
+    /**
+     * Tamaño máximo de página de los listados paginados por clave.
+     */
+    @Value("${listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @PostConstruct
+    void init() {
+        cache = cacheFactory.create("catalog.trucks", Truck::getId, Truck::getDomain, Truck::getExternalCode);
+    }
+
 
     /**
      * Obtiene la lista completa de camiones.
@@ -62,6 +116,21 @@ public class TruckBusiness implements ITruckBusiness {
         }
     }
 
+    @Override
+    public CursorPage<Truck> listPage(String prefix, String cursor, int size) throws BusinessException {
+        Long afterId = Cursors.decodeId(cursor);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<Truck> rows;
+        try {
+            // Se pide una fila de más para saber si existe una página siguiente
+            rows = truckDAO.findPage(afterId == null ? 0 : afterId, Cursors.prefixPattern(prefix), Limit.of(limit + 1));
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        return Cursors.page(rows, limit, Truck::getId);
+    }
+
     /**
      * Obtiene un camion por su identificador único.
      *
@@ -86,6 +155,20 @@ public class TruckBusiness implements ITruckBusiness {
         return r.get();
     }
 
+    @Override
+    public boolean exists(long id) throws BusinessException {
+        // Los identificadores se generan a partir de 1: el id 0 es una entidad nueva
+        if(id <= 0) {
+            return false;
+        }
+        try {
+            return truckDAO.existsById(id);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+    }
+
     /**
      * Obtiene un camion por su nombre.
      *
@@ -96,18 +179,78 @@ public class TruckBusiness implements ITruckBusiness {
      */
     @Override
     public Truck load(String truck) throws BusinessException, NotFoundException {
-        Optional<Truck> r;
+        Optional<Truck> r = find(truck);
+        if(r.isEmpty()) {
+            throw NotFoundException.builder().message("No se encuentra el camion de nombre: " + truck).build();
+        }
+        return r.get();
+    }
 
+    @Override
+    public Optional<Truck> find(String truck) throws BusinessException {
         try {
-            r = truckDAO.findByDomain(truck);
+            return cache.get(truck, truckDAO::findByDomain);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
         }
-        if(r.isEmpty()) {
-            throw NotFoundException.builder().message("No se encuentra el camion de nombre: " + truck).build();
+    }
+
+    @Override
+    public Optional<Truck> findByExternalCode(String externalCode) throws BusinessException {
+        try {
+            return cache.getByExternalCode(externalCode, truckDAO::findByExternalCode);
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
         }
-        return r.get();
+    }
+
+    @Override
+    public Map<String, Truck> resolveAll(Collection<Truck> candidates) throws BusinessException {
+        Map<String, Truck> r = new HashMap<>();
+        Map<String, Truck> missing = new LinkedHashMap<>();
+        try {
+            Set<String> keys = new HashSet<>();
+            for (Truck c : candidates) {
+                keys.add(c.getDomain());
+            }
+            for (Truck existing : truckDAO.findByDomainIn(keys)) {
+                r.put(existing.getDomain(), existing);
+            }
+            for (Truck c : candidates) {
+                if (!r.containsKey(c.getDomain()) && !missing.containsKey(c.getDomain())) {
+                    c.setId(0);
+                    missing.put(c.getDomain(), c);
+                }
+            }
+            if (!missing.isEmpty()) {
+                List<Truck> rows = new ArrayList<>(missing.values());
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, c) -> {
+                    ps.setString(1, c.getDomain());
+                    ps.setString(2, c.getDescription());
+                    // Hibernate guarda el arreglo de cisternas serializado (VARBINARY) en bases sin tipo arreglo
+                    ps.setBytes(3, c.getCisterns() == null ? null : SerializationUtils.serialize(c.getCisterns()));
+                    ps.setString(4, c.getExternalCode());
+                }));
+                // Se releen con la misma consulta: incluye los creados por otro proceso (fila omitida)
+                for (Truck saved : truckDAO.findByDomainIn(missing.keySet())) {
+                    r.put(saved.getDomain(), saved);
+                    cache.invalidate(saved);
+                }
+            }
+        } catch(Exception e) {
+            log.error(e.getMessage(), e);
+            throw BusinessException.builder().ex(e).build();
+        }
+        for (String key : missing.keySet()) {
+            if (!r.containsKey(key)) {
+                throw BusinessException.builder()
+                    .message("No se pudo registrar el camión " + key + ": el dominio o el código externo ya está asignado a otro camión")
+                    .build();
+            }
+        }
+        return r;
     }
 
     /**
@@ -123,19 +266,17 @@ public class TruckBusiness implements ITruckBusiness {
      */
     @Override
     public Truck add(Truck truck) throws BusinessException, FoundException {
-        try {
-            load(truck.getId());
+        if(exists(truck.getId())) {
             throw FoundException.builder().message("Se encontró el camion con id: " + truck.getId()).build();
-        } catch(NotFoundException e) {
         }
-        try {
-            load(truck.getDomain());
+        if(find(truck.getDomain()).isPresent()) {
             throw FoundException.builder().message("Se encontró el camion con nombre: " + truck.getDomain()).build();
-        } catch(NotFoundException e) {
         }
 
         try {
-            return truckDAO.save(truck);
+            Truck saved = truckDAO.save(truck);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -170,7 +311,9 @@ public class TruckBusiness implements ITruckBusiness {
         }
 
         try {
-            return truckDAO.save(truck);
+            Truck saved = truckDAO.save(truck);
+            cache.invalidate(saved);
+            return saved;
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
@@ -186,9 +329,10 @@ public class TruckBusiness implements ITruckBusiness {
      */
     @Override
     public void delete(Long id) throws BusinessException, NotFoundException {
-        load(id);
+        Truck current = load(id);
         try {
             truckDAO.deleteById(id);
+            cache.invalidate(current);
         } catch(Exception e) {
             log.error(e.getMessage(), e);
             throw BusinessException.builder().ex(e).build();
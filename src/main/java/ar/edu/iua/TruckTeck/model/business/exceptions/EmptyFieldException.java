@@ -1,10 +1,22 @@
 package ar.edu.iua.TruckTeck.model.business.exceptions;
 
 import lombok.Builder;
-import lombok.NoArgsConstructor;
 
-@NoArgsConstructor
+/**
+ * Representa una excepción que indica que un campo obligatorio no fue informado.
+ * <p>
+ * Al igual que {@link NotFoundException}, no captura la traza de pila.
+ * </p>
+ */
 public class EmptyFieldException extends Exception {
+
+    /**
+     * Crea una nueva excepción de tipo {@code EmptyFieldException} sin mensaje ni causa.
+     */
+    public EmptyFieldException() {
+        super(null, null, false, false);
+    }
+
     /**
      * Crea una nueva excepción de tipo {@code EmptyFieldException} con un mensaje descriptivo
      * y una causa subyacente.
@@ -14,7 +26,7 @@ public class EmptyFieldException extends Exception {
      */
     @Builder
     public EmptyFieldException(String message, Throwable ex) {
-        super(message, ex);
+        super(message, ex, false, false);
     }
 
     /**
@@ -24,7 +36,7 @@ public class EmptyFieldException extends Exception {
      */
     @Builder
     public EmptyFieldException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     /**
@@ -34,6 +46,6 @@ public class EmptyFieldException extends Exception {
      */
     @Builder
     public EmptyFieldException(Throwable ex) {
-        super(ex);
+        super(ex == null ? null : ex.toString(), ex, false, false);
     }
 }
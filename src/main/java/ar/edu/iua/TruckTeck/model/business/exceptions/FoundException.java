@@ -1,7 +1,6 @@
 package ar.edu.iua.TruckTeck.model.business.exceptions;
 
 import lombok.Builder;
-import lombok.NoArgsConstructor;
 
 /**
  * Representa una excepción que indica que un recurso o entidad ya existe 
@@ -21,11 +20,21 @@ import lombok.NoArgsConstructor;
  * </ul>
  * </p>
  *
+ * <p>
+ * Al igual que {@link NotFoundException}, no captura la traza de pila.
+ * </p>
+ *
  * @author  
  */
-@NoArgsConstructor
 public class FoundException extends Exception {
 
+    /**
+     * Crea una nueva excepción de tipo {@code FoundException} sin mensaje ni causa.
+     */
+    public FoundException() {
+        super(null, null, false, false);
+    }
+
     /**
      * Crea una nueva excepción de tipo {@code FoundException} con un mensaje descriptivo 
      * y una causa subyacente.
@@ -35,7 +44,7 @@ public class FoundException extends Exception {
      */
     @Builder
     public FoundException(String message, Throwable ex) {
-        super(message, ex);
+        super(message, ex, false, false);
     }
 
     /**
@@ -45,7 +54,7 @@ public class FoundException extends Exception {
      */
     @Builder
     public FoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     /**
@@ -55,6 +64,6 @@ public class FoundException extends Exception {
      */
     @Builder
     public FoundException(Throwable ex) {
-        super(ex);
+        super(ex == null ? null : ex.toString(), ex, false, false);
     }
 }
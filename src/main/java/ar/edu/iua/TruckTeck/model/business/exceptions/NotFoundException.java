@@ -1,7 +1,6 @@
 package ar.edu.iua.TruckTeck.model.business.exceptions;
 
 import lombok.Builder;
-import lombok.NoArgsConstructor;
 
 /**
  * Representa una excepción que indica que un recurso o entidad no fue encontrado.
@@ -18,10 +17,23 @@ import lombok.NoArgsConstructor;
  *   <li>Acceder a un registro que ha sido eliminado previamente.</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * La excepción no captura la traza de pila: señala un resultado esperable de la lógica de
+ * negocio y no un error del programa, por lo que crearla cuesta lo mismo que crear cualquier
+ * otro objeto. Para consultar existencia sin excepciones se usan los métodos {@code find} y
+ * {@code exists} de las interfaces de negocio.
+ * </p>
  */
-@NoArgsConstructor
 public class NotFoundException extends Exception {
 
+    /**
+     * Crea una nueva excepción de tipo {@code NotFoundException} sin mensaje ni causa.
+     */
+    public NotFoundException() {
+        super(null, null, false, false);
+    }
+
     /**
      * Crea una nueva excepción de tipo {@code NotFoundException} con un mensaje descriptivo 
      * y una causa subyacente.
@@ -31,7 +43,7 @@ public class NotFoundException extends Exception {
      */
     @Builder
     public NotFoundException(String message, Throwable ex) {
-        super(message, ex);
+        super(message, ex, false, false);
     }
 
     /**
@@ -41,7 +53,7 @@ public class NotFoundException extends Exception {
      */
     @Builder
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     /**
@@ -51,6 +63,6 @@ public class NotFoundException extends Exception {
      */
     @Builder
     public NotFoundException(Throwable ex) {
-        super(ex);
+        super(ex == null ? null : ex.toString(), ex, false, false);
     }
 }
\ No newline at end of file
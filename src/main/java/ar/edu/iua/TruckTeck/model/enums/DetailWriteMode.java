@@ -0,0 +1,21 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+/**
+ * Modos de escritura de los detalles de carga ({@link ar.edu.iua.TruckTeck.model.OrderDetail}).
+ * <p>
+ * Se configura mediante la propiedad {@code charging.detail.write-mode}.
+ * </p>
+ * <ul>
+ *   <li><b>SYNC:</b> Cada detalle se inserta en la base de datos dentro de la misma petición
+ *       que lo recibe. Máxima durabilidad, un round trip por muestra.</li>
+ *   <li><b>WRITE_BEHIND:</b> Los detalles se encolan en memoria y un proceso en segundo plano
+ *       los inserta en lotes JDBC. Ante una caída abrupta de la aplicación se pueden perder
+ *       como máximo los detalles aún no volcados (ver {@code charging.detail.flush-interval-ms}).</li>
+ * </ul>
+ *
+ * @see ar.edu.iua.TruckTeck.model.business.OrderDetailWriteBuffer
+ */
+public enum DetailWriteMode {
+    SYNC,           // Escritura inmediata
+    WRITE_BEHIND    // Escritura diferida en lotes
+}
@@ -0,0 +1,16 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+/**
+ * Formato de la exportación de detalles de carga.
+ * <ul>
+ *   <li><b>CSV:</b> Una fila por detalle con encabezado
+ *       ({@code orderNumber,id,timestamp,accumulatedMass,density,temperature,caudal}).</li>
+ *   <li><b>NDJSON:</b> Un objeto JSON por línea, con los mismos campos.</li>
+ * </ul>
+ *
+ * @see ar.edu.iua.TruckTeck.model.business.OrderDetailExporter
+ */
+public enum ExportFormat {
+    CSV,        // Valores separados por coma
+    NDJSON      // Un objeto JSON por línea
+}
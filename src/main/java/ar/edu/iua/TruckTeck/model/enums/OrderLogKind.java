@@ -0,0 +1,17 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+/**
+ * Tipo de un registro de auditoría de una orden.
+ * <ul>
+ *   <li><b>TRANSITION:</b> Cambio de estado (incluida el alta, sin estado anterior). Se registra
+ *       en la misma transacción que el cambio.</li>
+ *   <li><b>NOTE:</b> Anotación que no cambia el estado (alarmas, aceptación de alarmas,
+ *       modificaciones y bajas). Sin estado anterior; el estado es el de la orden al anotarla.</li>
+ * </ul>
+ *
+ * @see ar.edu.iua.TruckTeck.model.OrderStatusLog
+ */
+public enum OrderLogKind {
+    TRANSITION,     // Cambio de estado
+    NOTE            // Anotación sin cambio de estado
+}
@@ -0,0 +1,53 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columna de ordenamiento del listado paginado de órdenes.
+ * <p>
+ * Sólo se admiten columnas indexadas: el orden se completa siempre con el identificador, de
+ * modo que la clave {@code (columna, id)} sea única y sirva como cursor.
+ * </p>
+ * <ul>
+ *   <li><b>ID:</b> Clave primaria.</li>
+ *   <li><b>NUMBER:</b> Número de orden (índice único {@code uk_orders_number}).</li>
+ *   <li><b>SCHEDULED_DATE:</b> Fecha prevista de carga (índice {@code idx_orders_scheduled_date}).
+ *       Las órdenes sin fecha prevista no se incluyen en el listado.</li>
+ * </ul>
+ *
+ * @see ar.edu.iua.TruckTeck.model.persistence.OrderPageRepository
+ */
+public enum OrderSortKey {
+    ID("id"),
+    NUMBER("number"),
+    SCHEDULED_DATE("scheduledDate");
+
+    private final String attribute;
+
+    OrderSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Atributo de {@link ar.edu.iua.TruckTeck.model.Order} por el que se ordena.
+     *
+     * @return Nombre del atributo.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Convierte el valor de la clave guardado en un cursor al tipo del atributo.
+     *
+     * @param raw Valor como texto.
+     * @return Valor tipado.
+     */
+    public Comparable<?> parse(String raw) {
+        return switch (this) {
+            case ID -> Long.valueOf(raw);
+            case NUMBER -> raw;
+            case SCHEDULED_DATE -> LocalDateTime.parse(raw);
+        };
+    }
+}
@@ -41,5 +41,34 @@ public enum OrderState {
     PENDING,            // 1 - Pendiente de pesaje inicial
     TARA_REGISTERED,    // 2 - Con pesaje inicial registrado
     LOADING,            // 3 - En carga
-    FINALIZED           // 4 - Finalizada
+    FINALIZED;          // 4 - Finalizada
+
+    /**
+     * Estado siguiente en el flujo de la orden.
+     *
+     * @return El estado siguiente, o {@code null} si el estado es terminal.
+     */
+    public OrderState next() {
+        return this == FINALIZED ? null : values()[ordinal() + 1];
+    }
+
+    /**
+     * Estado desde el que se llega a este estado.
+     *
+     * @return El estado anterior, o {@code null} si es el estado inicial.
+     */
+    public OrderState previous() {
+        return this == PENDING ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * Indica si la transición a {@code target} está permitida. El flujo es lineal: sólo se
+     * avanza al estado siguiente.
+     *
+     * @param target Estado destino.
+     * @return {@code true} si {@code target} es el estado siguiente.
+     */
+    public boolean canTransitionTo(OrderState target) {
+        return target != null && target == next();
+    }
 }
\ No newline at end of file
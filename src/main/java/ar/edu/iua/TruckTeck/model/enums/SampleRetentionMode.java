@@ -0,0 +1,48 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+/**
+ * Estrategias de retención de las muestras de carga que se persisten como
+ * {@link ar.edu.iua.TruckTeck.model.OrderDetail}.
+ * <p>
+ * Se configura por producto ({@code Product.retentionMode}); si el producto no define una,
+ * se usa {@code charging.retention.default-mode}. Las tolerancias (δ) de temperatura, densidad
+ * y caudal se configuran con {@code charging.retention.delta.*} y el latido con
+ * {@code charging.retention.heartbeat-seconds}.
+ * </p>
+ * <ul>
+ *   <li><b>FIXED_INTERVAL:</b> Se guarda una muestra cada
+ *       {@link ar.edu.iua.TruckTeck.controllers.Constants#FREQUENCY} segundos, sin importar sus valores.</li>
+ *   <li><b>DEADBAND:</b> Se guarda una muestra cuando la temperatura, la densidad o el caudal se
+ *       alejan más de δ del último valor guardado, o cuando pasa el latido sin guardar.</li>
+ *   <li><b>SWINGING_DOOR:</b> Compresión swinging door trending: se guardan los puntos necesarios
+ *       para que la recta entre dos muestras guardadas consecutivas pase a menos de δ de todas
+ *       las muestras descartadas entre ellas.</li>
+ * </ul>
+ *
+ * <p><b>Cota de error</b> (por variable, con su δ):</p>
+ * <ul>
+ *   <li><b>DEADBAND:</b> Toda muestra descartada difiere en a lo sumo δ de la última muestra
+ *       guardada antes que ella.</li>
+ *   <li><b>SWINGING_DOOR:</b> Toda muestra descartada difiere en a lo sumo δ de la interpolación
+ *       lineal, en su timestamp, entre las dos muestras guardadas que la rodean. Una muestra con el
+ *       mismo timestamp que la guardada anterior sólo se descarta si difiere de ella en a lo sumo δ.</li>
+ *   <li><b>FIXED_INTERVAL:</b> No acota los valores; las muestras guardadas distan al menos
+ *       {@link ar.edu.iua.TruckTeck.controllers.Constants#FREQUENCY} segundos entre sí.</li>
+ * </ul>
+ * <p>
+ * En consecuencia, con DEADBAND y SWINGING_DOOR la curva reconstruida a partir de las muestras
+ * guardadas (manteniendo cada valor o interpolando, respectivamente), evaluada en los instantes de
+ * las muestras recibidas, difiere de cada una en a lo sumo δ, y su promedio en esos instantes difiere
+ * del promedio de todas las muestras también en a lo sumo δ. El promedio simple de las filas guardadas
+ * no tiene esa cota, porque pondera igual muestras que cubren intervalos distintos; por eso los
+ * agregados de la carga se calculan sobre todas las muestras recibidas
+ * ({@link ar.edu.iua.TruckTeck.model.OrderLoadingStats}).
+ * </p>
+ *
+ * @see ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention.SampleRetention
+ */
+public enum SampleRetentionMode {
+    FIXED_INTERVAL, // Una muestra cada FREQUENCY segundos (comportamiento original)
+    DEADBAND,       // Sólo cambios mayores a δ
+    SWINGING_DOOR   // Compresión swinging door
+}
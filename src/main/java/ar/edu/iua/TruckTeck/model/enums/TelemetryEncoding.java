@@ -0,0 +1,22 @@
+package ar.edu.iua.TruckTeck.model.enums;
+
+/**
+ * Codificación de los mensajes de telemetría publicados por WebSocket en
+ * {@code /topic/detail/{number}}.
+ * <p>
+ * Se configura mediante la propiedad {@code websocket.telemetry.encoding}.
+ * </p>
+ * <ul>
+ *   <li><b>JSON:</b> Objeto JSON con nombres de campo
+ *       ({@code {"number":..,"timestamp":..,"accumulatedMass":..,"density":..,"temperature":..,"caudal":..}}).</li>
+ *   <li><b>COMPACT:</b> Arreglo JSON posicional
+ *       ({@code [epochMillis, accumulatedMass, density, temperature, caudal]}); el número de orden
+ *       ya está en el tópico.</li>
+ * </ul>
+ *
+ * @see ar.edu.iua.TruckTeck.websocket.TelemetryPublisher
+ */
+public enum TelemetryEncoding {
+    JSON,       // Objeto con nombres de campo
+    COMPACT     // Arreglo posicional
+}
@@ -0,0 +1,79 @@
+package ar.edu.iua.TruckTeck.model.events;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.ApplicationEvent;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode;
+import lombok.Getter;
+
+/**
+ * Evento de aplicación publicado cuando una orden cambia de estado.
+ * <p>
+ * Se publica de forma sincrónica una vez confirmada la transacción de la transición, de modo
+ * que los índices en memoria (sesiones de carga, presets) se actualicen antes de responder al
+ * sistema externo que provocó el cambio.
+ * </p>
+ *
+ * @see ar.edu.iua.TruckTeck.model.business.IOrderStateBusiness
+ */
+@Getter
+public class OrderStateEvent extends ApplicationEvent {
+
+    /** Estado anterior de la orden. */
+    private final OrderState fromState;
+
+    /** Estado nuevo de la orden. */
+    private final OrderState toState;
+
+    /** Momento de la transición. */
+    private final LocalDateTime transitionTime;
+
+    /**
+     * Modo de retención del producto de la orden, resuelto antes de desacoplar la orden (su
+     * producto puede ser un proxy sin inicializar). Sólo se informa en el pesaje inicial, al
+     * abrirse la sesión de carga; {@code null} si el producto no define uno.
+     */
+    private final SampleRetentionMode retentionMode;
+
+    /**
+     * Crea una nueva instancia de {@code OrderStateEvent}.
+     *
+     * @param order Orden con los valores ya actualizados (entidad desacoplada del contexto de persistencia).
+     * @param fromState Estado anterior.
+     * @param toState Estado nuevo.
+     * @param transitionTime Momento de la transición.
+     */
+    public OrderStateEvent(Order order, OrderState fromState, OrderState toState, LocalDateTime transitionTime) {
+        this(order, fromState, toState, transitionTime, null);
+    }
+
+    /**
+     * Crea una nueva instancia de {@code OrderStateEvent} con el modo de retención del producto.
+     *
+     * @param order Orden con los valores ya actualizados (entidad desacoplada del contexto de persistencia).
+     * @param fromState Estado anterior.
+     * @param toState Estado nuevo.
+     * @param transitionTime Momento de la transición.
+     * @param retentionMode Modo de retención del producto, o {@code null} si no define uno.
+     */
+    public OrderStateEvent(Order order, OrderState fromState, OrderState toState, LocalDateTime transitionTime,
+            SampleRetentionMode retentionMode) {
+        super(order);
+        this.fromState = fromState;
+        this.toState = toState;
+        this.transitionTime = transitionTime;
+        this.retentionMode = retentionMode;
+    }
+
+    /**
+     * Orden que cambió de estado.
+     *
+     * @return la orden.
+     */
+    public Order getOrder() {
+        return (Order) getSource();
+    }
+}
@@ -2,15 +2,17 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ar.edu.iua.TruckTeck.model.Client;
-import ar.edu.iua.TruckTeck.model.Truck;
 
 /**
  * Repositorio para la gestión de la persistencia de {@link client}.
@@ -51,8 +53,27 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     /**
      * Busca un Cliente por su código externo.
-     * @param externalCode
-     * @return
+     * @param externalCode Código externo (SAP) del Cliente.
+     * @return {@link Optional} que contiene el Cliente si se encuentra, o vacío si no existe.
+     */
+    Optional<Client> findByExternalCode(String externalCode);
+
+    /**
+     * Página de clientes ordenada por identificador, a partir de un identificador (paginación por clave).
+     *
+     * @param afterId Identificador del último elemento de la página anterior (0 para la primera página).
+     * @param pattern Patrón {@code LIKE} de prefijo sobre el razón social (escapado con {@code '!'}), o {@code null} para no filtrar.
+     * @param limit Cantidad máxima de filas.
+     * @return Clientes de la página, ordenados por identificador.
+     */
+    @Query("SELECT c FROM Client c WHERE c.id > :afterId AND (:pattern IS NULL OR c.companyName LIKE :pattern ESCAPE '!') ORDER BY c.id")
+    List<Client> findPage(@Param("afterId") long afterId, @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Busca en una única consulta los clientes con alguna de las claves indicadas (la razón social).
+     *
+     * @param keys Claves buscadas.
+     * @return Clientes encontrados.
      */
-    Optional<Truck> findByExternalCode(String externalCode);
+    List<Client> findByCompanyNameIn(Collection<String> keys);
 }
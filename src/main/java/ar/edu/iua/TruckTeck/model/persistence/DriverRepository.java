@@ -1,7 +1,10 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -52,4 +55,23 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
      * @return
      */
     Optional<Driver> findByExternalCode(String externalCode);
+
+    /**
+     * Página de choferes ordenada por identificador, a partir de un identificador (paginación por clave).
+     *
+     * @param afterId Identificador del último elemento de la página anterior (0 para la primera página).
+     * @param pattern Patrón {@code LIKE} de prefijo sobre el apellido (escapado con {@code '!'}), o {@code null} para no filtrar.
+     * @param limit Cantidad máxima de filas.
+     * @return Choferes de la página, ordenados por identificador.
+     */
+    @Query("SELECT d FROM Driver d WHERE d.id > :afterId AND (:pattern IS NULL OR d.surname LIKE :pattern ESCAPE '!') ORDER BY d.id")
+    List<Driver> findPage(@Param("afterId") long afterId, @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Busca en una única consulta los choferes con alguna de las claves indicadas (el número de documento).
+     *
+     * @param keys Claves buscadas.
+     * @return Choferes encontrados.
+     */
+    List<Driver> findByDocumentNumberIn(Collection<String> keys);
 }
@@ -0,0 +1,48 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailArchive;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+/**
+ * Repositorio de persistencia para la entidad {@link OrderDetailArchive}.
+ */
+@Repository
+public interface OrderDetailArchiveRepository extends JpaRepository<OrderDetailArchive, Long> {
+
+    /**
+     * Identificadores de las órdenes finalizadas antes de {@code before} que todavía tienen
+     * detalles sin archivar.
+     *
+     * @param state    Estado de las órdenes a archivar (FINALIZED).
+     * @param before   Fecha límite del pesaje final.
+     * @param pageable Cantidad máxima de órdenes.
+     * @return Lista de identificadores de orden.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.state = :state AND o.endWeighing < :before "
+         + "AND EXISTS (SELECT 1 FROM OrderDetail d WHERE d.order.id = o.id) "
+         + "AND NOT EXISTS (SELECT 1 FROM OrderDetailArchive a WHERE a.orderId = o.id) "
+         + "ORDER BY o.id")
+    List<Long> findOrderIdsToArchive(@Param("state") OrderState state, @Param("before") LocalDateTime before,
+                                     Pageable pageable);
+
+    /**
+     * Identificadores de las órdenes archivadas con muestras dentro de la ventana {@code [from, to]}.
+     *
+     * @param from Inicio de la ventana (opcional).
+     * @param to   Fin de la ventana (opcional).
+     * @return Lista de identificadores de orden, ordenada por el timestamp de la primera muestra.
+     */
+    @Query("SELECT a.orderId FROM OrderDetailArchive a "
+         + "WHERE (:to IS NULL OR a.firstTimestamp <= :to) AND (:from IS NULL OR a.lastTimestamp >= :from) "
+         + "ORDER BY a.firstTimestamp, a.orderId")
+    List<Long> findOrderIdsInWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
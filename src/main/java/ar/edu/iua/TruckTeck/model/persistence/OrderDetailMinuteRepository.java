@@ -0,0 +1,21 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailMinute;
+
+/**
+ * Repositorio de persistencia para la entidad {@link OrderDetailMinute}.
+ */
+@Repository
+public interface OrderDetailMinuteRepository extends JpaRepository<OrderDetailMinute, Long> {
+
+    Optional<OrderDetailMinute> findByOrderIdAndMinute(Long orderId, LocalDateTime minute);
+
+    List<OrderDetailMinute> findByOrderIdOrderByMinuteAsc(Long orderId);
+}
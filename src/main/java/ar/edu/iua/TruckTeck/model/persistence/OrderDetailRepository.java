@@ -1,14 +1,24 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
 import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.OrderDetailExportRow;
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+import ar.edu.iua.TruckTeck.model.OrderDetailSample;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long> {
@@ -18,19 +28,90 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
 
     OrderDetail findTopByOrderIdOrderByTimestampDesc(Long orderId);
 
-    /* Obtener Promedios */
+    List<OrderDetail> findByOrderId(Long orderId);
 
-    @Query("SELECT AVG(d.temperature) FROM OrderDetail d WHERE d.order.id = :orderId")
-    Double findAverageTemperatureByOrderId(@Param("orderId") Long orderId);
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.OrderDetailPoint(d.id, d.timestamp, d.accumulatedMass, d.density, d.temperature, d.caudal) "
+         + "FROM OrderDetail d WHERE d.order.id = :orderId ORDER BY d.timestamp ASC, d.id ASC")
+    List<OrderDetailPoint> findDetailsByOrderId(@Param("orderId") Long orderId);
 
-    @Query("SELECT AVG(d.density) FROM OrderDetail d WHERE d.order.id = :orderId")
-    Double findAverageDensityByOrderId(@Param("orderId") Long orderId);
+    /**
+     * Página de la curva de carga de una orden dentro de una ventana de tiempo, paginada por
+     * clave (timestamp, id): devuelve los detalles posteriores al cursor {@code (afterTimestamp, afterId)}.
+     * Los límites de la ventana y el cursor son opcionales.
+     */
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.OrderDetailPoint(d.id, d.timestamp, d.accumulatedMass, d.density, d.temperature, d.caudal) "
+         + "FROM OrderDetail d WHERE d.order.id = :orderId "
+         + "AND (:from IS NULL OR d.timestamp >= :from) "
+         + "AND (:to IS NULL OR d.timestamp <= :to) "
+         + "AND (:afterTimestamp IS NULL OR d.timestamp > :afterTimestamp OR (d.timestamp = :afterTimestamp AND d.id > :afterId)) "
+         + "ORDER BY d.timestamp ASC, d.id ASC")
+    List<OrderDetailPoint> findSeriesPage(@Param("orderId") Long orderId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
 
-    @Query("SELECT AVG(d.caudal) FROM OrderDetail d WHERE d.order.id = :orderId")
-    Double findAverageCaudalByOrderId(@Param("orderId") Long orderId);
+    /**
+     * Recorre los detalles de una orden, o de todas las órdenes dentro de una ventana de tiempo,
+     * sin materializar la lista completa. Debe consumirse dentro de una transacción y cerrarse
+     * al terminar.
+     * <p>
+     * El fetch size {@code Integer.MIN_VALUE} indica al driver de MySQL que entregue las filas de
+     * a una a medida que se leen, en lugar de cargar el resultado completo en memoria.
+     * </p>
+     */
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.OrderDetailExportRow(o.number, d.id, d.timestamp, d.accumulatedMass, d.density, d.temperature, d.caudal) "
+         + "FROM OrderDetail d JOIN d.order o "
+         + "WHERE (:orderId IS NULL OR o.id = :orderId) "
+         + "AND (:from IS NULL OR d.timestamp >= :from) "
+         + "AND (:to IS NULL OR d.timestamp <= :to) "
+         + "ORDER BY d.timestamp ASC, d.id ASC")
+    Stream<OrderDetailExportRow> streamForExport(@Param("orderId") Long orderId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
 
-    List<OrderDetail> findByOrderId(Long orderId);
+    /**
+     * Elimina todos los detalles de una orden (luego de archivarlos).
+     *
+     * @param orderId Identificador de la orden.
+     * @return Cantidad de detalles eliminados.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderDetail d WHERE d.order.id = :orderId")
+    int deleteByOrderIdBulk(@Param("orderId") Long orderId);
+
+    /**
+     * Timestamp del detalle más antiguo anterior a {@code before}.
+     */
+    @Query("SELECT MIN(d.timestamp) FROM OrderDetail d WHERE d.timestamp < :before")
+    LocalDateTime findOldestTimestampBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Recorre los detalles del intervalo {@code [from, to)}, ordenados por orden y timestamp.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.OrderDetailSample(d.order.id, d.timestamp, d.accumulatedMass, d.density, d.temperature, d.caudal) "
+         + "FROM OrderDetail d WHERE d.timestamp >= :from AND d.timestamp < :to "
+         + "ORDER BY d.order.id ASC, d.timestamp ASC, d.id ASC")
+    Stream<OrderDetailSample> streamInterval(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
-    @Query("SELECT d.id, d.timestamp, d.accumulatedMass, d.density, d.temperature, d.caudal FROM OrderDetail d WHERE d.order.id = :orderId ORDER BY timestamp ASC")
-    List<Object[]> findDetailsByOrderId(@Param("orderId") Long orderId);
-}
\ No newline at end of file
+    /**
+     * Elimina los detalles del intervalo {@code [from, to)}.
+     *
+     * @return Cantidad de detalles eliminados.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderDetail d WHERE d.timestamp >= :from AND d.timestamp < :to")
+    int deleteInterval(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
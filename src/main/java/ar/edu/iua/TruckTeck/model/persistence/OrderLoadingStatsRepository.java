@@ -0,0 +1,43 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+
+/**
+ * Repositorio de persistencia para la entidad {@link OrderLoadingStats}.
+ */
+@Repository
+public interface OrderLoadingStatsRepository extends JpaRepository<OrderLoadingStats, Long> {
+
+    /**
+     * Calcula en una sola pasada los agregados de los detalles persistidos de una orden.
+     * <p>
+     * Devuelve una fila con: cantidad, y para temperatura, densidad y caudal (en ese orden)
+     * suma, mínimo, máximo y varianza poblacional.
+     * </p>
+     *
+     * @param orderId Identificador de la orden.
+     * @return Lista con una única fila de agregados.
+     */
+    @Query(value = "SELECT COUNT(*), "
+            + "SUM(temperature), MIN(temperature), MAX(temperature), VAR_POP(temperature), "
+            + "SUM(density), MIN(density), MAX(density), VAR_POP(density), "
+            + "SUM(caudal), MIN(caudal), MAX(caudal), VAR_POP(caudal) "
+            + "FROM order_details WHERE order_id = :orderId", nativeQuery = true)
+    List<Object[]> aggregateDetailsByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Identificadores de las órdenes con detalles de carga y sin agregados calculados.
+     *
+     * @return Lista de identificadores de orden.
+     */
+    @Query(value = "SELECT DISTINCT d.order_id FROM order_details d "
+            + "LEFT JOIN order_loading_stats s ON s.order_id = d.order_id WHERE s.order_id IS NULL", nativeQuery = true)
+    List<Long> findOrderIdsWithoutStats();
+}
@@ -0,0 +1,48 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.util.List;
+import java.util.Set;
+
+import ar.edu.iua.TruckTeck.model.OrderFilter;
+import ar.edu.iua.TruckTeck.model.enums.OrderSortKey;
+import jakarta.persistence.Tuple;
+
+/**
+ * Consulta paginada por clave (keyset) del listado de órdenes.
+ * <p>
+ * La consulta se arma con la API Criteria para incluir sólo los filtros, las relaciones y las
+ * columnas pedidas. Cada página se resuelve recorriendo el índice de la columna de
+ * ordenamiento a partir del cursor, sin {@code OFFSET} ni {@code COUNT}, por lo que el costo
+ * no depende del tamaño de la tabla ni de la página pedida.
+ * </p>
+ *
+ * @see OrderPageRepositoryImpl
+ */
+public interface OrderPageRepository {
+
+    /**
+     * Campos que se pueden pedir en la proyección del listado.
+     */
+    Set<String> PAGE_FIELDS = Set.of("id", "number", "externalCode", "state", "scheduledDate", "preset",
+            "accumulatedMass", "initialWeight", "finalWeight", "startLoading", "endLoading",
+            "clientName", "productName", "truckDomain", "driverName", "driverSurname", "driverDocumentNumber");
+
+    /**
+     * Obtiene una página del listado de órdenes.
+     * <p>
+     * Cada tupla incluye, con su nombre como alias, los campos pedidos, el identificador
+     * ({@code id}) y la columna de ordenamiento.
+     * </p>
+     *
+     * @param filter Filtros del listado.
+     * @param sort Columna de ordenamiento.
+     * @param descending {@code true} para orden descendente.
+     * @param afterValue Valor de la columna de ordenamiento del último elemento de la página anterior, o {@code null}.
+     * @param afterId Identificador del último elemento de la página anterior, o {@code null} para la primera página.
+     * @param fields Campos de la proyección (subconjunto de {@link #PAGE_FIELDS}).
+     * @param limit Cantidad máxima de filas.
+     * @return Filas de la página, en orden.
+     */
+    List<Tuple> findPage(OrderFilter filter, OrderSortKey sort, boolean descending, Object afterValue,
+            Long afterId, List<String> fields, int limit);
+}
@@ -0,0 +1,165 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderFilter;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.enums.OrderSortKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Implementación de {@link OrderPageRepository} con la API Criteria.
+ * <p>
+ * Las relaciones (cliente, producto, camión y chofer) se unen sólo si algún filtro o campo de
+ * la proyección las necesita, y nunca se cargan las entidades relacionadas.
+ * </p>
+ */
+public class OrderPageRepositoryImpl implements OrderPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findPage(OrderFilter filter, OrderSortKey sort, boolean descending, Object afterValue,
+            Long afterId, List<String> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Joins joins = new Joins(query.from(Order.class));
+        Root<Order> order = joins.order;
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.state() != null) {
+            where.add(cb.equal(order.get("state"), filter.state()));
+        }
+        if (filter.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(order.get("scheduledDate"), filter.from()));
+        }
+        if (filter.to() != null) {
+            where.add(cb.lessThan(order.get("scheduledDate"), filter.to()));
+        }
+        if (filter.client() != null) {
+            where.add(cb.equal(joins.client().get("companyName"), filter.client()));
+        }
+        if (filter.truck() != null) {
+            where.add(cb.equal(joins.truck().get("domain"), filter.truck()));
+        }
+        if (filter.product() != null) {
+            where.add(cb.equal(joins.product().get("name"), filter.product()));
+        }
+
+        Path<Long> id = order.get("id");
+        Path<Comparable<Object>> key = order.get(sort.getAttribute());
+        if (sort == OrderSortKey.SCHEDULED_DATE) {
+            where.add(cb.isNotNull(key));
+        }
+        if (afterId != null) {
+            Predicate afterIdPredicate = descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId);
+            if (sort == OrderSortKey.ID) {
+                where.add(afterIdPredicate);
+            } else {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> value = (Comparable<Object>) afterValue;
+                Predicate afterKey = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+                where.add(cb.or(afterKey, cb.and(cb.equal(key, value), afterIdPredicate)));
+            }
+        }
+
+        Set<String> names = new LinkedHashSet<>(fields);
+        names.add("id");
+        names.add(sort.getAttribute());
+        List<Selection<?>> selections = new ArrayList<>(names.size());
+        for (String name : names) {
+            selections.add(field(joins, name).alias(name));
+        }
+
+        query.multiselect(selections).where(where.toArray(Predicate[]::new));
+        if (sort == OrderSortKey.ID) {
+            query.orderBy(descending ? cb.desc(id) : cb.asc(id));
+        } else if (descending) {
+            query.orderBy(cb.desc(key), cb.desc(id));
+        } else {
+            query.orderBy(cb.asc(key), cb.asc(id));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static Expression<?> field(Joins joins, String name) {
+        return switch (name) {
+            case "clientName" -> joins.client().get("companyName");
+            case "productName" -> joins.product().get("name");
+            case "truckDomain" -> joins.truck().get("domain");
+            case "driverName" -> joins.driver().get("name");
+            case "driverSurname" -> joins.driver().get("surname");
+            case "driverDocumentNumber" -> joins.driver().get("documentNumber");
+            default -> {
+                if (!PAGE_FIELDS.contains(name)) {
+                    throw new IllegalArgumentException("Campo desconocido: " + name);
+                }
+                yield joins.order.get(name);
+            }
+        };
+    }
+
+    /**
+     * Uniones con las relaciones de la orden, creadas a demanda y reutilizadas entre filtros y
+     * proyección.
+     */
+    private static final class Joins {
+
+        private final Root<Order> order;
+        private Join<Order, Client> client;
+        private Join<Order, Product> product;
+        private Join<Order, Truck> truck;
+        private Join<Order, Driver> driver;
+
+        Joins(Root<Order> order) {
+            this.order = order;
+        }
+
+        Join<Order, Client> client() {
+            if (client == null) {
+                client = order.join("client", JoinType.LEFT);
+            }
+            return client;
+        }
+
+        Join<Order, Product> product() {
+            if (product == null) {
+                product = order.join("product", JoinType.LEFT);
+            }
+            return product;
+        }
+
+        Join<Order, Truck> truck() {
+            if (truck == null) {
+                truck = order.join("truck", JoinType.LEFT);
+            }
+            return truck;
+        }
+
+        Join<Order, Driver> driver() {
+            if (driver == null) {
+                driver = order.join("driver", JoinType.LEFT);
+            }
+            return driver;
+        }
+    }
+}
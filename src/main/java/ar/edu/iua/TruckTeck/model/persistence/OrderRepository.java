@@ -1,13 +1,21 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import ar.edu.iua.TruckTeck.model.ConciliationView;
 import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderSummary;
 import ar.edu.iua.TruckTeck.model.enums.OrderState;
 
 /**
@@ -20,15 +28,29 @@ import ar.edu.iua.TruckTeck.model.enums.OrderState;
  * <p><b>Consultas personalizadas:</b></p>
  * <ul>
  *   <li>{@link #findByNumber(String)} - Buscar orden por número de orden</li>
+ *   <li>{@link #existsByNumber(String)} - Verificar si existe una orden con el número dado</li>
  *   <li>{@link #findByTruckDomainAndState(String, OrderState)} - Buscar orden por dominio de camión y estado (TMS)</li>
  *   <li>{@link #findByActivationCode(String)} - Buscar orden por código de activación (TMS)</li>
+ *   <li>{@link #findActivationCodesByStateIn(Collection)} - Códigos de activación en uso por las órdenes en curso</li>
+ *   <li>{@link #updateChargingHeader} - Actualizar la cabecera de carga en una única sentencia, validando la versión (Sistema de Carga)</li>
+ *   <li>{@link #updateStateTaraRegistered} / {@link #updateStateLoading} / {@link #updateStateFinalized} - Transiciones de estado condicionales sobre el estado esperado</li>
+ *   <li>{@link #findConciliationByNumber(String)} - Datos de la conciliación y su PDF en una única consulta</li>
+ *   <li>{@link #findAllSummaries()} - Resumen de las órdenes para el listado</li>
+ *   <li>{@link #findChargingHeaderByNumber(String)} - Cabecera y producto de una orden para la sesión de carga</li>
+ *   <li>{@link #findExistingNumbers} / {@link #findExistingExternalCodes} - Órdenes ya registradas de un lote (importación masiva SAP)</li>
+ *   <li>{@link #findPage} - Listado paginado por clave, con filtros y proyección ({@link OrderPageRepository})</li>
  * </ul>
- * 
+ *
+ * <p><b>Planes de carga:</b> Las relaciones de {@link Order} son diferidas. {@link #findById(Long)},
+ * {@link #findByNumber(String)} y {@link #findAll()} cargan el grafo completo
+ * ({@link Order#GRAPH_FULL}) en una única consulta;
+ * el resto de los casos de uso usan un grafo reducido o una proyección.</p>
+ *
  * @see ar.edu.iua.TruckTeck.model.Order
  * @see ar.edu.iua.TruckTeck.model.enums.OrderState
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderPageRepository {
 
     /**
      * Busca una orden por el dominio del camión asociado y un estado específico.
@@ -69,16 +91,206 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByActivationCode(@Param("activationCode") String activationCode,@Param("number") String number);
 
     /**
-     * Busca una orden por su número de orden.
+     * Obtiene los códigos de activación de las órdenes en los estados indicados.
+     * <p>
+     * Usado al iniciar la aplicación para reconstruir los códigos en uso
+     * ({@link ar.edu.iua.TruckTeck.model.business.ActivationCodeAllocator}).
+     * </p>
+     *
+     * @param states Estados de las órdenes (TARA_REGISTERED y LOADING).
+     * @return Códigos de activación, sin los nulos.
+     */
+    @Query("SELECT o.activationCode FROM Order o WHERE o.state IN :states AND o.activationCode IS NOT NULL")
+    List<String> findActivationCodesByStateIn(@Param("states") Collection<OrderState> states);
+
+    /**
+     * Busca una orden por su número de orden, con el mismo grafo que {@link #findById(Long)}:
+     * {@link ar.edu.iua.TruckTeck.model.business.OrderNumberIndex} devuelve entidades con las
+     * mismas relaciones inicializadas esté o no el número en el índice.
      * @param number número de la orden
      * @return Optional con la orden si existe
      */
+    @EntityGraph(Order.GRAPH_FULL)
     Optional<Order> findByNumber(String number);
 
+    /**
+     * Indica si existe una orden con el número dado, sin cargarla.
+     * @param number número de la orden
+     * @return true si existe
+     */
+    boolean existsByNumber(String number);
+
+    @Override
+    @EntityGraph(Order.GRAPH_FULL)
+    Optional<Order> findById(Long id);
+
+    @Override
+    @EntityGraph(Order.GRAPH_FULL)
+    List<Order> findAll();
+
+    /**
+     * Busca una orden por número cargando sólo la cabecera y el producto, lo necesario para
+     * abrir la sesión de carga.
+     * @param number número de la orden
+     * @return Optional con la orden si existe
+     */
+    @EntityGraph(Order.GRAPH_CHARGING)
+    Optional<Order> findChargingHeaderByNumber(String number);
+
+    /**
+     * Resumen de todas las órdenes para el listado, en una única consulta.
+     * @return Lista de resúmenes ordenada por id
+     */
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.OrderSummary("
+         + "o.id, o.number, o.state, o.scheduledDate, o.preset, o.accumulatedMass, "
+         + "c.companyName, p.name, t.domain, d.name, d.surname) "
+         + "FROM Order o JOIN o.client c JOIN o.product p JOIN o.truck t JOIN o.driver d "
+         + "ORDER BY o.id")
+    List<OrderSummary> findAllSummaries();
+
+    /**
+     * Obtiene en una única consulta la cabecera de la orden, los datos de cliente, producto,
+     * camión y chofer, y los agregados de la carga usados por la conciliación y su PDF.
+     * @param number número de la orden
+     * @return Optional con la vista de conciliación si la orden existe
+     */
+    @Query("SELECT new ar.edu.iua.TruckTeck.model.ConciliationView("
+         + "o.id, o.number, o.state, o.initialWeight, o.finalWeight, o.accumulatedMass, o.preset, o.startLoading, o.endLoading, "
+         + "c.companyName, p.name, t.domain, d.name, d.surname, "
+         + "s.temperature.count, s.temperature.sum, s.density.count, s.density.sum, s.caudal.count, s.caudal.sum) "
+         + "FROM Order o JOIN o.client c JOIN o.product p JOIN o.truck t JOIN o.driver d "
+         + "LEFT JOIN OrderLoadingStats s ON s.orderId = o.id "
+         + "WHERE o.number = :number")
+    Optional<ConciliationView> findConciliationByNumber(@Param("number") String number);
+
     /**
      * Busca una orden por su código externo.
      * @param externalCode
      * @return
      */
     Optional<Order> findByExternalCode (String externalCode);
+
+    /**
+     * Números de orden ya registrados entre los indicados (importación masiva).
+     *
+     * @param numbers Números de orden buscados.
+     * @return Números que ya existen.
+     */
+    @Query("SELECT o.number FROM Order o WHERE o.number IN :numbers")
+    List<String> findExistingNumbers(@Param("numbers") Collection<String> numbers);
+
+    /**
+     * Códigos externos ya registrados entre los indicados (importación masiva).
+     *
+     * @param externalCodes Códigos externos buscados.
+     * @return Códigos externos que ya existen.
+     */
+    @Query("SELECT o.externalCode FROM Order o WHERE o.externalCode IN :externalCodes")
+    List<String> findExistingExternalCodes(@Param("externalCodes") Collection<String> externalCodes);
+
+    /**
+     * Actualiza los últimos valores de carga de la cabecera de una orden.
+     * <p>
+     * <b>Uso principal:</b> Sistema de carga, por cada muestra recibida. Se ejecuta como un
+     * único {@code UPDATE} sin leer previamente la entidad, ya que la cabecera viva de la
+     * orden se mantiene en memoria durante la sesión de carga.
+     * </p>
+     * <p>
+     * La actualización es condicional sobre la versión (bloqueo optimista): si la orden fue
+     * modificada por fuera de la sesión de carga, no se actualiza ninguna fila.
+     * </p>
+     *
+     * @param id Identificador de la orden.
+     * @param accumulatedMass Última masa acumulada.
+     * @param density Última densidad.
+     * @param temperature Última temperatura.
+     * @param caudal Último caudal.
+     * @param startLoading Momento del primer dato válido de carga.
+     * @param endLoading Momento del último dato válido de carga.
+     * @param temperatureAlarmSent Indica si ya se envió la alarma de temperatura.
+     * @param version Versión de la orden leída; la actualización sólo se aplica si no cambió.
+     * @return Cantidad de filas actualizadas (0 si la orden no existe o fue modificada por otro proceso).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.accumulatedMass = :accumulatedMass, o.density = :density, o.temperature = :temperature, "
+            + "o.caudal = :caudal, o.startLoading = :startLoading, o.endLoading = :endLoading, "
+            + "o.temperatureAlarmSent = :temperatureAlarmSent, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.version = :version")
+    int updateChargingHeader(@Param("id") long id,
+                             @Param("accumulatedMass") Double accumulatedMass,
+                             @Param("density") Double density,
+                             @Param("temperature") Double temperature,
+                             @Param("caudal") Double caudal,
+                             @Param("startLoading") LocalDateTime startLoading,
+                             @Param("endLoading") LocalDateTime endLoading,
+                             @Param("temperatureAlarmSent") Boolean temperatureAlarmSent,
+                             @Param("version") Long version);
+
+    /**
+     * Registra el pesaje inicial y pasa la orden a TARA_REGISTERED, sólo si sigue en el estado esperado.
+     * <p>
+     * <b>Uso principal:</b> Transiciones de estado ({@link ar.edu.iua.TruckTeck.model.business.IOrderStateBusiness}).
+     * La condición sobre el estado reemplaza la validación en memoria: si otro proceso cambió el
+     * estado de la orden entre la lectura y la actualización, no se actualiza ninguna fila.
+     * </p>
+     *
+     * @param id Identificador de la orden.
+     * @param expected Estado en el que debe estar la orden.
+     * @param state Nuevo estado.
+     * @param initialWeight Peso inicial (tara).
+     * @param activationCode Código de activación emitido.
+     * @param initialWeighing Momento del pesaje inicial.
+     * @return Cantidad de filas actualizadas (0 si la orden no existe o no está en el estado esperado).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.state = :state, o.initialWeight = :initialWeight, o.activationCode = :activationCode, "
+            + "o.initialWeighing = :initialWeighing, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.state = :expected")
+    int updateStateTaraRegistered(@Param("id") long id,
+                                  @Param("expected") OrderState expected,
+                                  @Param("state") OrderState state,
+                                  @Param("initialWeight") Double initialWeight,
+                                  @Param("activationCode") String activationCode,
+                                  @Param("initialWeighing") LocalDateTime initialWeighing);
+
+    /**
+     * Cierra la carga de la orden (estado LOADING), sólo si sigue en el estado esperado.
+     *
+     * @param id Identificador de la orden.
+     * @param expected Estado en el que debe estar la orden.
+     * @param state Nuevo estado.
+     * @param closeOrder Momento del cierre de la carga.
+     * @return Cantidad de filas actualizadas (0 si la orden no existe o no está en el estado esperado).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.state = :state, o.closeOrder = :closeOrder, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.state = :expected")
+    int updateStateLoading(@Param("id") long id,
+                           @Param("expected") OrderState expected,
+                           @Param("state") OrderState state,
+                           @Param("closeOrder") LocalDateTime closeOrder);
+
+    /**
+     * Registra el pesaje final y pasa la orden a FINALIZED, sólo si sigue en el estado esperado.
+     *
+     * @param id Identificador de la orden.
+     * @param expected Estado en el que debe estar la orden.
+     * @param state Nuevo estado.
+     * @param finalWeight Peso final.
+     * @param endWeighing Momento del pesaje final.
+     * @return Cantidad de filas actualizadas (0 si la orden no existe o no está en el estado esperado).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.state = :state, o.finalWeight = :finalWeight, o.endWeighing = :endWeighing, "
+            + "o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.state = :expected")
+    int updateStateFinalized(@Param("id") long id,
+                             @Param("expected") OrderState expected,
+                             @Param("state") OrderState state,
+                             @Param("finalWeight") Double finalWeight,
+                             @Param("endWeighing") LocalDateTime endWeighing);
 }
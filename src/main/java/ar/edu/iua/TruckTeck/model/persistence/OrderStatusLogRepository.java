@@ -9,6 +9,6 @@ import java.util.List;
 @Repository
 public interface OrderStatusLogRepository extends JpaRepository<OrderStatusLog, Long> {
     
-    // Obtener historial de cambios de una orden
+    // Obtener historial de cambios de una orden (índice idx_order_status_log_order)
     List<OrderStatusLog> findByOrderNumberOrderByTimestampAsc(Long orderNumber);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -47,4 +50,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE (p.name = :product OR p.description = :product) AND p.id <> :id")
     Optional<Product> findByProductAndIdNot(@Param("product") String product, @Param("id") long id);
 
-}
\ No newline at end of file
+    /**
+     * Busca un producto por su código externo.
+     *
+     * @param externalCode Código externo (SAP) del producto.
+     * @return {@link Optional} que contiene el producto si se encuentra, o vacío si no existe.
+     */
+    Optional<Product> findByExternalCode(String externalCode);
+
+    /**
+     * Página de productos ordenada por identificador, a partir de un identificador (paginación por clave).
+     *
+     * @param afterId Identificador del último elemento de la página anterior (0 para la primera página).
+     * @param pattern Patrón {@code LIKE} de prefijo sobre el nombre (escapado con {@code '!'}), o {@code null} para no filtrar.
+     * @param limit Cantidad máxima de filas.
+     * @return Productos de la página, ordenados por identificador.
+     */
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId AND (:pattern IS NULL OR p.name LIKE :pattern ESCAPE '!') ORDER BY p.id")
+    List<Product> findPage(@Param("afterId") long afterId, @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Busca en una única consulta los productos con alguna de las claves indicadas (el nombre).
+     *
+     * @param keys Claves buscadas.
+     * @return Productos encontrados.
+     */
+    List<Product> findByNameIn(Collection<String> keys);
+}
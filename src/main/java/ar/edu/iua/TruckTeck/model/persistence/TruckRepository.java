@@ -1,7 +1,10 @@
 package ar.edu.iua.TruckTeck.model.persistence;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -52,4 +55,23 @@ public interface TruckRepository extends JpaRepository<Truck, Long> {
      * @return
      */
     Optional<Truck> findByExternalCode(String externalCode);
+
+    /**
+     * Página de camiones ordenada por identificador, a partir de un identificador (paginación por clave).
+     *
+     * @param afterId Identificador del último elemento de la página anterior (0 para la primera página).
+     * @param pattern Patrón {@code LIKE} de prefijo sobre el dominio (escapado con {@code '!'}), o {@code null} para no filtrar.
+     * @param limit Cantidad máxima de filas.
+     * @return Camiones de la página, ordenados por identificador.
+     */
+    @Query("SELECT t FROM Truck t WHERE t.id > :afterId AND (:pattern IS NULL OR t.domain LIKE :pattern ESCAPE '!') ORDER BY t.id")
+    List<Truck> findPage(@Param("afterId") long afterId, @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Busca en una única consulta los camiones con alguna de las claves indicadas (el dominio).
+     *
+     * @param keys Claves buscadas.
+     * @return Camiones encontrados.
+     */
+    List<Truck> findByDomainIn(Collection<String> keys);
 }
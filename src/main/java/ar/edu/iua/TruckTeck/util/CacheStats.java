@@ -0,0 +1,71 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.Getter;
+
+/**
+ * Contadores de uso de una caché en memoria (aciertos, fallos y desalojos).
+ * <p>
+ * Los contadores son seguros para uso concurrente y de bajo costo ({@link LongAdder}),
+ * por lo que pueden incrementarse en los caminos frecuentes.
+ * </p>
+ *
+ * @see CacheStatsRegistry
+ */
+@JsonPropertyOrder({ "name", "hits", "misses", "hitRate", "evictions" })
+public class CacheStats {
+
+    /**
+     * Nombre de la caché.
+     */
+    @Getter
+    private final String name;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public CacheStats(String name) {
+        this.name = name;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void eviction() {
+        evictions.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Proporción de aciertos sobre el total de consultas.
+     *
+     * @return valor entre 0 y 1, o 0 si aún no hubo consultas.
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+}
@@ -0,0 +1,42 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro de los contadores de las cachés en memoria de la aplicación.
+ * <p>
+ * Cada caché obtiene sus contadores con {@link #register(String)} al inicializarse; el
+ * conjunto se expone en {@code /api/v1/cache/stats}.
+ * </p>
+ */
+@Component
+public class CacheStatsRegistry {
+
+    private final Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene (o crea) los contadores de una caché.
+     *
+     * @param name Nombre de la caché.
+     * @return Los contadores asociados al nombre.
+     */
+    public CacheStats register(String name) {
+        return stats.computeIfAbsent(name, CacheStats::new);
+    }
+
+    /**
+     * Lista los contadores de todas las cachés registradas, ordenados por nombre.
+     *
+     * @return Lista de contadores.
+     */
+    public List<CacheStats> list() {
+        List<CacheStats> r = new ArrayList<>(stats.values());
+        r.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return r;
+    }
+}
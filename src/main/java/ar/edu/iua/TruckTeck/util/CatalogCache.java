@@ -0,0 +1,166 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caché de lectura en memoria de un catálogo de datos maestros (clientes, camiones, productos,
+ * choferes), indexada por clave natural y por código externo.
+ * <p>
+ * Ante un fallo se consulta la base de datos con el cargador recibido y se guarda el resultado.
+ * También se guardan las búsquedas sin resultado (caché negativa), por un tiempo menor, de modo
+ * que las claves inexistentes que se repiten no vuelvan a consultar la base de datos.
+ * </p>
+ * <p>
+ * La caché es acotada: descarta las entradas menos usadas recientemente y las que superan su
+ * tiempo de vida. Las altas, modificaciones y bajas del catálogo deben llamar a
+ * {@link #invalidate(Object)}.
+ * </p>
+ * <p>
+ * Las entidades guardadas son compartidas entre hilos: se usan como referencia (por ejemplo para
+ * asignarlas a una orden) y no deben modificarse.
+ * </p>
+ *
+ * @see CatalogCacheFactory
+ */
+public class CatalogCache<T> {
+
+    private static final String KEY = "k:";
+
+    private static final String EXTERNAL_CODE = "x:";
+
+    /**
+     * Entrada de la caché; {@code value == null} indica una búsqueda sin resultado.
+     */
+    private record Entry<T>(T value, long expiresAt) {
+    }
+
+    private final Map<String, Entry<T>> entries;
+
+    private final CacheStats stats;
+
+    private final ToLongFunction<T> id;
+
+    private final Function<T, String> key;
+
+    private final Function<T, String> externalCode;
+
+    private final long ttlMs;
+
+    private final long negativeTtlMs;
+
+    /**
+     * Se incrementa con cada invalidación; una carga iniciada antes de una invalidación no
+     * guarda su resultado, ya que puede estar desactualizado.
+     */
+    private long generation;
+
+    CatalogCache(CacheStats stats, int maxEntries, long ttlMs, long negativeTtlMs, ToLongFunction<T> id,
+            Function<T, String> key, Function<T, String> externalCode) {
+        this.stats = stats;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.id = id;
+        this.key = key;
+        this.externalCode = externalCode;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                if (size() > maxEntries) {
+                    stats.eviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca un elemento por su clave natural.
+     *
+     * @param value Clave natural (razón social, dominio, nombre, documento).
+     * @param loader Consulta a la base de datos ante un fallo.
+     * @return Optional con el elemento si existe.
+     */
+    public Optional<T> get(String value, Function<String, Optional<T>> loader) {
+        return lookup(KEY, value, loader);
+    }
+
+    /**
+     * Busca un elemento por su código externo (SAP).
+     *
+     * @param value Código externo.
+     * @param loader Consulta a la base de datos ante un fallo.
+     * @return Optional con el elemento si existe.
+     */
+    public Optional<T> getByExternalCode(String value, Function<String, Optional<T>> loader) {
+        return lookup(EXTERNAL_CODE, value, loader);
+    }
+
+    /**
+     * Descarta las entradas del elemento (por cualquiera de sus claves) y todas las búsquedas
+     * sin resultado guardadas, que pueden dejar de serlo luego de un alta o una modificación.
+     *
+     * @param value Elemento agregado, modificado o eliminado.
+     */
+    public void invalidate(T value) {
+        long valueId = id.applyAsLong(value);
+        synchronized (entries) {
+            generation++;
+            Iterator<Entry<T>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<T> e = it.next();
+                if (e.value() == null || id.applyAsLong(e.value()) == valueId) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private Optional<T> lookup(String prefix, String value, Function<String, Optional<T>> loader) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String cacheKey = prefix + value;
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<T> e = entries.get(cacheKey);
+            if (e != null && e.expiresAt() > now) {
+                stats.hit();
+                return Optional.ofNullable(e.value());
+            }
+            if (e != null) {
+                entries.remove(cacheKey);
+            }
+            loadGeneration = generation;
+        }
+
+        stats.miss();
+        Optional<T> r = loader.apply(value);
+        synchronized (entries) {
+            if (loadGeneration == generation) {
+                if (r.isPresent()) {
+                    T found = r.get();
+                    Entry<T> entry = new Entry<>(found, now + ttlMs);
+                    entries.put(cacheKey, entry);
+                    putIfNotNull(KEY, key.apply(found), entry);
+                    putIfNotNull(EXTERNAL_CODE, externalCode.apply(found), entry);
+                } else {
+                    entries.put(cacheKey, new Entry<>(null, now + negativeTtlMs));
+                }
+            }
+        }
+        return r;
+    }
+
+    private void putIfNotNull(String prefix, String value, Entry<T> entry) {
+        if (value != null) {
+            entries.put(prefix + value, entry);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea las cachés de los catálogos de datos maestros con la configuración común
+ * ({@code catalog.cache.*}) y registra sus contadores en {@link CacheStatsRegistry}.
+ */
+@Component
+public class CatalogCacheFactory {
+
+    @Autowired
+    private CacheStatsRegistry statsRegistry;
+
+    @Value("${catalog.cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${catalog.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${catalog.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    /**
+     * Crea la caché de un catálogo.
+     *
+     * @param name Nombre de la caché (para los contadores).
+     * @param id Identificador de cada elemento.
+     * @param key Clave natural de cada elemento.
+     * @param externalCode Código externo de cada elemento.
+     * @return La caché creada.
+     */
+    public <T> CatalogCache<T> create(String name, ToLongFunction<T> id, Function<T, String> key,
+            Function<T, String> externalCode) {
+        return new CatalogCache<>(statsRegistry.register(name), maxEntries, ttlSeconds * 1000,
+                negativeTtlSeconds * 1000, id, key, externalCode);
+    }
+}
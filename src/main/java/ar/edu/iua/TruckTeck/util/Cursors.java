@@ -0,0 +1,115 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import ar.edu.iua.TruckTeck.model.CursorPage;
+
+/**
+ * Codificación de los cursores opacos usados en la paginación por clave (keyset).
+ * <p>
+ * Un cursor guarda los valores de la clave de ordenamiento del último elemento devuelto
+ * (por ejemplo {@code timestamp|id}) en Base64 URL-safe, de modo que el cliente lo reenvíe
+ * sin interpretarlo.
+ * </p>
+ */
+public final class Cursors {
+
+    private Cursors() {
+    }
+
+    /**
+     * Codifica los valores de la clave en un cursor.
+     *
+     * @param values Valores de la clave, en orden.
+     * @return Cursor opaco.
+     */
+    public static String encode(Object... values) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                raw.append('|');
+            }
+            raw.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encode(Object...)}.
+     *
+     * @param cursor Cursor recibido del cliente.
+     * @param parts Cantidad de valores esperados.
+     * @return Valores de la clave, como texto.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static String[] decode(String cursor, int parts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+        // Se separa desde la derecha: sólo el primer valor (p. ej. un número de orden) puede contener '|'
+        String[] values = new String[parts];
+        for (int i = parts - 1; i > 0; i--) {
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            values[i] = raw.substring(separator + 1);
+            raw = raw.substring(0, separator);
+        }
+        values[0] = raw;
+        return values;
+    }
+
+    /**
+     * Decodifica el identificador guardado en un cursor de un único valor.
+     *
+     * @param cursor Cursor recibido del cliente, o {@code null} para la primera página.
+     * @return Identificador, o {@code null} si no hay cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    /**
+     * Arma una página paginada por identificador a partir de las filas leídas.
+     *
+     * @param rows Filas leídas, ordenadas por identificador (hasta {@code limit + 1}).
+     * @param limit Tamaño de la página.
+     * @param id Identificador de cada fila.
+     * @return Página con a lo sumo {@code limit} elementos y el cursor de la siguiente, si la hay.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int limit, ToLongFunction<T> id) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(id.applyAsLong(items.get(limit - 1))));
+    }
+
+    /**
+     * Patrón {@code LIKE} que busca por prefijo, escapando los comodines con {@code '!'}.
+     *
+     * @param prefix Prefijo buscado, o {@code null}.
+     * @return Patrón para usar con {@code ESCAPE '!'}, o {@code null} si no hay prefijo.
+     */
+    public static String prefixPattern(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
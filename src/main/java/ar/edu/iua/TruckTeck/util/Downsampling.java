@@ -0,0 +1,124 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmos de reducción de puntos (downsampling) para series temporales.
+ * <p>
+ * Los métodos devuelven los índices de los puntos a conservar, en orden creciente, de modo
+ * que puedan aplicarse a varias series paralelas a la vez.
+ * </p>
+ */
+public final class Downsampling {
+
+    private Downsampling() {
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets (LTTB): divide la serie en {@code threshold - 2} grupos y
+     * de cada uno conserva el punto que forma el triángulo de mayor área con el punto elegido
+     * en el grupo anterior y el promedio del grupo siguiente. Conserva la forma visual de la
+     * curva, incluidos picos y valles. El primer y el último punto se conservan siempre.
+     *
+     * @param x         Abscisas (crecientes).
+     * @param y         Ordenadas.
+     * @param threshold Cantidad máxima de puntos a conservar (mínimo 3).
+     * @return Índices de los puntos conservados.
+     */
+    public static int[] lttb(long[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold >= n || threshold < 3) {
+            return all(n);
+        }
+        int[] sampled = new int[threshold];
+        int s = 0;
+        sampled[s++] = 0;
+
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        for (int i = 0; i < threshold - 2; i++) {
+            // Promedio del grupo siguiente
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j] - x[0];
+                avgY += y[j];
+            }
+            int avgLength = Math.max(1, avgEnd - avgStart);
+            avgX /= avgLength;
+            avgY /= avgLength;
+
+            // Punto del grupo actual con el triángulo de mayor área
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double ax = x[a] - x[0];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (y[j] - y[a]) - (ax - (x[j] - x[0])) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled[s++] = next;
+            a = next;
+        }
+        sampled[s++] = n - 1;
+        return sampled;
+    }
+
+    /**
+     * Agrupamiento mín/máx: divide la serie en {@code threshold / 2} grupos y de cada uno conserva
+     * el punto de valor mínimo y el de valor máximo. Garantiza que ningún extremo quede afuera.
+     * El primer y el último punto se conservan siempre.
+     *
+     * @param y         Valores de la serie.
+     * @param threshold Cantidad máxima aproximada de puntos a conservar (mínimo 4).
+     * @return Índices de los puntos conservados.
+     */
+    public static int[] minMax(double[] y, int threshold) {
+        int n = y.length;
+        if (threshold >= n || threshold < 4) {
+            return all(n);
+        }
+        int buckets = (threshold - 2) / 2;
+        double every = (double) (n - 2) / buckets;
+        int[] sampled = new int[2 + buckets * 2];
+        int s = 0;
+        sampled[s++] = 0;
+        for (int b = 0; b < buckets; b++) {
+            int start = (int) Math.floor(b * every) + 1;
+            int end = Math.min((int) Math.floor((b + 1) * every) + 1, n - 1);
+            if (start >= end) {
+                continue;
+            }
+            int min = start;
+            int max = start;
+            for (int j = start + 1; j < end; j++) {
+                if (y[j] < y[min]) {
+                    min = j;
+                }
+                if (y[j] > y[max]) {
+                    max = j;
+                }
+            }
+            sampled[s++] = Math.min(min, max);
+            if (min != max) {
+                sampled[s++] = Math.max(min, max);
+            }
+        }
+        sampled[s++] = n - 1;
+        return Arrays.copyOf(sampled, s);
+    }
+
+    private static int[] all(int n) {
+        int[] r = new int[n];
+        for (int i = 0; i < n; i++) {
+            r[i] = i;
+        }
+        return r;
+    }
+}
@@ -1,14 +1,23 @@
 package ar.edu.iua.TruckTeck.util;
 
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import ar.edu.iua.TruckTeck.model.Driver;
 
 /**
@@ -20,59 +29,133 @@ import ar.edu.iua.TruckTeck.model.Driver;
  * serializadores o deserializadores personalizados, así como métodos
  * de conveniencia para obtener valores primitivos de nodos JSON
  * con valores por defecto.</p>
+ *
+ * <p>Para los caminos frecuentes (endpoints de integración) mantiene un registro de
+ * {@link ObjectReader}/{@link ObjectWriter} ya construidos, ver
+ * {@link #getReader(Class, StdDeserializer, String)} y {@link #getWriter(Class, StdSerializer, String)}.</p>
  */
 public final class JsonUtiles {
 
+    /**
+     * Formato de fecha por defecto para {@link LocalDateTime}.
+     */
+    private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
+
+    /**
+     * Lectores ya construidos, indexados por clase destino, deserializador y formato de fecha.
+     */
+    private static final Map<MapperKey, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    /**
+     * Escritores ya construidos, indexados por clase origen, serializador y formato de fecha.
+     */
+    private static final Map<MapperKey, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Clave de los registros de lectores y escritores.
+     */
+    private record MapperKey(Class<?> target, Class<?> custom, String dateFormat) {
+    }
+
     /**
      * Construye un {@link ObjectMapper} configurado con un formato de fecha
      * específico y un serializador personalizado opcional.
+     * <p>
+     * Cada llamada crea un mapper nuevo; para serializar en caminos frecuentes usar
+     * {@link #getWriter(Class, StdSerializer, String)}, que reutiliza la instancia.
+     * </p>
      *
      * @param clazz       La clase objetivo a la cual se aplicará el serializador.
      * @param ser         El serializador personalizado para la clase dada. Puede ser {@code null}.
      * @param dateFormat  El formato de fecha a utilizar. Si es {@code null}, se usa por defecto
-     *                    {@code "yyyy-MM-dd'T'HH:mm:ssZ"}.
+     *                    {@code "yyyy-MM-dd'T'HH:mm:ss"}.
      * @return Una instancia configurada de {@link ObjectMapper}.
      */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static ObjectMapper getObjectMapper(Class clazz, StdSerializer ser, String dateFormat) {
-		ObjectMapper mapper = new ObjectMapper();
-		String defaultFormat = "yyyy-MM-dd'T'HH:mm:ssZ";
-		if (dateFormat != null)
-			defaultFormat = dateFormat;
-		SimpleDateFormat df = new SimpleDateFormat(defaultFormat, Locale.getDefault());
 		SimpleModule module = new SimpleModule();
 		if (ser != null) {
 			module.addSerializer(clazz, ser);
 		}
-		mapper.setDateFormat(df);
-		mapper.registerModule(module);
-		return mapper;
-
+		return buildMapper(module, dateFormat);
 	}
 	
     /**
     * Construye un {@link ObjectMapper} configurado con un formato de fecha
     * específico y un deserializador personalizado opcional.
+    * <p>
+    * Cada llamada crea un mapper nuevo; para deserializar en caminos frecuentes usar
+    * {@link #getReader(Class, StdDeserializer, String)}, que reutiliza la instancia.
+    * </p>
     *
     * @param clazz       La clase objetivo a la cual se aplicará el deserializador.
     * @param deser       El deserializador personalizado para la clase dada. Puede ser {@code null}.
     * @param dateFormat  El formato de fecha a utilizar. Si es {@code null}, se usa por defecto
-    *                    {@code "yyyy-MM-dd'T'HH:mm:ssZ"}.
+    *                    {@code "yyyy-MM-dd'T'HH:mm:ss"}.
     * @return Una instancia configurada de {@link ObjectMapper}.
     */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static ObjectMapper getObjectMapper(Class clazz, StdDeserializer deser, String dateFormat) {
-		ObjectMapper mapper = new ObjectMapper();
-		String defaultFormat = "yyyy-MM-dd'T'HH:mm:ssZ";
-		if (dateFormat != null)
-			defaultFormat = dateFormat;
-		SimpleDateFormat df = new SimpleDateFormat(defaultFormat, Locale.getDefault());
 		SimpleModule module = new SimpleModule();
 		if (deser != null) {
 			module.addDeserializer(clazz, deser);
 		}
-		mapper.setDateFormat(df);
+		return buildMapper(module, dateFormat);
+	}
+
+	/**
+	 * Obtiene un {@link ObjectReader} inmutable y seguro para uso concurrente para la clase
+	 * indicada, configurado con el deserializador personalizado dado.
+	 * <p>
+	 * El lector se construye la primera vez que se solicita y luego se reutiliza, por lo que
+	 * el deserializador debe ser sin estado: sólo se usa la instancia de la primera llamada.
+	 * Se recomienda guardar el resultado en una constante de la clase que lo utiliza.
+	 * </p>
+	 *
+	 * @param clazz       La clase destino.
+	 * @param deser       El deserializador personalizado. Puede ser {@code null}.
+	 * @param dateFormat  El formato de fecha a utilizar, o {@code null} para el formato por defecto.
+	 * @return El lector registrado para la combinación de parámetros.
+	 */
+	public static <T> ObjectReader getReader(Class<T> clazz, StdDeserializer<? extends T> deser, String dateFormat) {
+		MapperKey key = new MapperKey(clazz, deser == null ? null : deser.getClass(), dateFormat);
+		return READERS.computeIfAbsent(key, k -> getObjectMapper(clazz, deser, dateFormat).readerFor(clazz));
+	}
+
+	/**
+	 * Obtiene un {@link ObjectWriter} inmutable y seguro para uso concurrente para la clase
+	 * indicada, configurado con el serializador personalizado dado.
+	 * <p>
+	 * Al igual que en {@link #getReader(Class, StdDeserializer, String)}, el serializador debe
+	 * ser sin estado.
+	 * </p>
+	 *
+	 * @param clazz       La clase origen.
+	 * @param ser         El serializador personalizado. Puede ser {@code null}.
+	 * @param dateFormat  El formato de fecha a utilizar, o {@code null} para el formato por defecto.
+	 * @return El escritor registrado para la combinación de parámetros.
+	 */
+	public static <T> ObjectWriter getWriter(Class<T> clazz, StdSerializer<? super T> ser, String dateFormat) {
+		MapperKey key = new MapperKey(clazz, ser == null ? null : ser.getClass(), dateFormat);
+		return WRITERS.computeIfAbsent(key, k -> getObjectMapper(clazz, ser, dateFormat).writerFor(clazz));
+	}
+
+	/**
+	 * Construye el mapper base con el módulo dado y soporte de {@code java.time}: las fechas
+	 * {@link LocalDateTime} se leen y escriben como texto con un {@link DateTimeFormatter}
+	 * (inmutable, a diferencia de {@code SimpleDateFormat}).
+	 */
+	private static ObjectMapper buildMapper(SimpleModule module, String dateFormat) {
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(
+				dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT, Locale.getDefault());
+		JavaTimeModule timeModule = new JavaTimeModule();
+		timeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(formatter));
+		timeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(formatter));
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(timeModule);
 		mapper.registerModule(module);
+		mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 		return mapper;
 	}
 
@@ -0,0 +1,376 @@
+package ar.edu.iua.TruckTeck.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+
+/**
+ * Codificación columnar comprimida de la curva de carga de una orden, al estilo Gorilla
+ * (Pelkonen et al., VLDB 2015).
+ * <p>
+ * El bloque guarda una columna tras otra: identificadores, timestamps, masa acumulada,
+ * densidad, temperatura y caudal.
+ * </p>
+ * <ul>
+ *   <li><b>Identificadores y timestamps:</b> Delta de deltas. Con un muestreo regular la mayoría
+ *       de los valores ocupa un único bit.</li>
+ *   <li><b>Valores reales con pocos decimales:</b> Si todos los valores de la columna tienen a lo
+ *       sumo {@value #MAX_DECIMALS} decimales (lo habitual en las lecturas del sistema de carga),
+ *       se escalan a enteros y se guardan con delta de deltas.</li>
+ *   <li><b>Resto de los valores reales:</b> XOR con el valor anterior, guardando sólo los bits
+ *       significativos.</li>
+ * </ul>
+ * <p>
+ * La codificación no tiene pérdida: los timestamps se guardan con precisión de microsegundos y
+ * los valores reales bit a bit. Un valor {@code null} se guarda como {@code NaN}.
+ * </p>
+ */
+public final class OrderDetailCodec {
+
+    /**
+     * Versión del formato; se guarda en el primer byte del bloque.
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAX_DECIMALS = 6;
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    private static final int[] TIME_BUCKETS = {14, 20, 32};
+
+    private static final int[] VALUE_BUCKETS = {7, 14, 32};
+
+    private OrderDetailCodec() {
+    }
+
+    /**
+     * Codifica los puntos de una orden, en el orden recibido.
+     *
+     * @param points Puntos ordenados por (timestamp, id).
+     * @return Bloque codificado.
+     */
+    public static byte[] encode(List<OrderDetailPoint> points) {
+        int n = points.size();
+        BitOutput out = new BitOutput(Math.max(64, n * 8));
+        out.write(VERSION, 8);
+        out.write(n, 32);
+
+        long[] ids = new long[n];
+        long[] times = new long[n];
+        for (int i = 0; i < n; i++) {
+            OrderDetailPoint p = points.get(i);
+            ids[i] = p.id();
+            times[i] = toMicros(p.timestamp());
+        }
+        writeDeltaOfDelta(out, ids, TIME_BUCKETS);
+        writeDeltaOfDelta(out, times, TIME_BUCKETS);
+
+        double[] values = new double[n];
+        for (int column = 0; column < 4; column++) {
+            for (int i = 0; i < n; i++) {
+                Double v = value(points.get(i), column);
+                values[i] = v == null ? Double.NaN : v;
+            }
+            int decimals = decimals(values);
+            if (decimals >= 0) {
+                long scale = POW10[decimals];
+                long[] scaled = new long[n];
+                for (int i = 0; i < n; i++) {
+                    scaled[i] = Math.round(values[i] * scale);
+                }
+                out.write(1, 1);
+                out.write(decimals, 3);
+                writeDeltaOfDelta(out, scaled, VALUE_BUCKETS);
+            } else {
+                out.write(0, 1);
+                writeXor(out, values);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodifica un bloque generado por {@link #encode(List)}.
+     *
+     * @param data Bloque codificado.
+     * @return Puntos en el orden en que fueron codificados.
+     * @throws IllegalArgumentException Si la versión del bloque no es soportada.
+     */
+    public static List<OrderDetailPoint> decode(byte[] data) {
+        BitInput in = new BitInput(data);
+        int version = (int) in.read(8);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de bloque no soportada: " + version);
+        }
+        int n = (int) in.read(32);
+
+        long[] ids = readDeltaOfDelta(in, n, TIME_BUCKETS);
+        long[] times = readDeltaOfDelta(in, n, TIME_BUCKETS);
+        double[][] columns = new double[4][];
+        for (int column = 0; column < 4; column++) {
+            if (in.read(1) != 0) {
+                double scale = POW10[(int) in.read(3)];
+                long[] scaled = readDeltaOfDelta(in, n, VALUE_BUCKETS);
+                columns[column] = new double[n];
+                for (int i = 0; i < n; i++) {
+                    columns[column][i] = scaled[i] / scale;
+                }
+            } else {
+                columns[column] = readXor(in, n);
+            }
+        }
+
+        List<OrderDetailPoint> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            points.add(new OrderDetailPoint(ids[i], fromMicros(times[i]), box(columns[0][i]),
+                    box(columns[1][i]), box(columns[2][i]), box(columns[3][i])));
+        }
+        return points;
+    }
+
+    private static Double value(OrderDetailPoint p, int column) {
+        return switch (column) {
+            case 0 -> p.accumulatedMass();
+            case 1 -> p.density();
+            case 2 -> p.temperature();
+            default -> p.caudal();
+        };
+    }
+
+    /**
+     * Menor cantidad de decimales con la que todos los valores se recuperan exactamente al
+     * escalarlos a enteros, o -1 si no existe (valores nulos, muy grandes o con más decimales).
+     */
+    private static int decimals(double[] values) {
+        for (int d = 0; d <= MAX_DECIMALS; d++) {
+            if (exactWithDecimals(values, d)) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean exactWithDecimals(double[] values, int decimals) {
+        double scale = POW10[decimals];
+        for (double v : values) {
+            if (Double.isNaN(v) || Math.abs(v) * scale >= (1L << 52)) {
+                return false;
+            }
+            long scaled = Math.round(v * scale);
+            if (Double.doubleToRawLongBits(scaled / scale) != Double.doubleToRawLongBits(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Double box(double v) {
+        return Double.isNaN(v) ? null : v;
+    }
+
+    private static long toMicros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + t.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /*
+     * Delta de deltas con tres rangos de ancho b1 < b2 < b3 bits:
+     *   '0'              -> 0
+     *   '10'   + b1 bits
+     *   '110'  + b2 bits
+     *   '1110' + b3 bits
+     *   '1111' + 64 bits
+     * Para timestamps en microsegundos (muestreo del orden del segundo con variaciones de
+     * algunos milisegundos) se usan rangos más anchos que para los valores escalados.
+     */
+    private static void writeDeltaOfDelta(BitOutput out, long[] values, int[] buckets) {
+        if (values.length == 0) {
+            return;
+        }
+        out.write(values[0], 64);
+        long previousDelta = 0;
+        for (int i = 1; i < values.length; i++) {
+            long delta = values[i] - values[i - 1];
+            long dod = delta - previousDelta;
+            previousDelta = delta;
+            if (dod == 0) {
+                out.write(0, 1);
+            } else if (fits(dod, buckets[0])) {
+                out.write(0b10, 2);
+                out.write(dod, buckets[0]);
+            } else if (fits(dod, buckets[1])) {
+                out.write(0b110, 3);
+                out.write(dod, buckets[1]);
+            } else if (fits(dod, buckets[2])) {
+                out.write(0b1110, 4);
+                out.write(dod, buckets[2]);
+            } else {
+                out.write(0b1111, 4);
+                out.write(dod, 64);
+            }
+        }
+    }
+
+    private static boolean fits(long value, int bits) {
+        return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+    }
+
+    private static long[] readDeltaOfDelta(BitInput in, int n, int[] buckets) {
+        long[] values = new long[n];
+        if (n == 0) {
+            return values;
+        }
+        values[0] = in.read(64);
+        long previousDelta = 0;
+        for (int i = 1; i < n; i++) {
+            long dod;
+            if (in.read(1) == 0) {
+                dod = 0;
+            } else if (in.read(1) == 0) {
+                dod = in.readSigned(buckets[0]);
+            } else if (in.read(1) == 0) {
+                dod = in.readSigned(buckets[1]);
+            } else if (in.read(1) == 0) {
+                dod = in.readSigned(buckets[2]);
+            } else {
+                dod = in.read(64);
+            }
+            previousDelta += dod;
+            values[i] = values[i - 1] + previousDelta;
+        }
+        return values;
+    }
+
+    /*
+     * XOR con el valor anterior:
+     *   '0'                                   -> mismo valor
+     *   '10' + bits significativos            -> entran en la ventana del valor anterior
+     *   '11' + 5 bits (ceros a la izquierda)
+     *        + 6 bits (cantidad de bits) + bits -> nueva ventana
+     */
+    private static void writeXor(BitOutput out, double[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        long previous = Double.doubleToRawLongBits(values[0]);
+        out.write(previous, 64);
+        int previousLeading = Integer.MAX_VALUE;
+        int previousTrailing = 0;
+        for (int i = 1; i < values.length; i++) {
+            long bits = Double.doubleToRawLongBits(values[i]);
+            long xor = bits ^ previous;
+            previous = bits;
+            if (xor == 0) {
+                out.write(0, 1);
+                continue;
+            }
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading != Integer.MAX_VALUE && leading >= previousLeading && trailing >= previousTrailing) {
+                out.write(0b10, 2);
+                out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                out.write(0b11, 2);
+                out.write(leading, 5);
+                out.write(significant - 1, 6);
+                out.write(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+    }
+
+    private static double[] readXor(BitInput in, int n) {
+        double[] values = new double[n];
+        if (n == 0) {
+            return values;
+        }
+        long previous = in.read(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < n; i++) {
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = (int) in.read(5);
+                    int significant = (int) in.read(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                long xor = in.read(64 - leading - trailing) << trailing;
+                previous ^= xor;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    /**
+     * Escritura de bits en un arreglo de bytes que crece a demanda.
+     */
+    private static final class BitOutput {
+
+        private byte[] buffer;
+        private long bitCount;
+
+        BitOutput(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        /**
+         * Escribe los {@code bits} bits menos significativos de {@code value}.
+         */
+        void write(long value, int bits) {
+            for (int i = bits - 1; i >= 0; i--) {
+                int index = (int) (bitCount >>> 3);
+                if (index == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                if (((value >>> i) & 1L) != 0) {
+                    buffer[index] |= (byte) (0x80 >>> (bitCount & 7));
+                }
+                bitCount++;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, (int) ((bitCount + 7) >>> 3));
+        }
+    }
+
+    /**
+     * Lectura de bits de un arreglo de bytes.
+     */
+    private static final class BitInput {
+
+        private final byte[] buffer;
+        private long position;
+
+        BitInput(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        long read(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++) {
+                int b = buffer[(int) (position >>> 3)];
+                value = (value << 1) | ((b >>> (7 - (position & 7))) & 1);
+                position++;
+            }
+            return value;
+        }
+
+        long readSigned(int bits) {
+            long value = read(bits);
+            return (value << (64 - bits)) >> (64 - bits);
+        }
+    }
+}
@@ -32,7 +32,7 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
 
 import ar.edu.iua.TruckTeck.model.Conciliation;
-import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.ConciliationView;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -109,13 +109,13 @@ public class PdfGenerationService {
     /**
      * Genera un PDF de conciliación y lo retorna como array de bytes.
      *
-     * @param order Orden finalizada.
+     * @param order Vista de conciliación de la orden finalizada.
      * @param conciliation Datos de conciliación calculados.
      * @return Array de bytes del PDF generado.
      * @throws Exception Si ocurre un error durante la generación.
      */
-    public byte[] generateConciliationPdf(Order order, Conciliation conciliation) throws Exception {
-        log.info("Iniciando generación de PDF para orden: {}", order.getNumber());
+    public byte[] generateConciliationPdf(ConciliationView order, Conciliation conciliation) throws Exception {
+        log.info("Iniciando generación de PDF para orden: {}", order.number());
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
@@ -156,12 +156,12 @@ public class PdfGenerationService {
 
             // Cerrar documento
             document.close();
-            log.info("PDF generado exitosamente para orden: {}", order.getNumber());
+            log.info("PDF generado exitosamente para orden: {}", order.number());
 
             return baos.toByteArray();
 
         } catch (Exception e) {
-            log.error("Error al generar PDF para orden: {}", order.getNumber(), e);
+            log.error("Error al generar PDF para orden: {}", order.number(), e);
             throw new Exception("Error al generar PDF: " + e.getMessage(), e);
         }
     }
@@ -169,12 +169,12 @@ public class PdfGenerationService {
     /**
      * Genera un PDF y lo guarda en un archivo.
      *
-     * @param order Orden finalizada.
+     * @param order Vista de conciliación de la orden finalizada.
      * @param conciliation Datos de conciliación.
      * @return Ruta del archivo generado.
      * @throws Exception Si ocurre un error durante la generación.
      */
-    public String generateConciliationPdfFile(Order order, Conciliation conciliation) throws Exception {
+    public String generateConciliationPdfFile(ConciliationView order, Conciliation conciliation) throws Exception {
         byte[] pdfBytes = generateConciliationPdf(order, conciliation);
 
         // Crear directorio temporal si no existe
@@ -185,7 +185,7 @@ public class PdfGenerationService {
 
         // Generar nombre único para el archivo
         String fileName = String.format("Conciliacion_%s_%s.pdf",
-                order.getNumber(),
+                order.number(),
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
 
         String filePath = tempDirectory + File.separator + fileName;
@@ -275,7 +275,7 @@ public class PdfGenerationService {
                 .setMarginBottom(20));
     }
 
-    private void addTitle(Document document, PdfFont fontBold, Order order) {
+    private void addTitle(Document document, PdfFont fontBold, ConciliationView order) {
         document.add(new Paragraph("REPORTE DE CONCILIACIÓN")
                 .setFont(fontBold)
                 .setFontSize(20)
@@ -283,14 +283,14 @@ public class PdfGenerationService {
                 .setTextAlignment(TextAlignment.CENTER)
                 .setMarginBottom(5));
 
-        document.add(new Paragraph("Orden N° " + order.getNumber())
+        document.add(new Paragraph("Orden N° " + order.number())
                 .setFont(fontBold)
                 .setFontSize(14)
                 .setTextAlignment(TextAlignment.CENTER)
                 .setMarginBottom(20));
     }
 
-    private void addOrderInfo(Document document, PdfFont fontBold, PdfFont fontRegular, Order order) {
+    private void addOrderInfo(Document document, PdfFont fontBold, PdfFont fontRegular, ConciliationView order) {
         document.add(new Paragraph("INFORMACIÓN DE LA ORDEN")
                 .setFont(fontBold)
                 .setFontSize(12)
@@ -301,16 +301,16 @@ public class PdfGenerationService {
                 .useAllAvailableWidth();
 
         // Fila 1
-        addInfoCell(infoTable, "Cliente:", order.getClient().getCompanyName(), fontBold, fontRegular);
-        addInfoCell(infoTable, "Producto:", order.getProduct().getName(), fontBold, fontRegular);
+        addInfoCell(infoTable, "Cliente:", order.clientName(), fontBold, fontRegular);
+        addInfoCell(infoTable, "Producto:", order.productName(), fontBold, fontRegular);
 
         // Fila 2
-        addInfoCell(infoTable, "Camión:", order.getTruck().getDomain(), fontBold, fontRegular);
-        addInfoCell(infoTable, "Chofer:", order.getDriver().getName() + " " + order.getDriver().getSurname(), fontBold, fontRegular);
+        addInfoCell(infoTable, "Camión:", order.truckDomain(), fontBold, fontRegular);
+        addInfoCell(infoTable, "Chofer:", order.driverName() + " " + order.driverSurname(), fontBold, fontRegular);
 
         // Fila 3
-        addInfoCell(infoTable, "Fecha Inicio:", formatDateTime(order.getStartLoading()), fontBold, fontRegular);
-        addInfoCell(infoTable, "Fecha Fin:", formatDateTime(order.getEndLoading()), fontBold, fontRegular);
+        addInfoCell(infoTable, "Fecha Inicio:", formatDateTime(order.startLoading()), fontBold, fontRegular);
+        addInfoCell(infoTable, "Fecha Fin:", formatDateTime(order.endLoading()), fontBold, fontRegular);
 
         document.add(infoTable);
         document.add(new Paragraph().setMarginBottom(15));
@@ -352,7 +352,7 @@ public class PdfGenerationService {
     }
 
     private void addLoadingData(Document document, PdfFont fontBold, PdfFont fontRegular, 
-                                Order order, Conciliation conciliation) {
+                                ConciliationView order, Conciliation conciliation) {
         document.add(new Paragraph("PARÁMETROS PROMEDIO DE CARGA")
                 .setFont(fontBold)
                 .setFontSize(12)
@@ -381,7 +381,7 @@ public class PdfGenerationService {
                    "kg/h", fontRegular, BLACK);
         
         addDataRow(loadingTable, "Preset (Objetivo)", 
-                   String.format("%.2f", order.getPreset()), 
+                   String.format("%.2f", order.preset()), 
                    "kg", fontRegular, BLACK);
 
         document.add(loadingTable);
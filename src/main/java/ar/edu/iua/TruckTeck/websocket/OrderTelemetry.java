@@ -0,0 +1,47 @@
+package ar.edu.iua.TruckTeck.websocket;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Mensaje de telemetría de carga de una orden publicado por WebSocket.
+ * <p>
+ * Contiene sólo los valores de la muestra, sin la orden ni sus relaciones (chofer, cliente,
+ * producto y camión), para que cada mensaje ocupe unas decenas de bytes.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public final class OrderTelemetry {
+
+    /**
+     * Número de la orden.
+     */
+    private final String number;
+
+    /**
+     * Momento de la muestra.
+     */
+    private final LocalDateTime timestamp;
+
+    private final Double accumulatedMass;
+
+    private final Double density;
+
+    private final Double temperature;
+
+    private final Double caudal;
+
+    /**
+     * Representación posicional para la codificación compacta.
+     *
+     * @return {@code [epochMillis, accumulatedMass, density, temperature, caudal]}
+     */
+    public Object[] toCompact() {
+        long epochMillis = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Object[] { epochMillis, accumulatedMass, density, temperature, caudal };
+    }
+}
@@ -0,0 +1,96 @@
+package ar.edu.iua.TruckTeck.websocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import ar.edu.iua.TruckTeck.model.enums.TelemetryEncoding;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publicador de la telemetría de carga en {@code /topic/detail/{number}}.
+ * <p>
+ * Las muestras no se envían al broker en el momento en que llegan: por cada tópico se guarda
+ * sólo la última muestra recibida y un proceso en segundo plano la publica a intervalos fijos.
+ * Así cada tópico recibe como máximo {@code websocket.telemetry.max-frames-per-second} mensajes
+ * por segundo, siempre con los valores más recientes, sin importar la frecuencia con la que
+ * informe el cargador.
+ * </p>
+ */
+@Component
+@Slf4j
+public class TelemetryPublisher {
+
+    /**
+     * Prefijo del tópico de telemetría de cada orden.
+     */
+    public static final String TOPIC_PREFIX = "/topic/detail/";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${websocket.telemetry.max-frames-per-second:2}")
+    private int maxFramesPerSecond;
+
+    @Value("${websocket.telemetry.encoding:JSON}")
+    private TelemetryEncoding encoding;
+
+    /**
+     * Última muestra pendiente de publicar por número de orden.
+     */
+    private final Map<String, OrderTelemetry> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        long periodMs = Math.max(1, 1000 / Math.max(1, maxFramesPerSecond));
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "telemetry-publisher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::publishPending, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        log.info("Telemetría WebSocket: máximo {} mensajes/s por orden, codificación {}", maxFramesPerSecond, encoding);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Registra la última muestra de una orden para su publicación. Si ya había una muestra
+     * pendiente para la misma orden, se reemplaza.
+     *
+     * @param telemetry Muestra a publicar.
+     */
+    public void publish(OrderTelemetry telemetry) {
+        pending.put(telemetry.getNumber(), telemetry);
+    }
+
+    private void publishPending() {
+        for (Map.Entry<String, OrderTelemetry> entry : pending.entrySet()) {
+            OrderTelemetry telemetry = entry.getValue();
+            // Sólo se quita si no llegó una muestra más nueva mientras tanto
+            if (!pending.remove(entry.getKey(), telemetry)) {
+                continue;
+            }
+            try {
+                Object payload = encoding == TelemetryEncoding.COMPACT ? telemetry.toCompact() : telemetry;
+                messagingTemplate.convertAndSend(TOPIC_PREFIX + entry.getKey(), payload);
+            } catch (Exception e) {
+                log.error("No se pudo publicar la telemetría de la orden {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- Particionado mensual de order_details (MySQL 8).
+--
+-- Se ejecuta una única vez, con la aplicación detenida, y luego se activa
+-- charging.detail.partitioning.enabled=true para que OrderDetailPartitionMaintainer cree las
+-- particiones de los meses siguientes y elimine las que queden vacías luego del resumen por minuto.
+--
+-- Restricciones de MySQL para tablas particionadas:
+--   * La columna de particionado debe formar parte de la clave primaria: la PK pasa a (id, timestamp).
+--     id sigue siendo AUTO_INCREMENT y único en la práctica.
+--   * No se admiten claves foráneas: se elimina la FK hacia orders. Con ddl-auto=update Hibernate
+--     intenta volver a crearla al iniciar y registra un aviso que puede ignorarse.
+
+-- 1. Eliminar la clave foránea hacia orders (el nombre lo genera Hibernate; consultarlo con
+--    SHOW CREATE TABLE order_details y reemplazarlo abajo).
+-- ALTER TABLE order_details DROP FOREIGN KEY FKxxxxxxxxxxxxxxxxxxxxxxxxx;
+
+-- 2. Clave primaria compuesta con la columna de particionado.
+ALTER TABLE order_details
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+-- 3. Particiones mensuales. Ajustar el primer mes al detalle más antiguo
+--    (SELECT MIN(timestamp) FROM order_details); las filas anteriores quedan en la primera partición.
+ALTER TABLE order_details
+    PARTITION BY RANGE COLUMNS (timestamp) (
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
+
+-- 4. Índices usados por las consultas por orden y por rango de tiempo (los crea Hibernate si no existen).
+-- CREATE INDEX idx_order_details_order_ts ON order_details (order_id, timestamp, id);
+-- CREATE INDEX idx_order_details_ts ON order_details (timestamp);
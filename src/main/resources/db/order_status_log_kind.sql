@@ -0,0 +1,17 @@
+-- Tipo de los registros de auditoría existentes (MySQL 8).
+--
+-- OrderStatusLog.kind distingue las transiciones de estado (TRANSITION) de las anotaciones que no
+-- cambian el estado (NOTE: alarmas, aceptación de alarmas, modificaciones y bajas). Con
+-- spring.jpa.hibernate.ddl-auto=update Hibernate agrega la columna vacía; los registros anteriores
+-- se completan una única vez con este script. Hasta entonces, las anotaciones se reconocen porque
+-- repetían el estado en from_state y to_state.
+
+-- 1. Anotaciones: sin estado anterior, como las que se registran ahora.
+UPDATE order_status_log SET kind = 'NOTE', from_state = NULL
+    WHERE kind IS NULL AND from_state = to_state;
+
+-- 2. Transiciones, incluidas las altas (sin estado anterior).
+UPDATE order_status_log SET kind = 'TRANSITION' WHERE kind IS NULL;
+
+-- 3. Verificación: debe devolver 0.
+SELECT COUNT(*) FROM order_status_log WHERE kind IS NULL;
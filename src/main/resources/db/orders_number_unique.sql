@@ -0,0 +1,39 @@
+-- Número de orden único y obligatorio (MySQL 8).
+--
+-- Order.number se declara con @Column(nullable = false) y la restricción uk_orders_number, pero con
+-- spring.jpa.hibernate.ddl-auto=update Hibernate no modifica la nulabilidad de una columna existente
+-- y, si hay números repetidos, no puede crear el índice único (sólo registra un aviso al iniciar).
+-- Se ejecuta una única vez, con la aplicación detenida, antes de desplegar la versión que consulta
+-- las órdenes por número con el índice único.
+
+-- 1. Diagnóstico: números repetidos y órdenes sin número.
+SELECT number, COUNT(*) AS orders, MIN(id) AS kept_id, GROUP_CONCAT(id ORDER BY id) AS ids
+    FROM orders
+    GROUP BY number
+    HAVING COUNT(*) > 1;
+
+SELECT id, external_code, state FROM orders WHERE number IS NULL OR TRIM(number) = '';
+
+-- 2. Resolución: la orden más antigua (menor id) conserva el número; las demás reciben el sufijo
+--    -DUP-<id>. Las órdenes sin número reciben SIN-NUMERO-<id>. Revisar el diagnóstico anterior
+--    antes de ejecutar: si los duplicados deben resolverse de otra forma, corregirlos a mano.
+UPDATE orders o
+    JOIN (SELECT number, MIN(id) AS kept_id FROM orders WHERE number IS NOT NULL GROUP BY number HAVING COUNT(*) > 1) d
+        ON o.number = d.number AND o.id <> d.kept_id
+    SET o.number = CONCAT(o.number, '-DUP-', o.id);
+
+UPDATE orders SET number = CONCAT('SIN-NUMERO-', id) WHERE number IS NULL OR TRIM(number) = '';
+
+-- 3. Verificación: ambas consultas deben devolver 0 antes de continuar.
+SELECT COUNT(*) FROM (SELECT number FROM orders GROUP BY number HAVING COUNT(*) > 1) duplicated;
+SELECT COUNT(*) FROM orders WHERE number IS NULL;
+
+-- 4. Columna obligatoria.
+ALTER TABLE orders MODIFY number VARCHAR(255) NOT NULL;
+
+-- 5. Índice único. Si Hibernate ya lo creó (la base no tenía duplicados) esta consulta devuelve 1
+--    y el ALTER se omite.
+SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'uk_orders_number';
+
+ALTER TABLE orders ADD CONSTRAINT uk_orders_number UNIQUE (number);
@@ -0,0 +1,103 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+class ChargingSampleJsonDeserializerTests {
+
+	private static final ObjectReader READER = new ObjectMapper()
+			.registerModule(new SimpleModule().addDeserializer(ChargingSample.class, new ChargingSampleJsonDeserializer()))
+			.readerFor(ChargingSample.class);
+
+	private static ChargingSample read(String json) throws Exception {
+		return READER.readValue(json);
+	}
+
+	@Test
+	void readsNumbersAndNumericStrings() throws Exception {
+		ChargingSample sample = read("{\"number\":\"ORD-1\",\"accumulatedMass\":\"15.5\",\"density\":0.85,"
+				+ "\"temperature\":20,\"caudal\":\" 3.25 \"}");
+
+		assertEquals("ORD-1", sample.getNumber());
+		assertEquals(15.5, sample.getAccumulatedMass());
+		assertEquals(0.85, sample.getDensity());
+		assertEquals(20.0, sample.getTemperature());
+		assertEquals(3.25, sample.getCaudal());
+		assertNull(sample.getTimestamp());
+	}
+
+	@Test
+	void acceptsAliases() throws Exception {
+		ChargingSample sample = read("{\"numero\":123,\"masa_acumulada\":1,\"densidad\":2,\"temperatura\":3,\"caudales\":4}");
+
+		assertEquals("123", sample.getNumber());
+		assertEquals(1.0, sample.getAccumulatedMass());
+		assertEquals(2.0, sample.getDensity());
+		assertEquals(3.0, sample.getTemperature());
+		assertEquals(4.0, sample.getCaudal());
+	}
+
+	@Test
+	void firstListedAliasWinsRegardlessOfPosition() throws Exception {
+		ChargingSample sample = read("{\"masa\":1,\"accumulatedMass\":2,\"masa_acumulada\":3,\"numero\":\"B\",\"number\":\"A\"}");
+
+		assertEquals(2.0, sample.getAccumulatedMass());
+		assertEquals("A", sample.getNumber());
+	}
+
+	@Test
+	void missingOrInvalidFieldsTakeDefaults() throws Exception {
+		ChargingSample sample = read("{\"number\":null,\"density\":\"abc\",\"temperature\":true,"
+				+ "\"caudal\":{\"value\":5},\"other\":[1,2,{\"x\":3}],\"timestamp\":\"ayer\"}");
+
+		assertNull(sample.getNumber());
+		assertEquals(ChargingSample.MISSING, sample.getAccumulatedMass());
+		assertEquals(ChargingSample.MISSING, sample.getDensity());
+		assertEquals(ChargingSample.MISSING, sample.getTemperature());
+		assertEquals(ChargingSample.MISSING, sample.getCaudal());
+		assertNull(sample.getTimestamp());
+	}
+
+	@Test
+	void invalidAliasDoesNotOverrideValidOne() throws Exception {
+		ChargingSample sample = read("{\"density\":\"x\",\"densidad\":0.9}");
+
+		assertEquals(0.9, sample.getDensity());
+	}
+
+	@Test
+	void emptyObject() throws Exception {
+		ChargingSample sample = read("{}");
+
+		assertNull(sample.getNumber());
+		assertEquals(ChargingSample.MISSING, sample.getCaudal());
+	}
+
+	@Test
+	void readsTimestamps() throws Exception {
+		assertEquals(LocalDateTime.of(2025, 10, 20, 14, 3, 5, 250_000_000),
+				read("{\"timestamp\":\"2025-10-20T14:03:05.250\"}").getTimestamp());
+
+		LocalDateTime utc = LocalDateTime.ofInstant(Instant.parse("2025-10-20T17:03:05Z"), ZoneId.systemDefault());
+		assertEquals(utc, read("{\"fecha\":\"2025-10-20T17:03:05Z\"}").getTimestamp());
+		assertEquals(utc, read("{\"fechaHora\":\"2025-10-20T14:03:05-03:00\"}").getTimestamp());
+		assertEquals(utc, read("{\"fecha_hora\":" + Instant.parse("2025-10-20T17:03:05Z").toEpochMilli() + "}").getTimestamp());
+	}
+
+	@Test
+	void rejectsNonObjects() {
+		assertThrows(MismatchedInputException.class, () -> read("[1,2]"));
+	}
+}
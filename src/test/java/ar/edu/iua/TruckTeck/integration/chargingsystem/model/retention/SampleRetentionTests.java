@@ -0,0 +1,242 @@
+package ar.edu.iua.TruckTeck.integration.chargingsystem.model.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+
+class SampleRetentionTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 10, 20, 8, 0);
+
+	private static final RetentionDeltas DELTAS = new RetentionDeltas(0.5, 0.005, 0.5);
+
+	private static final long HEARTBEAT = 60;
+
+	private static final double EPSILON = 1e-9;
+
+	private static OrderDetail sample(double seconds, double temperature, double density, double caudal) {
+		OrderDetail detail = new OrderDetail();
+		detail.setTimestamp(START.plusNanos(Math.round(seconds * 1e9)));
+		detail.setAccumulatedMass(0.0);
+		detail.setTemperature(temperature);
+		detail.setDensity(density);
+		detail.setCaudal(caudal);
+		return detail;
+	}
+
+	private static OrderDetail temperature(double seconds, double temperature) {
+		return sample(seconds, temperature, 0.85, 10.0);
+	}
+
+	/**
+	 * Ofrece las muestras en orden y devuelve las guardadas, incluida la de {@code finish()}.
+	 */
+	private static List<OrderDetail> retain(SampleRetention retention, List<OrderDetail> samples) {
+		List<OrderDetail> stored = new ArrayList<>();
+		for (OrderDetail sample : samples) {
+			stored.addAll(retention.offer(sample));
+		}
+		OrderDetail last = retention.finish();
+		if (last != null) {
+			stored.add(last);
+		}
+		return stored;
+	}
+
+	private static double[] values(OrderDetail sample) {
+		return new double[] { sample.getTemperature(), sample.getDensity(), sample.getCaudal() };
+	}
+
+	private static double[] deviation() {
+		return new double[] { DELTAS.getTemperature(), DELTAS.getDensity(), DELTAS.getCaudal() };
+	}
+
+	private static double seconds(OrderDetail from, OrderDetail to) {
+		return Duration.between(from.getTimestamp(), to.getTimestamp()).toNanos() / 1e9;
+	}
+
+	/**
+	 * Verifica la cota documentada de SWINGING_DOOR: cada muestra descartada está a lo sumo δ de la
+	 * interpolación lineal entre las muestras guardadas que la rodean (o de la anterior, si ambas
+	 * tienen el mismo timestamp).
+	 */
+	private static void assertInterpolationBound(List<OrderDetail> samples, List<OrderDetail> stored) {
+		Map<OrderDetail, Boolean> kept = new IdentityHashMap<>();
+		stored.forEach(s -> kept.put(s, true));
+		assertSame(samples.get(0), stored.get(0));
+		assertSame(samples.get(samples.size() - 1), stored.get(stored.size() - 1));
+
+		OrderDetail previous = samples.get(0);
+		for (int i = 1; i < samples.size(); i++) {
+			OrderDetail sample = samples.get(i);
+			if (kept.containsKey(sample)) {
+				previous = sample;
+				continue;
+			}
+			OrderDetail next = null;
+			for (int j = i + 1; next == null; j++) {
+				if (kept.containsKey(samples.get(j))) {
+					next = samples.get(j);
+				}
+			}
+			double span = seconds(previous, next);
+			double fraction = span > 0 ? seconds(previous, sample) / span : 0;
+			double[] a = values(previous);
+			double[] b = values(next);
+			double[] v = values(sample);
+			double[] delta = deviation();
+			for (int k = 0; k < v.length; k++) {
+				double interpolated = a[k] + (b[k] - a[k]) * fraction;
+				assertTrue(Math.abs(v[k] - interpolated) <= delta[k] + EPSILON,
+						"Muestra " + i + " a " + Math.abs(v[k] - interpolated) + " de la recta (δ=" + delta[k] + ")");
+			}
+		}
+	}
+
+	/**
+	 * Serie aleatoria de temperatura, densidad y caudal con saltos y timestamps repetidos.
+	 */
+	private static List<OrderDetail> randomWalk(long seed, int size) {
+		Random random = new Random(seed);
+		List<OrderDetail> samples = new ArrayList<>(size);
+		double t = 0, temperature = 20, density = 0.85, caudal = 10;
+		for (int i = 0; i < size; i++) {
+			samples.add(sample(t, temperature, density, caudal));
+			t += random.nextInt(5) == 0 ? 0 : random.nextDouble() * 3;
+			temperature += random.nextGaussian() * (random.nextInt(20) == 0 ? 3 : 0.3);
+			density += random.nextGaussian() * 0.002;
+			caudal += random.nextGaussian() * 0.4;
+		}
+		return samples;
+	}
+
+	@Test
+	void swingingDoorDoesNotArchivePointOutsideDoor() {
+		// δ=1, pivote (0,0), luego (1,0) y (2,3): la recta (0,0)-(2,3) vale 1.5 en t=1
+		List<OrderDetail> samples = List.of(temperature(0, 0), temperature(1, 0), temperature(2, 3));
+		List<OrderDetail> stored = retain(new SwingingDoorRetention(new RetentionDeltas(1, 1, 1), HEARTBEAT), samples);
+
+		assertEquals(samples, stored);
+	}
+
+	@Test
+	void swingingDoorDiscardsPointsOnTheLine() {
+		List<OrderDetail> samples = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			samples.add(temperature(i, 20 + 0.1 * i));
+		}
+		List<OrderDetail> stored = retain(new SwingingDoorRetention(DELTAS, HEARTBEAT), samples);
+
+		assertEquals(List.of(samples.get(0), samples.get(29)), stored);
+	}
+
+	@Test
+	void swingingDoorKeepsSamplesWithSameTimestampAndDifferentValue() {
+		List<OrderDetail> samples = List.of(temperature(0, 20), temperature(0, 25), temperature(0, 20.2),
+				temperature(1, 25), temperature(1, 25.1), temperature(2, 25));
+		List<OrderDetail> stored = retain(new SwingingDoorRetention(DELTAS, HEARTBEAT), samples);
+
+		assertTrue(stored.contains(samples.get(1)));
+		assertInterpolationBound(samples, stored);
+	}
+
+	@Test
+	void swingingDoorStoresOnHeartbeat() {
+		List<OrderDetail> samples = new ArrayList<>();
+		for (int i = 0; i <= 150; i++) {
+			samples.add(temperature(i, 20));
+		}
+		List<OrderDetail> stored = retain(new SwingingDoorRetention(DELTAS, HEARTBEAT), samples);
+
+		for (int i = 1; i < stored.size(); i++) {
+			assertTrue(seconds(stored.get(i - 1), stored.get(i)) <= HEARTBEAT);
+		}
+		assertInterpolationBound(samples, stored);
+	}
+
+	@Test
+	void swingingDoorBoundHoldsOnRandomSeries() {
+		for (long seed = 1; seed <= 200; seed++) {
+			List<OrderDetail> samples = randomWalk(seed, 500);
+			List<OrderDetail> stored = retain(new SwingingDoorRetention(DELTAS, HEARTBEAT), samples);
+
+			assertTrue(stored.size() < samples.size());
+			assertInterpolationBound(samples, stored);
+		}
+	}
+
+	@Test
+	void deadbandBoundHoldsOnRandomSeries() {
+		double[] delta = deviation();
+		for (long seed = 1; seed <= 200; seed++) {
+			List<OrderDetail> samples = randomWalk(seed, 500);
+			SampleRetention retention = new DeadbandRetention(DELTAS, HEARTBEAT);
+
+			OrderDetail lastStored = null;
+			for (OrderDetail sample : samples) {
+				List<OrderDetail> stored = retention.offer(sample);
+				if (stored.isEmpty()) {
+					double[] reference = values(lastStored);
+					double[] v = values(sample);
+					for (int k = 0; k < v.length; k++) {
+						assertTrue(Math.abs(v[k] - reference[k]) <= delta[k] + EPSILON);
+					}
+					assertTrue(seconds(lastStored, sample) < HEARTBEAT);
+				} else {
+					assertEquals(List.of(sample), stored);
+					lastStored = sample;
+				}
+			}
+			OrderDetail last = retention.finish();
+			if (last != null) {
+				assertSame(samples.get(samples.size() - 1), last);
+			} else {
+				assertSame(samples.get(samples.size() - 1), lastStored);
+			}
+		}
+	}
+
+	@Test
+	void fixedIntervalStoresOneSamplePerInterval() {
+		long interval = 10;
+		List<OrderDetail> samples = randomWalk(7, 1000);
+		List<OrderDetail> stored = retain(new FixedIntervalRetention(interval, null), samples);
+
+		assertSame(samples.get(0), stored.get(0));
+		for (int i = 1; i < stored.size(); i++) {
+			assertTrue(seconds(stored.get(i - 1), stored.get(i)) >= interval);
+		}
+		// Ninguna muestra descartada está a un intervalo o más de la última guardada
+		int next = 0;
+		OrderDetail lastStored = null;
+		for (OrderDetail sample : samples) {
+			if (next < stored.size() && stored.get(next) == sample) {
+				lastStored = sample;
+				next++;
+			} else {
+				assertTrue(Duration.between(lastStored.getTimestamp(), sample.getTimestamp()).getSeconds() < interval);
+			}
+		}
+		assertEquals(stored.size(), next);
+	}
+
+	@Test
+	void fixedIntervalContinuesFromLastStoredTimestamp() {
+		SampleRetention retention = new FixedIntervalRetention(10, START);
+
+		assertTrue(retention.offer(temperature(9.5, 20)).isEmpty());
+		assertEquals(1, retention.offer(temperature(10, 20)).size());
+	}
+}
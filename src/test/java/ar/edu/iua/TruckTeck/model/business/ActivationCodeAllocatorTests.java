@@ -0,0 +1,116 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+
+class ActivationCodeAllocatorTests {
+
+	private static final int THREADS = 32;
+
+	private static final int WEIGHINGS = 5_000;
+
+	@Test
+	void concurrentWeighingsGetDistinctCodes() throws Exception {
+		ActivationCodeAllocator allocator = new ActivationCodeAllocator();
+		Set<String> codes = ConcurrentHashMap.newKeySet();
+
+		runConcurrently(WEIGHINGS, () -> {
+			String code = allocator.allocate();
+			assertEquals(5, code.length());
+			assertTrue(codes.add(code), "Código repetido: " + code);
+		});
+
+		assertEquals(WEIGHINGS, codes.size());
+		assertEquals(WEIGHINGS, allocator.inUse());
+	}
+
+	@Test
+	void concurrentAllocateAndReleaseNeverShareACode() throws Exception {
+		ActivationCodeAllocator allocator = new ActivationCodeAllocator();
+		Set<String> held = ConcurrentHashMap.newKeySet();
+
+		runConcurrently(WEIGHINGS * 4, () -> {
+			String code = allocator.allocate();
+			assertTrue(held.add(code), "Código asignado a dos órdenes en curso: " + code);
+			held.remove(code);
+			assertTrue(allocator.release(code));
+		});
+
+		assertEquals(0, allocator.inUse());
+	}
+
+	@Test
+	void resetKeepsCodesOfOrdersInProgress() throws Exception {
+		ActivationCodeAllocator allocator = new ActivationCodeAllocator();
+		allocator.reset(List.of("00042", "00042", "99999", "abcde", "123"));
+
+		assertEquals(2, allocator.inUse());
+		assertTrue(allocator.isInUse("00042"));
+		assertTrue(allocator.isInUse("99999"));
+
+		Set<String> codes = new HashSet<>();
+		for (int i = 0; i < ActivationCodeAllocator.CODES - 2; i++) {
+			assertTrue(codes.add(allocator.allocate()));
+		}
+		assertFalse(codes.contains("00042"));
+		assertFalse(codes.contains("99999"));
+		assertThrows(BusinessException.class, allocator::allocate);
+	}
+
+	@Test
+	void reserveAndReleaseAreIdempotent() throws Exception {
+		ActivationCodeAllocator allocator = new ActivationCodeAllocator();
+
+		assertTrue(allocator.reserve("12345"));
+		assertFalse(allocator.reserve("12345"));
+		assertTrue(allocator.release("12345"));
+		assertFalse(allocator.release("12345"));
+		assertFalse(allocator.release(null));
+		assertEquals(0, allocator.inUse());
+	}
+
+	private interface Weighing {
+		void run() throws Exception;
+	}
+
+	/**
+	 * Ejecuta las tareas en paralelo, liberándolas a la vez, y propaga el primer error.
+	 */
+	private static void runConcurrently(int tasks, Weighing weighing) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>(tasks);
+			for (int i = 0; i < tasks; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					weighing.run();
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+class OrderAuditTrailTests {
+
+	@TempDir
+	Path dir;
+
+	private OrderAuditTrail auditTrail;
+
+	@AfterEach
+	void stop() {
+		auditTrail.stop();
+	}
+
+	/**
+	 * Auditoría con un buffer de una entrada y la base de datos caída. El intervalo de volcado es
+	 * largo para que sólo se vuelque cuando la prueba lo pide.
+	 */
+	private OrderAuditTrail databaseDown() throws Exception {
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doThrow(new CannotGetJdbcConnectionException("Base de datos no disponible"))
+				.when(transactionTemplate).executeWithoutResult(any());
+		auditTrail = new OrderAuditTrail();
+		ReflectionTestUtils.setField(auditTrail, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(auditTrail, "capacity", 1);
+		ReflectionTestUtils.setField(auditTrail, "batchSize", 10);
+		ReflectionTestUtils.setField(auditTrail, "flushIntervalMs", 3_600_000L);
+		ReflectionTestUtils.setField(auditTrail, "spillPath", dir.resolve("audit.jsonl").toString());
+		auditTrail.start();
+		// Espera la primera ejecución (reproceso al iniciar) para que no vacíe el buffer durante la prueba
+		ReflectionTestUtils.invokeMethod(auditTrail, "drain");
+		return auditTrail;
+	}
+
+	@Test
+	void fullBufferDoesNotWriteOnTheCallerThread() throws Exception {
+		OrderAuditTrail auditTrail = databaseDown();
+		Object drainLock = ReflectionTestUtils.getField(auditTrail, "drainLock");
+
+		// Con el escritor detenido, el desborde no puede llegar al archivo desde el hilo que registra
+		synchronized (drainLock) {
+			auditTrail.note(1, OrderState.PENDING, "operador", "Orden modificada");
+			auditTrail.note(1, OrderState.TARA_REGISTERED, "SISTEMA_CARGA", "Alarma de temperatura");
+			assertFalse(Files.exists(dir.resolve("audit.jsonl")));
+			assertEquals(2, auditTrail.pending(1).size());
+		}
+	}
+
+	@Test
+	void spilledEntriesArePending() throws Exception {
+		OrderAuditTrail auditTrail = databaseDown();
+		auditTrail.note(1, OrderState.PENDING, "operador", "Orden modificada");
+		auditTrail.note(2, OrderState.PENDING, "operador", "Orden modificada");
+		auditTrail.note(1, OrderState.TARA_REGISTERED, "SISTEMA_CARGA", "Alarma de temperatura");
+
+		ReflectionTestUtils.invokeMethod(auditTrail, "drain");
+
+		List<OrderStatusLog> pending = auditTrail.pending(1);
+		assertEquals(2, pending.size());
+		assertEquals(OrderState.PENDING, pending.get(0).getToState());
+		assertEquals(OrderState.TARA_REGISTERED, pending.get(1).getToState());
+		assertEquals(OrderLogKind.NOTE, pending.get(1).getKind());
+		assertNull(pending.get(1).getFromState());
+		assertEquals(1, auditTrail.pending(2).size());
+	}
+
+	@Test
+	void spillFilesWithoutKindAreRead() throws Exception {
+		OrderAuditTrail auditTrail = databaseDown();
+		Files.writeString(dir.resolve("audit.jsonl"),
+				"{\"orderId\":1,\"fromState\":\"PENDING\",\"toState\":\"TARA_REGISTERED\",\"timestamp\":\"2025-10-20T14:00:00\",\"actor\":\"TMS\"}\n"
+				+ "{\"orderId\":1,\"fromState\":\"LOADING\",\"toState\":\"LOADING\",\"timestamp\":\"2025-10-20T15:00:00\",\"actor\":\"SISTEMA_CARGA\"}\n");
+
+		List<OrderStatusLog> pending = auditTrail.pending(1);
+
+		assertEquals(OrderLogKind.TRANSITION, pending.get(0).getKind());
+		assertEquals(OrderState.PENDING, pending.get(0).getFromState());
+		assertEquals(OrderLogKind.NOTE, pending.get(1).getKind());
+		assertNull(pending.get(1).getFromState());
+	}
+}
@@ -0,0 +1,125 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.business.exceptions.FoundException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderStatusLogRepository;
+
+/**
+ * El alta de una orden verifica la existencia con una única consulta ({@code existsByNumber}),
+ * sin cargar la orden ni usar excepciones para decidir, y los datos maestros existentes se
+ * resuelven sin volver a crearlos.
+ */
+class OrderBusinessTests {
+
+	private final OrderRepository orderDAO = mock(OrderRepository.class);
+
+	private final OrderStatusLogRepository statusLogDAO = mock(OrderStatusLogRepository.class);
+
+	private final IClientBusiness clientBusiness = mock(IClientBusiness.class);
+
+	private final IDriverBusiness driverBusiness = mock(IDriverBusiness.class);
+
+	private final IProductBusiness productBusiness = mock(IProductBusiness.class);
+
+	private final ITruckBusiness truckBusiness = mock(ITruckBusiness.class);
+
+	private OrderBusiness business;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		business = new OrderBusiness();
+		ReflectionTestUtils.setField(business, "orderDAO", orderDAO);
+		ReflectionTestUtils.setField(business, "statusLogDAO", statusLogDAO);
+		ReflectionTestUtils.setField(business, "clientBusiness", clientBusiness);
+		ReflectionTestUtils.setField(business, "driverBusiness", driverBusiness);
+		ReflectionTestUtils.setField(business, "productBusiness", productBusiness);
+		ReflectionTestUtils.setField(business, "truckBusiness", truckBusiness);
+		ReflectionTestUtils.setField(business, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+		when(clientBusiness.find(anyString())).thenReturn(Optional.of(new Client()));
+		when(driverBusiness.find(anyString())).thenReturn(Optional.of(new Driver()));
+		when(productBusiness.find(anyString())).thenReturn(Optional.of(new Product()));
+		when(truckBusiness.find(anyString())).thenReturn(Optional.of(new Truck()));
+		when(orderDAO.save(any(Order.class))).thenAnswer(invocation -> {
+			Order order = invocation.getArgument(0);
+			order.setId(10);
+			return order;
+		});
+	}
+
+	private static Order order(String number) {
+		Client client = new Client();
+		client.setCompanyName("Cliente");
+		Driver driver = new Driver();
+		driver.setDocumentNumber("30111222");
+		Product product = new Product();
+		product.setName("Producto");
+		Truck truck = new Truck();
+		truck.setDomain("AA123BB");
+		Order order = new Order();
+		order.setNumber(number);
+		order.setState(OrderState.PENDING);
+		order.setClient(client);
+		order.setDriver(driver);
+		order.setProduct(product);
+		order.setTruck(truck);
+		return order;
+	}
+
+	@Test
+	void newOrderIsCheckedWithOneExistenceQuery() throws Exception {
+		when(orderDAO.existsByNumber("ORD-1")).thenReturn(false);
+
+		Order saved = business.add(order("ORD-1"));
+
+		assertEquals(10, saved.getId());
+		verify(orderDAO, times(1)).existsByNumber("ORD-1");
+		verify(orderDAO).save(saved);
+		verifyNoMoreInteractions(orderDAO);
+		verify(statusLogDAO).save(any(OrderStatusLog.class));
+		verify(clientBusiness, never()).add(any());
+		verify(driverBusiness, never()).add(any());
+		verify(productBusiness, never()).add(any());
+		verify(truckBusiness, never()).add(any());
+	}
+
+	@Test
+	void existingOrderIsRejectedWithoutLoadingIt() throws Exception {
+		when(orderDAO.existsByNumber("ORD-1")).thenReturn(true);
+
+		FoundException e = assertThrows(FoundException.class, () -> business.add(order("ORD-1")));
+
+		// Resultado de negocio esperado: sin traza de pila
+		assertEquals(0, e.getStackTrace().length);
+		verify(orderDAO, times(1)).existsByNumber("ORD-1");
+		verifyNoMoreInteractions(orderDAO);
+		verify(statusLogDAO, never()).save(any());
+	}
+}
@@ -0,0 +1,308 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.OrderDetailMinute;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.persistence.H2StreamingSupport;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailMinuteRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderDetailRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("h2")
+@Import(H2StreamingSupport.class)
+class OrderDetailRollupBusinessTests {
+
+	private static final double EPSILON = 1e-9;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private OrderDetailRepository detailDAO;
+
+	@Autowired
+	private OrderDetailMinuteRepository minuteDAO;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final IOrderLoadingStatsBusiness loadingStatsBusiness = mock(IOrderLoadingStatsBusiness.class);
+
+	private OrderDetailRollupBusiness rollup;
+
+	/**
+	 * Inicio de la primera hora a resumir (más antigua que el límite de retención).
+	 */
+	private final LocalDateTime old = LocalDateTime.now().minusDays(100).truncatedTo(ChronoUnit.HOURS);
+
+	@BeforeEach
+	void setUp() {
+		rollup = new OrderDetailRollupBusiness();
+		ReflectionTestUtils.setField(rollup, "detailDAO", detailDAO);
+		ReflectionTestUtils.setField(rollup, "minuteDAO", minuteDAO);
+		ReflectionTestUtils.setField(rollup, "loadingStatsBusiness", loadingStatsBusiness);
+		ReflectionTestUtils.setField(rollup, "partitionMaintainer", mock(OrderDetailPartitionMaintainer.class));
+		ReflectionTestUtils.setField(rollup, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(rollup, "minAgeDays", 90L);
+		ReflectionTestUtils.setField(rollup, "maxSlicesPerRun", 24);
+	}
+
+	private Order order(String number) {
+		Client client = new Client();
+		client.setCompanyName("Cliente " + number);
+		Driver driver = new Driver();
+		driver.setName("Chofer " + number);
+		Product product = new Product();
+		product.setName("Producto " + number);
+		Truck truck = new Truck();
+		truck.setDomain("AA" + number);
+		Order order = new Order();
+		order.setNumber(number);
+		order.setClient(em.persist(client));
+		order.setDriver(em.persist(driver));
+		order.setProduct(em.persist(product));
+		order.setTruck(em.persist(truck));
+		return em.persist(order);
+	}
+
+	private OrderDetail detail(Order order, LocalDateTime timestamp, double mass, double density, double temperature, double caudal) {
+		OrderDetail detail = new OrderDetail();
+		detail.setOrder(order);
+		detail.setTimestamp(timestamp);
+		detail.setAccumulatedMass(mass);
+		detail.setDensity(density);
+		detail.setTemperature(temperature);
+		detail.setCaudal(caudal);
+		return em.persist(detail);
+	}
+
+	private List<OrderDetail> load(Order order, LocalDateTime from, int count, double temperatureBase) {
+		List<OrderDetail> details = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			// Cada 7 segundos: varias muestras por minuto y minutos que cruzan el límite de la hora
+			details.add(detail(order, from.plusSeconds(7L * i), 10.0 * (i + 1), 0.80 + i % 5 / 100.0,
+					temperatureBase + i % 11, 5.0 + i % 3));
+		}
+		return details;
+	}
+
+	/**
+	 * Resumen esperado de un minuto, calculado directamente desde los detalles.
+	 */
+	private static void assertSummary(List<OrderDetail> details, OrderDetailMinute summary) {
+		List<OrderDetail> minute = details.stream()
+				.filter(d -> d.getTimestamp().truncatedTo(ChronoUnit.MINUTES).equals(summary.getMinute()))
+				.toList();
+		assertEquals(minute.size(), summary.getSamples());
+		assertEquals(minute.get(minute.size() - 1).getAccumulatedMass(), summary.getAccumulatedMass(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getTemperature).average().getAsDouble(), summary.getTemperatureAvg(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getTemperature).min().getAsDouble(), summary.getTemperatureMin(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getTemperature).max().getAsDouble(), summary.getTemperatureMax(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getDensity).average().getAsDouble(), summary.getDensityAvg(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getDensity).min().getAsDouble(), summary.getDensityMin(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getDensity).max().getAsDouble(), summary.getDensityMax(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getCaudal).average().getAsDouble(), summary.getCaudalAvg(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getCaudal).min().getAsDouble(), summary.getCaudalMin(), EPSILON);
+		assertEquals(minute.stream().mapToDouble(OrderDetail::getCaudal).max().getAsDouble(), summary.getCaudalMax(), EPSILON);
+	}
+
+	@Test
+	void summariesMatchInputAndRawRowsAreDeleted() throws Exception {
+		Order first = order("ROLL-1");
+		Order second = order("ROLL-2");
+		// 700 muestras cada 7 s: más de una hora, desde la mitad de la primera
+		List<OrderDetail> firstDetails = load(first, old.plusMinutes(30), 700, 20);
+		List<OrderDetail> secondDetails = load(second, old.plusMinutes(45), 50, 30);
+		// Detalles recientes: no se resumen
+		OrderDetail recent = detail(first, LocalDateTime.now().minusDays(1), 1, 0.8, 20, 5);
+		em.flush();
+		em.clear();
+
+		long rolled = rollup.rollup();
+
+		assertEquals(firstDetails.size() + secondDetails.size(), rolled);
+		assertEquals(List.of(recent.getId()), detailDAO.findAll().stream().map(OrderDetail::getId).toList());
+		verify(loadingStatsBusiness).rebuildMissing();
+
+		List<OrderDetailMinute> firstMinutes = minuteDAO.findByOrderIdOrderByMinuteAsc(first.getId());
+		List<OrderDetailMinute> secondMinutes = minuteDAO.findByOrderIdOrderByMinuteAsc(second.getId());
+		assertEquals(firstDetails.stream().map(d -> d.getTimestamp().truncatedTo(ChronoUnit.MINUTES)).distinct().count(), firstMinutes.size());
+		assertEquals(secondDetails.stream().map(d -> d.getTimestamp().truncatedTo(ChronoUnit.MINUTES)).distinct().count(), secondMinutes.size());
+		for (OrderDetailMinute summary : firstMinutes) {
+			assertSummary(firstDetails, summary);
+		}
+		for (OrderDetailMinute summary : secondMinutes) {
+			assertSummary(secondDetails, summary);
+		}
+	}
+
+	@Test
+	void mergesWithExistingMinute() throws Exception {
+		Order order = order("ROLL-3");
+		LocalDateTime minute = old.plusMinutes(10);
+		// Resumen previo del mismo minuto (por ejemplo, detalles insertados tarde)
+		OrderDetailMinute existing = new OrderDetailMinute(order.getId(), minute);
+		existing.setSamples(2);
+		existing.setAccumulatedMass(500.0);
+		existing.setTemperatureAvg(10.0);
+		existing.setTemperatureMin(9.0);
+		existing.setTemperatureMax(11.0);
+		existing.setDensityAvg(0.7);
+		existing.setDensityMin(0.69);
+		existing.setDensityMax(0.71);
+		existing.setCaudalAvg(4.0);
+		existing.setCaudalMin(3.0);
+		existing.setCaudalMax(5.0);
+		em.persist(existing);
+		detail(order, minute.plusSeconds(5), 600, 0.8, 20, 6);
+		detail(order, minute.plusSeconds(20), 610, 0.9, 30, 7);
+		detail(order, minute.plusSeconds(59), 620, 0.6, 40, 2);
+		em.flush();
+		em.clear();
+
+		assertEquals(3, rollup.rollup());
+
+		List<OrderDetailMinute> minutes = minuteDAO.findByOrderIdOrderByMinuteAsc(order.getId());
+		assertEquals(1, minutes.size());
+		OrderDetailMinute merged = minutes.get(0);
+		assertEquals(5, merged.getSamples());
+		assertEquals(620.0, merged.getAccumulatedMass(), EPSILON);
+		assertEquals((2 * 10.0 + 20 + 30 + 40) / 5, merged.getTemperatureAvg(), EPSILON);
+		assertEquals(9.0, merged.getTemperatureMin(), EPSILON);
+		assertEquals(40.0, merged.getTemperatureMax(), EPSILON);
+		assertEquals((2 * 0.7 + 0.8 + 0.9 + 0.6) / 5, merged.getDensityAvg(), EPSILON);
+		assertEquals(0.6, merged.getDensityMin(), EPSILON);
+		assertEquals(0.9, merged.getDensityMax(), EPSILON);
+		assertEquals((2 * 4.0 + 6 + 7 + 2) / 5, merged.getCaudalAvg(), EPSILON);
+		assertEquals(2.0, merged.getCaudalMin(), EPSILON);
+		assertEquals(7.0, merged.getCaudalMax(), EPSILON);
+		assertEquals(0, detailDAO.count());
+	}
+
+	@Test
+	void nothingToRollUp() throws Exception {
+		Order order = order("ROLL-4");
+		detail(order, LocalDateTime.now(), 1, 0.8, 20, 5);
+		em.flush();
+
+		assertEquals(0, rollup.rollup());
+		assertEquals(1, detailDAO.count());
+		assertTrue(minuteDAO.findAll().isEmpty());
+	}
+
+	/**
+	 * Carga {@code count} detalles de una orden confirmados (fuera de la transacción de la prueba)
+	 * con un lote JDBC (la conexión no confirma automáticamente), cada {@code stepMillis} milisegundos desde {@code from}.
+	 */
+	private long loadCommitted(String number, LocalDateTime from, int count, long stepMillis) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		Order order = transactionTemplate.execute(status -> order(number));
+		List<Object[]> rows = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			rows.add(new Object[] { order.getId(), Timestamp.valueOf(from.plusNanos(stepMillis * 1_000_000 * i)),
+					10.0 * (i + 1), 0.8, 20.0 + i % 11, 5.0 });
+		}
+		transactionTemplate.executeWithoutResult(status -> new JdbcTemplate(dataSource).batchUpdate("INSERT INTO order_details "
+				+ "(order_id, timestamp, accumulated_mass, density, temperature, caudal) VALUES (?, ?, ?, ?, ?, ?)", rows));
+		return order.getId();
+	}
+
+	private void deleteCommitted() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbcTemplate.update("DELETE FROM order_details");
+			jdbcTemplate.update("DELETE FROM order_detail_minutes");
+		});
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void eachRunRollsUpAtMostMaxSlices() throws Exception {
+		ReflectionTestUtils.setField(rollup, "maxSlicesPerRun", 2);
+		try {
+			// Tres horas completas, una muestra por segundo
+			loadCommitted("ROLL-5", old, 3 * 3600, 1000);
+
+			assertEquals(2 * 3600, rollup.rollup());
+			assertEquals(3600, detailDAO.count());
+			assertEquals(2 * 60, minuteDAO.count());
+
+			assertEquals(3600, rollup.rollup());
+			assertEquals(0, detailDAO.count());
+			assertEquals(3 * 60, minuteDAO.count());
+		} finally {
+			deleteCommitted();
+		}
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void largeSliceIsRolledBackWhenDeleteCountDiffers() throws Exception {
+		int rows = 36_000;
+		try {
+			// Una hora con 10 muestras por segundo
+			long orderId = loadCommitted("ROLL-6", old, rows, 100);
+			// Un detalle insertado tarde en la hora que se está resumiendo, entre la lectura y la baja
+			OrderDetailRepository racingDAO = mock(OrderDetailRepository.class, AdditionalAnswers.delegatesTo(detailDAO));
+			doAnswer(invocation -> {
+				new JdbcTemplate(dataSource).update("INSERT INTO order_details "
+						+ "(order_id, timestamp, accumulated_mass, density, temperature, caudal) VALUES (?, ?, 1, 0.8, 20, 5)",
+						orderId, Timestamp.valueOf(old.plusMinutes(59).plusSeconds(59).plusNanos(999_000_000)));
+				return detailDAO.deleteInterval(invocation.getArgument(0), invocation.getArgument(1));
+			}).when(racingDAO).deleteInterval(any(), any());
+			ReflectionTestUtils.setField(rollup, "detailDAO", racingDAO);
+
+			BusinessException e = assertThrows(BusinessException.class, rollup::rollup);
+
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+			// Ni resúmenes ni bajas: la hora completa se vuelve a procesar en la próxima ejecución
+			assertEquals(0, minuteDAO.count());
+			assertEquals(rows, detailDAO.count());
+		} finally {
+			deleteCommitted();
+		}
+	}
+}
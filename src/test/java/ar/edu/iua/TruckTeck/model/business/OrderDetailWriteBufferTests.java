@@ -0,0 +1,137 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.business.OrderDetailWriteBuffer.DeadLetterStats;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.DetailWriteMode;
+
+class OrderDetailWriteBufferTests {
+
+	private static final DataIntegrityViolationException REJECTED = new DataIntegrityViolationException("FK order_id");
+
+	@TempDir
+	Path dir;
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+	private OrderDetailWriteBuffer buffer;
+
+	@AfterEach
+	void stop() {
+		buffer.stop();
+	}
+
+	/**
+	 * Buffer en modo WRITE_BEHIND sin volcados periódicos: los volcados se hacen desde el test.
+	 */
+	private OrderDetailWriteBuffer buffer() throws Exception {
+		buffer = new OrderDetailWriteBuffer();
+		ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(buffer, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(buffer, "writeMode", DetailWriteMode.WRITE_BEHIND);
+		ReflectionTestUtils.setField(buffer, "capacity", 100);
+		ReflectionTestUtils.setField(buffer, "batchSize", 10);
+		ReflectionTestUtils.setField(buffer, "flushIntervalMs", 3_600_000L);
+		ReflectionTestUtils.setField(buffer, "deadLetterPath", dir.resolve("dead-letter.jsonl").toString());
+		buffer.start();
+		return buffer;
+	}
+
+	private static OrderDetail detail(long orderId, double mass) {
+		Order order = new Order();
+		order.setId(orderId);
+		OrderDetail detail = new OrderDetail();
+		detail.setOrder(order);
+		detail.setTimestamp(LocalDateTime.of(2025, 10, 20, 14, 0));
+		detail.setAccumulatedMass(mass);
+		detail.setDensity(0.85);
+		detail.setTemperature(20.0);
+		detail.setCaudal(3.0);
+		return detail;
+	}
+
+	private List<String> deadLetterLines() throws Exception {
+		return Files.readAllLines(dir.resolve("dead-letter.jsonl"), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void rejectedDetailIsCountedAndReplayed() throws Exception {
+		buffer();
+		when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenThrow(REJECTED);
+		buffer.enqueue(detail(7, 15.5));
+		buffer.flush();
+
+		DeadLetterStats stats = buffer.deadLetterStats();
+		assertEquals(1, stats.deadLettered());
+		assertEquals(1, stats.pending());
+		assertEquals(dir.resolve("dead-letter.jsonl").toAbsolutePath().toString(), stats.file());
+		assertTrue(deadLetterLines().get(0).contains("FK order_id"));
+
+		ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+		when(jdbcTemplate.batchUpdate(anyString(), setter.capture())).thenReturn(new int[] {1});
+		stats = buffer.replayDeadLetters();
+
+		assertEquals(1, stats.replayed());
+		assertEquals(0, stats.pending());
+		assertTrue(deadLetterLines().isEmpty());
+		PreparedStatement ps = mock(PreparedStatement.class);
+		setter.getValue().setValues(ps, 0);
+		verify(ps).setLong(1, 7L);
+		verify(ps).setDouble(3, 15.5);
+	}
+
+	@Test
+	void replayKeepsRejectedDetailsAndStopsWhenDatabaseIsDown() throws Exception {
+		buffer();
+		when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenThrow(REJECTED);
+		for (int i = 1; i <= 4; i++) {
+			buffer.enqueue(detail(i, i));
+		}
+		buffer.flush();
+		assertEquals(4, buffer.deadLetterStats().pending());
+
+		// 1: persistido, 2: rechazado otra vez, 3: base de datos caída, 4: sin reintentar
+		when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+				.thenReturn(new int[] {1})
+				.thenThrow(REJECTED)
+				.thenThrow(new DataAccessResourceFailureException("Sin conexión"));
+		assertThrows(BusinessException.class, buffer::replayDeadLetters);
+
+		DeadLetterStats stats = buffer.deadLetterStats();
+		assertEquals(4, stats.deadLettered());
+		assertEquals(1, stats.replayed());
+		assertEquals(3, stats.pending());
+		List<String> lines = deadLetterLines();
+		assertTrue(lines.get(0).contains("\"orderId\":2"));
+		assertTrue(lines.get(2).contains("\"orderId\":4"));
+	}
+}
@@ -0,0 +1,111 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.util.CacheStats;
+import ar.edu.iua.TruckTeck.util.CacheStatsRegistry;
+
+/**
+ * {@link OrderNumberIndex} resuelve una orden en una única sentencia con el grafo completo, esté
+ * o no el número en el índice.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ OrderNumberIndex.class, CacheStatsRegistry.class })
+class OrderNumberIndexTests {
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private OrderNumberIndex index;
+
+	@Autowired
+	private CacheStatsRegistry statsRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		Client client = new Client();
+		client.setCompanyName("Cliente");
+		Driver driver = new Driver();
+		driver.setName("Chofer");
+		driver.setSurname("Apellido");
+		Product product = new Product();
+		product.setName("Producto");
+		Truck truck = new Truck();
+		truck.setDomain("AA123BB");
+		Order order = new Order();
+		order.setNumber("ORD-1");
+		order.setState(OrderState.PENDING);
+		order.setClient(em.persist(client));
+		order.setDriver(em.persist(driver));
+		order.setProduct(em.persist(product));
+		order.setTruck(em.persist(truck));
+		em.persist(order);
+		em.flush();
+		em.clear();
+		statistics = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	private static void assertFullGraph(Order order) {
+		for (Object relation : List.of(order.getClient(), order.getDriver(), order.getProduct(), order.getTruck())) {
+			assertTrue(Hibernate.isInitialized(relation));
+		}
+	}
+
+	@Test
+	void missLoadsFullGraphInOneStatement() {
+		Order order = index.find("ORD-1").orElseThrow();
+
+		assertFullGraph(order);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void hitLoadsFullGraphInOneStatement() {
+		index.find("ORD-1").orElseThrow();
+		em.clear();
+		statistics.clear();
+		CacheStats stats = statsRegistry.register("orders.number");
+		long hits = stats.getHits();
+
+		Order order = index.find("ORD-1").orElseThrow();
+
+		assertEquals(hits + 1, stats.getHits());
+		assertFullGraph(order);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void unknownNumberIsOneStatement() {
+		assertTrue(index.find("ORD-X").isEmpty());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
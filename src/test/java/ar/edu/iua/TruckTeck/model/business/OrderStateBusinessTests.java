@@ -0,0 +1,151 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderStatusLog;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.OrderLogKind;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.enums.SampleRetentionMode;
+import ar.edu.iua.TruckTeck.model.events.OrderStateEvent;
+import ar.edu.iua.TruckTeck.model.persistence.OrderRepository;
+import ar.edu.iua.TruckTeck.model.persistence.OrderStatusLogRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * La actualización condicional del estado y su registro de auditoría se confirman (o se
+ * descartan) juntos. Las pruebas no corren dentro de una transacción para ver lo confirmado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("h2")
+@Import(OrderStateBusiness.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class OrderStateBusinessTests {
+
+	@Autowired
+	private OrderStateBusiness stateBusiness;
+
+	@Autowired
+	private OrderRepository orderDAO;
+
+	@Autowired
+	private OrderStatusLogRepository statusLogDAO;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	private Order pendingOrder(String number) {
+		return transactionTemplate.execute(status -> {
+			Client client = new Client();
+			client.setCompanyName("Cliente " + number);
+			Driver driver = new Driver();
+			driver.setName("Chofer");
+			driver.setSurname(number);
+			Product product = new Product();
+			product.setName("Producto " + number);
+			product.setRetentionMode(SampleRetentionMode.DEADBAND);
+			Truck truck = new Truck();
+			truck.setDomain("AA" + number);
+			entityManager.persist(client);
+			entityManager.persist(driver);
+			entityManager.persist(product);
+			entityManager.persist(truck);
+			Order order = new Order();
+			order.setNumber(number);
+			order.setState(OrderState.PENDING);
+			order.setClient(client);
+			order.setDriver(driver);
+			order.setProduct(product);
+			order.setTruck(truck);
+			entityManager.persist(order);
+			return order;
+		});
+	}
+
+	@Test
+	void transitionCommitsStateAndStatusLog() throws Exception {
+		Order order = pendingOrder("ORD-1");
+
+		stateBusiness.registerTara(order, 12000.0, "12345", "operador", "Pesaje inicial");
+
+		assertEquals(OrderState.TARA_REGISTERED, orderDAO.findById(order.getId()).orElseThrow().getState());
+		List<OrderStatusLog> logs = statusLogDAO.findByOrderNumberOrderByTimestampAsc(order.getId());
+		assertEquals(1, logs.size());
+		assertEquals(OrderState.PENDING, logs.get(0).getFromState());
+		assertEquals(OrderState.TARA_REGISTERED, logs.get(0).getToState());
+		assertEquals("operador", logs.get(0).getActor());
+		assertEquals(OrderLogKind.TRANSITION, logs.get(0).getKind());
+	}
+
+	@Test
+	void retentionModeIsResolvedForDetachedOrders() throws Exception {
+		long id = pendingOrder("ORD-4").getId();
+		// Orden desacoplada con el producto sin inicializar (fuera de una petición web)
+		Order order = transactionTemplate.execute(status -> entityManager.find(Order.class, id));
+		assertFalse(Hibernate.isInitialized(order.getProduct()));
+
+		stateBusiness.registerTara(order, 12000.0, "12345", "TMS", null);
+
+		OrderStateEvent event = events.stream(OrderStateEvent.class).findFirst().orElseThrow();
+		assertEquals(OrderState.TARA_REGISTERED, event.getToState());
+		assertEquals(SampleRetentionMode.DEADBAND, event.getRetentionMode());
+	}
+
+	@Test
+	void failedStatusLogRollsBackTheTransition() {
+		Order order = pendingOrder("ORD-2");
+
+		// El actor es obligatorio: el INSERT de la auditoría falla después del UPDATE
+		assertThrows(BusinessException.class, () -> stateBusiness.registerTara(order, 12000.0, "12345", null, null));
+
+		Order stored = orderDAO.findById(order.getId()).orElseThrow();
+		assertEquals(OrderState.PENDING, stored.getState());
+		assertNull(stored.getActivationCode());
+		assertTrue(statusLogDAO.findByOrderNumberOrderByTimestampAsc(order.getId()).isEmpty());
+	}
+
+	@Test
+	void staleStateIsRejectedWithoutStatusLog() throws Exception {
+		Order order = pendingOrder("ORD-3");
+		Order stale = orderDAO.findById(order.getId()).orElseThrow();
+		stateBusiness.registerTara(order, 12000.0, "12345", "operador", null);
+
+		assertThrows(BusinessException.class, () -> stateBusiness.registerTara(stale, 13000.0, "54321", "operador", null));
+
+		assertEquals(12000.0, orderDAO.findById(order.getId()).orElseThrow().getInitialWeight());
+		assertEquals(1, statusLogDAO.findByOrderNumberOrderByTimestampAsc(order.getId()).size());
+	}
+}
@@ -0,0 +1,151 @@
+package ar.edu.iua.TruckTeck.model.business;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderDetail;
+import ar.edu.iua.TruckTeck.model.TemperatureAlertConfig;
+import ar.edu.iua.TruckTeck.model.business.exceptions.BusinessException;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+import ar.edu.iua.TruckTeck.model.persistence.TemperatureAlertConfigRepository;
+import ar.edu.iua.TruckTeck.util.EmailService;
+
+class TemperatureAlertDispatcherTests {
+
+	private static final Duration IMMEDIATE = Duration.ofMillis(500);
+
+	private final IAlarmBusiness alarmBusiness = mock(IAlarmBusiness.class);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private TemperatureAlertDispatcher dispatcher;
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		release.countDown();
+		dispatcher.stop();
+	}
+
+	/**
+	 * Despachador con un pool de un hilo y una cola de {@code queueCapacity} alertas, sin espera
+	 * entre reintentos.
+	 */
+	private TemperatureAlertConfigBusiness business(EmailService emailService, int queueCapacity) {
+		dispatcher = new TemperatureAlertDispatcher();
+		ReflectionTestUtils.setField(dispatcher, "alarmBusiness", alarmBusiness);
+		ReflectionTestUtils.setField(dispatcher, "emailService", emailService);
+		ReflectionTestUtils.setField(dispatcher, "auditTrail", mock(OrderAuditTrail.class));
+		ReflectionTestUtils.setField(dispatcher, "poolSize", 1);
+		ReflectionTestUtils.setField(dispatcher, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+		ReflectionTestUtils.setField(dispatcher, "backoffMs", 1L);
+		dispatcher.start();
+
+		TemperatureAlertConfig config = new TemperatureAlertConfig();
+		config.setId(1L);
+		config.setThreshold(30.0);
+		config.setEmails(List.of("operador@truckteck.com"));
+		TemperatureAlertConfigRepository repository = mock(TemperatureAlertConfigRepository.class);
+		when(repository.findById(1L)).thenReturn(Optional.of(config));
+
+		TemperatureAlertConfigBusiness business = new TemperatureAlertConfigBusiness();
+		ReflectionTestUtils.setField(business, "repository", repository);
+		ReflectionTestUtils.setField(business, "alertDispatcher", dispatcher);
+		return business;
+	}
+
+	private static OrderDetail hotSample(String number) {
+		Order order = new Order();
+		order.setId(1);
+		order.setNumber(number);
+		order.setState(OrderState.TARA_REGISTERED);
+		OrderDetail detail = new OrderDetail();
+		detail.setOrder(order);
+		detail.setTimestamp(LocalDateTime.now());
+		detail.setTemperature(45.0);
+		return detail;
+	}
+
+	/**
+	 * Servidor de correo que no responde hasta que termina la prueba.
+	 */
+	private EmailService blockingMail(AtomicInteger calls) {
+		return (to, subject, body) -> {
+			calls.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+	}
+
+	@Test
+	void checkAndSendAlertDoesNotWaitForMail() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		TemperatureAlertConfigBusiness business = business(blockingMail(calls), 10);
+
+		assertTrue(assertTimeoutPreemptively(IMMEDIATE, () -> business.checkAndSendAlert(hotSample("ORD-1"))));
+		verify(alarmBusiness, timeout(2000)).saveAlarm(anyString(), any(LocalDateTime.class), anyDouble(), anyDouble());
+	}
+
+	@Test
+	void failedOperationsAreRetried() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch delivered = new CountDownLatch(1);
+		EmailService flakyMail = (to, subject, body) -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new IllegalStateException("SMTP no disponible");
+			}
+			delivered.countDown();
+		};
+		when(alarmBusiness.saveAlarm(anyString(), any(LocalDateTime.class), anyDouble(), anyDouble()))
+				.thenThrow(BusinessException.builder().message("Base de datos no disponible").build())
+				.thenReturn(null);
+		TemperatureAlertConfigBusiness business = business(flakyMail, 10);
+
+		assertTrue(business.checkAndSendAlert(hotSample("ORD-1")));
+
+		assertTrue(delivered.await(2, TimeUnit.SECONDS));
+		assertEquals(3, calls.get());
+		verify(alarmBusiness, times(2)).saveAlarm(anyString(), any(LocalDateTime.class), anyDouble(), anyDouble());
+	}
+
+	@Test
+	void fullQueueIsRejectedWithoutBlocking() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		TemperatureAlertConfigBusiness business = business(blockingMail(calls), 1);
+
+		// La primera alerta ocupa el único hilo (bloqueado en el correo) y la segunda la cola
+		assertTrue(business.checkAndSendAlert(hotSample("ORD-1")));
+		while (calls.get() == 0) {
+			Thread.sleep(5);
+		}
+		assertTrue(business.checkAndSendAlert(hotSample("ORD-2")));
+
+		assertFalse(assertTimeoutPreemptively(IMMEDIATE, () -> business.checkAndSendAlert(hotSample("ORD-3"))));
+	}
+}
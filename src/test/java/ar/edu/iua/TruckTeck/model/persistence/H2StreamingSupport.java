@@ -0,0 +1,76 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuración de pruebas sobre H2 para las consultas con streaming de MySQL.
+ * <p>
+ * Las consultas que recorren {@code order_details} con un {@link java.util.stream.Stream} usan el
+ * fetch size {@code Integer.MIN_VALUE}, que el driver de MySQL interpreta como "entregar las filas
+ * de a una" y que H2 rechaza. Esta configuración envuelve el {@link DataSource} para ignorar los
+ * fetch size negativos; el resto de las llamadas llega sin cambios a H2.
+ * </p>
+ */
+@TestConfiguration
+public class H2StreamingSupport {
+
+	@Bean
+	static BeanPostProcessor mysqlStreamingFetchSize() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource) {
+					return proxy(DataSource.class, dataSource, H2StreamingSupport::wrap);
+				}
+				return bean;
+			}
+		};
+	}
+
+	private interface Wrapper {
+		Object wrap(Object result);
+	}
+
+	/**
+	 * Envuelve las conexiones y las sentencias que crean, ignorando {@code setFetchSize} negativo.
+	 */
+	private static Object wrap(Object result) {
+		if (result instanceof Connection connection) {
+			return proxy(Connection.class, connection, H2StreamingSupport::wrap);
+		}
+		if (result instanceof Statement statement) {
+			Class<? extends Statement> type = statement instanceof java.sql.CallableStatement ? java.sql.CallableStatement.class
+					: statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+			return proxy(type, statement, r -> r);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Object target, Wrapper wrapper) {
+		InvocationHandler handler = (p, method, args) -> {
+			if ("setFetchSize".equals(method.getName()) && args != null && (Integer) args[0] < 0) {
+				return null;
+			}
+			if ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName())) {
+				return method.invoke(target, args);
+			}
+			try {
+				return wrapper.wrap(method.invoke(target, args));
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+}
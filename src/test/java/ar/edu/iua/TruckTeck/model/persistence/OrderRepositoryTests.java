@@ -0,0 +1,143 @@
+package ar.edu.iua.TruckTeck.model.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import ar.edu.iua.TruckTeck.model.Client;
+import ar.edu.iua.TruckTeck.model.ConciliationView;
+import ar.edu.iua.TruckTeck.model.Driver;
+import ar.edu.iua.TruckTeck.model.Order;
+import ar.edu.iua.TruckTeck.model.OrderLoadingStats;
+import ar.edu.iua.TruckTeck.model.OrderSummary;
+import ar.edu.iua.TruckTeck.model.Product;
+import ar.edu.iua.TruckTeck.model.Truck;
+import ar.edu.iua.TruckTeck.model.enums.OrderState;
+
+/**
+ * Cantidad de sentencias SQL de las consultas de {@link OrderRepository} con relaciones diferidas:
+ * cada caso de uso debe resolverse en una única consulta, incluido el acceso a las relaciones que
+ * usa.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("h2")
+class OrderRepositoryTests {
+
+	private static final int ORDERS = 5;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private OrderRepository orderDAO;
+
+	private Statistics statistics;
+
+	private long firstId;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < ORDERS; i++) {
+			Order order = order("ORD-" + i);
+			if (i == 0) {
+				firstId = order.getId();
+				OrderLoadingStats stats = new OrderLoadingStats(order.getId());
+				stats.getTemperature().add(20);
+				stats.getTemperature().add(30);
+				stats.getDensity().add(0.8);
+				stats.getCaudal().add(5);
+				em.persist(stats);
+			}
+		}
+		em.flush();
+		em.clear();
+		statistics = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	private Order order(String number) {
+		Client client = new Client();
+		client.setCompanyName("Cliente " + number);
+		Driver driver = new Driver();
+		driver.setName("Chofer");
+		driver.setSurname(number);
+		Product product = new Product();
+		product.setName("Producto " + number);
+		Truck truck = new Truck();
+		truck.setDomain("AA" + number);
+		Order order = new Order();
+		order.setNumber(number);
+		order.setState(OrderState.FINALIZED);
+		order.setClient(em.persist(client));
+		order.setDriver(em.persist(driver));
+		order.setProduct(em.persist(product));
+		order.setTruck(em.persist(truck));
+		return em.persist(order);
+	}
+
+	@Test
+	void findByIdLoadsFullGraphInOneStatement() {
+		Order order = orderDAO.findById(firstId).orElseThrow();
+
+		assertEquals("Cliente ORD-0", order.getClient().getCompanyName());
+		assertEquals("ORD-0", order.getDriver().getSurname());
+		assertEquals("Producto ORD-0", order.getProduct().getName());
+		assertEquals("AAORD-0", order.getTruck().getDomain());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findAllSummariesIsOneStatement() {
+		List<OrderSummary> summaries = orderDAO.findAllSummaries();
+
+		assertEquals(ORDERS, summaries.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void findChargingHeaderByNumberLoadsOnlyHeaderAndProduct() {
+		Order order = orderDAO.findChargingHeaderByNumber("ORD-3").orElseThrow();
+
+		assertEquals("Producto ORD-3", order.getProduct().getName());
+		assertTrue(Hibernate.isInitialized(order.getProduct()));
+		assertFalse(Hibernate.isInitialized(order.getClient()));
+		assertFalse(Hibernate.isInitialized(order.getDriver()));
+		assertFalse(Hibernate.isInitialized(order.getTruck()));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findConciliationByNumberIsOneStatement() {
+		ConciliationView view = orderDAO.findConciliationByNumber("ORD-0").orElseThrow();
+
+		assertEquals("Cliente ORD-0", view.clientName());
+		assertEquals("AAORD-0", view.truckDomain());
+		assertTrue(view.hasStats());
+		assertEquals(25.0, view.averageTemperature());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findConciliationByNumberWithoutStats() {
+		ConciliationView view = orderDAO.findConciliationByNumber("ORD-1").orElseThrow();
+
+		assertFalse(view.hasStats());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
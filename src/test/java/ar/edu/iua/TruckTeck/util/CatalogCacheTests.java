@@ -0,0 +1,162 @@
+package ar.edu.iua.TruckTeck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class CatalogCacheTests {
+
+	private record Item(long id, String name, String code) {
+	}
+
+	private static final Item ACME = new Item(1, "ACME", "SAP-1");
+
+	private final CacheStats stats = new CacheStats("test");
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private CatalogCache<Item> cache(int maxEntries, long ttlMs, long negativeTtlMs) {
+		return new CatalogCache<>(stats, maxEntries, ttlMs, negativeTtlMs, Item::id, Item::name, Item::code);
+	}
+
+	/**
+	 * Cargador que cuenta las consultas a la "base de datos".
+	 */
+	private Function<String, Optional<Item>> loader(Item item) {
+		return value -> {
+			loads.incrementAndGet();
+			return Optional.ofNullable(item);
+		};
+	}
+
+	@Test
+	void hitAfterFirstLoad() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+
+		assertEquals(Optional.of(ACME), cache.get("ACME", loader(ACME)));
+		assertEquals(Optional.of(ACME), cache.get("ACME", loader(ACME)));
+
+		assertEquals(1, loads.get());
+		assertEquals(1, stats.getHits());
+		assertEquals(1, stats.getMisses());
+	}
+
+	@Test
+	void loadByKeyAlsoIndexesExternalCode() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+
+		cache.get("ACME", loader(ACME));
+
+		assertEquals(Optional.of(ACME), cache.getByExternalCode("SAP-1", loader(null)));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void nullKeyDoesNotLoad() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+
+		assertEquals(Optional.empty(), cache.get(null, loader(ACME)));
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	void negativeResultIsCachedForItsOwnTtl() throws InterruptedException {
+		CatalogCache<Item> cache = cache(100, 60_000, 20);
+
+		assertEquals(Optional.empty(), cache.get("NONE", loader(null)));
+		assertEquals(Optional.empty(), cache.get("NONE", loader(null)));
+		assertEquals(1, loads.get());
+
+		Thread.sleep(40);
+		assertEquals(Optional.of(ACME), cache.get("NONE", loader(ACME)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void positiveEntryExpires() throws InterruptedException {
+		CatalogCache<Item> cache = cache(100, 20, 60_000);
+
+		cache.get("ACME", loader(ACME));
+		Thread.sleep(40);
+		cache.get("ACME", loader(ACME));
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void invalidateRemovesAllKeysOfItemAndNegativeEntries() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+		Item other = new Item(2, "OTHER", "SAP-2");
+		cache.get("ACME", loader(ACME));
+		cache.get("OTHER", loader(other));
+		cache.get("NEW", loader(null));
+		loads.set(0);
+
+		cache.invalidate(new Item(1, "ACME S.A.", null));
+
+		// Ambas claves del elemento invalidado y la búsqueda sin resultado vuelven a cargarse
+		cache.get("ACME", loader(ACME));
+		cache.getByExternalCode("SAP-1", loader(ACME));
+		Item created = new Item(3, "NEW", null);
+		assertEquals(Optional.of(created), cache.get("NEW", loader(created)));
+		assertEquals(2, loads.get());
+		// El resto sigue en caché
+		cache.get("OTHER", loader(other));
+		cache.getByExternalCode("SAP-2", loader(other));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void loadStartedBeforeInvalidationIsNotStored() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+		Item stale = new Item(1, "ACME", "SAP-OLD");
+
+		// La modificación se confirma mientras se leía la versión anterior
+		Optional<Item> r = cache.get("ACME", value -> {
+			loads.incrementAndGet();
+			cache.invalidate(stale);
+			return Optional.of(stale);
+		});
+
+		assertEquals(Optional.of(stale), r);
+		assertEquals(Optional.of(ACME), cache.get("ACME", loader(ACME)));
+		assertEquals(Optional.of(ACME), cache.getByExternalCode("SAP-1", loader(ACME)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void negativeLoadStartedBeforeInvalidationIsNotStored() {
+		CatalogCache<Item> cache = cache(100, 60_000, 60_000);
+
+		cache.get("NEW", value -> {
+			loads.incrementAndGet();
+			cache.invalidate(new Item(3, "NEW", null));
+			return Optional.empty();
+		});
+
+		assertEquals(Optional.of(ACME), cache.get("NEW", loader(ACME)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		CatalogCache<Item> cache = cache(2, 60_000, 60_000);
+
+		cache.get("A", loader(null));
+		cache.get("B", loader(null));
+		cache.get("A", loader(null));
+		cache.get("C", loader(null));
+
+		assertEquals(3, loads.get());
+		assertTrue(stats.getEvictions() >= 1);
+		cache.get("A", loader(null));
+		assertEquals(3, loads.get());
+		cache.get("B", loader(null));
+		assertEquals(4, loads.get());
+	}
+}
@@ -0,0 +1,95 @@
+package ar.edu.iua.TruckTeck.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.iua.TruckTeck.model.CursorPage;
+
+class CursorsTests {
+
+	@Test
+	void roundTripOfTimestampAndId() {
+		LocalDateTime timestamp = LocalDateTime.of(2025, 10, 20, 14, 3, 5, 250_000_000);
+
+		String cursor = Cursors.encode(timestamp, 42L);
+
+		assertArrayEquals(new String[] { timestamp.toString(), "42" }, Cursors.decode(cursor, 2));
+	}
+
+	@Test
+	void cursorIsUrlSafeWithoutPadding() {
+		String cursor = Cursors.encode("órden ~~~ ???", ">>>", 1L);
+
+		assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+		assertArrayEquals(new String[] { "órden ~~~ ???", ">>>", "1" }, Cursors.decode(cursor, 3));
+	}
+
+	@Test
+	void onlyFirstValueMayContainSeparator() {
+		// Se separa desde la derecha: los '|' quedan en el primer valor
+		assertArrayEquals(new String[] { "ORD|2025|A", "7" }, Cursors.decode(Cursors.encode("ORD|2025|A", 7L), 2));
+		assertArrayEquals(new String[] { "|", "x", "9" }, Cursors.decode(Cursors.encode("|", "x", 9L), 3));
+		assertArrayEquals(new String[] { "a|b", "" }, Cursors.decode(Cursors.encode("a|b", ""), 2));
+		assertArrayEquals(new String[] { "a|b|c" }, Cursors.decode(Cursors.encode("a|b|c"), 1));
+	}
+
+	@Test
+	void separatorInLaterValueIsMisread() {
+		// Documenta la regla: un '|' en un valor que no es el primero se atribuye al primero
+		assertArrayEquals(new String[] { "a|b", "c" }, Cursors.decode(Cursors.encode("a", "b|c"), 2));
+	}
+
+	@Test
+	void emptyAndNullValues() {
+		assertArrayEquals(new String[] { "" }, Cursors.decode(Cursors.encode(""), 1));
+		assertArrayEquals(new String[] { "null", "1" }, Cursors.decode(Cursors.encode(null, 1L), 2));
+	}
+
+	@Test
+	void invalidCursorsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decode("no es base64!", 1));
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decode("a+b/", 1));
+		// Faltan valores
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decode(Cursors.encode("solo"), 2));
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decode(Cursors.encode("a", "b"), 3));
+	}
+
+	@Test
+	void decodeId() {
+		assertNull(Cursors.decodeId(null));
+		assertNull(Cursors.decodeId(" "));
+		assertEquals(123L, Cursors.decodeId(Cursors.encode(123L)));
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decodeId(Cursors.encode("abc")));
+		assertThrows(IllegalArgumentException.class, () -> Cursors.decodeId(
+				Base64.getUrlEncoder().encodeToString("1|2".getBytes(StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	void pageWithAndWithoutNextCursor() {
+		CursorPage<Long> last = Cursors.page(List.of(1L, 2L, 3L), 3, Long::longValue);
+		assertEquals(List.of(1L, 2L, 3L), last.items());
+		assertNull(last.nextCursor());
+
+		CursorPage<Long> first = Cursors.page(List.of(10L, 20L, 30L, 40L), 3, Long::longValue);
+		assertEquals(List.of(10L, 20L, 30L), first.items());
+		assertEquals(30L, Cursors.decodeId(first.nextCursor()));
+	}
+
+	@Test
+	void prefixPatternEscapesWildcards() {
+		assertNull(Cursors.prefixPattern(null));
+		assertNull(Cursors.prefixPattern("  "));
+		assertEquals("ORD%", Cursors.prefixPattern("ORD"));
+		assertEquals("50!%!_off!!%", Cursors.prefixPattern("50%_off!"));
+	}
+}
@@ -0,0 +1,175 @@
+package ar.edu.iua.TruckTeck.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DownsamplingTests {
+
+	private static long[] timestamps(int n) {
+		long[] x = new long[n];
+		for (int i = 0; i < n; i++) {
+			x[i] = 1_700_000_000_000L + i * 1000L;
+		}
+		return x;
+	}
+
+	private static double[] randomSeries(long seed, int n) {
+		Random random = new Random(seed);
+		double[] y = new double[n];
+		double value = 20;
+		for (int i = 0; i < n; i++) {
+			value += random.nextGaussian();
+			y[i] = value;
+		}
+		return y;
+	}
+
+	private static void assertStrictlyIncreasing(int[] indexes, int n) {
+		assertEquals(0, indexes[0]);
+		assertEquals(n - 1, indexes[indexes.length - 1]);
+		for (int i = 1; i < indexes.length; i++) {
+			assertTrue(indexes[i] > indexes[i - 1], "Índices desordenados o repetidos: " + Arrays.toString(indexes));
+		}
+	}
+
+	private static int indexOf(int[] indexes, int value) {
+		for (int i = 0; i < indexes.length; i++) {
+			if (indexes[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	void smallSeriesOrInvalidThresholdKeepAllPoints() {
+		int[] all = { 0, 1, 2, 3, 4 };
+		assertArrayEquals(all, Downsampling.lttb(timestamps(5), new double[5], 5));
+		assertArrayEquals(all, Downsampling.lttb(timestamps(5), new double[5], 10));
+		assertArrayEquals(all, Downsampling.lttb(timestamps(5), new double[5], 2));
+		assertArrayEquals(all, Downsampling.minMax(new double[5], 5));
+		assertArrayEquals(all, Downsampling.minMax(new double[5], 3));
+		assertArrayEquals(new int[0], Downsampling.lttb(new long[0], new double[0], 3));
+		assertArrayEquals(new int[0], Downsampling.minMax(new double[0], 4));
+	}
+
+	@Test
+	void lttbKeepsThresholdPointsOnePerBucket() {
+		for (int n : new int[] { 10, 101, 1000, 4097 }) {
+			for (int threshold : new int[] { 3, 4, 7, 50, n - 1 }) {
+				if (threshold >= n) {
+					continue;
+				}
+				int[] keep = Downsampling.lttb(timestamps(n), randomSeries(n, n), threshold);
+
+				assertEquals(threshold, keep.length);
+				assertStrictlyIncreasing(keep, n);
+				// El punto i-ésimo (sin contar los extremos) pertenece al grupo i
+				double every = (double) (n - 2) / (threshold - 2);
+				for (int i = 1; i < threshold - 1; i++) {
+					int bucketStart = (int) Math.floor((i - 1) * every) + 1;
+					int bucketEnd = (int) Math.floor(i * every) + 1;
+					assertTrue(keep[i] >= bucketStart && keep[i] < bucketEnd);
+				}
+			}
+		}
+	}
+
+	@Test
+	void lttbKeepsIsolatedPeak() {
+		int n = 1000;
+		double[] y = new double[n];
+		Arrays.fill(y, 20);
+		y[437] = 80;
+
+		int[] keep = Downsampling.lttb(timestamps(n), y, 20);
+
+		assertTrue(indexOf(keep, 437) >= 0);
+	}
+
+	@Test
+	void lttbOfStraightLineStillSpansTheSeries() {
+		int n = 500;
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++) {
+			y[i] = 2.5 * i;
+		}
+
+		int[] keep = Downsampling.lttb(timestamps(n), y, 10);
+
+		assertEquals(10, keep.length);
+		assertStrictlyIncreasing(keep, n);
+	}
+
+	@Test
+	void minMaxKeepsExtremesOfEveryBucket() {
+		for (int n : new int[] { 10, 101, 1000, 4097 }) {
+			for (int threshold : new int[] { 4, 5, 8, 51, n - 1 }) {
+				if (threshold >= n) {
+					continue;
+				}
+				double[] y = randomSeries(n + threshold, n);
+				int[] keep = Downsampling.minMax(y, threshold);
+
+				assertTrue(keep.length <= threshold);
+				assertStrictlyIncreasing(keep, n);
+
+				int buckets = (threshold - 2) / 2;
+				double every = (double) (n - 2) / buckets;
+				for (int b = 0; b < buckets; b++) {
+					int start = (int) Math.floor(b * every) + 1;
+					int end = Math.min((int) Math.floor((b + 1) * every) + 1, n - 1);
+					if (start >= end) {
+						continue;
+					}
+					double min = Double.POSITIVE_INFINITY;
+					double max = Double.NEGATIVE_INFINITY;
+					boolean keptMin = false;
+					boolean keptMax = false;
+					for (int j = start; j < end; j++) {
+						min = Math.min(min, y[j]);
+						max = Math.max(max, y[j]);
+					}
+					for (int index : keep) {
+						if (index >= start && index < end) {
+							keptMin |= y[index] == min;
+							keptMax |= y[index] == max;
+						}
+					}
+					assertTrue(keptMin && keptMax, "Grupo " + b + " sin su mínimo o máximo");
+				}
+			}
+		}
+	}
+
+	@Test
+	void minMaxKeepsGlobalExtremes() {
+		int n = 2000;
+		double[] y = randomSeries(3, n);
+		y[1234] = 1e6;
+		y[17] = -1e6;
+
+		int[] keep = Downsampling.minMax(y, 12);
+
+		assertTrue(indexOf(keep, 1234) >= 0);
+		assertTrue(indexOf(keep, 17) >= 0);
+	}
+
+	@Test
+	void minMaxOfConstantSeriesKeepsOnePointPerBucket() {
+		int n = 100;
+		double[] y = new double[n];
+		Arrays.fill(y, 7);
+
+		int[] keep = Downsampling.minMax(y, 10);
+
+		assertEquals(2 + 4, keep.length);
+		assertStrictlyIncreasing(keep, n);
+	}
+}
@@ -0,0 +1,114 @@
+package ar.edu.iua.TruckTeck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSample;
+import ar.edu.iua.TruckTeck.integration.chargingsystem.model.ChargingSampleJsonDeserializer;
+
+class JsonUtilesTests {
+
+	private static final String SAMPLE = "{\"number\":\"ORD-1\",\"accumulatedMass\":15.5,\"density\":0.85,"
+			+ "\"temperature\":20,\"caudal\":3.25,\"timestamp\":\"2025-10-20T14:03:05\"}";
+
+	private static final int WARMUP = 200;
+
+	private static final int ITERATIONS = 2_000;
+
+	private static final int ROUNDS = 3;
+
+	private static ObjectReader cachedReader() {
+		return JsonUtiles.getReader(ChargingSample.class, new ChargingSampleJsonDeserializer(), null);
+	}
+
+	/**
+	 * Camino anterior: un mapper nuevo (módulo y formato de fecha) por petición.
+	 */
+	private static ChargingSample readPerCall() throws Exception {
+		return JsonUtiles.getObjectMapper(ChargingSample.class, new ChargingSampleJsonDeserializer(), null)
+				.readValue(SAMPLE, ChargingSample.class);
+	}
+
+	@Test
+	void readersAndWritersAreBuiltOnce() {
+		assertSame(cachedReader(), cachedReader());
+		assertSame(JsonUtiles.getWriter(LocalDateTime.class, null, "dd/MM/yyyy HH:mm"),
+				JsonUtiles.getWriter(LocalDateTime.class, null, "dd/MM/yyyy HH:mm"));
+	}
+
+	@Test
+	void writerUsesJavaTimeFormat() throws Exception {
+		assertEquals("\"20/10/2025 14:03\"", JsonUtiles.getWriter(LocalDateTime.class, null, "dd/MM/yyyy HH:mm")
+				.writeValueAsString(LocalDateTime.of(2025, 10, 20, 14, 3, 5)));
+	}
+
+	/**
+	 * Comparación de latencia entre el lector registrado y la construcción por petición. Se toma
+	 * la mejor de varias rondas de cada camino y se exige un margen amplio para no depender de la
+	 * carga de la máquina: construir el mapper y armar sus cachés cuesta más que leer una muestra.
+	 */
+	@Test
+	void cachedReaderIsFasterThanPerCallMapper() throws Exception {
+		ObjectReader reader = cachedReader();
+		for (int i = 0; i < WARMUP; i++) {
+			reader.readValue(SAMPLE);
+			readPerCall();
+		}
+
+		long cached = Long.MAX_VALUE;
+		long perCall = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				assertEquals("ORD-1", reader.<ChargingSample>readValue(SAMPLE).getNumber());
+			}
+			cached = Math.min(cached, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				assertEquals("ORD-1", readPerCall().getNumber());
+			}
+			perCall = Math.min(perCall, System.nanoTime() - start);
+		}
+
+		assertTrue(perCall > 2 * cached, "Por petición: " + perCall / ITERATIONS + " ns, registrado: "
+				+ cached / ITERATIONS + " ns");
+	}
+
+	@Test
+	void cachedReaderIsSafeForConcurrentUse() throws Exception {
+		ObjectReader reader = cachedReader();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < ITERATIONS; i++) {
+						ChargingSample sample = reader.readValue(SAMPLE);
+						assertEquals(15.5, sample.getAccumulatedMass());
+						assertEquals(LocalDateTime.of(2025, 10, 20, 14, 3, 5), sample.getTimestamp());
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package ar.edu.iua.TruckTeck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.iua.TruckTeck.model.OrderDetailPoint;
+
+class OrderDetailCodecTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 10, 20, 8, 0, 0, 123_456_000);
+
+	private static OrderDetailPoint point(long id, LocalDateTime timestamp, Double value) {
+		return new OrderDetailPoint(id, timestamp, value, value, value, value);
+	}
+
+	private static void assertSameValue(Double expected, Double actual) {
+		if (expected == null) {
+			assertNull(actual);
+		} else {
+			// Bit a bit: distingue 0.0 de -0.0
+			assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+					"esperado " + expected + " pero fue " + actual);
+		}
+	}
+
+	private static List<OrderDetailPoint> roundTrip(List<OrderDetailPoint> points) {
+		List<OrderDetailPoint> decoded = OrderDetailCodec.decode(OrderDetailCodec.encode(points));
+		assertEquals(points.size(), decoded.size());
+		for (int i = 0; i < points.size(); i++) {
+			OrderDetailPoint expected = points.get(i);
+			OrderDetailPoint actual = decoded.get(i);
+			assertEquals(expected.id(), actual.id());
+			assertEquals(expected.timestamp(), actual.timestamp());
+			assertSameValue(expected.accumulatedMass(), actual.accumulatedMass());
+			assertSameValue(expected.density(), actual.density());
+			assertSameValue(expected.temperature(), actual.temperature());
+			assertSameValue(expected.caudal(), actual.caudal());
+		}
+		return decoded;
+	}
+
+	@Test
+	void emptyAndSingleSample() {
+		roundTrip(List.of());
+		roundTrip(List.of(new OrderDetailPoint(42, START, 1500.5, 0.8512, 21.3, 12.0)));
+		roundTrip(List.of(new OrderDetailPoint(-7, START, null, Double.MIN_VALUE, -0.0, Double.MAX_VALUE)));
+	}
+
+	@Test
+	void regularLoadUsesDecimalScaling() {
+		Random random = new Random(1);
+		List<OrderDetailPoint> points = new ArrayList<>();
+		double mass = 0;
+		for (int i = 0; i < 3600; i++) {
+			mass += Math.round(random.nextDouble() * 50) / 10.0;
+			points.add(new OrderDetailPoint(1000 + i, START.plusSeconds(i), mass,
+					Math.round(850 + random.nextInt(5)) / 1000.0,
+					Math.round(200 + random.nextInt(20)) / 10.0,
+					Math.round(random.nextDouble() * 1000) / 100.0));
+		}
+
+		byte[] data = OrderDetailCodec.encode(points);
+		roundTrip(points);
+		// 6 columnas de 8 bytes sin comprimir
+		assertTrue(data.length < points.size() * 48 / 4, "Bloque de " + data.length + " bytes");
+	}
+
+	@Test
+	void decimalValuesAtEveryScale() {
+		double[] samples = { 0, 1, -1, 12.5, -12.25, 0.001, 0.0001, 0.00001, 0.000001, -0.000001, 123456.789012,
+				4503599.627370495, -4503599.627370495 };
+		List<OrderDetailPoint> points = new ArrayList<>();
+		for (int i = 0; i < samples.length; i++) {
+			points.add(point(i, START.plusSeconds(i), samples[i]));
+		}
+		roundTrip(points);
+	}
+
+	@Test
+	void xorPathWithSpecialValues() {
+		Double[] samples = { 0.1 + 0.2, null, 0.0, -0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Math.PI, Math.PI, -Math.E, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, 1e300, 1e-300,
+				1.0 / 3, 2.0 / 3, null, 4.0 / 3, 9007199254740993.0, 1e16 };
+		List<OrderDetailPoint> points = new ArrayList<>();
+		for (int i = 0; i < samples.length; i++) {
+			points.add(point(i, START.plusSeconds(i), samples[i]));
+		}
+		roundTrip(points);
+	}
+
+	@Test
+	void signedZeroAloneDoesNotBecomePositive() {
+		roundTrip(List.of(point(1, START, -0.0), point(2, START.plusSeconds(1), -0.0), point(3, START.plusSeconds(2), 0.0)));
+	}
+
+	@Test
+	void allNullColumn() {
+		List<OrderDetailPoint> points = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			points.add(point(i, START.plusSeconds(i), null));
+		}
+		roundTrip(points);
+	}
+
+	@Test
+	void randomDoublesRoundTrip() {
+		Random random = new Random(7);
+		List<OrderDetailPoint> points = new ArrayList<>();
+		LocalDateTime t = START;
+		for (int i = 0; i < 2000; i++) {
+			t = t.plusNanos(random.nextInt(2_000_000) * 1000L);
+			double bits = Double.longBitsToDouble(random.nextLong());
+			// Sólo NaN no se distingue de null
+			points.add(new OrderDetailPoint(i, t, random.nextDouble() * 1e4, Double.isNaN(bits) ? 1.0 : bits,
+					random.nextGaussian(), random.nextBoolean() ? null : random.nextDouble()));
+		}
+		roundTrip(points);
+	}
+
+	@Test
+	void nanIsDecodedAsNull() {
+		List<OrderDetailPoint> decoded = OrderDetailCodec.decode(OrderDetailCodec.encode(
+				List.of(point(1, START, Double.NaN), point(2, START.plusSeconds(1), 1.5))));
+
+		assertNull(decoded.get(0).temperature());
+		assertEquals(1.5, decoded.get(1).temperature());
+	}
+
+	@Test
+	void equalTimestampsAndIds() {
+		List<OrderDetailPoint> points = List.of(point(5, START, 1.0), point(5, START, 2.0), point(6, START, 3.0),
+				point(6, START, 3.0), point(7, START.plusSeconds(1), 3.0));
+		roundTrip(points);
+	}
+
+	@Test
+	void largeAndNegativeDeltas() {
+		List<OrderDetailPoint> points = List.of(
+				point(Long.MAX_VALUE, START, 1.0),
+				point(0, START.minusYears(60), -1e9),
+				point(Long.MIN_VALUE, START.plusYears(200), 1e9),
+				point(-1, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000), 4503599627.370495),
+				point(Long.MAX_VALUE, LocalDateTime.of(1970, 1, 1, 0, 0), -4503599627.370495),
+				point(3, START, 0.0));
+		roundTrip(points);
+	}
+
+	@Test
+	void deltaOfDeltaBucketBoundaries() {
+		// Rangos de 14, 20 y 32 bits (ids y timestamps) y de 7, 14 y 32 bits (valores escalados)
+		List<Long> dods = new ArrayList<>(List.of(1L, -1L));
+		for (int bits : new int[] { 7, 14, 20, 32 }) {
+			long limit = 1L << (bits - 1);
+			dods.addAll(List.of(limit - 1, limit, -limit, -limit - 1));
+		}
+		dods.addAll(List.of(1L << 40, -(1L << 40)));
+
+		// Cada dod d se sigue de -d (el delta vuelve a 0) y de un 0 (dos deltas iguales)
+		List<OrderDetailPoint> points = new ArrayList<>();
+		long value = 0;
+		long delta = 0;
+		points.add(point(value, START.plusNanos(value * 1000), (double) value));
+		for (long dod : dods) {
+			for (long d : new long[] { dod, -dod, 0 }) {
+				delta += d;
+				value += delta;
+				points.add(point(value, START.plusNanos(value * 1000), (double) value));
+			}
+		}
+		roundTrip(points);
+	}
+
+	@Test
+	void timestampsKeepMicroseconds() {
+		List<OrderDetailPoint> points = List.of(point(1, START.withNano(1_000), 1.0), point(2, START.withNano(999_999_000), 1.0),
+				point(3, START.plusSeconds(1).withNano(0), 1.0));
+		roundTrip(points);
+	}
+
+	@Test
+	void unsupportedVersionIsRejected() {
+		byte[] data = OrderDetailCodec.encode(List.of(point(1, START, 1.0)));
+		data[0] = (byte) (OrderDetailCodec.VERSION + 1);
+
+		assertThrows(IllegalArgumentException.class, () -> OrderDetailCodec.decode(data));
+	}
+}